@@ -2,12 +2,18 @@ package github.nighter.smartspawner.api;
 
 import github.nighter.smartspawner.api.data.SpawnerDataDTO;
 import github.nighter.smartspawner.api.data.SpawnerDataModifier;
+import github.nighter.smartspawner.api.logging.SpawnerLogQuery;
+import github.nighter.smartspawner.api.logging.SpawnerLogRecord;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Main API interface for SmartSpawner plugin.
@@ -141,4 +147,26 @@ public interface SmartSpawnerAPI {
      * @return a spawner data modifier, or null if spawner doesn't exist
      */
     SpawnerDataModifier getSpawnerModifier(String spawnerId);
-}
\ No newline at end of file
+
+    /**
+     * Sells the storage of several spawners on behalf of a player with a single economy deposit.
+     * Spawners the player cannot access, that are empty, or that are already being sold are skipped.
+     * Fires one {@link github.nighter.smartspawner.api.events.SpawnerBulkSellEvent}.
+     *
+     * @param player the player to pay
+     * @param spawnerIds the unique IDs of the spawners to sell
+     * @return a future completed with the amount deposited, or 0 if nothing was sold
+     */
+    CompletableFuture<Double> sellSpawners(Player player, Collection<String> spawnerIds);
+
+    /**
+     * Searches the spawner audit log asynchronously.
+     * Matching records are streamed to {@code consumer} on an async thread as they are read,
+     * so large result sets are never held in memory.
+     *
+     * @param query the filters to apply
+     * @param consumer receives every matching record
+     * @return a future completed with the number of matching records, or 0 if logging is disabled
+     */
+    CompletableFuture<Long> queryLogs(SpawnerLogQuery query, Consumer<SpawnerLogRecord> consumer);
+}
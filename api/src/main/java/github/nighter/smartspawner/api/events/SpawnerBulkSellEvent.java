@@ -0,0 +1,59 @@
+package github.nighter.smartspawner.api.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Called once when a player sells the storage of several spawners in a single transaction.
+ * <p>
+ * Each spawner first fires its own {@link SpawnerSellEvent} with {@link SpawnerSellEvent#isBulk()} set, on the
+ * spawner's region thread; cancelling it leaves that spawner out, and its money amount is what the spawner adds
+ * to this event's total.
+ */
+@Getter
+@Setter
+public class SpawnerBulkSellEvent extends Event implements Cancellable {
+
+    private static final HandlerList handlers = new HandlerList();
+
+    private final Player player;
+    /**
+     * The locations of the spawners being sold (read-only).
+     */
+    private final List<Location> locations;
+    private final long itemCount;
+    private double moneyAmount;
+    private boolean cancelled = false;
+
+    /**
+     * Creates a new spawner bulk sell event.
+     *
+     * @param player the player selling the items
+     * @param locations the locations of the spawners being sold
+     * @param itemCount the total number of items being sold
+     * @param moneyAmount the total amount of money to be given
+     */
+    public SpawnerBulkSellEvent(Player player, List<Location> locations, long itemCount, double moneyAmount) {
+        this.player = player;
+        this.locations = locations;
+        this.itemCount = itemCount;
+        this.moneyAmount = moneyAmount;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static @NotNull HandlerList getHandlerList() {
+        return handlers;
+    }
+}
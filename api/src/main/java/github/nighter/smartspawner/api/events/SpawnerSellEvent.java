@@ -25,8 +25,17 @@ public class SpawnerSellEvent extends Event implements Cancellable {
 
     private final Player player;
     private final Location location;
+    /**
+     * The items being sold. This is a read-only view whose stacks are built on access,
+     * so avoid iterating it unless the listener actually needs the ItemStacks.
+     */
     private final List<ItemStack> items;
     private final EntityType entityType;
+    /**
+     * True when the spawner is sold as part of a {@link SpawnerBulkSellEvent}; the player is then paid
+     * once for all spawners, after that event.
+     */
+    private final boolean bulk;
     private double moneyAmount;
     private boolean cancelled = false;
 
@@ -53,11 +62,27 @@ public class SpawnerSellEvent extends Event implements Cancellable {
      */
     public SpawnerSellEvent(Player player, Location location, List<ItemStack> items, double moneyAmount,
                             @Nullable EntityType entityType) {
+        this(player, location, items, moneyAmount, entityType, false);
+    }
+
+    /**
+     * Creates a new spawner sell event.
+     *
+     * @param player the player selling the items
+     * @param location the location of the spawner
+     * @param items the items being sold
+     * @param moneyAmount the amount of money to be given
+     * @param entityType the spawned entity type of the selling spawner
+     * @param bulk whether the spawner is sold as part of a bulk sell
+     */
+    public SpawnerSellEvent(Player player, Location location, List<ItemStack> items, double moneyAmount,
+                            @Nullable EntityType entityType, boolean bulk) {
         this.player = player;
         this.location = location;
         this.items = items;
         this.moneyAmount = moneyAmount;
         this.entityType = entityType;
+        this.bulk = bulk;
     }
 
     @Override
@@ -0,0 +1,99 @@
+package github.nighter.smartspawner.api.logging;
+
+import lombok.Getter;
+import org.bukkit.Location;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Filter for searching the spawner audit log.
+ * Build instances with {@link #builder()}; every filter left unset matches everything.
+ */
+@Getter
+public class SpawnerLogQuery {
+
+    private final String playerName;
+    private final String spawnerId;
+    private final Location location;
+    private final Set<String> eventTypes;
+    private final long fromMillis;
+    private final long toMillis;
+
+    private SpawnerLogQuery(Builder builder) {
+        this.playerName = builder.playerName;
+        this.spawnerId = builder.spawnerId;
+        this.location = builder.location;
+        this.eventTypes = Collections.unmodifiableSet(new HashSet<>(builder.eventTypes));
+        this.fromMillis = builder.fromMillis;
+        this.toMillis = builder.toMillis;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String playerName;
+        private String spawnerId;
+        private Location location;
+        private final Set<String> eventTypes = new HashSet<>();
+        private long fromMillis = 0L;
+        private long toMillis = Long.MAX_VALUE;
+
+        /**
+         * @param playerName only match events by this player (case-insensitive)
+         */
+        public Builder player(String playerName) {
+            this.playerName = playerName;
+            return this;
+        }
+
+        /**
+         * @param spawnerId only match events at the location of this existing spawner
+         */
+        public Builder spawnerId(String spawnerId) {
+            this.spawnerId = spawnerId;
+            return this;
+        }
+
+        /**
+         * @param location only match events at this block location, e.g. for spawners that were broken
+         */
+        public Builder location(Location location) {
+            this.location = location;
+            return this;
+        }
+
+        /**
+         * @param eventType event type name such as {@code SPAWNER_SELL_ALL}; may be called repeatedly
+         */
+        public Builder eventType(String eventType) {
+            this.eventTypes.add(eventType.toUpperCase());
+            return this;
+        }
+
+        /**
+         * @param fromMillis inclusive lower bound, epoch milliseconds
+         * @param toMillis inclusive upper bound, epoch milliseconds
+         */
+        public Builder between(long fromMillis, long toMillis) {
+            this.fromMillis = fromMillis;
+            this.toMillis = toMillis;
+            return this;
+        }
+
+        /**
+         * @param millis only match events newer than this many milliseconds
+         */
+        public Builder within(long millis) {
+            long now = System.currentTimeMillis();
+            return between(now - millis, now);
+        }
+
+        public SpawnerLogQuery build() {
+            return new SpawnerLogQuery(this);
+        }
+    }
+}
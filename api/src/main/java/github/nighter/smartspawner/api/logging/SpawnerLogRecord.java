@@ -0,0 +1,53 @@
+package github.nighter.smartspawner.api.logging;
+
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * One event read back from the spawner audit log.
+ */
+@Getter
+public class SpawnerLogRecord {
+
+    private final long timestamp;
+    private final String eventType;
+    @Nullable
+    private final String playerName;
+    @Nullable
+    private final String world;
+    private final int x;
+    private final int y;
+    private final int z;
+    /**
+     * The log line exactly as written to disk (JSON or human-readable, depending on the log format).
+     */
+    private final String rawLine;
+
+    /**
+     * Creates a new log record.
+     *
+     * @param timestamp the event time in epoch milliseconds
+     * @param eventType the event type name
+     * @param playerName the player involved, or null
+     * @param world the world of the spawner, or null if the event has no location
+     * @param x the block x coordinate
+     * @param y the block y coordinate
+     * @param z the block z coordinate
+     * @param rawLine the original log line
+     */
+    public SpawnerLogRecord(long timestamp, String eventType, @Nullable String playerName,
+                            @Nullable String world, int x, int y, int z, String rawLine) {
+        this.timestamp = timestamp;
+        this.eventType = eventType;
+        this.playerName = playerName;
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.rawLine = rawLine;
+    }
+
+    public boolean hasLocation() {
+        return world != null;
+    }
+}
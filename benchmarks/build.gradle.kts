@@ -0,0 +1,48 @@
+plugins {
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+// MockBukkit provides the server, ItemFactory and worlds that ItemStack and the plugin need.
+// Keep the version in one place; it has to track the paper-api version used by :core.
+val mockBukkitVersion = "4.98.0"
+
+dependencies {
+    jmh(project(":core"))
+    jmh("org.mockbukkit.mockbukkit:mockbukkit-v1.21:$mockBukkitVersion")
+    jmh("org.xerial:sqlite-jdbc:3.53.1.0")
+}
+
+// Run everything:       ./gradlew :benchmarks:jmh
+// Run a subset:         ./gradlew :benchmarks:jmh -Pbench=RangeMath
+// Results are written as JSON so runs can be diffed against a previous build.
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    warmup.set("2s")
+    iterations.set(5)
+    timeOnIteration.set("2s")
+    benchmarkMode.set(listOf("avgt"))
+    timeUnit.set("us")
+    profilers.set(listOf("gc"))
+    failOnError.set(true)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    providers.gradleProperty("bench").orNull?.let { includes.set(listOf(it)) }
+}
+
+// Headless whole-plugin load test on MockBukkit, see LoadSimulator.
+// ./gradlew :benchmarks:simulate -Psim.spawners=5000 -Psim.worlds=3 -Psim.players=50 \
+//     -Psim.hoppers=true -Psim.guis=10 -Psim.minutes=5 -Psim.storage=SQLITE
+tasks.register<JavaExec>("simulate") {
+    group = "benchmark"
+    description = "Runs the headless load simulator and writes build/simulator/simulation-report.json."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("github.nighter.smartspawner.benchmarks.simulation.LoadSimulator")
+    jvmArgs("-Xms2g", "-Xmx2g")
+
+    val simulatorDir = layout.buildDirectory.dir("simulator")
+    workingDir(simulatorDir)
+    providers.gradlePropertiesPrefixedBy("sim.").get().forEach { (key, value) -> systemProperty(key, value) }
+    doFirst { simulatorDir.get().asFile.mkdirs() }
+}
@@ -0,0 +1,58 @@
+package github.nighter.smartspawner.benchmarks;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.PotionMeta;
+import org.bukkit.potion.PotionType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic item fixtures shaped like real spawner loot: mostly plain stackables, some damaged
+ * tools and a few tipped arrows, so every {@code ItemStackSerializer} branch is exercised.
+ */
+public final class BenchmarkItems {
+    private static final Material[] PLAIN = {
+            Material.ROTTEN_FLESH, Material.BONE, Material.ARROW, Material.GUNPOWDER,
+            Material.STRING, Material.SPIDER_EYE, Material.IRON_INGOT, Material.BLAZE_ROD
+    };
+    private static final Material[] DAMAGEABLE = {Material.BOW, Material.IRON_SWORD, Material.GOLDEN_SWORD};
+    private static final PotionType[] ARROW_POTIONS = {PotionType.POISON, PotionType.SLOWNESS, PotionType.WEAKNESS};
+
+    private BenchmarkItems() {}
+
+    /**
+     * @param count number of stacks
+     * @param seed  fixed seed so every run and every fork sees the same mix
+     */
+    public static List<ItemStack> mobDrops(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<ItemStack> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int roll = random.nextInt(100);
+            if (roll < 85) {
+                items.add(new ItemStack(PLAIN[random.nextInt(PLAIN.length)], 1 + random.nextInt(16)));
+            } else if (roll < 95) {
+                items.add(damaged(DAMAGEABLE[random.nextInt(DAMAGEABLE.length)], random.nextInt(1, 40)));
+            } else {
+                items.add(tippedArrow(ARROW_POTIONS[random.nextInt(ARROW_POTIONS.length)], 1 + random.nextInt(4)));
+            }
+        }
+        return items;
+    }
+
+    public static ItemStack damaged(Material material, int damage) {
+        ItemStack item = new ItemStack(material);
+        item.editMeta(Damageable.class, meta -> meta.setDamage(damage));
+        return item;
+    }
+
+    public static ItemStack tippedArrow(PotionType type, int amount) {
+        ItemStack item = new ItemStack(Material.TIPPED_ARROW, amount);
+        item.editMeta(PotionMeta.class, meta -> meta.setBasePotionType(type));
+        return item;
+    }
+}
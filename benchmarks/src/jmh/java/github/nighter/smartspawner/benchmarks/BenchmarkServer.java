@@ -0,0 +1,65 @@
+package github.nighter.smartspawner.benchmarks;
+
+import github.nighter.smartspawner.SmartSpawner;
+import org.bukkit.plugin.PluginManager;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+
+import java.util.Map;
+
+/**
+ * Shared MockBukkit bootstrap for the benchmarks.
+ * <p>
+ * {@link #server()} is enough for anything that only builds {@code ItemStack}s. Benchmarks that need
+ * {@code SpawnerData} or the loot generator call {@link #plugin()}, which enables SmartSpawner with
+ * its bundled default configs, or {@link #plugin(Map)} with config overrides. Both are started at most once per JMH fork and torn down with
+ * {@link #stop()} from a trial-level {@code @TearDown}.
+ */
+public final class BenchmarkServer {
+    private static ServerMock server;
+    private static SmartSpawner plugin;
+
+    private BenchmarkServer() {}
+
+    public static synchronized ServerMock server() {
+        if (server == null) {
+            server = MockBukkit.mock();
+        }
+        return server;
+    }
+
+    public static synchronized SmartSpawner plugin() {
+        server();
+        if (plugin == null) {
+            plugin = MockBukkit.load(SmartSpawner.class);
+        }
+        return plugin;
+    }
+
+    /**
+     * Enables the plugin, then applies {@code configOverrides} to config.yml and restarts it so
+     * settings read only at startup (storage mode, hoppers) take effect.
+     */
+    public static synchronized SmartSpawner plugin(Map<String, Object> configOverrides) {
+        SmartSpawner loaded = plugin();
+        if (configOverrides.isEmpty()) {
+            return loaded;
+        }
+
+        configOverrides.forEach(loaded.getConfig()::set);
+        loaded.saveConfig();
+
+        PluginManager pluginManager = server.getPluginManager();
+        pluginManager.disablePlugin(loaded);
+        pluginManager.enablePlugin(loaded);
+        return loaded;
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            MockBukkit.unmock();
+            server = null;
+            plugin = null;
+        }
+    }
+}
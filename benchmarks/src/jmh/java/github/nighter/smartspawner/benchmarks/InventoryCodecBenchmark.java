@@ -0,0 +1,43 @@
+package github.nighter.smartspawner.benchmarks;
+
+import github.nighter.smartspawner.spawner.data.database.SpawnerInventoryCodec;
+import github.nighter.smartspawner.spawner.properties.VirtualInventory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+
+/**
+ * The {@code inventory_data} column codec used by the MySQL/MariaDB and SQLite backends.
+ */
+@State(Scope.Thread)
+public class InventoryCodecBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int stacks;
+
+    private VirtualInventory inventory;
+    private String encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkServer.server();
+        inventory = new VirtualInventory(450);
+        inventory.addItems(BenchmarkItems.mobDrops(stacks, 7L));
+        encoded = SpawnerInventoryCodec.encode(inventory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    @Benchmark
+    public String encode() {
+        return SpawnerInventoryCodec.encode(inventory);
+    }
+
+    @Benchmark
+    public List<String> decodeEntries() {
+        return SpawnerInventoryCodec.decodeEntries(encoded);
+    }
+}
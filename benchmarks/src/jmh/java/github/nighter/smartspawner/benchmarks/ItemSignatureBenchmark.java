@@ -0,0 +1,67 @@
+package github.nighter.smartspawner.benchmarks;
+
+import github.nighter.smartspawner.spawner.properties.ItemSignature;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Signature construction, interning, hashing and equality for the three item shapes storage sees:
+ * plain stacks, damaged tools and items whose equality falls back to {@code isSimilar}.
+ */
+@State(Scope.Thread)
+public class ItemSignatureBenchmark {
+
+    @Param({"PLAIN", "DAMAGED", "TIPPED_ARROW"})
+    public String shape;
+
+    private ItemStack item;
+    private ItemSignature signature;
+    private ItemSignature equalSignature;
+    private ItemSignature otherSignature;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkServer.server();
+        item = switch (shape) {
+            case "DAMAGED" -> BenchmarkItems.damaged(Material.BOW, 12);
+            case "TIPPED_ARROW" -> BenchmarkItems.tippedArrow(PotionType.POISON, 4);
+            default -> new ItemStack(Material.ROTTEN_FLESH, 16);
+        };
+        signature = new ItemSignature(item);
+        equalSignature = new ItemSignature(item.clone());
+        otherSignature = switch (shape) {
+            case "DAMAGED" -> new ItemSignature(BenchmarkItems.damaged(Material.BOW, 13));
+            case "TIPPED_ARROW" -> new ItemSignature(BenchmarkItems.tippedArrow(PotionType.SLOWNESS, 4));
+            default -> new ItemSignature(new ItemStack(Material.BONE, 16));
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    @Benchmark
+    public ItemSignature create() {
+        return new ItemSignature(item);
+    }
+
+    @Benchmark
+    public ItemSignature intern() {
+        return ItemSignature.of(item);
+    }
+
+    @Benchmark
+    public int createAndHash() {
+        return new ItemSignature(item).hashCode();
+    }
+
+    @Benchmark
+    public void equality(Blackhole bh) {
+        bh.consume(signature.equals(equalSignature));
+        bh.consume(signature.equals(otherSignature));
+    }
+}
@@ -0,0 +1,52 @@
+package github.nighter.smartspawner.benchmarks;
+
+import github.nighter.smartspawner.spawner.properties.ItemSignature;
+import github.nighter.smartspawner.spawner.properties.VirtualInventory;
+import github.nighter.smartspawner.spawner.utils.ItemStackSerializer;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The entry format used by both the YAML and the database storage backends.
+ */
+@State(Scope.Thread)
+public class ItemStackSerializerBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int stacks;
+
+    private Map<ItemSignature, Long> consolidated;
+    private List<String> serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkServer.server();
+        VirtualInventory inventory = new VirtualInventory(450);
+        inventory.addItems(BenchmarkItems.mobDrops(stacks, 7L));
+        consolidated = inventory.getConsolidatedItems();
+        serialized = ItemStackSerializer.serializeInventory(consolidated);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    @Benchmark
+    public List<String> serialize() {
+        return ItemStackSerializer.serializeInventory(consolidated);
+    }
+
+    @Benchmark
+    public Map<ItemStack, Integer> deserialize() {
+        return ItemStackSerializer.deserializeInventory(serialized);
+    }
+
+    @Benchmark
+    public Map<ItemStack, Integer> roundTrip() {
+        return ItemStackSerializer.deserializeInventory(ItemStackSerializer.serializeInventory(consolidated));
+    }
+}
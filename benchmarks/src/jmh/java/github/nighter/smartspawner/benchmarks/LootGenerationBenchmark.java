@@ -0,0 +1,51 @@
+package github.nighter.smartspawner.benchmarks;
+
+import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.spawner.lootgen.SpawnerLootGenerator;
+import github.nighter.smartspawner.spawner.lootgen.LootResult;
+import github.nighter.smartspawner.spawner.properties.SpawnerData;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * One loot roll against the bundled default loot tables. {@code stackSize} scales the mob count
+ * the same way a stacked spawner does.
+ */
+@State(Scope.Thread)
+public class LootGenerationBenchmark {
+
+    @Param({"ZOMBIE", "SKELETON", "BLAZE"})
+    public String entityType;
+
+    @Param({"1", "64", "1000"})
+    public int stackSize;
+
+    private SpawnerLootGenerator generator;
+    private SpawnerData spawner;
+    private int minMobs;
+    private int maxMobs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SmartSpawner plugin = BenchmarkServer.plugin();
+        World world = BenchmarkServer.server().addSimpleWorld("bench_loot");
+        generator = plugin.getSpawnerLootGenerator();
+        spawner = new SpawnerData("bench-loot", new Location(world, 0, 64, 0),
+                EntityType.valueOf(entityType), plugin);
+        spawner.setStackSize(stackSize, false);
+        minMobs = spawner.getMinMobs();
+        maxMobs = spawner.getMaxMobs();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    @Benchmark
+    public LootResult generateLoot() {
+        return generator.generateLoot(minMobs, maxMobs, spawner);
+    }
+}
@@ -0,0 +1,44 @@
+package github.nighter.smartspawner.benchmarks;
+
+import github.nighter.smartspawner.language.FrequencyCache;
+import github.nighter.smartspawner.language.MessageTemplate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+
+/**
+ * Rendering a typical GUI lore line from its compiled template, and the cache lookup that
+ * precedes it on every render.
+ */
+@State(Scope.Benchmark)
+public class MessageTemplateBenchmark {
+    private static final String LINE = "&#F0C857▶ &7{ᴇɴᴛɪᴛʏ} &8| &fStack: &#8FE07B{stack_size} &8| &fNext in &e{time}";
+
+    private MessageTemplate template;
+    private Map<String, String> placeholders;
+    private FrequencyCache<String, MessageTemplate> cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        template = MessageTemplate.compile(LINE);
+        placeholders = Map.of("entity", "Zombie", "stack_size", "64", "time", "12s");
+        cache = new FrequencyCache<>(2000);
+        cache.put(LINE, template);
+    }
+
+    @Benchmark
+    public MessageTemplate compile() {
+        return MessageTemplate.compile(LINE);
+    }
+
+    @Benchmark
+    public String render() {
+        return template.render(placeholders);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String cachedRender() {
+        return cache.get(LINE).render(placeholders);
+    }
+}
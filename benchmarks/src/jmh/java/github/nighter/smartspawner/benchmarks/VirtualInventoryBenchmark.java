@@ -0,0 +1,67 @@
+package github.nighter.smartspawner.benchmarks;
+
+import github.nighter.smartspawner.spawner.properties.VirtualInventory;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage operations that run once per loot cycle ({@code addItems}), per GUI take/sell
+ * ({@code removeItems}) and per storage page render ({@code getDisplayInventory}).
+ */
+@State(Scope.Thread)
+public class VirtualInventoryBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int batchSize;
+
+    private List<ItemStack> batch;
+    private List<ItemStack> single;
+    private VirtualInventory inventory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkServer.server();
+        batch = BenchmarkItems.mobDrops(batchSize, 42L);
+        single = List.of(new ItemStack(Material.BONE));
+    }
+
+    @Setup(Level.Iteration)
+    public void fillInventory() {
+        // 10 pages of 45 slots, the size of a typical stacked spawner
+        inventory = new VirtualInventory(450);
+        inventory.addItems(batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    @Benchmark
+    public VirtualInventory addItems() {
+        inventory.addItems(batch);
+        return inventory;
+    }
+
+    @Benchmark
+    public boolean addThenRemoveItems() {
+        inventory.addItems(batch);
+        return inventory.removeItems(batch);
+    }
+
+    @Benchmark
+    public Map<Integer, ItemStack> rebuildDisplayInventory() {
+        // A one-item add is the cheapest way to invalidate the display cache
+        inventory.addItems(single);
+        return inventory.getDisplayInventory();
+    }
+
+    @Benchmark
+    public Map<Integer, ItemStack> cachedDisplayInventory() {
+        return inventory.getDisplayInventory();
+    }
+}
@@ -0,0 +1,278 @@
+package github.nighter.smartspawner.benchmarks.simulation;
+
+import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.benchmarks.BenchmarkServer;
+import github.nighter.smartspawner.perf.PerfMonitor;
+import github.nighter.smartspawner.spawner.properties.SpawnerData;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.EntityType;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Headless whole-plugin load test.
+ * <p>
+ * Boots SmartSpawner on MockBukkit with the requested storage backend, places {@code N} spawners in
+ * clusters across {@code M} worlds (optionally each with a hopper underneath), then drives the
+ * server tick by tick while {@code P} fake players wander between clusters and some of them keep a
+ * spawner menu open. Range checks, loot cycles, GUI and hologram updates, hopper transfers and
+ * storage flushes all run through the plugin's real schedulers.
+ * <p>
+ * After a warmup, every tick's main-thread wall time, CPU time and allocation is recorded, and
+ * process-wide counters (off-main CPU, total allocation, GC, I/O) are sampled once per simulated
+ * second. The plugin's own {@code /ss perf} metrics are included in the report.
+ * <p>
+ * Run with {@code ./gradlew :benchmarks:simulate -Psim.spawners=5000 -Psim.storage=SQLITE ...};
+ * see {@link SimulationSettings} for every parameter.
+ */
+public final class LoadSimulator {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int SPAWNERS_PER_CLUSTER = 40;
+    private static final int CLUSTER_RADIUS = 20;
+    private static final int CLUSTER_SPREAD = 3000;
+    private static final int BASE_Y = 64;
+    private static final EntityType[] ENTITY_TYPES = {
+            EntityType.ZOMBIE, EntityType.SKELETON, EntityType.SPIDER, EntityType.CREEPER,
+            EntityType.BLAZE, EntityType.IRON_GOLEM, EntityType.PIG, EntityType.COW
+    };
+
+    private final SimulationSettings settings;
+    private final SplittableRandom random;
+    private final List<Location> clusters = new ArrayList<>();
+    private final List<SimPlayer> players = new ArrayList<>();
+
+    private ServerMock server;
+    private SmartSpawner plugin;
+
+    private LoadSimulator(SimulationSettings settings) {
+        this.settings = settings;
+        this.random = new SplittableRandom(settings.seed());
+    }
+
+    public static void main(String[] args) throws IOException {
+        SimulationSettings settings = SimulationSettings.fromSystemProperties();
+        new LoadSimulator(settings).run();
+    }
+
+    private void run() throws IOException {
+        server = BenchmarkServer.server();
+        plugin = BenchmarkServer.plugin(settings.configOverrides());
+
+        log("Placing " + settings.spawners() + " spawners in " + settings.worlds() + " worlds...");
+        placeSpawners();
+        spawnPlayers();
+
+        ResourceProbe probe = new ResourceProbe();
+        log("Warming up for " + settings.warmupSeconds() + "s...");
+        for (int tick = 0; tick < settings.warmupTicks(); tick++) {
+            tick(tick, System.nanoTime());
+        }
+
+        PerfMonitor perf = plugin.getPerfMonitor();
+        perf.reset();
+
+        int ticks = settings.measuredTicks();
+        long[] mainWall = new long[ticks];
+        long[] mainCpu = new long[ticks];
+        long[] mainAlloc = new long[ticks];
+        List<ResourceProbe.Sample> seconds = new ArrayList<>(ticks / 20 + 1);
+
+        log("Measuring " + ticks + " ticks (" + settings.minutes() + " min"
+                + (settings.realtime() ? ", real time" : ", unpaced") + ")...");
+        ResourceProbe.Sample first = probe.sample();
+        ResourceProbe.Sample previous = first;
+        long runStart = System.nanoTime();
+        for (int i = 0; i < ticks; i++) {
+            long cpuBefore = probe.mainCpuNanos();
+            long allocBefore = probe.mainAllocatedBytes();
+            mainWall[i] = tick(settings.warmupTicks() + i, runStart + i * TICK_NANOS);
+            mainCpu[i] = probe.mainCpuNanos() - cpuBefore;
+            mainAlloc[i] = probe.mainAllocatedBytes() - allocBefore;
+
+            if ((i + 1) % 20 == 0) {
+                ResourceProbe.Sample now = probe.sample();
+                seconds.add(now.minus(previous));
+                previous = now;
+            }
+            if ((i + 1) % 1200 == 0) {
+                log("  " + (i + 1) / 1200 + " min simulated");
+            }
+        }
+        long runNanos = System.nanoTime() - runStart;
+        ResourceProbe.Sample total = probe.sample().minus(first);
+        List<PerfMonitor.MetricSnapshot> pluginMetrics = perf.snapshot();
+
+        long shutdownStart = System.nanoTime();
+        Path dataFolder = plugin.getDataFolder().toPath();
+        BenchmarkServer.stop();
+        long shutdownMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - shutdownStart);
+
+        SimulationReport report = new SimulationReport(settings, ticks, runNanos, mainWall, mainCpu, mainAlloc,
+                seconds, total, pluginMetrics, shutdownMillis, folderSize(dataFolder));
+        System.out.println(report.toText());
+        Files.createDirectories(settings.report().toAbsolutePath().getParent());
+        Files.writeString(settings.report(), report.toJson(), StandardCharsets.UTF_8);
+        log("Report written to " + settings.report().toAbsolutePath());
+        System.exit(0);
+    }
+
+    /**
+     * Moves players, runs one server tick and, in real-time mode, waits for the tick deadline.
+     *
+     * @return main-thread wall time spent in the tick, excluding the pacing wait
+     */
+    private long tick(int tick, long scheduledStart) {
+        long start = System.nanoTime();
+        for (SimPlayer player : players) {
+            player.move(tick);
+        }
+        server.getScheduler().performOneTick();
+        long elapsed = System.nanoTime() - start;
+
+        if (settings.realtime()) {
+            long wait = scheduledStart + TICK_NANOS - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+        }
+        return elapsed;
+    }
+
+    // ── World setup ─────────────────────────────────────────────────────────
+
+    private void placeSpawners() {
+        World[] worlds = new World[settings.worlds()];
+        for (int i = 0; i < worlds.length; i++) {
+            worlds[i] = server.addSimpleWorld("sim_world_" + i);
+        }
+
+        int clusterCount = Math.max(1, (settings.spawners() + SPAWNERS_PER_CLUSTER - 1) / SPAWNERS_PER_CLUSTER);
+        for (int i = 0; i < clusterCount; i++) {
+            clusters.add(new Location(worlds[i % worlds.length],
+                    random.nextInt(-CLUSTER_SPREAD, CLUSTER_SPREAD), BASE_Y,
+                    random.nextInt(-CLUSTER_SPREAD, CLUSTER_SPREAD)));
+        }
+
+        int placed = 0;
+        while (placed < settings.spawners()) {
+            Location cluster = clusters.get(placed % clusterCount);
+            // Even Y offsets only, so the block under a spawner is always free for a hopper
+            Location location = cluster.clone().add(
+                    random.nextInt(-CLUSTER_RADIUS, CLUSTER_RADIUS + 1),
+                    random.nextInt(0, 8) * 2,
+                    random.nextInt(-CLUSTER_RADIUS, CLUSTER_RADIUS + 1));
+            if (plugin.getSpawnerManager().getSpawnerByLocation(location) != null) continue;
+
+            location.getBlock().setType(Material.SPAWNER);
+            String id = "sim-" + placed;
+            SpawnerData spawner = new SpawnerData(id, location,
+                    ENTITY_TYPES[random.nextInt(ENTITY_TYPES.length)], plugin);
+            spawner.setStackSize(1 + random.nextInt(settings.maxStack()), false);
+            plugin.getSpawnerManager().addSpawner(id, spawner);
+
+            if (settings.hoppers() && plugin.getHopperService() != null) {
+                Block hopper = location.getBlock().getRelative(0, -1, 0);
+                hopper.setType(Material.HOPPER);
+                plugin.getHopperService().getTracker().tryAdd(hopper);
+            }
+            placed++;
+        }
+    }
+
+    private void spawnPlayers() {
+        List<SpawnerData> spawners = plugin.getSpawnerManager().getAllSpawners();
+        for (int i = 0; i < settings.players(); i++) {
+            PlayerMock player = server.addPlayer("sim_player_" + i);
+            boolean viewer = i < settings.guiViewers();
+            SimPlayer sim = new SimPlayer(player, viewer);
+            if (viewer) {
+                // Viewers stand next to one spawner with its menu open for the whole run
+                SpawnerData spawner = spawners.get(random.nextInt(spawners.size()));
+                player.teleport(spawner.getSpawnerLocation().clone().add(2, 0, 0));
+                plugin.getSpawnerMenuUI().openSpawnerMenu(player, spawner, false);
+            } else {
+                sim.moveToCluster(clusters.get(random.nextInt(clusters.size())));
+            }
+            players.add(sim);
+        }
+    }
+
+    private static long folderSize(Path folder) {
+        if (!Files.isDirectory(folder)) return 0;
+        try (Stream<Path> files = Files.walk(folder)) {
+            return files.filter(Files::isRegularFile).mapToLong(path -> {
+                try {
+                    return Files.size(path);
+                } catch (IOException e) {
+                    return 0;
+                }
+            }).sum();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void log(String message) {
+        System.out.println("[simulator] " + message);
+    }
+
+    /**
+     * A fake player that wanders around its cluster and hops to another cluster about once per
+     * simulated minute, which drives spawners in and out of range.
+     */
+    private final class SimPlayer {
+        private final PlayerMock player;
+        private final boolean viewer;
+        private final int hopOffset;
+        private Location cluster;
+        private Location waypoint;
+
+        private SimPlayer(PlayerMock player, boolean viewer) {
+            this.player = player;
+            this.viewer = viewer;
+            this.hopOffset = random.nextInt(1200);
+        }
+
+        private void moveToCluster(Location target) {
+            cluster = target;
+            waypoint = nextWaypoint();
+            player.teleport(cluster.clone().add(0, 1, 0));
+        }
+
+        private Location nextWaypoint() {
+            return cluster.clone().add(random.nextInt(-CLUSTER_RADIUS * 2, CLUSTER_RADIUS * 2 + 1), 1,
+                    random.nextInt(-CLUSTER_RADIUS * 2, CLUSTER_RADIUS * 2 + 1));
+        }
+
+        private void move(int tick) {
+            if (viewer) return;
+
+            if ((tick + hopOffset) % 1200 == 0) {
+                moveToCluster(clusters.get(random.nextInt(clusters.size())));
+                return;
+            }
+
+            Location current = player.getLocation();
+            double dx = waypoint.getX() - current.getX();
+            double dz = waypoint.getZ() - current.getZ();
+            double distance = Math.sqrt(dx * dx + dz * dz);
+            if (distance < 1.0) {
+                waypoint = nextWaypoint();
+                return;
+            }
+            // Walking speed, about 4.3 blocks per second
+            double step = Math.min(distance, 0.215);
+            player.teleport(current.add(dx / distance * step, 0, dz / distance * step));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package github.nighter.smartspawner.benchmarks.simulation;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Cumulative CPU, allocation, GC and I/O counters for the simulator process.
+ * <p>
+ * Main-thread figures come from per-thread counters of the tick thread. Off-main CPU is process CPU
+ * minus main-thread CPU, so it covers the plugin's async work plus GC and JIT threads; allocation is
+ * taken from the JVM-wide counter, which includes threads that have already exited. I/O is read
+ * from {@code /proc/self/io} and is reported as zero where that file does not exist.
+ */
+final class ResourceProbe {
+    private static final Path PROC_IO = Path.of("/proc/self/io");
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final long mainThreadId;
+
+    ResourceProbe() {
+        this.mainThreadId = Thread.currentThread().threadId();
+        threads.setThreadCpuTimeEnabled(true);
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    long mainCpuNanos() {
+        return threads.getThreadCpuTime(mainThreadId);
+    }
+
+    long mainAllocatedBytes() {
+        return threads.getThreadAllocatedBytes(mainThreadId);
+    }
+
+    Sample sample() {
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : collectors) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+
+        long readBytes = 0;
+        long writtenBytes = 0;
+        try {
+            if (Files.isReadable(PROC_IO)) {
+                for (String line : Files.readAllLines(PROC_IO)) {
+                    // rchar/wchar count every read/write syscall, including page-cache hits,
+                    // which is what the storage backends actually issue
+                    if (line.startsWith("rchar:")) readBytes = Long.parseLong(line.substring(6).trim());
+                    else if (line.startsWith("wchar:")) writtenBytes = Long.parseLong(line.substring(6).trim());
+                }
+            }
+        } catch (IOException | NumberFormatException ignored) {
+            // Leave I/O at zero on platforms without procfs
+        }
+
+        return new Sample(os.getProcessCpuTime(), mainCpuNanos(), threads.getTotalThreadAllocatedBytes(),
+                mainAllocatedBytes(), gcCount, gcMillis, readBytes, writtenBytes);
+    }
+
+    record Sample(long processCpuNanos, long mainCpuNanos, long allocatedBytes, long mainAllocatedBytes,
+                  long gcCount, long gcMillis, long readBytes, long writtenBytes) {
+
+        Sample minus(Sample earlier) {
+            return new Sample(processCpuNanos - earlier.processCpuNanos, mainCpuNanos - earlier.mainCpuNanos,
+                    allocatedBytes - earlier.allocatedBytes, mainAllocatedBytes - earlier.mainAllocatedBytes,
+                    gcCount - earlier.gcCount, gcMillis - earlier.gcMillis,
+                    readBytes - earlier.readBytes, writtenBytes - earlier.writtenBytes);
+        }
+
+        long offMainCpuNanos() {
+            return Math.max(0, processCpuNanos - mainCpuNanos);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package github.nighter.smartspawner.benchmarks.simulation;
+
+import github.nighter.smartspawner.perf.PerfMetric;
+import github.nighter.smartspawner.perf.PerfMonitor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Summarises a simulator run as a console table and as JSON. Tick figures are per tick, rates are
+ * per wall-clock second of the measured phase.
+ */
+final class SimulationReport {
+    private final SimulationSettings settings;
+    private final int ticks;
+    private final long runNanos;
+    private final Stats mainWall;
+    private final Stats mainCpu;
+    private final Stats mainAlloc;
+    private final Stats offMainCpu;
+    private final ResourceProbe.Sample total;
+    private final List<PerfMonitor.MetricSnapshot> pluginMetrics;
+    private final long shutdownMillis;
+    private final long dataFolderBytes;
+
+    SimulationReport(SimulationSettings settings, int ticks, long runNanos, long[] mainWall, long[] mainCpu,
+                     long[] mainAlloc, List<ResourceProbe.Sample> seconds, ResourceProbe.Sample total,
+                     List<PerfMonitor.MetricSnapshot> pluginMetrics, long shutdownMillis, long dataFolderBytes) {
+        this.settings = settings;
+        this.ticks = ticks;
+        this.runNanos = runNanos;
+        this.mainWall = Stats.of(mainWall);
+        this.mainCpu = Stats.of(mainCpu);
+        this.mainAlloc = Stats.of(mainAlloc);
+        // Off-main CPU is only sampled per second; spread each sample over its 20 ticks
+        this.offMainCpu = Stats.of(seconds.stream().mapToLong(s -> s.offMainCpuNanos() / 20).toArray());
+        this.total = total;
+        this.pluginMetrics = pluginMetrics;
+        this.shutdownMillis = shutdownMillis;
+        this.dataFolderBytes = dataFolderBytes;
+    }
+
+    private double runSeconds() {
+        return Math.max(1e-9, runNanos / 1_000_000_000.0);
+    }
+
+    String toText() {
+        StringBuilder sb = new StringBuilder(2048);
+        sb.append('\n').append("── SmartSpawner load simulation ──────────────────────────────\n");
+        sb.append(String.format(Locale.ROOT, "%d spawners, %d worlds, %d players (%d with GUI open), hoppers %s, %s storage%n",
+                settings.spawners(), settings.worlds(), settings.players(), settings.guiViewers(),
+                settings.hoppers() ? "on" : "off", settings.storage()));
+        sb.append(String.format(Locale.ROOT, "%d ticks measured in %.1fs%s%n%n",
+                ticks, runSeconds(), settings.realtime() ? "" : " (unpaced)"));
+
+        sb.append(String.format(Locale.ROOT, "%-28s %9s %9s %9s %9s %9s%n", "per tick", "mean", "p50", "p95", "p99", "max"));
+        row(sb, "main thread wall (ms)", mainWall, 1e6);
+        row(sb, "main thread CPU (ms)", mainCpu, 1e6);
+        row(sb, "main thread alloc (KB)", mainAlloc, 1024);
+        row(sb, "off-main CPU (ms, 1s avg)", offMainCpu, 1e6);
+
+        sb.append('\n');
+        sb.append(String.format(Locale.ROOT, "allocation rate     %.1f MB/s total, %.1f MB/s main thread%n",
+                total.allocatedBytes() / runSeconds() / (1 << 20), total.mainAllocatedBytes() / runSeconds() / (1 << 20)));
+        sb.append(String.format(Locale.ROOT, "GC                  %d collections, %d ms%n", total.gcCount(), total.gcMillis()));
+        sb.append(String.format(Locale.ROOT, "storage I/O         %.1f KB/s read, %.1f KB/s written, data folder %.1f KB%n",
+                total.readBytes() / runSeconds() / 1024, total.writtenBytes() / runSeconds() / 1024, dataFolderBytes / 1024.0));
+        sb.append(String.format(Locale.ROOT, "shutdown            %d ms%n%n", shutdownMillis));
+
+        sb.append("plugin metrics\n");
+        for (PerfMonitor.MetricSnapshot s : pluginMetrics) {
+            if (s.count() == 0) continue;
+            PerfMetric metric = s.metric();
+            switch (metric.getKind()) {
+                case TIMER -> sb.append(String.format(Locale.ROOT, "  %-22s %8d  mean %.3f ms  p99 %.3f ms%n",
+                        metric.getKey(), s.count(), s.mean() / 1e6, s.p99() / 1e6));
+                case DISTRIBUTION -> sb.append(String.format(Locale.ROOT, "  %-22s %8d  mean %.1f  p99 %d%n",
+                        metric.getKey(), s.count(), s.mean(), s.p99()));
+                case COUNTER, GAUGE -> sb.append(String.format(Locale.ROOT, "  %-22s %8d%n", metric.getKey(), s.count()));
+            }
+        }
+        return sb.toString();
+    }
+
+    String toJson() {
+        StringBuilder sb = new StringBuilder(2048);
+        sb.append("{\"settings\":{");
+        boolean first = true;
+        for (Map.Entry<String, Object> entry : settings.toMap().entrySet()) {
+            if (!first) sb.append(',');
+            first = false;
+            sb.append('"').append(entry.getKey()).append("\":");
+            Object value = entry.getValue();
+            if (value instanceof String text) sb.append('"').append(text).append('"');
+            else sb.append(value);
+        }
+        sb.append("},\"ticks\":").append(ticks)
+                .append(",\"run_seconds\":").append(num(runSeconds()));
+
+        sb.append(",\"per_tick\":{");
+        stats(sb, "main_wall_ms", mainWall, 1e6).append(',');
+        stats(sb, "main_cpu_ms", mainCpu, 1e6).append(',');
+        stats(sb, "main_alloc_kb", mainAlloc, 1024).append(',');
+        stats(sb, "off_main_cpu_ms", offMainCpu, 1e6);
+        sb.append('}');
+
+        sb.append(",\"allocation_mb_per_s\":").append(num(total.allocatedBytes() / runSeconds() / (1 << 20)))
+                .append(",\"main_allocation_mb_per_s\":").append(num(total.mainAllocatedBytes() / runSeconds() / (1 << 20)))
+                .append(",\"gc_count\":").append(total.gcCount())
+                .append(",\"gc_ms\":").append(total.gcMillis())
+                .append(",\"io_read_bytes\":").append(total.readBytes())
+                .append(",\"io_written_bytes\":").append(total.writtenBytes())
+                .append(",\"data_folder_bytes\":").append(dataFolderBytes)
+                .append(",\"shutdown_ms\":").append(shutdownMillis);
+
+        sb.append(",\"plugin_metrics\":{");
+        first = true;
+        for (PerfMonitor.MetricSnapshot s : pluginMetrics) {
+            if (!first) sb.append(',');
+            first = false;
+            sb.append('"').append(s.metric().getKey()).append("\":{\"count\":").append(s.count());
+            if (s.metric().getKind() == PerfMetric.Kind.TIMER || s.metric().getKind() == PerfMetric.Kind.DISTRIBUTION) {
+                boolean timer = s.metric().getKind() == PerfMetric.Kind.TIMER;
+                double scale = timer ? 1e6 : 1;
+                String unit = timer ? "_ms" : "";
+                sb.append(",\"mean").append(unit).append("\":").append(num(s.mean() / scale))
+                        .append(",\"p99").append(unit).append("\":").append(num(s.p99() / scale))
+                        .append(",\"max").append(unit).append("\":").append(num(s.max() / scale));
+            }
+            sb.append('}');
+        }
+        sb.append("}}");
+        return sb.toString();
+    }
+
+    private static void row(StringBuilder sb, String label, Stats stats, double scale) {
+        sb.append(String.format(Locale.ROOT, "%-28s %9.3f %9.3f %9.3f %9.3f %9.3f%n", label,
+                stats.mean() / scale, stats.p50() / scale, stats.p95() / scale, stats.p99() / scale, stats.max() / scale));
+    }
+
+    private static StringBuilder stats(StringBuilder sb, String name, Stats stats, double scale) {
+        return sb.append('"').append(name).append("\":{")
+                .append("\"mean\":").append(num(stats.mean() / scale))
+                .append(",\"p50\":").append(num(stats.p50() / scale))
+                .append(",\"p95\":").append(num(stats.p95() / scale))
+                .append(",\"p99\":").append(num(stats.p99() / scale))
+                .append(",\"max\":").append(num(stats.max() / scale))
+                .append('}');
+    }
+
+    private static String num(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private record Stats(double mean, long p50, long p95, long p99, long max) {
+
+        static Stats of(long[] values) {
+            if (values.length == 0) return new Stats(0, 0, 0, 0, 0);
+            long[] sorted = values.clone();
+            Arrays.sort(sorted);
+            double sum = 0;
+            for (long value : sorted) sum += value;
+            return new Stats(sum / sorted.length, percentile(sorted, 50), percentile(sorted, 95),
+                    percentile(sorted, 99), sorted[sorted.length - 1]);
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(sorted.length * percentile / 100.0) - 1;
+            return sorted[Math.clamp(index, 0, sorted.length - 1)];
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package github.nighter.smartspawner.benchmarks.simulation;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Simulator parameters, read from {@code sim.*} system properties (the Gradle task forwards
+ * {@code -Psim.*} project properties).
+ *
+ * @param spawners      synthetic spawners to create
+ * @param worlds        worlds they are spread over
+ * @param players       fake players wandering between spawner clusters
+ * @param hoppers       place a tracked hopper under every spawner
+ * @param guiViewers    how many of the players keep a spawner menu open
+ * @param maxStack      spawner stack sizes are drawn from 1..maxStack
+ * @param storage       YAML or SQLITE
+ * @param spawnDelay    spawner_properties.default.delay; shorten to compress loot cycles
+ * @param warmupSeconds simulated seconds excluded from the report
+ * @param minutes       simulated minutes measured after warmup
+ * @param realtime      pace ticks to 50 ms; required for wall-clock loot timers to fire at the real rate
+ * @param seed          layout and movement seed
+ * @param report        JSON report path
+ */
+record SimulationSettings(int spawners, int worlds, int players, boolean hoppers, int guiViewers,
+                          int maxStack, String storage, String spawnDelay, int warmupSeconds,
+                          double minutes, boolean realtime, long seed, Path report) {
+
+    static SimulationSettings fromSystemProperties() {
+        String storage = System.getProperty("sim.storage", "YAML").toUpperCase(Locale.ROOT);
+        if (!storage.equals("YAML") && !storage.equals("SQLITE")) {
+            throw new IllegalArgumentException("sim.storage must be YAML or SQLITE, got " + storage);
+        }
+        int players = Integer.getInteger("sim.players", 20);
+        return new SimulationSettings(
+                Integer.getInteger("sim.spawners", 2000),
+                Math.max(1, Integer.getInteger("sim.worlds", 3)),
+                players,
+                Boolean.parseBoolean(System.getProperty("sim.hoppers", "false")),
+                Math.min(players, Integer.getInteger("sim.guis", 0)),
+                Math.max(1, Integer.getInteger("sim.maxStack", 16)),
+                storage,
+                System.getProperty("sim.spawnDelay", "25s"),
+                Integer.getInteger("sim.warmupSeconds", 30),
+                Double.parseDouble(System.getProperty("sim.minutes", "5")),
+                Boolean.parseBoolean(System.getProperty("sim.realtime", "true")),
+                Long.getLong("sim.seed", 20240601L),
+                Path.of(System.getProperty("sim.report", "simulation-report.json")));
+    }
+
+    int warmupTicks() {
+        return warmupSeconds * 20;
+    }
+
+    int measuredTicks() {
+        return (int) Math.round(minutes * 60 * 20);
+    }
+
+    /**
+     * config.yml overrides applied before the plugin is restarted for the run.
+     */
+    Map<String, Object> configOverrides() {
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        overrides.put("database.mode", storage);
+        overrides.put("database.migrate_from_local", false);
+        overrides.put("hopper.enabled", hoppers);
+        overrides.put("spawner_properties.default.delay", spawnDelay);
+        return overrides;
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("spawners", spawners);
+        map.put("worlds", worlds);
+        map.put("players", players);
+        map.put("hoppers", hoppers);
+        map.put("gui_viewers", guiViewers);
+        map.put("max_stack", maxStack);
+        map.put("storage", storage);
+        map.put("spawn_delay", spawnDelay);
+        map.put("warmup_seconds", warmupSeconds);
+        map.put("minutes", minutes);
+        map.put("realtime", realtime);
+        map.put("seed", seed);
+        return map;
+    }
+}
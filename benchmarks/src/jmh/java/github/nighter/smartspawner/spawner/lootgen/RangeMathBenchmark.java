@@ -0,0 +1,73 @@
+package github.nighter.smartspawner.spawner.lootgen;
+
+import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.benchmarks.BenchmarkServer;
+import github.nighter.smartspawner.spawner.properties.SpawnerData;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * One range-check pass. Lives in the {@code lootgen} package because {@link RangeMath} and
+ * {@link PlayerRangeWrapper} are package-private.
+ * <p>
+ * Spawners and players are scattered over {@code worlds} worlds in a 2000x2000 area with a
+ * fixed seed, so a fraction of spawners have a player in range and the rest scan every player.
+ */
+@State(Scope.Thread)
+public class RangeMathBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int spawnerCount;
+
+    @Param({"10", "100", "500"})
+    public int playerCount;
+
+    @Param({"3"})
+    public int worlds;
+
+    private RangeMath rangeMath;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SmartSpawner plugin = BenchmarkServer.plugin();
+        World[] worldArray = new World[worlds];
+        for (int i = 0; i < worlds; i++) {
+            worldArray[i] = BenchmarkServer.server().addSimpleWorld("bench_range_" + i);
+        }
+
+        SplittableRandom random = new SplittableRandom(1234L);
+        List<SpawnerData> spawners = new ArrayList<>(spawnerCount);
+        for (int i = 0; i < spawnerCount; i++) {
+            World world = worldArray[random.nextInt(worlds)];
+            Location location = new Location(world, random.nextInt(-1000, 1000), random.nextInt(-60, 120),
+                    random.nextInt(-1000, 1000));
+            spawners.add(new SpawnerData("bench-" + i, location, EntityType.ZOMBIE, plugin));
+        }
+
+        PlayerRangeWrapper[] players = new PlayerRangeWrapper[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            World world = worldArray[random.nextInt(worlds)];
+            // Roughly one in ten players is in spectator or otherwise fails spawn conditions
+            players[i] = new PlayerRangeWrapper(world.getUID(), random.nextInt(-1000, 1000),
+                    random.nextInt(-60, 120), random.nextInt(-1000, 1000), random.nextInt(10) != 0);
+        }
+
+        rangeMath = new RangeMath(players, spawners);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    @Benchmark
+    public boolean[] getActiveSpawners() {
+        return rangeMath.getActiveSpawners();
+    }
+}
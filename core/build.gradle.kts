@@ -56,6 +56,16 @@ dependencies {
     annotationProcessor("org.projectlombok:lombok:1.18.46")
 
     implementation("org.bstats:bstats-bukkit:3.2.1")
+
+    // Storage snapshots reference Bukkit types, so tests need the API at runtime
+    testImplementation("io.papermc.paper:paper-api:1.21.11-R0.1-SNAPSHOT")
+    testImplementation(platform("org.junit:junit-bom:5.13.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 tasks.withType<JavaCompile>().configureEach {
@@ -0,0 +1,116 @@
+package github.nighter.smartspawner;
+
+import github.nighter.smartspawner.perf.PerfMetric;
+import github.nighter.smartspawner.perf.PerfMonitor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Runs SmartSpawner's blocking I/O (JDBC, YAML saves, log files, HTTP) on virtual threads, away from
+ * the scheduler's async pool that loot, sell and GUI work share with other plugins.
+ * <p>
+ * A stalled database or a slow webhook now parks cheap virtual threads instead of occupying platform
+ * threads. Semaphores keep the concurrency each backend sees bounded: database tasks by
+ * {@code performance.io.max_database_tasks} (by default the connection pool size), HTTP requests by
+ * {@code performance.io.max_http_requests}. File tasks are not limited.
+ */
+public class IoExecutor {
+    private final SmartSpawner plugin;
+    private final ExecutorService executor;
+    private final Semaphore databasePermits;
+    private final Semaphore httpPermits;
+
+    public IoExecutor(SmartSpawner plugin) {
+        this.plugin = plugin;
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("SmartSpawner-IO-", 0).factory());
+
+        int databaseTasks = plugin.getConfig().getInt("performance.io.max_database_tasks", 0);
+        this.databasePermits = new Semaphore(databaseTasks > 0 ? databaseTasks : defaultDatabaseTasks(), true);
+        this.httpPermits = new Semaphore(Math.max(1, plugin.getConfig().getInt("performance.io.max_http_requests", 4)), true);
+    }
+
+    // One task per pooled connection, so queued tasks wait here instead of inside the connection pool
+    private int defaultDatabaseTasks() {
+        String mode = plugin.getConfig().getString("database.mode", "YAML");
+        if ("SQLITE".equalsIgnoreCase(mode)) {
+            // Readers plus the single writer connection
+            return Math.max(1, plugin.getConfig().getInt("database.sqlite.read_pool_size", 3)) + 1;
+        }
+        return Math.max(1, plugin.getConfig().getInt("database.sql.pool.maximum-size", 10));
+    }
+
+    /**
+     * Runs a task that uses a database connection.
+     */
+    public void runDatabase(Runnable task) {
+        submit(task, databasePermits);
+    }
+
+    /**
+     * Runs a task that makes HTTP requests.
+     */
+    public void runHttp(Runnable task) {
+        submit(task, httpPermits);
+    }
+
+    /**
+     * Runs a task that reads or writes local files.
+     */
+    public void runFile(Runnable task) {
+        submit(task, null);
+    }
+
+    private void submit(Runnable task, Semaphore permits) {
+        try {
+            executor.execute(() -> runWithPermit(task, permits));
+        } catch (RejectedExecutionException e) {
+            // Executor already stopped during shutdown; run on the caller instead of dropping the work
+            runWithPermit(task, null);
+        }
+    }
+
+    private void runWithPermit(Runnable task, Semaphore permits) {
+        if (permits != null) {
+            PerfMonitor perf = plugin.getPerfMonitor();
+            long waitStart = perf.start();
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            perf.stop(PerfMetric.IO_PERMIT_WAIT, waitStart);
+        }
+        try {
+            task.run();
+        } catch (Throwable t) {
+            plugin.getLogger().log(Level.SEVERE, "Error in I/O task", t);
+        } finally {
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Waits for running tasks, so final saves and log writes complete before the plugin is gone.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("I/O tasks did not finish within 10 seconds, interrupting them");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -20,6 +20,7 @@ import github.nighter.smartspawner.spawner.config.ItemSpawnerSettingsConfig;
 import github.nighter.smartspawner.logging.LoggingConfig;
 import github.nighter.smartspawner.logging.SpawnerActionLogger;
 import github.nighter.smartspawner.logging.SpawnerAuditListener;
+import github.nighter.smartspawner.perf.PerfMonitor;
 import github.nighter.smartspawner.spawner.natural.NaturalSpawnerListener;
 import github.nighter.smartspawner.utils.TimeFormatter;
 import github.nighter.smartspawner.hooks.economy.ItemPriceManager;
@@ -49,6 +50,7 @@ import github.nighter.smartspawner.spawner.interactions.type.SpawnEggHandler;
 import github.nighter.smartspawner.spawner.item.SpawnerItemFactory;
 import github.nighter.smartspawner.spawner.lootgen.SpawnerRangeChecker;
 import github.nighter.smartspawner.spawner.data.SpawnerManager;
+import github.nighter.smartspawner.spawner.sell.SpawnerBulkSellManager;
 import github.nighter.smartspawner.spawner.sell.SpawnerSellManager;
 import github.nighter.smartspawner.spawner.data.SpawnerFileHandler;
 import github.nighter.smartspawner.spawner.data.storage.SpawnerStorage;
@@ -59,6 +61,7 @@ import github.nighter.smartspawner.spawner.data.database.SqliteToMySqlMigration;
 import github.nighter.smartspawner.spawner.data.database.YamlToDatabaseMigration;
 import github.nighter.smartspawner.spawner.config.SpawnerMobHeadTexture;
 import github.nighter.smartspawner.spawner.lootgen.SpawnerLootGenerator;
+import github.nighter.smartspawner.spawner.data.GhostSpawnerSweeper;
 import github.nighter.smartspawner.spawner.data.WorldEventHandler;
 import github.nighter.smartspawner.language.LanguageManager;
 import github.nighter.smartspawner.updates.ConfigUpdater;
@@ -120,6 +123,7 @@ public class SmartSpawner extends JavaPlugin implements SmartSpawnerPlugin {
     private SpawnerStackerHandler spawnerStackerHandler;
     private SpawnerStorageAction spawnerStorageAction;
     private SpawnerSellManager spawnerSellManager;
+    private SpawnerBulkSellManager spawnerBulkSellManager;
     private SpawnerSellConfirmListener spawnerSellConfirmListener;
 
     // Core managers
@@ -140,6 +144,7 @@ public class SmartSpawner extends JavaPlugin implements SmartSpawnerPlugin {
     private SpawnerBreakListener spawnerBreakListener;
     private SpawnerPlaceListener spawnerPlaceListener;
     private WorldEventHandler worldEventHandler;
+    private GhostSpawnerSweeper ghostSpawnerSweeper;
     private ItemPriceManager itemPriceManager;
     private UpdateChecker updateChecker;
     private BrigadierCommandManager brigadierCommandManager;
@@ -157,6 +162,12 @@ public class SmartSpawner extends JavaPlugin implements SmartSpawnerPlugin {
     private SpawnerAuditListener spawnerAuditListener;
     private LoggingConfig loggingConfig;
 
+    // Performance instrumentation
+    private PerfMonitor perfMonitor;
+
+    // Virtual-thread executor for blocking database, file and HTTP work
+    private IoExecutor ioExecutor;
+
     // Near-command highlight manager
     private SpawnerHighlightManager spawnerHighlightManager;
     private NearResultGUI nearResultGUI;
@@ -238,6 +249,8 @@ public class SmartSpawner extends JavaPlugin implements SmartSpawnerPlugin {
         this.timeFormatter = new TimeFormatter(this);
         this.configUpdater = new ConfigUpdater(this);
         configUpdater.checkAndUpdateConfig();
+        this.perfMonitor = new PerfMonitor(this);
+        this.ioExecutor = new IoExecutor(this);
         this.languageManager = new LanguageManager(this);
         this.languageUpdater = new LanguageUpdater(this);
         new LanguageChangelogUpdater(this).update();
@@ -290,6 +303,7 @@ public class SmartSpawner extends JavaPlugin implements SmartSpawnerPlugin {
         this.spawnerGuiViewManager = new SpawnerGuiViewManager(this);
         this.spawnerLootGenerator = new SpawnerLootGenerator(this);
         this.spawnerSellManager = new SpawnerSellManager(this);
+        this.spawnerBulkSellManager = new SpawnerBulkSellManager(this);
         this.rangeChecker = new SpawnerRangeChecker(this);
 
         // Initialize FormUI components only if Floodgate is available
@@ -362,6 +376,9 @@ public class SmartSpawner extends JavaPlugin implements SmartSpawnerPlugin {
         } else {
             initializeYamlStorage();
         }
+
+        // Replay changes a crash kept out of storage, after migrations and before spawners load
+        spawnerStorage.recoverJournal();
     }
 
     private void initializeYamlStorage() {
@@ -417,6 +434,7 @@ public class SmartSpawner extends JavaPlugin implements SmartSpawnerPlugin {
         this.spawnerBreakListener = new SpawnerBreakListener(this);
         this.spawnerPlaceListener = new SpawnerPlaceListener(this);
         this.worldEventHandler = new WorldEventHandler(this);
+        this.ghostSpawnerSweeper = new GhostSpawnerSweeper(this);
     }
 
     public void setUpHopperHandler() {
@@ -446,6 +464,7 @@ public class SmartSpawner extends JavaPlugin implements SmartSpawnerPlugin {
         pm.registerEvents(spawnerMenuAction, this);
         pm.registerEvents(spawnerStackerHandler, this);
         pm.registerEvents(worldEventHandler, this);
+        pm.registerEvents(ghostSpawnerSweeper, this);
         pm.registerEvents(spawnerListGUI, this);
         pm.registerEvents(spawnerManagementHandler, this);
         pm.registerEvents(adminStackerHandler, this);
@@ -490,6 +509,20 @@ public class SmartSpawner extends JavaPlugin implements SmartSpawnerPlugin {
         metrics.addCustomChart(new Metrics.SimplePie("spawners", () ->
                 String.valueOf(this.spawnerManager.getTotalSpawners() / 1000 * 1000))
         );
+        metrics.addCustomChart(new Metrics.SimplePie("price_refresh_duration", () ->
+                bucketMillis(itemPriceManager.getLastRefreshDurationMillis(), 50, 250, 1000, 5000))
+        );
+        metrics.addCustomChart(new Metrics.SimplePie("price_snapshot_staleness", () ->
+                bucketMillis(itemPriceManager.getSnapshotAgeMillis(), 60_000, 300_000, 900_000, 3_600_000))
+        );
+    }
+
+    private static String bucketMillis(long millis, long... bounds) {
+        if (millis < 0) return "none";
+        for (long bound : bounds) {
+            if (millis < bound) return "<" + bound + "ms";
+        }
+        return ">=" + bounds[bounds.length - 1] + "ms";
     }
 
     public void reload() {
@@ -533,6 +566,9 @@ public class SmartSpawner extends JavaPlugin implements SmartSpawnerPlugin {
             itemSpawnerSettingsConfig.reload();
         }
         
+        perfMonitor.loadConfig();
+        ghostSpawnerSweeper.loadConfig();
+
         // Reload logging system (file logging + discord webhook)
         loggingConfig.loadConfig();
         spawnerActionLogger.reloadDiscord();
@@ -556,11 +592,21 @@ public class SmartSpawner extends JavaPlugin implements SmartSpawnerPlugin {
     private void saveAndCleanup() {
         if (spawnerManager != null) {
             try {
+                // Accrual mode: credit loot accrued since the last read so it is part of the final save
+                if (spawnerLootGenerator != null) {
+                    spawnerManager.getAllSpawners().forEach(spawnerLootGenerator::settleAccruedLoot);
+                }
+
                 // Use the storage interface for shutdown
                 if (spawnerStorage != null) {
                     spawnerStorage.shutdown();
                 }
 
+                // Let queued database writes finish while the connection pool is still open
+                if (ioExecutor != null) {
+                    ioExecutor.shutdown();
+                }
+
                 // Shutdown database manager if active
                 if (databaseManager != null) {
                     databaseManager.shutdown();
@@ -587,18 +633,24 @@ public class SmartSpawner extends JavaPlugin implements SmartSpawnerPlugin {
             spawnerHighlightManager.cleanup();
         }
 
+        if (perfMonitor != null) {
+            perfMonitor.shutdown();
+        }
+
         // Clean up resources
         cleanupResources();
     }
 
     private void cleanupResources() {
         if (rangeChecker != null) rangeChecker.cleanup();
+        if (spawnerLootGenerator != null) spawnerLootGenerator.shutdown();
         if (spawnerGuiViewManager != null) spawnerGuiViewManager.cleanup();
         if (hopperService != null) hopperService.cleanup();
         if (spawnerClickManager != null) spawnerClickManager.cleanup();
         if (spawnerStackerHandler != null) spawnerStackerHandler.cleanupAll();
         if (spawnerStorageUI != null) spawnerStorageUI.cleanup();
         if (spawnerLocationLockManager !=null) spawnerLocationLockManager.shutdown();
+        if (ghostSpawnerSweeper != null) ghostSpawnerSweeper.shutdown();
     }
 
     // Spawner Provider for ShopGUI+ integration
@@ -4,18 +4,24 @@ import github.nighter.smartspawner.SmartSpawner;
 import github.nighter.smartspawner.api.data.SpawnerDataDTO;
 import github.nighter.smartspawner.api.data.SpawnerDataModifier;
 import github.nighter.smartspawner.api.impl.SpawnerDataModifierImpl;
+import github.nighter.smartspawner.api.logging.SpawnerLogQuery;
+import github.nighter.smartspawner.api.logging.SpawnerLogRecord;
+import github.nighter.smartspawner.logging.SpawnerLogQueryService;
 import github.nighter.smartspawner.spawner.item.SpawnerItemFactory;
 import github.nighter.smartspawner.spawner.properties.SpawnerData;
+import github.nighter.smartspawner.spawner.utils.SpawnerItemFingerprint;
+import github.nighter.smartspawner.spawner.utils.SpawnerTypeChecker;
 import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.block.BlockState;
-import org.bukkit.block.CreatureSpawner;
 import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.BlockStateMeta;
-import org.bukkit.inventory.meta.ItemMeta;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -28,7 +34,7 @@ public class SmartSpawnerAPIImpl implements SmartSpawnerAPI {
 
     public SmartSpawnerAPIImpl(SmartSpawner plugin) {
         this.plugin = plugin;
-        this.itemFactory = new SpawnerItemFactory(plugin);
+        this.itemFactory = plugin.getSpawnerItemFactory();
     }
 
     @Override
@@ -67,90 +73,34 @@ public class SmartSpawnerAPIImpl implements SmartSpawnerAPI {
             return false;
         }
 
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return false;
-        }
-
         // A SmartSpawner is a spawner that is NOT vanilla and NOT an item spawner
-        return !isVanillaSpawner(item) && !isItemSpawner(item);
+        int kind = SpawnerItemFingerprint.kind(SpawnerItemFingerprint.of(item));
+        return kind != SpawnerItemFingerprint.KIND_VANILLA && kind != SpawnerItemFingerprint.KIND_ITEM;
     }
 
     @Override
     public boolean isVanillaSpawner(ItemStack item) {
-        if (item == null || item.getType() != Material.SPAWNER || !item.hasItemMeta()) {
-            return false;
-        }
-
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return false;
-        }
-
-        return meta.getPersistentDataContainer().has(
-                new org.bukkit.NamespacedKey(plugin, "vanilla_spawner"),
-                org.bukkit.persistence.PersistentDataType.BOOLEAN);
+        return SpawnerTypeChecker.isVanillaSpawner(item);
     }
 
     @Override
     public boolean isItemSpawner(ItemStack item) {
-        if (item == null || item.getType() != Material.SPAWNER || !item.hasItemMeta()) {
-            return false;
-        }
-
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return false;
-        }
-
-        return meta.getPersistentDataContainer().has(
-                new org.bukkit.NamespacedKey(plugin, "item_spawner_material"),
-                org.bukkit.persistence.PersistentDataType.STRING);
+        return SpawnerTypeChecker.isItemSpawner(item);
     }
 
     @Override
     public EntityType getSpawnerEntityType(ItemStack item) {
-        if (item == null || item.getType() != Material.SPAWNER || !item.hasItemMeta()) {
-            return null;
-        }
-
-        ItemMeta meta = item.getItemMeta();
-        if (!(meta instanceof BlockStateMeta blockMeta)) {
-            return null;
-        }
-
-        BlockState blockState = blockMeta.getBlockState();
-        if (!(blockState instanceof CreatureSpawner cs)) {
-            return null;
+        int fingerprint = SpawnerItemFingerprint.of(item);
+        if (SpawnerItemFingerprint.kind(fingerprint) == SpawnerItemFingerprint.KIND_ITEM) {
+            // Item spawners carry EntityType.ITEM in their block state
+            return EntityType.ITEM;
         }
-
-        return cs.getSpawnedType();
+        return SpawnerItemFingerprint.entityType(fingerprint);
     }
 
     @Override
     public Material getItemSpawnerMaterial(ItemStack item) {
-        if (!isItemSpawner(item)) {
-            return null;
-        }
-
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return null;
-        }
-
-        String materialName = meta.getPersistentDataContainer().get(
-                new org.bukkit.NamespacedKey(plugin, "item_spawner_material"),
-                org.bukkit.persistence.PersistentDataType.STRING);
-
-        if (materialName == null) {
-            return null;
-        }
-
-        try {
-            return Material.valueOf(materialName);
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
+        return SpawnerTypeChecker.getItemSpawnerMaterial(item);
     }
 
     @Override
@@ -190,6 +140,35 @@ public class SmartSpawnerAPIImpl implements SmartSpawnerAPI {
         return spawnerData != null ? new SpawnerDataModifierImpl(spawnerData) : null;
     }
 
+    @Override
+    public CompletableFuture<Double> sellSpawners(Player player, Collection<String> spawnerIds) {
+        if (player == null || spawnerIds == null || !plugin.hasSellIntegration()) {
+            return CompletableFuture.completedFuture(0.0);
+        }
+
+        List<SpawnerData> spawners = new ArrayList<>(spawnerIds.size());
+        for (String spawnerId : spawnerIds) {
+            SpawnerData spawnerData = plugin.getSpawnerManager().getSpawnerById(spawnerId);
+            if (spawnerData != null) {
+                spawners.add(spawnerData);
+            }
+        }
+        return plugin.getSpawnerBulkSellManager().sellSpawners(player, spawners, false);
+    }
+
+    @Override
+    public CompletableFuture<Long> queryLogs(SpawnerLogQuery query, Consumer<SpawnerLogRecord> consumer) {
+        if (query == null || consumer == null || plugin.getSpawnerActionLogger() == null) {
+            return CompletableFuture.completedFuture(0L);
+        }
+
+        SpawnerLogQueryService queryService = plugin.getSpawnerActionLogger().getQueryService();
+        if (queryService == null) {
+            return CompletableFuture.completedFuture(0L);
+        }
+        return queryService.query(query, consumer);
+    }
+
     /**
      * Converts SpawnerData to SpawnerDataDTO.
      *
@@ -197,6 +176,8 @@ public class SmartSpawnerAPIImpl implements SmartSpawnerAPI {
      * @return the DTO representation
      */
     private SpawnerDataDTO convertToDTO(SpawnerData spawnerData) {
+        // API reads see the loot accrued up to now
+        plugin.getSpawnerLootGenerator().settleAccruedLoot(spawnerData);
         return new SpawnerDataDTO(
                 spawnerData.getSpawnerId(),
                 spawnerData.getSpawnerLocation(),
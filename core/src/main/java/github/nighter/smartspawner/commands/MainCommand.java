@@ -7,9 +7,12 @@ import github.nighter.smartspawner.commands.clear.ClearSubCommand;
 import github.nighter.smartspawner.commands.give.GiveSubCommand;
 import github.nighter.smartspawner.commands.hologram.HologramSubCommand;
 import github.nighter.smartspawner.commands.list.ListSubCommand;
+import github.nighter.smartspawner.commands.logs.LogsSubCommand;
+import github.nighter.smartspawner.commands.perf.PerfSubCommand;
 import github.nighter.smartspawner.commands.near.NearSubCommand;
 import github.nighter.smartspawner.commands.prices.PricesSubCommand;
 import github.nighter.smartspawner.commands.reload.ReloadSubCommand;
+import github.nighter.smartspawner.commands.sellall.SellAllSubCommand;
 import github.nighter.smartspawner.commands.set.SetSubCommand;
 import io.papermc.paper.command.brigadier.CommandSourceStack;
 import io.papermc.paper.command.brigadier.Commands;
@@ -36,7 +39,10 @@ public class MainCommand {
                 new PricesSubCommand(plugin),
                 new ClearSubCommand(plugin),
                 new NearSubCommand(plugin, plugin.getSpawnerHighlightManager()),
-                new SetSubCommand(plugin)
+                new SetSubCommand(plugin),
+                new SellAllSubCommand(plugin),
+                new LogsSubCommand(plugin),
+                new PerfSubCommand(plugin)
         );
     }
 
@@ -4,6 +4,7 @@ import github.nighter.smartspawner.Scheduler;
 import github.nighter.smartspawner.SmartSpawner;
 import github.nighter.smartspawner.language.ColorUtil;
 import github.nighter.smartspawner.language.LanguageManager;
+import github.nighter.smartspawner.perf.PerfMetric;
 
 import org.bukkit.Color;
 import org.bukkit.Location;
@@ -171,6 +172,7 @@ public class SpawnerHologram {
         // Compute the text on the calling (region) thread – avoids doing string work
         // inside the entity-thread lambda and keeps the lambda allocation tiny.
         final String finalText = computeText();
+        plugin.getPerfMonitor().increment(PerfMetric.HOLOGRAM_RENDERS);
 
         Scheduler.runEntityTask(display, () -> {
             if (display.isValid()) {
@@ -206,6 +208,7 @@ public class SpawnerHologram {
             // Pre-compute text here (region thread) so the entity-thread lambda
             // only needs to call display.setText() – no extra task dispatch.
             final String finalText = computeText();
+            plugin.getPerfMonitor().increment(PerfMetric.HOLOGRAM_RENDERS);
             Scheduler.runEntityTask(display, () -> {
                 if (!display.isValid()) {
                     textDisplay.set(null);
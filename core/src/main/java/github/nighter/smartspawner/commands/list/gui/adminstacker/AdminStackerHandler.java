@@ -203,7 +203,9 @@ public class AdminStackerHandler implements Listener {
             dbHandler.updateRemoteSpawnerStackSizeAsync(targetServer, spawnerId, newStackSize, success -> {
                 if (success) {
                     player.sendMessage("§aStack size updated from " + originalSize + " to " + newStackSize);
-                    player.sendMessage("§e[Note] Changes will sync to " + targetServer + " on next refresh.");
+                    if (!dbHandler.isChangeFeedEnabled()) {
+                        player.sendMessage("§e[Note] Changes will sync to " + targetServer + " on next refresh.");
+                    }
                     player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.0f);
                 } else {
                     player.sendMessage("§cFailed to update stack size. Spawner may have been removed.");
@@ -270,8 +270,10 @@ public class SpawnerManagementHandler implements Listener {
                 messageService.sendMessage(player, "management.removed", placeholders);
                 player.playSound(player.getLocation(), Sound.ENTITY_ITEM_BREAK, 1.0f, 1.0f);
 
-                // Note: The physical block on the remote server will remain until that server syncs
-                player.sendMessage("§e[Note] The spawner block on " + targetServer + " will be removed when that server syncs.");
+                // Without the change feed the physical block on the remote server remains until that server syncs
+                if (!dbHandler.isChangeFeedEnabled()) {
+                    player.sendMessage("§e[Note] The spawner block on " + targetServer + " will be removed when that server syncs.");
+                }
             } else {
                 messageService.sendMessage(player, "spawner_not_found");
                 player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
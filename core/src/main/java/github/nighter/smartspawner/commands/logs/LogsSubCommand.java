@@ -0,0 +1,184 @@
+package github.nighter.smartspawner.commands.logs;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import github.nighter.smartspawner.Scheduler;
+import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.api.logging.SpawnerLogQuery;
+import github.nighter.smartspawner.api.logging.SpawnerLogRecord;
+import github.nighter.smartspawner.commands.BaseSubCommand;
+import github.nighter.smartspawner.language.MessageService;
+import github.nighter.smartspawner.logging.SpawnerEventType;
+import github.nighter.smartspawner.logging.SpawnerLogQueryService;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jspecify.annotations.NullMarked;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+@NullMarked
+public class LogsSubCommand extends BaseSubCommand {
+
+    private static final int DEFAULT_DAYS = 7;
+    private static final int MAX_DAYS = 365;
+    /** Number of most recent matches printed in chat; the total count is always reported. */
+    private static final int MAX_SHOWN = 10;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+            .withZone(ZoneId.systemDefault());
+
+    private final MessageService messageService;
+
+    public LogsSubCommand(SmartSpawner plugin) {
+        super(plugin);
+        this.messageService = plugin.getMessageService();
+    }
+
+    @Override
+    public String getName() {
+        return "logs";
+    }
+
+    @Override
+    public String getPermission() {
+        return "smartspawner.command.logs";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Search the spawner audit log by player or spawner";
+    }
+
+    @Override
+    public LiteralArgumentBuilder<CommandSourceStack> build() {
+        LiteralArgumentBuilder<CommandSourceStack> builder = Commands.literal(getName());
+        builder.requires(source -> hasPermission(source.getSender()));
+        builder.executes(this::execute);
+
+        // /ss logs player <name> [days] [event]
+        builder.then(Commands.literal("player")
+                .then(withFilters("name", (query, name) -> query.player(name))));
+
+        // /ss logs spawner <id> [days] [event]
+        builder.then(Commands.literal("spawner")
+                .then(withFilters("id", (query, id) -> query.spawnerId(id))));
+
+        return builder;
+    }
+
+    private RequiredArgumentBuilder<CommandSourceStack, String> withFilters(
+            String targetArgument, BiConsumer<SpawnerLogQuery.Builder, String> target) {
+        return Commands.argument(targetArgument, StringArgumentType.word())
+                .executes(ctx -> runQuery(ctx, targetArgument, target, DEFAULT_DAYS, null))
+                .then(Commands.argument("days", IntegerArgumentType.integer(1, MAX_DAYS))
+                        .executes(ctx -> runQuery(ctx, targetArgument, target,
+                                IntegerArgumentType.getInteger(ctx, "days"), null))
+                        .then(Commands.argument("event", StringArgumentType.word())
+                                .suggests((ctx, suggestions) -> {
+                                    for (SpawnerEventType type : SpawnerEventType.values()) {
+                                        suggestions.suggest(type.name());
+                                    }
+                                    return suggestions.buildFuture();
+                                })
+                                .executes(ctx -> runQuery(ctx, targetArgument, target,
+                                        IntegerArgumentType.getInteger(ctx, "days"),
+                                        StringArgumentType.getString(ctx, "event")))));
+    }
+
+    @Override
+    public int execute(CommandContext<CommandSourceStack> context) {
+        messageService.sendMessage(context.getSource().getSender(), "logs.usage");
+        return 0;
+    }
+
+    private int runQuery(CommandContext<CommandSourceStack> context, String targetArgument,
+                         BiConsumer<SpawnerLogQuery.Builder, String> target, int days, String event) {
+        CommandSender sender = context.getSource().getSender();
+        logCommandExecution(context);
+
+        SpawnerLogQueryService queryService = plugin.getSpawnerActionLogger() != null
+                ? plugin.getSpawnerActionLogger().getQueryService()
+                : null;
+        if (queryService == null) {
+            messageService.sendMessage(sender, "logs.disabled");
+            return 0;
+        }
+
+        SpawnerLogQuery.Builder query = SpawnerLogQuery.builder().within(TimeUnit.DAYS.toMillis(days));
+        target.accept(query, StringArgumentType.getString(context, targetArgument));
+        if (event != null) {
+            try {
+                query.eventType(SpawnerEventType.valueOf(event.toUpperCase()).name());
+            } catch (IllegalArgumentException e) {
+                Map<String, String> placeholders = new HashMap<>(2);
+                placeholders.put("event", event);
+                messageService.sendMessage(sender, "logs.invalid_event", placeholders);
+                return 0;
+            }
+        }
+
+        messageService.sendMessage(sender, "logs.searching");
+
+        // Only the newest matches are kept; the query itself streams and never holds the full result
+        Deque<SpawnerLogRecord> newest = new ArrayDeque<>(MAX_SHOWN);
+        queryService.query(query.build(), record -> {
+            if (newest.size() == MAX_SHOWN) {
+                newest.pollFirst();
+            }
+            newest.addLast(record);
+        }).whenComplete((count, error) -> runForSender(sender,
+                () -> sendResults(sender, count, error, newest, days)));
+        return 1;
+    }
+
+    // Query callbacks complete on an I/O thread; messages go out from the sender's own thread
+    private void runForSender(CommandSender sender, Runnable task) {
+        if (sender instanceof Player player) {
+            Scheduler.runEntityTask(player, task);
+        } else {
+            Scheduler.runTask(task);
+        }
+    }
+
+    private void sendResults(CommandSender sender, Long count, Throwable error,
+                             Deque<SpawnerLogRecord> newest, int days) {
+        if (error != null) {
+            plugin.getLogger().warning("Log query failed: " + error.getMessage());
+            messageService.sendMessage(sender, "logs.failed");
+            return;
+        }
+        if (count == 0) {
+            messageService.sendMessage(sender, "logs.none");
+            return;
+        }
+
+        Map<String, String> header = new HashMap<>(4);
+        header.put("count", String.valueOf(count));
+        header.put("shown", String.valueOf(newest.size()));
+        header.put("days", String.valueOf(days));
+        messageService.sendMessage(sender, "logs.header", header);
+
+        for (SpawnerLogRecord record : newest) {
+            Map<String, String> placeholders = new HashMap<>(4);
+            placeholders.put("time", TIME_FORMAT.format(Instant.ofEpochMilli(record.getTimestamp())));
+            placeholders.put("event", record.getEventType());
+            placeholders.put("player", record.getPlayerName() != null ? record.getPlayerName() : "-");
+            placeholders.put("location", record.hasLocation()
+                    ? record.getWorld() + " " + record.getX() + " " + record.getY() + " " + record.getZ()
+                    : "-");
+            messageService.sendMessage(sender, "logs.entry", placeholders);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package github.nighter.smartspawner.commands.perf;
+
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.commands.BaseSubCommand;
+import github.nighter.smartspawner.language.MessageService;
+import github.nighter.smartspawner.perf.PerfMetric;
+import github.nighter.smartspawner.perf.PerfMonitor;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import org.bukkit.command.CommandSender;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@NullMarked
+public class PerfSubCommand extends BaseSubCommand {
+    private final MessageService messageService;
+
+    public PerfSubCommand(SmartSpawner plugin) {
+        super(plugin);
+        this.messageService = plugin.getMessageService();
+    }
+
+    @Override
+    public String getName() {
+        return "perf";
+    }
+
+    @Override
+    public String getPermission() {
+        return "smartspawner.command.perf";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Show SmartSpawner performance metrics";
+    }
+
+    @Override
+    public LiteralArgumentBuilder<CommandSourceStack> build() {
+        LiteralArgumentBuilder<CommandSourceStack> builder = Commands.literal(getName());
+        builder.requires(source -> hasPermission(source.getSender()));
+        builder.executes(this::execute);
+
+        builder.then(Commands.literal("reset").executes(context -> {
+            logCommandExecution(context);
+            plugin.getPerfMonitor().reset();
+            messageService.sendMessage(context.getSource().getSender(), "perf.reset");
+            return 1;
+        }));
+        return builder;
+    }
+
+    @Override
+    public int execute(CommandContext<CommandSourceStack> context) {
+        CommandSender sender = context.getSource().getSender();
+        logCommandExecution(context);
+
+        PerfMonitor perf = plugin.getPerfMonitor();
+        if (!perf.isEnabled()) {
+            messageService.sendMessage(sender, "perf.disabled");
+            return 0;
+        }
+
+        Map<String, String> header = new HashMap<>(2);
+        header.put("since", formatDuration(System.currentTimeMillis() - perf.getSinceMillis()));
+        messageService.sendMessage(sender, "perf.header", header);
+
+        for (PerfMonitor.MetricSnapshot s : perf.snapshot()) {
+            PerfMetric metric = s.metric();
+            Map<String, String> placeholders = new HashMap<>(8);
+            placeholders.put("name", metric.getKey());
+            placeholders.put("count", String.valueOf(s.count()));
+
+            switch (metric.getKind()) {
+                case COUNTER, GAUGE -> messageService.sendMessage(sender, "perf.counter", placeholders);
+                case TIMER -> {
+                    placeholders.put("mean", millis(s.mean()));
+                    placeholders.put("p50", millis(s.p50()));
+                    placeholders.put("p99", millis(s.p99()));
+                    placeholders.put("max", millis(s.max()));
+                    messageService.sendMessage(sender, "perf.timer", placeholders);
+                }
+                case DISTRIBUTION -> {
+                    placeholders.put("mean", String.format(Locale.ROOT, "%.1f", s.mean()));
+                    placeholders.put("p50", String.valueOf(s.p50()));
+                    placeholders.put("p99", String.valueOf(s.p99()));
+                    placeholders.put("max", String.valueOf(s.max()));
+                    messageService.sendMessage(sender, "perf.distribution", placeholders);
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static String millis(double nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    private static String formatDuration(long millis) {
+        long seconds = millis / 1000;
+        if (seconds < 60) return seconds + "s";
+        long minutes = seconds / 60;
+        if (minutes < 60) return minutes + "m " + (seconds % 60) + "s";
+        return (minutes / 60) + "h " + (minutes % 60) + "m";
+    }
+}
@@ -123,8 +123,7 @@ public class PricesGUI implements Listener {
     }
 
     private double getShopPrice(Material material) {
-        if (priceManager.getShopIntegrationManager() == null) return 0.0;
-        return priceManager.getShopIntegrationManager().getPrice(material);
+        return priceManager.getShopPrice(material);
     }
 
     private String determinePriceSource(Material material, double finalPrice, double customPrice, double shopPrice) {
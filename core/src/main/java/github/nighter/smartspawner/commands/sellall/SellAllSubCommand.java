@@ -0,0 +1,127 @@
+package github.nighter.smartspawner.commands.sellall;
+
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.commands.BaseSubCommand;
+import github.nighter.smartspawner.spawner.properties.SpawnerData;
+import github.nighter.smartspawner.spawner.sell.SpawnerBulkSellManager;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+@NullMarked
+public class SellAllSubCommand extends BaseSubCommand {
+
+    private static final int DEFAULT_RADIUS = 32;
+    private static final int MAX_RADIUS = 256;
+    /** Common radius suggestions shown in tab-completion. */
+    private static final int[] SUGGESTED_RADII = {16, 64, 128};
+
+    private final SpawnerBulkSellManager bulkSellManager;
+
+    public SellAllSubCommand(SmartSpawner plugin) {
+        super(plugin);
+        this.bulkSellManager = plugin.getSpawnerBulkSellManager();
+    }
+
+    @Override
+    public String getName() {
+        return "sellall";
+    }
+
+    @Override
+    public String getPermission() {
+        return "smartspawner.command.sellall";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Sell the storage of nearby or your own spawners at once";
+    }
+
+    @Override
+    public LiteralArgumentBuilder<CommandSourceStack> build() {
+        LiteralArgumentBuilder<CommandSourceStack> builder = Commands.literal(getName());
+        builder.requires(source -> hasPermission(source.getSender()));
+
+        // /ss sellall                 – spawners within the default radius
+        builder.executes(this::execute);
+
+        // /ss sellall near [radius]   – spawners within a custom radius (1..MAX_RADIUS)
+        builder.then(
+                Commands.literal("near")
+                        .executes(context -> executeNear(context, DEFAULT_RADIUS))
+                        .then(Commands.argument("radius", IntegerArgumentType.integer(1, MAX_RADIUS))
+                                .suggests((ctx, suggestions) -> {
+                                    for (int v : SUGGESTED_RADII) {
+                                        suggestions.suggest(v);
+                                    }
+                                    return suggestions.buildFuture();
+                                })
+                                .executes(context ->
+                                        executeNear(context, IntegerArgumentType.getInteger(context, "radius"))))
+        );
+
+        // /ss sellall owned           – spawners last used by the player
+        builder.then(Commands.literal("owned").executes(this::executeOwned));
+
+        return builder;
+    }
+
+    @Override
+    public int execute(CommandContext<CommandSourceStack> context) {
+        return executeNear(context, DEFAULT_RADIUS);
+    }
+
+    private int executeNear(CommandContext<CommandSourceStack> context, int radius) {
+        Player player = checkSeller(context);
+        if (player == null) return 0;
+
+        return sell(player, bulkSellManager.findNearbySpawners(player, radius));
+    }
+
+    private int executeOwned(CommandContext<CommandSourceStack> context) {
+        Player player = checkSeller(context);
+        if (player == null) return 0;
+
+        return sell(player, bulkSellManager.findOwnedSpawners(player));
+    }
+
+    private int sell(Player player, List<SpawnerData> spawners) {
+        if (spawners.isEmpty()) {
+            plugin.getMessageService().sendMessage(player, "sellall.none");
+            return 0;
+        }
+
+        bulkSellManager.sellSpawners(player, spawners, true);
+        return 1;
+    }
+
+    private @Nullable Player checkSeller(CommandContext<CommandSourceStack> context) {
+        CommandSender sender = context.getSource().getSender();
+        logCommandExecution(context);
+
+        if (!(sender instanceof Player player)) {
+            plugin.getMessageService().sendMessage(sender, "player_only");
+            return null;
+        }
+
+        if (!plugin.hasSellIntegration()) {
+            plugin.getMessageService().sendMessage(player, "prices.not_available");
+            return null;
+        }
+
+        if (!player.hasPermission("smartspawner.sellall")) {
+            plugin.getMessageService().sendMessage(player, "no_permission");
+            return null;
+        }
+        return player;
+    }
+}
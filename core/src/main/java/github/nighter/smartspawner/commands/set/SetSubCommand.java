@@ -10,6 +10,7 @@ import com.mojang.brigadier.suggestion.SuggestionProvider;
 import github.nighter.smartspawner.SmartSpawner;
 import github.nighter.smartspawner.commands.BaseSubCommand;
 import github.nighter.smartspawner.spawner.data.SpawnerManager;
+import github.nighter.smartspawner.spawner.lootgen.SpawnPhase;
 import github.nighter.smartspawner.spawner.properties.SpawnerData;
 import github.nighter.smartspawner.utils.TimeFormatter;
 import io.papermc.paper.command.brigadier.CommandSourceStack;
@@ -275,15 +276,16 @@ public class SetSubCommand extends BaseSubCommand {
                     spawner.getDataLock().unlock();
                 }
             }
-            case DELAY -> {
+            // Accrual mode: cycles accrued at the old delay are credited before the countdown restarts
+            case DELAY -> plugin.getSpawnerLootGenerator().settleBeforeChange(spawner, () -> {
                 spawner.getDataLock().lock();
                 try {
                     spawner.setSpawnDelay(value);
-                    spawner.setLastSpawnTime(System.currentTimeMillis());
+                    spawner.setLastSpawnTime(SpawnPhase.cycleStart(spawner, System.currentTimeMillis()));
                 } finally {
                     spawner.getDataLock().unlock();
                 }
-            }
+            });
         }
         return true;
     }
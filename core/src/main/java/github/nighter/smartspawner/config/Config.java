@@ -12,10 +12,16 @@ public class Config {
 
     private final boolean approximateLoot;
     private final int approximationThreshold;
+    private final boolean accrualMode;
+    private final boolean phaseSpread;
+    private final int maxCyclesPerSecond;
 
     private Config(FileConfiguration config) {
         this.approximateLoot = config.getBoolean("performance.loot_generation.approximate_loot", true);
         this.approximationThreshold = config.getInt("performance.loot_generation.approximation_threshold", 1000);
+        this.accrualMode = config.getBoolean("performance.loot_generation.accrual_mode", false);
+        this.phaseSpread = config.getBoolean("performance.spawn_timers.phase_spread", true);
+        this.maxCyclesPerSecond = Math.max(0, config.getInt("performance.spawn_timers.max_cycles_per_second", 0));
     }
 
     public static Config get() {
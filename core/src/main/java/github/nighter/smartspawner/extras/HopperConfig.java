@@ -9,6 +9,8 @@ public class HopperConfig {
     private final boolean hopperEnabled;
     @Getter
     private final int stackPerTransfer;
+    @Getter
+    private final boolean eventDriven;
 
     public HopperConfig(SmartSpawner plugin) {
         this.hopperEnabled = plugin.getConfig().getBoolean("hopper.enabled", false);
@@ -18,5 +20,11 @@ public class HopperConfig {
             amount = 5;
         }
         this.stackPerTransfer = amount;
+
+        String mode = plugin.getConfig().getString("hopper.mode", "POLLING");
+        if (!"POLLING".equalsIgnoreCase(mode) && !"EVENT".equalsIgnoreCase(mode)) {
+            plugin.getLogger().warning("hopper.mode must be POLLING or EVENT, got " + mode + ". Using POLLING.");
+        }
+        this.eventDriven = "EVENT".equalsIgnoreCase(mode);
     }
 }
@@ -0,0 +1,43 @@
+package github.nighter.smartspawner.extras;
+
+import github.nighter.smartspawner.utils.BlockPos;
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+
+/**
+ * Wakes up event-driven hoppers when they may have gained free capacity,
+ * either by pushing items onward or by a player taking items out.
+ */
+public class HopperDemandListener implements Listener {
+
+    private final HopperService hopperService;
+
+    public HopperDemandListener(HopperService hopperService) {
+        this.hopperService = hopperService;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryMoveItem(InventoryMoveItemEvent e) {
+        notifyIfHopper(e.getSource());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInventoryClose(InventoryCloseEvent e) {
+        notifyIfHopper(e.getInventory());
+    }
+
+    private void notifyIfHopper(Inventory inventory) {
+        if (inventory.getType() != InventoryType.HOPPER) return;
+
+        Location loc = inventory.getLocation();
+        if (loc == null || loc.getWorld() == null) return;
+
+        hopperService.onHopperDrained(new BlockPos(loc));
+    }
+}
@@ -12,15 +12,23 @@ public final class HopperRegistry {
 
     private final Map<UUID, Map<Long, Set<BlockPos>>> data = new ConcurrentHashMap<>();
 
-    public void add(BlockPos pos) {
+    public boolean add(BlockPos pos) {
         UUID worldId = pos.worldId();
         long chunkKey = ChunkUtil.getChunkKey(pos.getChunkX(), pos.getChunkZ());
 
-        data.computeIfAbsent(worldId, w -> new ConcurrentHashMap<>())
+        return data.computeIfAbsent(worldId, w -> new ConcurrentHashMap<>())
                 .computeIfAbsent(chunkKey, c -> ConcurrentHashMap.newKeySet())
                 .add(pos);
     }
 
+    public boolean contains(BlockPos pos) {
+        Map<Long, Set<BlockPos>> worldMap = data.get(pos.worldId());
+        if (worldMap == null) return false;
+
+        Set<BlockPos> set = worldMap.get(ChunkUtil.getChunkKey(pos.getChunkX(), pos.getChunkZ()));
+        return set != null && set.contains(pos);
+    }
+
     public void remove(BlockPos pos) {
         UUID worldId = pos.worldId();
         Map<Long, Set<BlockPos>> worldMap = data.get(worldId);
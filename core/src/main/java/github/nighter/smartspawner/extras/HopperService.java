@@ -3,11 +3,17 @@ package github.nighter.smartspawner.extras;
 
 import github.nighter.smartspawner.Scheduler;
 import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.spawner.properties.SpawnerData;
 import github.nighter.smartspawner.utils.BlockPos;
 import github.nighter.smartspawner.utils.ChunkUtil;
 import lombok.Getter;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.event.HandlerList;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class HopperService {
 
@@ -19,16 +25,30 @@ public class HopperService {
     private final HopperTracker tracker;
     private final Scheduler.Task task;
 
+    // Event-driven mode: hoppers are only scheduled when there is something to move
+    private final boolean eventDriven;
+    private final long delay;
+    private final Set<BlockPos> pendingHoppers = ConcurrentHashMap.newKeySet();
+    private final HopperDemandListener demandListener;
+
     public HopperService(SmartSpawner plugin) {
         this.plugin = plugin;
         this.registry = new HopperRegistry();
         this.transfer = new HopperTransfer(plugin);
-        this.tracker = new HopperTracker(plugin, registry);
-        this.tracker.scanLoadedWorlds();
+        this.eventDriven = plugin.getHopperConfig().isEventDriven();
+        this.delay = plugin.getTimeFromConfig("hopper.check_delay", "3s");
+        this.tracker = new HopperTracker(plugin, registry, this::onHopperAdded);
 
-        long delay = plugin.getTimeFromConfig("hopper.check_delay", "3s");
+        if (eventDriven) {
+            this.demandListener = new HopperDemandListener(this);
+            plugin.getServer().getPluginManager().registerEvents(demandListener, plugin);
+            this.task = null;
+        } else {
+            this.demandListener = null;
+            this.task = Scheduler.runTaskTimer(this::tick, 40L, delay);
+        }
 
-        this.task = Scheduler.runTaskTimer(this::tick, 40L, delay);
+        this.tracker.scanLoadedWorlds();
     }
 
     private void tick() {
@@ -50,6 +70,68 @@ public class HopperService {
         });
     }
 
+    /**
+     * Called after loot was added to a spawner. In event-driven mode this schedules
+     * the hopper below it, if one is tracked.
+     */
+    public void onSpawnerLootAdded(SpawnerData spawner) {
+        if (!eventDriven) return;
+
+        Location loc = spawner.getSpawnerLocation();
+        if (loc == null || loc.getWorld() == null) return;
+
+        BlockPos hopperPos = new BlockPos(loc).below();
+        if (registry.contains(hopperPos)) {
+            schedule(hopperPos);
+        }
+    }
+
+    /**
+     * @return true if a tracked hopper sits directly below the spawner
+     */
+    public boolean hasHopperBelow(SpawnerData spawner) {
+        Location loc = spawner.getSpawnerLocation();
+        if (loc == null || loc.getWorld() == null) return false;
+        return registry.contains(new BlockPos(loc).below());
+    }
+
+    /**
+     * Called when a tracked hopper may have gained free capacity.
+     */
+    void onHopperDrained(BlockPos hopperPos) {
+        if (registry.contains(hopperPos)) {
+            schedule(hopperPos);
+        }
+    }
+
+    private void onHopperAdded(BlockPos hopperPos) {
+        if (eventDriven) {
+            schedule(hopperPos);
+        }
+    }
+
+    private void schedule(BlockPos hopperPos) {
+        // At most one pending run per hopper, further triggers are coalesced into it
+        if (!pendingHoppers.add(hopperPos)) return;
+
+        Location hopperLoc = hopperPos.toLocation();
+        if (hopperLoc == null) {
+            pendingHoppers.remove(hopperPos);
+            return;
+        }
+
+        Scheduler.runLocationTaskLater(hopperLoc, () -> {
+            pendingHoppers.remove(hopperPos);
+            if (!registry.contains(hopperPos)) return;
+
+            // Keep going while the spawner has loot and the hopper has room,
+            // otherwise wait for the next loot or drain event
+            if (transfer.process(hopperPos)) {
+                schedule(hopperPos);
+            }
+        }, delay);
+    }
+
     /**
      * Must be called in plugin onDisable()
      */
@@ -60,6 +142,10 @@ public class HopperService {
             } catch (Exception ignored) {
             }
         }
+        if (demandListener != null) {
+            HandlerList.unregisterAll(demandListener);
+        }
+        pendingHoppers.clear();
     }
 
 }
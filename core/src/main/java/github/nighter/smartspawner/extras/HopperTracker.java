@@ -18,14 +18,18 @@ import org.bukkit.event.world.ChunkUnloadEvent;
 import org.bukkit.event.world.WorldLoadEvent;
 import org.bukkit.event.world.WorldUnloadEvent;
 
+import java.util.function.Consumer;
+
 public class HopperTracker implements Listener {
 
     private final SmartSpawner plugin;
     private final HopperRegistry registry;
+    private final Consumer<BlockPos> onHopperAdded;
 
-    public HopperTracker(SmartSpawner plugin, HopperRegistry registry) {
+    public HopperTracker(SmartSpawner plugin, HopperRegistry registry, Consumer<BlockPos> onHopperAdded) {
         this.plugin = plugin;
         this.registry = registry;
+        this.onHopperAdded = onHopperAdded;
 
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
     }
@@ -34,7 +38,10 @@ public class HopperTracker implements Listener {
         if (hopper.getType() != Material.HOPPER) return;
         if (hopper.getRelative(BlockFace.UP).getType() != Material.SPAWNER) return;
 
-        registry.add(new BlockPos(hopper.getLocation()));
+        BlockPos pos = new BlockPos(hopper.getLocation());
+        if (registry.add(pos)) {
+            onHopperAdded.accept(pos);
+        }
     }
 
     public void scanLoadedWorlds() {
@@ -1,8 +1,10 @@
 package github.nighter.smartspawner.extras;
 
 import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.perf.PerfMetric;
 import github.nighter.smartspawner.spawner.data.SpawnerManager;
 import github.nighter.smartspawner.spawner.gui.synchronization.SpawnerGuiViewManager;
+import github.nighter.smartspawner.spawner.properties.ItemSignature;
 import github.nighter.smartspawner.spawner.properties.SpawnerData;
 import github.nighter.smartspawner.spawner.properties.VirtualInventory;
 import github.nighter.smartspawner.utils.BlockPos;
@@ -12,11 +14,7 @@ import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.Hopper;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.ItemStack;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
@@ -34,74 +32,59 @@ public class HopperTransfer {
         this.guiManager = plugin.getSpawnerGuiViewManager();
     }
 
-    public void process(BlockPos hopperPos) {
+    /**
+     * Moves items from the spawner above into the hopper.
+     *
+     * @return true if items were moved and both the spawner and the hopper can take another transfer
+     */
+    public boolean process(BlockPos hopperPos) {
 
         Location hopperLoc = hopperPos.toLocation();
-        if (hopperLoc == null) return; // This should never happen, world was unloaded but not yet removed from the Tracker
+        if (hopperLoc == null) return false; // This should never happen, world was unloaded but not yet removed from the Tracker
 
         Block hopperBlock = hopperLoc.getBlock();
 
-        if (hopperBlock.getType() != Material.HOPPER) return;
+        if (hopperBlock.getType() != Material.HOPPER) return false;
 
         Block spawnerBlock = hopperBlock.getRelative(BlockFace.UP);
-        if (spawnerBlock.getType() != Material.SPAWNER) return;
+        if (spawnerBlock.getType() != Material.SPAWNER) return false;
 
-        transferItems(hopperLoc, spawnerBlock.getLocation());
+        return transferItems(hopperLoc, spawnerBlock.getLocation());
     }
 
-    private void transferItems(Location hopperLoc, Location spawnerLoc) {
+    private boolean transferItems(Location hopperLoc, Location spawnerLoc) {
 
         SpawnerData spawner = spawnerManager.getSpawnerByLocation(spawnerLoc);
-        if (spawner == null) return;
+        if (spawner == null) return false;
+
+        // Credit accrued loot first; this takes the spawner's data lock, so not while holding the inventory lock
+        plugin.getSpawnerLootGenerator().settleAccruedLoot(spawner);
 
         ReentrantLock lock = spawner.getInventoryLock();
-        if (!lock.tryLock()) return;
+        // Lock contention is transient, so ask the caller to retry
+        if (!lock.tryLock()) return true;
 
         try {
             VirtualInventory virtualInv = spawner.getVirtualInventory();
-            if (virtualInv == null) return;
+            if (virtualInv == null) return false;
 
             var state = hopperLoc.getBlock().getState(false);
-            if (!(state instanceof Hopper hopper)) return;
-
-            Map<Integer, ItemStack> displayItems = virtualInv.getDisplayInventory();
-            if (displayItems == null || displayItems.isEmpty()) return;
+            if (!(state instanceof Hopper hopper)) return false;
 
             Inventory hopperInv = hopper.getInventory();
 
-            int transferred = 0;
-
-            List<ItemStack> removed = new ArrayList<>();
-
-            for (ItemStack item : displayItems.values()) {
-                if (transferred >= plugin.getHopperConfig().getStackPerTransfer()) break;
-                if (item == null || item.getType() == Material.AIR) continue;
-
-                ItemStack clone = item.clone();
-                int originalAmount = clone.getAmount();
-
-                HashMap<Integer, ItemStack> leftovers = hopperInv.addItem(clone);
-
-                int insertedAmount = originalAmount;
-
-                if (!leftovers.isEmpty()) {
-                    insertedAmount -= leftovers.values().iterator().next().getAmount();
-                }
-
-                if (insertedAmount > 0) {
-                    ItemStack toRemove = item.clone();
-                    toRemove.setAmount(insertedAmount);
-                    removed.add(toRemove);
-                    transferred++;
-                }
-            }
+            // Moves counts straight from consolidated storage, sized to the hopper's free capacity
+            Map<ItemSignature, Long> moved = spawner.transferToInventory(hopperInv,
+                    plugin.getHopperConfig().getStackPerTransfer());
+            if (moved.isEmpty()) return false;
+            plugin.getPerfMonitor().increment(PerfMetric.HOPPER_TRANSFERS);
 
-            if (!removed.isEmpty()) {
-                spawner.removeItemsAndUpdateSellValue(removed);
-                guiManager.updateSpawnerMenuViewers(spawner);
-            }
+            guiManager.updateSpawnerMenuViewers(spawner);
+            // Partial stacks of stored items count as room too, not just empty slots
+            return virtualInv.canTransferTo(hopperInv);
         } catch (Exception ex) {
             plugin.getLogger().log(Level.WARNING, "Error transferring items from spawner to hopper at " + hopperLoc, ex);
+            return false;
         } finally {
             lock.unlock();
         }
@@ -1,8 +1,11 @@
 package github.nighter.smartspawner.hooks.economy;
 
+import github.nighter.smartspawner.Scheduler;
 import github.nighter.smartspawner.SmartSpawner;
 import github.nighter.smartspawner.hooks.economy.currency.CurrencyManager;
 import github.nighter.smartspawner.hooks.economy.shops.ShopIntegrationManager;
+import github.nighter.smartspawner.perf.PerfMetric;
+import github.nighter.smartspawner.perf.PerfMonitor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.Material;
@@ -11,9 +14,12 @@ import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
 @RequiredArgsConstructor
@@ -35,6 +41,14 @@ public class ItemPriceManager {
     private boolean economyEnabled;
     public boolean customPricesEnabled;
     public boolean shopIntegrationEnabled;
+    private long priceRefreshIntervalTicks;
+
+    // Resolved prices for every item material, rebuilt off-thread and swapped atomically.
+    // Null until the first build completes; lookups resolve live until then.
+    private volatile PriceSnapshot priceSnapshot;
+    private final AtomicBoolean refreshRunning = new AtomicBoolean(false);
+    private final AtomicBoolean refreshQueued = new AtomicBoolean(false);
+    private Scheduler.Task refreshTask;
 
     public enum PriceSourceMode {
         CUSTOM_ONLY,
@@ -77,6 +91,8 @@ public class ItemPriceManager {
 
             // Validate price source mode configuration
             validatePriceSourceMode();
+
+            startSnapshotRefresh();
         } else {
             plugin.getLogger().info("Sell integration is disabled. No sell integration will be available.");
         }
@@ -89,6 +105,7 @@ public class ItemPriceManager {
         this.defaultPrice = config.getDouble("sell_integration.custom_prices.default_price", 1.0);
         this.customPricesEnabled = config.getBoolean("sell_integration.custom_prices.enabled", true);
         this.shopIntegrationEnabled = config.getBoolean("sell_integration.shop_integration.enabled", true);
+        this.priceRefreshIntervalTicks = Math.max(0L, plugin.getTimeFromConfig("sell_integration.price_refresh_interval", "5m"));
 
         String modeString = config.getString("sell_integration.price_source_mode", "SHOP_PRIORITY");
         try {
@@ -143,19 +160,31 @@ public class ItemPriceManager {
         }
     }
 
+    /**
+     * Gets the sell price of a material from the current price snapshot.
+     * Safe to call from any thread; never calls into shop plugins once the first snapshot exists.
+     */
     public double getPrice(Material material) {
         if (material == null || !economyEnabled) return 0.0;
 
+        PriceSnapshot snapshot = priceSnapshot;
+        if (snapshot != null) {
+            Double price = snapshot.prices().get(material);
+            if (price != null) return price;
+        }
+        return resolvePrice(material, fetchShopPrice(material));
+    }
+
+    private double resolvePrice(Material material, double shopPrice) {
         switch (priceSourceMode) {
             case CUSTOM_ONLY:
                 return getCustomPrice(material);
             case SHOP_ONLY:
-                return getShopPrice(material);
+                return shopPrice;
             case CUSTOM_PRIORITY:
                 double customPrice = getCustomPrice(material);
-                return customPrice > 0 ? customPrice : getShopPrice(material);
+                return customPrice > 0 ? customPrice : shopPrice;
             case SHOP_PRIORITY:
-                double shopPrice = getShopPrice(material);
                 return shopPrice > 0 ? shopPrice : getCustomPrice(material);
             default:
                 return defaultPrice;
@@ -167,17 +196,114 @@ public class ItemPriceManager {
         return itemPrices.getOrDefault(material.name(), defaultPrice);
     }
 
-    private double getShopPrice(Material material) {
+    /**
+     * Gets the shop price of a material from the current price snapshot.
+     */
+    public double getShopPrice(Material material) {
+        if (!economyEnabled || !shopIntegrationEnabled || shopIntegrationManager == null) return 0.0;
+
+        PriceSnapshot snapshot = priceSnapshot;
+        if (snapshot != null) {
+            Double price = snapshot.shopPrices().get(material);
+            if (price != null) return price;
+        }
+        return fetchShopPrice(material);
+    }
+
+    private double fetchShopPrice(Material material) {
         if (!economyEnabled || !shopIntegrationEnabled || shopIntegrationManager == null) return 0.0;
         return shopIntegrationManager.getPrice(material);
     }
 
+    private void startSnapshotRefresh() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+
+        refreshPriceSnapshot();
+        if (priceRefreshIntervalTicks > 0) {
+            refreshTask = Scheduler.runTaskTimerAsync(this::rebuildPriceSnapshot,
+                    priceRefreshIntervalTicks, priceRefreshIntervalTicks);
+        }
+    }
+
+    /**
+     * Rebuilds the price snapshot off-thread. Requests made while a rebuild is running
+     * are coalesced into one follow-up rebuild.
+     */
+    public void refreshPriceSnapshot() {
+        if (!economyEnabled) return;
+        Scheduler.runTaskAsync(this::rebuildPriceSnapshot);
+    }
+
+    private void rebuildPriceSnapshot() {
+        refreshQueued.set(true);
+        // Re-check after releasing refreshRunning: a request queued between the last check and the
+        // release would otherwise be dropped, since its caller saw the rebuild as still running.
+        while (refreshQueued.get() && refreshRunning.compareAndSet(false, true)) {
+            try {
+                while (refreshQueued.getAndSet(false)) {
+                    buildPriceSnapshot();
+                }
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Failed to rebuild item price snapshot", e);
+            } finally {
+                refreshRunning.set(false);
+            }
+        }
+    }
+
+    private void buildPriceSnapshot() {
+        long start = System.nanoTime();
+
+        Map<Material, Double> prices = new EnumMap<>(Material.class);
+        Map<Material, Double> shopPrices = new EnumMap<>(Material.class);
+        for (Material material : Material.values()) {
+            if (material.isLegacy() || material.isAir() || !material.isItem()) continue;
+
+            double shopPrice = fetchShopPrice(material);
+            shopPrices.put(material, shopPrice);
+            prices.put(material, resolvePrice(material, shopPrice));
+        }
+
+        long durationNanos = System.nanoTime() - start;
+        PriceSnapshot previous = priceSnapshot;
+        priceSnapshot = new PriceSnapshot(Collections.unmodifiableMap(prices),
+                Collections.unmodifiableMap(shopPrices), System.currentTimeMillis(), durationNanos);
+
+        PerfMonitor perf = plugin.getPerfMonitor();
+        perf.record(PerfMetric.PRICE_REFRESH, durationNanos);
+        if (previous != null) {
+            perf.record(PerfMetric.PRICE_SNAPSHOT_AGE, System.currentTimeMillis() - previous.builtAt());
+        }
+        plugin.debug("Rebuilt price snapshot for " + prices.size() + " materials in "
+                + (durationNanos / 1_000_000L) + "ms");
+    }
+
+    /**
+     * @return how long the last snapshot rebuild took in milliseconds, or -1 if none has completed
+     */
+    public long getLastRefreshDurationMillis() {
+        PriceSnapshot snapshot = priceSnapshot;
+        return snapshot != null ? snapshot.buildNanos() / 1_000_000L : -1L;
+    }
+
+    /**
+     * @return age of the current price snapshot in milliseconds, or -1 if none has completed
+     */
+    public long getSnapshotAgeMillis() {
+        PriceSnapshot snapshot = priceSnapshot;
+        return snapshot != null ? System.currentTimeMillis() - snapshot.builtAt() : -1L;
+    }
+
     public void setPrice(Material material, double price) {
         if (material == null || !economyEnabled || !customPricesEnabled) return;
 
         itemPrices.put(material.name(), price);
         priceConfig.set(material.name(), price);
         saveConfig();
+        refreshPriceSnapshot();
     }
 
     public void reload() {
@@ -216,6 +342,8 @@ public class ItemPriceManager {
 
             // Validate configuration after reload
             validatePriceSourceMode();
+
+            startSnapshotRefresh();
         } else {
             // Clean up if economy is disabled
             if (currencyManager != null) {
@@ -224,6 +352,7 @@ public class ItemPriceManager {
             }
             shopIntegrationManager = null;
             itemPrices.clear();
+            stopSnapshotRefresh();
             plugin.getLogger().info("Storage selling disabled - all sell integration cleaned up.");
         }
     }
@@ -237,6 +366,7 @@ public class ItemPriceManager {
         } else {
             shopIntegrationManager = null;
         }
+        refreshPriceSnapshot();
     }
 
     public boolean hasSellIntegration() {
@@ -273,11 +403,9 @@ public class ItemPriceManager {
 
         return switch (priceSourceMode) {
             case CUSTOM_ONLY -> customPricesEnabled && itemPrices.containsKey(material.name());
-            case SHOP_ONLY -> shopIntegrationEnabled && shopIntegrationManager != null &&
-                    shopIntegrationManager.getPrice(material) > 0;
+            case SHOP_ONLY -> getShopPrice(material) > 0;
             case CUSTOM_PRIORITY, SHOP_PRIORITY -> (customPricesEnabled && itemPrices.containsKey(material.name())) ||
-                    (shopIntegrationEnabled && shopIntegrationManager != null &&
-                            shopIntegrationManager.getPrice(material) > 0);
+                    getShopPrice(material) > 0;
             default -> false;
         };
     }
@@ -288,6 +416,7 @@ public class ItemPriceManager {
         itemPrices.remove(material.name());
         priceConfig.set(material.name(), null);
         saveConfig();
+        refreshPriceSnapshot();
     }
 
     public Map<String, Double> getAllPrices() {
@@ -334,6 +463,7 @@ public class ItemPriceManager {
         plugin.debug("Default Price: " + defaultPrice);
         plugin.debug("Active Price Sources: " + getActivePriceSource());
         plugin.debug("Sell Integration Available: " + hasSellIntegration());
+        plugin.debug("Price Snapshot: age=" + getSnapshotAgeMillis() + "ms, last refresh=" + getLastRefreshDurationMillis() + "ms");
 
         if (!economyEnabled) {
             plugin.debug("Economy is disabled - skipping detailed price debug");
@@ -388,7 +518,16 @@ public class ItemPriceManager {
         }
     }
 
+    private void stopSnapshotRefresh() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+        priceSnapshot = null;
+    }
+
     public void cleanup() {
+        stopSnapshotRefresh();
         if (currencyManager != null) {
             currencyManager.cleanup();
             currencyManager = null;
@@ -399,4 +538,8 @@ public class ItemPriceManager {
         }
         itemPrices.clear();
     }
+
+    private record PriceSnapshot(Map<Material, Double> prices, Map<Material, Double> shopPrices,
+                                 long builtAt, long buildNanos) {
+    }
 }
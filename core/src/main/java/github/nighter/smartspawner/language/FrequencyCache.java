@@ -0,0 +1,207 @@
+package github.nighter.smartspawner.language;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded, frequency-aware cache that is safe to read from any thread without locking.
+ * <p>
+ * Entries are spread over a fixed number of {@link ConcurrentHashMap} segments. Each entry keeps a
+ * small saturating hit counter that reads bump without synchronisation (an occasional lost
+ * increment is harmless). When a segment grows past its share of the capacity, the writer that
+ * noticed evicts the least frequently used of {@value #EVICTION_SAMPLES} sampled entries, taken
+ * round-robin from the segment, until it fits again. Every {@value #AGING_PERIOD_FACTOR} times
+ * the segment capacity in reads and writes, the segment's counters are halved so entries that
+ * were hot a long time ago age out. Eviction and aging only ever use {@code tryLock}; a thread
+ * that finds another one in progress simply moves on.
+ *
+ * @param <K> The type of keys maintained by this cache
+ * @param <V> The type of values maintained by this cache
+ */
+public class FrequencyCache<K, V> {
+    private static final int SEGMENTS = 16;
+    private static final int MAX_FREQUENCY = 15;
+    private static final int EVICTION_SAMPLES = 8;
+    private static final int AGING_PERIOD_FACTOR = 10;
+    private static final int MIN_AGING_PERIOD = 64;
+
+    private final Segment<K, V>[] segments;
+    private final int capacity;
+
+    /**
+     * Constructs a cache with the specified capacity
+     *
+     * @param capacity The maximum number of entries in the cache
+     */
+    @SuppressWarnings("unchecked")
+    public FrequencyCache(int capacity) {
+        this.capacity = capacity;
+        this.segments = new Segment[SEGMENTS];
+        int perSegment = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (SEGMENTS - 1)];
+    }
+
+    /**
+     * Returns the value associated with the specified key,
+     * or null if no mapping exists for the key
+     *
+     * @param key The key whose associated value is to be returned
+     * @return The value associated with the key, or null if no mapping exists
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.recordOperation();
+        Node<V> node = segment.map.get(key);
+        if (node == null) {
+            return null;
+        }
+        int frequency = node.frequency;
+        if (frequency < MAX_FREQUENCY) {
+            node.frequency = frequency + 1;
+        }
+        return node.value;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this cache
+     *
+     * @param key The key with which the specified value is to be associated
+     * @param value The value to be associated with the specified key
+     */
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.recordOperation();
+        segment.map.put(key, new Node<>(value));
+        if (segment.map.size() > segment.capacity) {
+            segment.evict(key);
+        }
+    }
+
+    /**
+     * Removes all entries from the cache
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.map.clear();
+        }
+    }
+
+    /**
+     * Returns the number of key-value mappings in this cache
+     *
+     * @return The number of key-value mappings in this cache
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.map.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the capacity of this cache
+     *
+     * @return The capacity of this cache
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    private static final class Node<V> {
+        final V value;
+        // Written racily by readers; only ever used as an eviction hint
+        volatile int frequency = 1;
+
+        Node(V value) {
+            this.value = value;
+        }
+    }
+
+    private static final class Segment<K, V> {
+        final ConcurrentHashMap<K, Node<V>> map = new ConcurrentHashMap<>();
+        final ReentrantLock evictionLock = new ReentrantLock();
+        final int capacity;
+        final int agingPeriod;
+        // Counted racily like the node frequencies; a lost increment only delays aging slightly
+        int operations;
+        // Resumes where the last eviction stopped sampling; only used under evictionLock
+        Iterator<Map.Entry<K, Node<V>>> sampleCursor;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.agingPeriod = Math.max(MIN_AGING_PERIOD, capacity * AGING_PERIOD_FACTOR);
+        }
+
+        void recordOperation() {
+            if (++operations >= agingPeriod) {
+                age();
+            }
+        }
+
+        /**
+         * Halves every counter so old popularity fades.
+         */
+        private void age() {
+            if (!evictionLock.tryLock()) {
+                return;
+            }
+            try {
+                if (operations < agingPeriod) return;
+                operations = 0;
+                for (Node<V> node : map.values()) {
+                    node.frequency = Math.max(1, node.frequency >> 1);
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+
+        /**
+         * Trims the segment back to capacity, never evicting {@code justAdded}.
+         */
+        void evict(K justAdded) {
+            if (!evictionLock.tryLock()) {
+                return;
+            }
+            try {
+                while (map.size() > capacity) {
+                    K victim = null;
+                    int lowest = Integer.MAX_VALUE;
+                    for (int i = 0; i < EVICTION_SAMPLES; i++) {
+                        Map.Entry<K, Node<V>> entry = nextSample();
+                        if (entry == null) break;
+                        if (entry.getKey().equals(justAdded)) continue;
+                        int frequency = entry.getValue().frequency;
+                        if (frequency < lowest) {
+                            lowest = frequency;
+                            victim = entry.getKey();
+                        }
+                    }
+                    if (victim == null) return;
+                    map.remove(victim);
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+
+        private Map.Entry<K, Node<V>> nextSample() {
+            if (sampleCursor == null || !sampleCursor.hasNext()) {
+                // Weakly consistent, so a cursor kept across puts and removals stays usable
+                sampleCursor = map.entrySet().iterator();
+            }
+            return sampleCursor.hasNext() ? sampleCursor.next() : null;
+        }
+    }
+}
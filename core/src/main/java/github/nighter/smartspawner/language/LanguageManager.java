@@ -33,18 +33,22 @@ public class LanguageManager {
     private LocaleData cachedDefaultLocaleData;
     private static final Map<String, String> EMPTY_PLACEHOLDERS = Collections.emptyMap();
 
-    // Enhanced cache implementation
-    private final LRUCache<String, String> formattedStringCache;
-    private final LRUCache<String, String[]> loreCache;
-    private final LRUCache<String, List<String>> loreListCache;
+    // Lock-free caches; read from async loot and GUI threads
+    private final FrequencyCache<String, String> formattedStringCache;
+    private final FrequencyCache<String, String[]> loreCache;
+    private final FrequencyCache<String, List<String>> loreListCache;
 
-    private final LRUCache<String, String> guiItemNameCache;
-    private final LRUCache<String, String[]> guiItemLoreCache;
-    private final LRUCache<String, List<String>> guiItemLoreListCache;
+    private final FrequencyCache<String, String> guiItemNameCache;
+    private final FrequencyCache<String, String[]> guiItemLoreCache;
+    private final FrequencyCache<String, List<String>> guiItemLoreListCache;
 
-    private final LRUCache<String, String> entityNameCache;
-    private final LRUCache<String, String> smallCapsCache;
-    private final LRUCache<String, String> materialNameCache;
+    private final FrequencyCache<String, String> entityNameCache;
+    private final FrequencyCache<String, String> smallCapsCache;
+    private final FrequencyCache<String, String> materialNameCache;
+
+    // Compiled templates, keyed by raw text (single lines) or by "file|path" (lore lists)
+    private final FrequencyCache<String, MessageTemplate> templateCache;
+    private final FrequencyCache<String, MessageTemplate[]> loreTemplateCache;
 
     // Cache statistics
     private final AtomicInteger cacheHits = new AtomicInteger(0);
@@ -54,6 +58,7 @@ public class LanguageManager {
     private static final int DEFAULT_STRING_CACHE_SIZE = 1000;
     private static final int DEFAULT_LORE_CACHE_SIZE = 250;
     private static final int DEFAULT_LORE_LIST_CACHE_SIZE = 250;
+    private static final int DEFAULT_TEMPLATE_CACHE_SIZE = 2000;
 
     // Enum to represent the different language file types
     @Getter
@@ -75,17 +80,20 @@ public class LanguageManager {
         this.defaultLocale = plugin.getConfig().getString("language", "en_US");
         activeFileTypes.addAll(Arrays.asList(LanguageFileType.values()));
 
-        this.formattedStringCache = new LRUCache<>(DEFAULT_STRING_CACHE_SIZE);
-        this.loreCache = new LRUCache<>(DEFAULT_LORE_CACHE_SIZE);
-        this.loreListCache = new LRUCache<>(DEFAULT_LORE_LIST_CACHE_SIZE);
+        this.formattedStringCache = new FrequencyCache<>(DEFAULT_STRING_CACHE_SIZE);
+        this.loreCache = new FrequencyCache<>(DEFAULT_LORE_CACHE_SIZE);
+        this.loreListCache = new FrequencyCache<>(DEFAULT_LORE_LIST_CACHE_SIZE);
+
+        this.guiItemNameCache = new FrequencyCache<>(DEFAULT_STRING_CACHE_SIZE);
+        this.guiItemLoreCache = new FrequencyCache<>(DEFAULT_LORE_CACHE_SIZE);
+        this.guiItemLoreListCache = new FrequencyCache<>(DEFAULT_LORE_LIST_CACHE_SIZE);
 
-        this.guiItemNameCache = new LRUCache<>(DEFAULT_STRING_CACHE_SIZE);
-        this.guiItemLoreCache = new LRUCache<>(DEFAULT_LORE_CACHE_SIZE);
-        this.guiItemLoreListCache = new LRUCache<>(DEFAULT_LORE_LIST_CACHE_SIZE);
+        this.entityNameCache = new FrequencyCache<>(250);
+        this.smallCapsCache = new FrequencyCache<>(500);
+        this.materialNameCache = new FrequencyCache<>(250);
 
-        this.entityNameCache = new LRUCache<>(250);
-        this.smallCapsCache = new LRUCache<>(500);
-        this.materialNameCache = new LRUCache<>(250);
+        this.templateCache = new FrequencyCache<>(DEFAULT_TEMPLATE_CACHE_SIZE);
+        this.loreTemplateCache = new FrequencyCache<>(DEFAULT_LORE_CACHE_SIZE);
 
         loadLanguages();
         saveDefaultFiles();
@@ -97,17 +105,20 @@ public class LanguageManager {
         this.defaultLocale = plugin.getConfig().getString("language", "en_US");
         activeFileTypes.addAll(Arrays.asList(fileTypes));
 
-        this.formattedStringCache = new LRUCache<>(DEFAULT_STRING_CACHE_SIZE);
-        this.loreCache = new LRUCache<>(DEFAULT_LORE_CACHE_SIZE);
-        this.loreListCache = new LRUCache<>(DEFAULT_LORE_LIST_CACHE_SIZE);
+        this.formattedStringCache = new FrequencyCache<>(DEFAULT_STRING_CACHE_SIZE);
+        this.loreCache = new FrequencyCache<>(DEFAULT_LORE_CACHE_SIZE);
+        this.loreListCache = new FrequencyCache<>(DEFAULT_LORE_LIST_CACHE_SIZE);
+
+        this.guiItemNameCache = new FrequencyCache<>(DEFAULT_STRING_CACHE_SIZE);
+        this.guiItemLoreCache = new FrequencyCache<>(DEFAULT_LORE_CACHE_SIZE);
+        this.guiItemLoreListCache = new FrequencyCache<>(DEFAULT_LORE_LIST_CACHE_SIZE);
 
-        this.guiItemNameCache = new LRUCache<>(DEFAULT_STRING_CACHE_SIZE);
-        this.guiItemLoreCache = new LRUCache<>(DEFAULT_LORE_CACHE_SIZE);
-        this.guiItemLoreListCache = new LRUCache<>(DEFAULT_LORE_LIST_CACHE_SIZE);
+        this.entityNameCache = new FrequencyCache<>(250);
+        this.smallCapsCache = new FrequencyCache<>(500);
+        this.materialNameCache = new FrequencyCache<>(250);
 
-        this.entityNameCache = new LRUCache<>(250);
-        this.smallCapsCache = new LRUCache<>(500);
-        this.materialNameCache = new LRUCache<>(250);
+        this.templateCache = new FrequencyCache<>(DEFAULT_TEMPLATE_CACHE_SIZE);
+        this.loreTemplateCache = new FrequencyCache<>(DEFAULT_LORE_CACHE_SIZE);
 
         loadLanguages(fileTypes);
         saveDefaultFiles();
@@ -563,28 +574,28 @@ public class LanguageManager {
             return null;
         }
 
-        // Generate cache key
-        String cacheKey = key + "|" + generateCacheKey("", placeholders);
-
-        // Check cache first
-        String cachedName = guiItemNameCache.get(cacheKey);
-        if (cachedName != null) {
-            cacheHits.incrementAndGet();
-            return cachedName;
+        // Only placeholder-free results are cached; anything else renders from the compiled template
+        boolean cacheable = placeholders == null || placeholders.isEmpty();
+        if (cacheable) {
+            String cachedName = guiItemNameCache.get(key);
+            if (cachedName != null) {
+                cacheHits.incrementAndGet();
+                return cachedName;
+            }
+            cacheMisses.incrementAndGet();
         }
 
-        // Cache miss, generate the name
-        cacheMisses.incrementAndGet();
         String name = cachedDefaultLocaleData.gui().getString(key);
 
         if (name == null) {
             return "Missing item name: " + key;
         }
 
-        String result = applyPlaceholdersAndColors(name, placeholders);
+        String result = getTemplate(name).render(placeholders);
 
-        // Cache the result
-        guiItemNameCache.put(cacheKey, result);
+        if (cacheable) {
+            guiItemNameCache.put(key, result);
+        }
 
         return result;
     }
@@ -598,25 +609,21 @@ public class LanguageManager {
             return new String[0];
         }
 
-        // Generate cache key
-        String cacheKey = key + "|" + generateCacheKey("", placeholders);
-
-        // Check cache first
-        String[] cachedLore = guiItemLoreCache.get(cacheKey);
-        if (cachedLore != null) {
-            cacheHits.incrementAndGet();
-            return cachedLore;
+        boolean cacheable = placeholders == null || placeholders.isEmpty();
+        if (cacheable) {
+            String[] cachedLore = guiItemLoreCache.get(key);
+            if (cachedLore != null) {
+                cacheHits.incrementAndGet();
+                return cachedLore;
+            }
+            cacheMisses.incrementAndGet();
         }
 
-        // Cache miss, generate the lore
-        cacheMisses.incrementAndGet();
-        List<String> loreList = cachedDefaultLocaleData.gui().getStringList(key);
-        String[] result = loreList.stream()
-                .map(line -> applyPlaceholdersAndColors(line, placeholders))
-                .toArray(String[]::new);
+        String[] result = renderLore(getLoreTemplates(cachedDefaultLocaleData.gui(), "gui", key), placeholders);
 
-        // Cache the result
-        guiItemLoreCache.put(cacheKey, result);
+        if (cacheable) {
+            guiItemLoreCache.put(key, result);
+        }
 
         return result;
     }
@@ -630,25 +637,21 @@ public class LanguageManager {
             return Collections.emptyList();
         }
 
-        // Generate cache key
-        String cacheKey = key + "|" + generateCacheKey("", placeholders);
-
-        // Check cache first
-        List<String> cachedLore = guiItemLoreListCache.get(cacheKey);
-        if (cachedLore != null) {
-            cacheHits.incrementAndGet();
-            return cachedLore;
+        boolean cacheable = placeholders == null || placeholders.isEmpty();
+        if (cacheable) {
+            List<String> cachedLore = guiItemLoreListCache.get(key);
+            if (cachedLore != null) {
+                cacheHits.incrementAndGet();
+                return cachedLore;
+            }
+            cacheMisses.incrementAndGet();
         }
 
-        // Cache miss, generate the lore
-        cacheMisses.incrementAndGet();
-        List<String> loreList = cachedDefaultLocaleData.gui().getStringList(key);
-        List<String> result = loreList.stream()
-                .map(line -> applyPlaceholdersAndColors(line, placeholders))
-                .toList();
+        List<String> result = List.of(renderLore(getLoreTemplates(cachedDefaultLocaleData.gui(), "gui", key), placeholders));
 
-        // Cache the result
-        guiItemLoreListCache.put(cacheKey, result);
+        if (cacheable) {
+            guiItemLoreListCache.put(key, result);
+        }
 
         return result;
     }
@@ -803,25 +806,21 @@ public class LanguageManager {
             return new String[0];
         }
 
-        // Generate cache key
-        String cacheKey = key + "|" + generateCacheKey("", placeholders);
-
-        // Check cache first
-        String[] cachedLore = loreCache.get(cacheKey);
-        if (cachedLore != null) {
-            cacheHits.incrementAndGet();
-            return cachedLore;
+        boolean cacheable = placeholders == null || placeholders.isEmpty();
+        if (cacheable) {
+            String[] cachedLore = loreCache.get(key);
+            if (cachedLore != null) {
+                cacheHits.incrementAndGet();
+                return cachedLore;
+            }
+            cacheMisses.incrementAndGet();
         }
 
-        // Cache miss, generate the lore
-        cacheMisses.incrementAndGet();
-        List<String> loreList = cachedDefaultLocaleData.items().getStringList(key);
-        String[] result = loreList.stream()
-                .map(line -> applyPlaceholdersAndColors(line, placeholders))
-                .toArray(String[]::new);
+        String[] result = renderLore(getLoreTemplates(cachedDefaultLocaleData.items(), "items", key), placeholders);
 
-        // Cache the result
-        loreCache.put(cacheKey, result);
+        if (cacheable) {
+            loreCache.put(key, result);
+        }
 
         return result;
     }
@@ -1231,21 +1230,7 @@ public class LanguageManager {
 
         // Cache miss, generate small caps
         cacheMisses.incrementAndGet();
-        StringBuilder result = new StringBuilder();
-
-        for (char c : text.toCharArray()) {
-            if (Character.isLetter(c)) {
-                // Convert all alphabetic characters to small caps regardless of case
-                char lowercaseChar = Character.toLowerCase(c);
-                char smallCapsChar = getSmallCapsChar(lowercaseChar);
-                result.append(smallCapsChar);
-            } else {
-                // Keep non-alphabetic characters as they are
-                result.append(c);
-            }
-        }
-
-        String smallCapsText = result.toString();
+        String smallCapsText = MessageTemplate.toSmallCaps(text);
 
         // Cache the result
         smallCapsCache.put(cacheKey, smallCapsText);
@@ -1253,68 +1238,23 @@ public class LanguageManager {
         return smallCapsText;
     }
 
-    private char getSmallCapsChar(char c) {
-        return switch (c) {
-            case 'a' -> 'ᴀ';
-            case 'b' -> 'ʙ';
-            case 'c' -> 'ᴄ';
-            case 'd' -> 'ᴅ';
-            case 'e' -> 'ᴇ';
-            case 'f' -> 'ꜰ';
-            case 'g' -> 'ɢ';
-            case 'h' -> 'ʜ';
-            case 'i' -> 'ɪ';
-            case 'j' -> 'ᴊ';
-            case 'k' -> 'ᴋ';
-            case 'l' -> 'ʟ';
-            case 'm' -> 'ᴍ';
-            case 'n' -> 'ɴ';
-            case 'o' -> 'ᴏ';
-            case 'p' -> 'ᴘ';
-            case 'q' -> 'ǫ';
-            case 'r' -> 'ʀ';
-            case 's' -> 'ꜱ';
-            case 't' -> 'ᴛ';
-            case 'u' -> 'ᴜ';
-            case 'v' -> 'ᴠ';
-            case 'w' -> 'ᴡ';
-            case 'x' -> 'x';
-            case 'y' -> 'ʏ';
-            case 'z' -> 'ᴢ';
-            default -> c;
-        };
-    }
-
     public String applyPlaceholdersAndColors(String text, Map<String, String> placeholders) {
         if (text == null) return null;
 
-        // Create a cache key based on the text and placeholders
-        String cacheKey = generateCacheKey(text, placeholders);
+        if (placeholders != null && !placeholders.isEmpty() && text.indexOf('{') >= 0) {
+            // A single pass over the compiled template beats building a sorted cache key
+            return getTemplate(text).render(placeholders);
+        }
 
-        // Check if we have a cached result
-        String cachedResult = formattedStringCache.get(cacheKey);
+        String cachedResult = formattedStringCache.get(text);
         if (cachedResult != null) {
             cacheHits.incrementAndGet();
             return cachedResult;
         }
 
-        // Process the text if not cached
         cacheMisses.incrementAndGet();
-        String result = text;
-
-        // Apply placeholders only if there are any
-        if (placeholders != null && !placeholders.isEmpty()) {
-            for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                result = result.replace("{" + entry.getKey() + "}", entry.getValue());
-            }
-        }
-
-        // Apply hex colors
-        result = ColorUtil.translateHexColorCodes(result);
-
-        // Cache the result for future use
-        formattedStringCache.put(cacheKey, result);
-
+        String result = ColorUtil.translateHexColorCodes(text);
+        formattedStringCache.put(text, result);
         return result;
     }
 
@@ -1333,31 +1273,46 @@ public class LanguageManager {
 
     public String applyOnlyPlaceholders(String text, Map<String, String> placeholders) {
         if (text == null) return null;
+        if (placeholders == null || placeholders.isEmpty() || text.indexOf('{') < 0) return text;
 
-        // Create a cache key based on the text and placeholders
-        String cacheKey = generateCacheKey(text, placeholders);
+        return getTemplate(text).renderPlain(placeholders);
+    }
 
-        // Check if we have a cached result
-        String cachedResult = formattedStringCache.get(cacheKey);
-        if (cachedResult != null) {
-            cacheHits.incrementAndGet();
-            return cachedResult;
-        }
+    //---------------------------------------------------
+    //                    Templates
+    //---------------------------------------------------
 
-        // Process the text if not cached
-        cacheMisses.incrementAndGet();
-        String result = text;
+    /**
+     * Returns the compiled form of {@code text}, compiling it on first use.
+     */
+    public MessageTemplate getTemplate(String text) {
+        MessageTemplate template = templateCache.get(text);
+        if (template == null) {
+            template = MessageTemplate.compile(text);
+            templateCache.put(text, template);
+        }
+        return template;
+    }
 
-        // Apply placeholders only if there are any
-        if (placeholders != null && !placeholders.isEmpty()) {
-            for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                result = result.replace("{" + entry.getKey() + "}", entry.getValue());
+    private MessageTemplate[] getLoreTemplates(YamlConfiguration config, String file, String key) {
+        String cacheKey = file + "|" + key;
+        MessageTemplate[] templates = loreTemplateCache.get(cacheKey);
+        if (templates == null) {
+            List<String> lines = config.getStringList(key);
+            templates = new MessageTemplate[lines.size()];
+            for (int i = 0; i < templates.length; i++) {
+                templates[i] = getTemplate(lines.get(i));
             }
+            loreTemplateCache.put(cacheKey, templates);
         }
+        return templates;
+    }
 
-        // Cache the result for future use
-        formattedStringCache.put(cacheKey, result);
-
+    private static String[] renderLore(MessageTemplate[] templates, Map<String, String> placeholders) {
+        String[] result = new String[templates.length];
+        for (int i = 0; i < templates.length; i++) {
+            result[i] = templates[i].render(placeholders);
+        }
         return result;
     }
 
@@ -1405,24 +1360,9 @@ public class LanguageManager {
         entityNameCache.clear();
         smallCapsCache.clear();
         materialNameCache.clear();
+        templateCache.clear();
+        loreTemplateCache.clear();
     }
-    private String generateCacheKey(String text, Map<String, String> placeholders) {
-        if (placeholders == null || placeholders.isEmpty()) {
-            return text;
-        }
-
-        StringBuilder keyBuilder = new StringBuilder(text);
-
-        // Sort keys for consistent cache keys
-        List<String> keys = new ArrayList<>(placeholders.keySet());
-        Collections.sort(keys);
-
-        for (String key : keys) {
-            keyBuilder.append('|').append(key).append('=').append(placeholders.get(key));
-        }
-        return keyBuilder.toString();
-    }
-
 
     /**
      * Gets cache statistics for monitoring
@@ -1448,6 +1388,8 @@ public class LanguageManager {
         stats.put("small_caps_cache_capacity", smallCapsCache.capacity());
         stats.put("material_name_cache_size", materialNameCache.size());
         stats.put("material_name_cache_capacity", materialNameCache.capacity());
+        stats.put("template_cache_size", templateCache.size());
+        stats.put("template_cache_capacity", templateCache.capacity());
         stats.put("cache_hits", cacheHits.get());
         stats.put("cache_misses", cacheMisses.get());
         stats.put("hit_ratio", cacheHits.get() > 0 ?
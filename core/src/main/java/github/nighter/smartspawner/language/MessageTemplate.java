@@ -0,0 +1,207 @@
+package github.nighter.smartspawner.language;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A message or lore line parsed once into literal and {@code {placeholder}} segments.
+ * <p>
+ * Literals are colour-translated at compile time, so rendering is a single {@link StringBuilder}
+ * pass that appends literals and looks up placeholder values; only values that themselves contain
+ * {@code &} codes are translated at render time. A placeholder written in small caps, such as
+ * {@code {ᴇɴᴛɪᴛʏ}}, falls back to the small-caps form of its plain counterpart ({@code {entity}})
+ * when the caller did not supply it directly. Placeholders with no value are left as written.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class MessageTemplate {
+    private final String source;
+    // Always one more literal than placeholders: literal, placeholder, literal, ...
+    private final String[] rawLiterals;
+    private final String[] colorLiterals;
+    private final String[] names;
+    private final String[] smallCapsOf;
+    // A colour code straddles a placeholder boundary (e.g. "&{color}"), so translate after substitution
+    private final boolean translateWhole;
+    private final int literalLength;
+
+    private MessageTemplate(String source, List<String> literals, List<String> names) {
+        this.source = source;
+        this.rawLiterals = literals.toArray(new String[0]);
+        this.names = names.toArray(new String[0]);
+        this.colorLiterals = new String[rawLiterals.length];
+        this.smallCapsOf = new String[this.names.length];
+
+        boolean split = false;
+        int length = 0;
+        for (int i = 0; i < rawLiterals.length; i++) {
+            colorLiterals[i] = ColorUtil.translateHexColorCodes(rawLiterals[i]);
+            length += colorLiterals[i].length();
+            if (i < this.names.length && endsWithPartialColorCode(rawLiterals[i])) {
+                split = true;
+            }
+        }
+        for (int i = 0; i < this.names.length; i++) {
+            smallCapsOf[i] = fromSmallCaps(this.names[i]);
+        }
+        this.translateWhole = split;
+        this.literalLength = length;
+    }
+
+    public static MessageTemplate compile(String text) {
+        List<String> literals = new ArrayList<>(4);
+        List<String> names = new ArrayList<>(3);
+
+        int literalStart = 0;
+        int open = text.indexOf('{');
+        while (open >= 0) {
+            int close = text.indexOf('}', open + 1);
+            if (close < 0) break;
+
+            int nested = text.indexOf('{', open + 1);
+            if (nested >= 0 && nested < close) {
+                // "{{name}" - the inner brace starts the real placeholder
+                open = nested;
+                continue;
+            }
+
+            if (close > open + 1) {
+                literals.add(text.substring(literalStart, open));
+                names.add(text.substring(open + 1, close));
+                literalStart = close + 1;
+            }
+            open = text.indexOf('{', close + 1);
+        }
+        literals.add(text.substring(literalStart));
+        return new MessageTemplate(text, literals, names);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public boolean hasPlaceholders() {
+        return names.length > 0;
+    }
+
+    /**
+     * Substitutes placeholders and translates {@code &} and {@code &#RRGGBB} colour codes.
+     */
+    public String render(Map<String, String> placeholders) {
+        if (names.length == 0) {
+            return colorLiterals[0];
+        }
+        if (translateWhole) {
+            return ColorUtil.translateHexColorCodes(renderPlain(placeholders));
+        }
+
+        StringBuilder sb = new StringBuilder(literalLength + names.length * 16);
+        for (int i = 0; i < names.length; i++) {
+            sb.append(colorLiterals[i]);
+            String value = valueOf(i, placeholders);
+            if (value == null) {
+                sb.append('{').append(names[i]).append('}');
+            } else if (value.indexOf('&') < 0) {
+                sb.append(value);
+            } else if (value.lastIndexOf('&') >= value.length() - 7) {
+                // The value may end in a code that continues into the next literal
+                return ColorUtil.translateHexColorCodes(renderPlain(placeholders));
+            } else {
+                sb.append(ColorUtil.translateHexColorCodes(value));
+            }
+        }
+        sb.append(colorLiterals[names.length]);
+        return sb.toString();
+    }
+
+    /**
+     * Substitutes placeholders only, leaving colour codes untouched.
+     */
+    public String renderPlain(Map<String, String> placeholders) {
+        if (names.length == 0) {
+            return rawLiterals[0];
+        }
+
+        StringBuilder sb = new StringBuilder(source.length() + names.length * 16);
+        for (int i = 0; i < names.length; i++) {
+            sb.append(rawLiterals[i]);
+            String value = valueOf(i, placeholders);
+            if (value == null) {
+                sb.append('{').append(names[i]).append('}');
+            } else {
+                sb.append(value);
+            }
+        }
+        sb.append(rawLiterals[names.length]);
+        return sb.toString();
+    }
+
+    private String valueOf(int index, Map<String, String> placeholders) {
+        if (placeholders == null) return null;
+        String value = placeholders.get(names[index]);
+        if (value == null && smallCapsOf[index] != null) {
+            String plain = placeholders.get(smallCapsOf[index]);
+            if (plain != null) {
+                value = toSmallCaps(plain);
+            }
+        }
+        return value;
+    }
+
+    private static boolean endsWithPartialColorCode(String literal) {
+        int amp = literal.lastIndexOf('&');
+        if (amp < 0) return false;
+        int tail = literal.length() - amp;
+        if (tail == 1) return true;
+        // "&#", "&#F", ... "&#FFFFF" are incomplete hex codes
+        if (literal.charAt(amp + 1) != '#' || tail > 7) return false;
+        for (int i = amp + 2; i < literal.length(); i++) {
+            if (Character.digit(literal.charAt(i), 16) < 0) return false;
+        }
+        return true;
+    }
+
+    //---------------------------------------------------
+    //                   Small Caps
+    //---------------------------------------------------
+
+    private static final String SMALL_CAPS = "ᴀʙᴄᴅᴇꜰɢʜɪᴊᴋʟᴍɴᴏᴘǫʀꜱᴛᴜᴠᴡxʏᴢ";
+
+    static String toSmallCaps(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetter(c)) {
+                // Convert all alphabetic characters to small caps regardless of case
+                char lower = Character.toLowerCase(c);
+                result.append(lower >= 'a' && lower <= 'z' ? SMALL_CAPS.charAt(lower - 'a') : lower);
+            } else {
+                // Keep non-alphabetic characters as they are
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * @return the plain ASCII form of a small-caps placeholder name, or null if it is not one
+     */
+    private static String fromSmallCaps(String name) {
+        StringBuilder plain = new StringBuilder(name.length());
+        boolean anySmallCaps = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            int index = SMALL_CAPS.indexOf(c);
+            if (index >= 0) {
+                plain.append((char) ('a' + index));
+                anySmallCaps |= c != 'x';
+            } else if (c == '_' || Character.isDigit(c)) {
+                plain.append(c);
+            } else {
+                return null;
+            }
+        }
+        return anySmallCaps ? plain.toString() : null;
+    }
+}
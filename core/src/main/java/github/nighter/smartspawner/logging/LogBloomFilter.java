@@ -0,0 +1,108 @@
+package github.nighter.smartspawner.logging;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Bloom filter over string keys, stored next to each log segment so queries can skip segments
+ * that cannot contain a player or spawner location. Sized for the number of keys it is expected
+ * to hold at a false positive rate of about 1%.
+ */
+final class LogBloomFilter {
+    // -ln(0.01) / ln(2)^2
+    private static final double BITS_PER_KEY = 9.6;
+    private static final int MIN_BITS = 1 << 10;
+    private static final int MAX_BITS = 1 << 24;
+    private static final int MAX_HASHES = 16;
+
+    private final long[] words;
+    private final int bitMask;
+    private final int hashes;
+
+    LogBloomFilter(long expectedKeys) {
+        this(new long[bitsFor(expectedKeys) >>> 6], hashesFor(bitsFor(expectedKeys), expectedKeys));
+    }
+
+    private LogBloomFilter(long[] words, int hashes) {
+        this.words = words;
+        this.bitMask = (words.length << 6) - 1;
+        this.hashes = hashes;
+    }
+
+    private static int bitsFor(long expectedKeys) {
+        double bits = Math.max(1L, expectedKeys) * BITS_PER_KEY;
+        if (bits >= MAX_BITS) return MAX_BITS;
+        // Rounded up to a power of two so bit positions can be masked
+        return Math.max(MIN_BITS, Integer.highestOneBit((int) Math.ceil(bits) - 1) << 1);
+    }
+
+    private static int hashesFor(int bits, long expectedKeys) {
+        long optimal = Math.round((double) bits / Math.max(1L, expectedKeys) * Math.log(2));
+        return Math.clamp(optimal, 1, MAX_HASHES);
+    }
+
+    void add(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & bitMask;
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & bitMask;
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    LogBloomFilter copy() {
+        return new LogBloomFilter(words.clone(), hashes);
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(hashes);
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    static LogBloomFilter read(DataInputStream in) throws IOException {
+        int hashes = in.readInt();
+        if (hashes < 1 || hashes > MAX_HASHES) {
+            throw new IOException("Invalid bloom filter hash count " + hashes);
+        }
+        int length = in.readInt();
+        if (length <= 0 || Integer.bitCount(length) != 1) {
+            throw new IOException("Invalid bloom filter length " + length);
+        }
+        long[] words = new long[length];
+        for (int i = 0; i < length; i++) {
+            words[i] = in.readLong();
+        }
+        return new LogBloomFilter(words, hashes);
+    }
+
+    // 64-bit FNV-1a followed by a finalizer mix so both halves are usable as independent hashes
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,137 @@
+package github.nighter.smartspawner.logging;
+
+import github.nighter.smartspawner.api.logging.SpawnerLogRecord;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the fields needed for querying back out of a log line written by {@link SpawnerLogEntry},
+ * in either the JSON or the human-readable format.
+ */
+final class LogLineParser {
+    private static final DateTimeFormatter READABLE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Map<String, SpawnerEventType> BY_DESCRIPTION = new HashMap<>();
+
+    static {
+        for (SpawnerEventType type : SpawnerEventType.values()) {
+            BY_DESCRIPTION.put(type.getDescription(), type);
+        }
+    }
+
+    private LogLineParser() {
+    }
+
+    /**
+     * @return the parsed record, or null if the line is not a spawner log entry
+     */
+    static SpawnerLogRecord parse(String line) {
+        if (line.isEmpty()) return null;
+        try {
+            return line.charAt(0) == '{' ? parseJson(line) : parseReadable(line);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static SpawnerLogRecord parseJson(String line) {
+        String timestamp = numberValue(line, "\"timestamp_ms\":");
+        String eventType = stringValue(line, "\"event_type\":\"");
+        if (timestamp == null || eventType == null) return null;
+
+        String player = stringValue(line, "\"player\":\"");
+        String world = stringValue(line, "\"world\":\"");
+        int x = 0, y = 0, z = 0;
+        if (world != null) {
+            x = Integer.parseInt(numberValue(line, "\"x\":"));
+            y = Integer.parseInt(numberValue(line, "\"y\":"));
+            z = Integer.parseInt(numberValue(line, "\"z\":"));
+        }
+        return new SpawnerLogRecord(Long.parseLong(timestamp), eventType, player, world, x, y, z, line);
+    }
+
+    // [yyyy-MM-dd HH:mm:ss] Description | Player: name | Location: world (x, y, z) | Entity: TYPE | k=v
+    private static SpawnerLogRecord parseReadable(String line) {
+        if (line.charAt(0) != '[' || line.length() < 21 || line.charAt(20) != ']') return null;
+
+        long timestamp;
+        try {
+            timestamp = LocalDateTime.parse(line.substring(1, 20), READABLE_TIME)
+                    .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+
+        String[] parts = line.substring(22).split(" \\| ");
+        SpawnerEventType type = BY_DESCRIPTION.get(parts[0]);
+        if (type == null) return null;
+
+        String player = null;
+        String world = null;
+        int x = 0, y = 0, z = 0;
+        for (int i = 1; i < parts.length; i++) {
+            String part = parts[i];
+            if (part.startsWith("Player: ")) {
+                player = part.substring(8);
+            } else if (part.startsWith("Location: ")) {
+                int open = part.lastIndexOf(" (");
+                int close = part.lastIndexOf(')');
+                if (open > 10 && close > open) {
+                    String[] coords = part.substring(open + 2, close).split(", ");
+                    if (coords.length == 3) {
+                        world = part.substring(10, open);
+                        x = Integer.parseInt(coords[0]);
+                        y = Integer.parseInt(coords[1]);
+                        z = Integer.parseInt(coords[2]);
+                    }
+                }
+            }
+        }
+        return new SpawnerLogRecord(timestamp, type.name(), player, world, x, y, z, line);
+    }
+
+    private static String stringValue(String line, String key) {
+        int start = line.indexOf(key);
+        if (start < 0) return null;
+        start += key.length();
+
+        StringBuilder value = null;
+        for (int i = start; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                return value == null ? line.substring(start, i) : value.toString();
+            }
+            if (c == '\\' && i + 1 < line.length()) {
+                if (value == null) {
+                    value = new StringBuilder(line.substring(start, i));
+                }
+                char next = line.charAt(++i);
+                value.append(switch (next) {
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    case 't' -> '\t';
+                    default -> next;
+                });
+            } else if (value != null) {
+                value.append(c);
+            }
+        }
+        return null;
+    }
+
+    private static String numberValue(String line, String key) {
+        int start = line.indexOf(key);
+        if (start < 0) return null;
+        start += key.length();
+
+        int end = start;
+        while (end < line.length() && (Character.isDigit(line.charAt(end)) || line.charAt(end) == '-')) {
+            end++;
+        }
+        return end > start ? line.substring(start, end) : null;
+    }
+}
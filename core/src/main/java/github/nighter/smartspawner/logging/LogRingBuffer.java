@@ -0,0 +1,74 @@
+package github.nighter.smartspawner.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer ring buffer.
+ * <p>
+ * Each slot carries a sequence number: producers claim a position with one CAS on the tail
+ * and publish the slot by advancing its sequence; the consumer only reads slots whose sequence
+ * says they are published. {@link #offer} never blocks and returns false when the ring is full.
+ * <p>
+ * {@link #poll} must only be called by one thread at a time.
+ */
+final class LogRingBuffer<E> {
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    LogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.buffer = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the ring is full
+     */
+    boolean offer(E element) {
+        while (true) {
+            long pos = tail.get();
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer[index] = element;
+                    sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // Another producer claimed this position first; retry with the new tail
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long pos = head.get();
+        int index = (int) (pos & mask);
+        if (sequences.get(index) != pos + 1) {
+            return null;
+        }
+        E element = (E) buffer[index];
+        buffer[index] = null;
+        sequences.lazySet(index, pos + mask + 1);
+        head.lazySet(pos + 1);
+        return element;
+    }
+
+    int size() {
+        return (int) Math.max(0L, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,291 @@
+package github.nighter.smartspawner.logging;
+
+import github.nighter.smartspawner.api.logging.SpawnerLogRecord;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Sidecar index for one log segment: time bounds, a sparse timestamp → byte offset table
+ * (one point every {@link #SPARSE_INTERVAL} entries) and bloom filters over player names and
+ * spawner locations. Offsets are positions in the uncompressed segment, so they stay valid
+ * after a rotated segment is gzipped. The filters are sized for the entries a segment is expected
+ * to hold, see {@link #expectedEntries(long)}.
+ */
+final class LogSegmentIndex {
+    static final String INDEX_SUFFIX = ".idx";
+    private static final int SPARSE_INTERVAL = 256;
+    private static final int MAGIC = 0x53534C49;
+    private static final int VERSION = 2;
+    // Typical size of one readable or JSON log line, used to size the bloom filters
+    private static final int AVERAGE_ENTRY_BYTES = 160;
+    // Entries from different producers can reach the queue slightly out of order
+    private static final long ORDERING_SLACK_MILLIS = 5_000L;
+
+    private long segmentLength;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private long entryCount;
+    private long[] pointTimestamps = new long[16];
+    private long[] pointOffsets = new long[16];
+    private int pointCount;
+    private final LogBloomFilter players;
+    private final LogBloomFilter locations;
+
+    LogSegmentIndex(long expectedEntries) {
+        this(new LogBloomFilter(expectedEntries), new LogBloomFilter(expectedEntries));
+    }
+
+    private LogSegmentIndex(LogBloomFilter players, LogBloomFilter locations) {
+        this.players = players;
+        this.locations = locations;
+    }
+
+    void record(long timestamp, long offset, String playerName, String locationKey) {
+        recordPosition(timestamp, offset);
+        if (playerName != null) {
+            players.add(playerKey(playerName));
+        }
+        if (locationKey != null) {
+            locations.add(locationKey);
+        }
+    }
+
+    private void recordPosition(long timestamp, long offset) {
+        if (entryCount % SPARSE_INTERVAL == 0) {
+            if (pointCount == pointTimestamps.length) {
+                pointTimestamps = Arrays.copyOf(pointTimestamps, pointCount * 2);
+                pointOffsets = Arrays.copyOf(pointOffsets, pointCount * 2);
+            }
+            pointTimestamps[pointCount] = timestamp;
+            pointOffsets[pointCount] = offset;
+            pointCount++;
+        }
+        entryCount++;
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+    }
+
+    void setSegmentLength(long segmentLength) {
+        this.segmentLength = segmentLength;
+    }
+
+    long getSegmentLength() {
+        return segmentLength;
+    }
+
+    boolean overlaps(long fromMillis, long toMillis) {
+        return entryCount > 0 && maxTimestamp >= fromMillis && minTimestamp <= toMillis;
+    }
+
+    boolean mightContainPlayer(String playerName) {
+        return players.mightContain(playerKey(playerName));
+    }
+
+    boolean mightContainLocation(String locationKey) {
+        return locations.mightContain(locationKey);
+    }
+
+    /**
+     * @return byte offset of the latest index point safely before {@code fromMillis}
+     */
+    long floorOffset(long fromMillis) {
+        long target = fromMillis - ORDERING_SLACK_MILLIS;
+        int low = 0;
+        int high = pointCount - 1;
+        long offset = 0L;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (pointTimestamps[mid] <= target) {
+                offset = pointOffsets[mid];
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * @return true once the segment is past {@code toMillis} by more than the ordering slack
+     */
+    static boolean isPastEnd(long timestamp, long toMillis) {
+        return toMillis != Long.MAX_VALUE && timestamp > toMillis + ORDERING_SLACK_MILLIS;
+    }
+
+    LogSegmentIndex copy() {
+        return withFilters(players.copy(), locations.copy());
+    }
+
+    private LogSegmentIndex withFilters(LogBloomFilter players, LogBloomFilter locations) {
+        LogSegmentIndex copy = new LogSegmentIndex(players, locations);
+        copy.segmentLength = segmentLength;
+        copy.minTimestamp = minTimestamp;
+        copy.maxTimestamp = maxTimestamp;
+        copy.entryCount = entryCount;
+        copy.pointTimestamps = Arrays.copyOf(pointTimestamps, Math.max(1, pointCount));
+        copy.pointOffsets = Arrays.copyOf(pointOffsets, Math.max(1, pointCount));
+        copy.pointCount = pointCount;
+        return copy;
+    }
+
+    void write(Path indexPath) throws IOException {
+        Path temp = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(segmentLength);
+            out.writeLong(minTimestamp);
+            out.writeLong(maxTimestamp);
+            out.writeLong(entryCount);
+            out.writeInt(pointCount);
+            for (int i = 0; i < pointCount; i++) {
+                out.writeLong(pointTimestamps[i]);
+                out.writeLong(pointOffsets[i]);
+            }
+            players.write(out);
+            locations.write(out);
+        }
+        Files.move(temp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static LogSegmentIndex read(Path indexPath) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported log index " + indexPath.getFileName());
+            }
+            long segmentLength = in.readLong();
+            long minTimestamp = in.readLong();
+            long maxTimestamp = in.readLong();
+            long entryCount = in.readLong();
+            int pointCount = in.readInt();
+            if (pointCount < 0) {
+                throw new IOException("Corrupt log index " + indexPath.getFileName());
+            }
+            long[] timestamps = new long[Math.max(1, pointCount)];
+            long[] offsets = new long[Math.max(1, pointCount)];
+            for (int i = 0; i < pointCount; i++) {
+                timestamps[i] = in.readLong();
+                offsets[i] = in.readLong();
+            }
+
+            LogSegmentIndex index = new LogSegmentIndex(LogBloomFilter.read(in), LogBloomFilter.read(in));
+            index.segmentLength = segmentLength;
+            index.minTimestamp = minTimestamp;
+            index.maxTimestamp = maxTimestamp;
+            index.entryCount = entryCount;
+            index.pointTimestamps = timestamps;
+            index.pointOffsets = offsets;
+            index.pointCount = pointCount;
+            return index;
+        }
+    }
+
+    /**
+     * @return the number of entries a segment of {@code segmentBytes} is expected to hold
+     */
+    static long expectedEntries(long segmentBytes) {
+        return Math.max(1L, segmentBytes / AVERAGE_ENTRY_BYTES);
+    }
+
+    /**
+     * Builds an index by scanning a segment, for segments written before indexing existed
+     * or whose sidecar is missing or stale. The filters are sized for the distinct keys found,
+     * or for {@code expectedEntries} if the segment will still grow.
+     * <p>
+     * Lines are split on raw bytes so offsets stay exact whatever the line ending; a trailing
+     * {@code '\r'} is dropped before parsing.
+     */
+    static LogSegmentIndex rebuild(Path segment, long expectedEntries) throws IOException {
+        LogSegmentIndex positions = new LogSegmentIndex(null, null);
+        Set<String> playerKeys = new HashSet<>();
+        Set<String> locationKeys = new HashSet<>();
+        long offset = 0L;
+        byte[] line = new byte[256];
+        int length = 0;
+        try (InputStream in = new BufferedInputStream(openSegment(segment), 64 * 1024)) {
+            while (true) {
+                int b = in.read();
+                if (b != '\n' && b != -1) {
+                    if (length == line.length) {
+                        line = Arrays.copyOf(line, length * 2);
+                    }
+                    line[length++] = (byte) b;
+                    continue;
+                }
+                if (b == -1 && length == 0) break;
+
+                int textLength = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+                SpawnerLogRecord record = LogLineParser.parse(new String(line, 0, textLength, StandardCharsets.UTF_8));
+                if (record != null) {
+                    positions.recordPosition(record.getTimestamp(), offset);
+                    if (record.getPlayerName() != null) {
+                        playerKeys.add(playerKey(record.getPlayerName()));
+                    }
+                    String locationKey = locationKey(record);
+                    if (locationKey != null) {
+                        locationKeys.add(locationKey);
+                    }
+                }
+                offset += b == -1 ? length : length + 1;
+                length = 0;
+                if (b == -1) break;
+            }
+        }
+
+        LogSegmentIndex index = positions.withFilters(
+                filterOf(playerKeys, expectedEntries), filterOf(locationKeys, expectedEntries));
+        index.segmentLength = offset;
+        return index;
+    }
+
+    private static LogBloomFilter filterOf(Set<String> keys, long expectedEntries) {
+        LogBloomFilter filter = new LogBloomFilter(Math.max(keys.size(), expectedEntries));
+        for (String key : keys) {
+            filter.add(key);
+        }
+        return filter;
+    }
+
+    static InputStream openSegment(Path segment) throws IOException {
+        InputStream in = Files.newInputStream(segment);
+        return isCompressed(segment) ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+
+    static boolean isCompressed(Path segment) {
+        return segment.getFileName().toString().endsWith(".gz");
+    }
+
+    static Path indexPathFor(Path segment) {
+        String name = segment.getFileName().toString();
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        return segment.resolveSibling(name + INDEX_SUFFIX);
+    }
+
+    static String locationKey(String world, int x, int y, int z) {
+        return world + ':' + x + ':' + y + ':' + z;
+    }
+
+    static String locationKey(SpawnerLogRecord record) {
+        return record.hasLocation() ? locationKey(record.getWorld(), record.getX(), record.getY(), record.getZ()) : null;
+    }
+
+    private static String playerKey(String playerName) {
+        return playerName.toLowerCase(Locale.ROOT);
+    }
+}
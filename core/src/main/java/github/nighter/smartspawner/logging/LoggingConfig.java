@@ -33,6 +33,20 @@ public class LoggingConfig {
     private boolean logAllEvents;
     @Getter
     private List<String> loggedEvents;
+    @Getter
+    private int queueCapacity;
+    @Getter
+    private OverflowPolicy overflowPolicy;
+
+    /**
+     * What {@link SpawnerActionLogger#log} does when the write queue is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the new entry and count it as dropped. */
+        DROP,
+        /** Wait briefly for the writer to catch up, then drop. */
+        BLOCK
+    }
     
     public LoggingConfig(SmartSpawner plugin) {
         this.plugin = plugin;
@@ -48,6 +62,15 @@ public class LoggingConfig {
         this.maxLogSizeMB = plugin.getConfig().getLong("logging.max_log_size_mb", 10);
         this.logAllEvents = plugin.getConfig().getBoolean("logging.log_all_events", false);
         this.loggedEvents = plugin.getConfig().getStringList("logging.logged_events");
+        this.queueCapacity = Math.max(64, plugin.getConfig().getInt("logging.queue_capacity", 8192));
+
+        String policy = plugin.getConfig().getString("logging.overflow_policy", "DROP");
+        try {
+            this.overflowPolicy = OverflowPolicy.valueOf(policy.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid logging.overflow_policy: " + policy + ". Using DROP");
+            this.overflowPolicy = OverflowPolicy.DROP;
+        }
 
         // Parse enabled events
         this.enabledEvents = parseEnabledEvents();
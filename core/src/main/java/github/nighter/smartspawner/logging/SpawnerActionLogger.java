@@ -5,18 +5,16 @@ import github.nighter.smartspawner.SmartSpawner;
 import github.nighter.smartspawner.logging.discord.DiscordWebhookConfig;
 import github.nighter.smartspawner.logging.discord.DiscordWebhookLogger;
 import github.nighter.smartspawner.logging.discord.DiscordEmbedConfigManager;
+import lombok.Getter;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.*;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 
 /**
@@ -24,21 +22,25 @@ import java.util.logging.Level;
  * Handles asynchronous logging with file rotation and multiple output formats.
  */
 public class SpawnerActionLogger {
+    private static final long BLOCK_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
     private final SmartSpawner plugin;
     private final LoggingConfig config;
-    private final Queue<SpawnerLogEntry> logQueue;
+    private final LogRingBuffer<SpawnerLogEntry> logQueue;
     private final AtomicBoolean isShuttingDown;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final AtomicLong droppedEntries = new AtomicLong();
     private Scheduler.Task logTask;
     private DiscordWebhookLogger discordLogger;
     
-    private File currentLogFile;
-    private static final ThreadLocal<SimpleDateFormat> dateFormat = 
-            ThreadLocal.withInitial(() -> new SimpleDateFormat("yyyy-MM-dd"));
+    private SpawnerLogAppender appender;
+    @Getter
+    private SpawnerLogQueryService queryService;
     
     public SpawnerActionLogger(SmartSpawner plugin, LoggingConfig config) {
         this.plugin = plugin;
         this.config = config;
-        this.logQueue = new ConcurrentLinkedQueue<>();
+        this.logQueue = new LogRingBuffer<>(config.getQueueCapacity());
         this.isShuttingDown = new AtomicBoolean(false);
         
         if (config.isEnabled()) {
@@ -67,7 +69,12 @@ public class SpawnerActionLogger {
         }
         
         // Always use async logging
-        logQueue.offer(entry);
+        if (!logQueue.offer(entry)) {
+            handleOverflow(entry);
+        }
+        if (logQueue.size() >= logQueue.capacity() / 2) {
+            requestDrain();
+        }
         
         // Also send to Discord if enabled
         if (discordLogger != null) {
@@ -92,131 +99,88 @@ public class SpawnerActionLogger {
     public interface LogEntryConsumer {
         void accept(SpawnerLogEntry.Builder builder);
     }
+
+    private void handleOverflow(SpawnerLogEntry entry) {
+        if (config.getOverflowPolicy() == LoggingConfig.OverflowPolicy.BLOCK && !isShuttingDown.get()) {
+            requestDrain();
+            long deadline = System.nanoTime() + BLOCK_TIMEOUT_NANOS;
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(100_000L);
+                if (logQueue.offer(entry)) {
+                    return;
+                }
+            }
+        }
+        droppedEntries.incrementAndGet();
+    }
+
+    /**
+     * Drains on the I/O executor; also used to drain early when the queue is filling up.
+     */
+    private void requestDrain() {
+        if (appender != null && !isShuttingDown.get() && drainScheduled.compareAndSet(false, true)) {
+            plugin.getIoExecutor().runFile(() -> {
+                drainScheduled.set(false);
+                processLogQueue();
+            });
+        }
+    }
     
     private void setupLogDirectory() {
         try {
             Path logPath = Paths.get(plugin.getDataFolder().getAbsolutePath(), config.getLogDirectory());
             Files.createDirectories(logPath);
             
-            String fileName = "spawner-" + dateFormat.get().format(new Date()) + 
-                    (config.isJsonFormat() ? ".json" : ".log");
-            currentLogFile = logPath.resolve(fileName).toFile();
+            appender = new SpawnerLogAppender(plugin, config, logPath);
+            queryService = new SpawnerLogQueryService(plugin, this, logPath);
             
             // Perform log rotation if needed
-            rotateLogsIfNeeded();
+            SpawnerLogAppender.cleanupOldLogs(plugin, logPath, config.getMaxLogFiles());
         } catch (IOException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to setup log directory", e);
         }
     }
     
     private void startLoggingTask() {
-        // Process log queue every 2 seconds (always async)
-        logTask = Scheduler.runTaskTimerAsync(() -> {
-            if (isShuttingDown.get()) {
-                return;
-            }
-            processLogQueue();
-        }, 40L, 40L);
+        // Process log queue every 2 seconds; the writes themselves run on the I/O executor
+        logTask = Scheduler.runTaskTimerAsync(this::requestDrain, 40L, 40L);
     }
     
-    private void processLogQueue() {
-        if (logQueue.isEmpty()) {
-            return;
-        }
-        
-        List<SpawnerLogEntry> entries = new ArrayList<>();
-        SpawnerLogEntry entry;
-        while ((entry = logQueue.poll()) != null) {
-            entries.add(entry);
-        }
-        
-        if (!entries.isEmpty()) {
-            writeLogEntries(entries);
+    /**
+     * Flushes buffered output and copies the active segment's index for a query.
+     */
+    synchronized SpawnerLogQueryService.ActiveSegment snapshotActiveSegment() throws IOException {
+        if (appender == null) {
+            return null;
         }
+        return new SpawnerLogQueryService.ActiveSegment(appender.getCurrentPath(), appender.snapshotIndex());
     }
     
-    private void writeLogEntries(List<SpawnerLogEntry> entries) {
-        if (currentLogFile == null || entries.isEmpty()) {
+    private synchronized void processLogQueue() {
+        if (appender == null) {
             return;
         }
         
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(currentLogFile, true))) {
-            for (SpawnerLogEntry entry : entries) {
-                String logLine = config.isJsonFormat() ? entry.toJson() : entry.toReadableString();
-                writer.write(logLine);
-                writer.newLine();
-            }
-            writer.flush();
-            
-            // Check if rotation is needed after writing
-            checkAndRotateLog();
-        } catch (IOException e) {
-            plugin.getLogger().log(Level.WARNING, "Failed to write log entries", e);
+        long dropped = droppedEntries.getAndSet(0);
+        if (dropped > 0) {
+            plugin.getLogger().warning("Spawner log queue was full, dropped " + dropped + " entries");
         }
-    }
-    
-    private void checkAndRotateLog() {
-        if (currentLogFile == null || !currentLogFile.exists()) {
+        
+        SpawnerLogEntry entry = logQueue.poll();
+        if (entry == null) {
             return;
         }
         
-        long fileSizeBytes = currentLogFile.length();
-        long maxSizeBytes = config.getMaxLogSizeMB() * 1024 * 1024;
-        
-        if (fileSizeBytes > maxSizeBytes) {
-            rotateLog();
-        }
-    }
-    
-    private void rotateLog() {
         try {
-            String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
-            String extension = config.isJsonFormat() ? ".json" : ".log";
-            Path logPath = Paths.get(plugin.getDataFolder().getAbsolutePath(), config.getLogDirectory());
-            
-            File rotatedFile = logPath.resolve("spawner-" + timestamp + extension).toFile();
-            Files.move(currentLogFile.toPath(), rotatedFile.toPath());
-            
-            String fileName = "spawner-" + dateFormat.get().format(new Date()) + extension;
-            currentLogFile = logPath.resolve(fileName).toFile();
-            
-            plugin.getLogger().info("Rotated spawner log to: " + rotatedFile.getName());
-            
-            // Clean up old logs
-            cleanupOldLogs();
+            do {
+                appender.append(entry);
+            } while ((entry = logQueue.poll()) != null);
+            appender.flush();
         } catch (IOException e) {
-            plugin.getLogger().log(Level.WARNING, "Failed to rotate log file", e);
-        }
-    }
-    
-    private void rotateLogsIfNeeded() {
-        try {
-            Path logPath = Paths.get(plugin.getDataFolder().getAbsolutePath(), config.getLogDirectory());
-            
-            File[] logFiles = logPath.toFile().listFiles((dir, name) -> 
-                    name.startsWith("spawner-") && (name.endsWith(".log") || name.endsWith(".json")));
-            
-            if (logFiles != null && logFiles.length > config.getMaxLogFiles()) {
-                // Sort by last modified date
-                Arrays.sort(logFiles, Comparator.comparingLong(File::lastModified));
-                
-                // Delete oldest files
-                int filesToDelete = logFiles.length - config.getMaxLogFiles();
-                for (int i = 0; i < filesToDelete; i++) {
-                    if (logFiles[i].delete()) {
-                        plugin.getLogger().info("Deleted old log file: " + logFiles[i].getName());
-                    }
-                }
-            }
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.WARNING, "Failed to rotate old logs", e);
+            plugin.getLogger().log(Level.WARNING, "Failed to write log entries", e);
         }
     }
     
-    private void cleanupOldLogs() {
-        rotateLogsIfNeeded();
-    }
-    
     /**
      * Reloads the Discord webhook logger from {@code discord_logging.yml}.
      * The file-logging task is NOT interrupted; only the Discord side is restarted.
@@ -247,6 +211,17 @@ public class SpawnerActionLogger {
         // Flush remaining entries
         processLogQueue();
         
+        synchronized (this) {
+            if (appender != null) {
+                try {
+                    appender.close();
+                } catch (IOException e) {
+                    plugin.getLogger().log(Level.WARNING, "Failed to close spawner log file", e);
+                }
+                appender = null;
+            }
+        }
+        
         // Shutdown Discord logger
         if (discordLogger != null) {
             discordLogger.shutdown();
@@ -94,6 +94,9 @@ public class SpawnerAuditListener implements Listener {
     
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onSpawnerSell(SpawnerSellEvent event) {
+        // Spawners sold in bulk are logged once the bulk sell goes through, see onSpawnerBulkSell
+        if (event.isBulk()) return;
+
         int itemsSold = event.getItems().stream()
                 .mapToInt(ItemStack::getAmount)
                 .sum();
@@ -107,6 +110,16 @@ public class SpawnerAuditListener implements Listener {
                 .build());
     }
     
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSpawnerBulkSell(SpawnerBulkSellEvent event) {
+        logger.log(new SpawnerLogEntry.Builder(SpawnerEventType.SPAWNER_SELL_ALL)
+                .player(event.getPlayer().getName(), event.getPlayer().getUniqueId())
+                .metadata("total_price", event.getMoneyAmount())
+                .metadata("items_sold", event.getItemCount())
+                .metadata("spawners", event.getLocations().size())
+                .build());
+    }
+
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onSpawnerEggChange(SpawnerEggChangeEvent event) {
         logger.log(new SpawnerLogEntry.Builder(SpawnerEventType.SPAWNER_EGG_CHANGE)
@@ -0,0 +1,243 @@
+package github.nighter.smartspawner.logging;
+
+import github.nighter.smartspawner.SmartSpawner;
+import org.bukkit.Location;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.logging.Level;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Appends log entries to the current spawner log file through one persistent {@link FileChannel}.
+ * <p>
+ * Entries are formatted into a reused {@link StringBuilder}, encoded straight into a reused
+ * direct buffer and written when the buffer fills or on {@link #flush()}. The file size is tracked
+ * in memory, so rotation needs no {@code File.length()} calls. Rotated segments are gzipped on an
+ * async task. Every segment gets a {@link LogSegmentIndex} sidecar, kept in memory for the active
+ * segment and written when it is rotated or closed.
+ * Not thread-safe: the owning logger drains from one thread at a time.
+ */
+final class SpawnerLogAppender {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SmartSpawner plugin;
+    private final LoggingConfig config;
+    private final Path logDirectory;
+    private final String extension;
+    private final long maxSizeBytes;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final StringBuilder line = new StringBuilder(256);
+    private char[] chars = new char[256];
+
+    private FileChannel channel;
+    private Path currentPath;
+    private long currentSize;
+    private LogSegmentIndex currentIndex;
+
+    SpawnerLogAppender(SmartSpawner plugin, LoggingConfig config, Path logDirectory) throws IOException {
+        this.plugin = plugin;
+        this.config = config;
+        this.logDirectory = logDirectory;
+        this.extension = config.isJsonFormat() ? ".json" : ".log";
+        this.maxSizeBytes = config.getMaxLogSizeMB() * 1024 * 1024;
+        openCurrentFile();
+    }
+
+    private void openCurrentFile() throws IOException {
+        String fileName = "spawner-" + new SimpleDateFormat("yyyy-MM-dd").format(new Date()) + extension;
+        currentPath = logDirectory.resolve(fileName);
+        channel = FileChannel.open(currentPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentSize = channel.size();
+        currentIndex = loadOrRebuildIndex();
+    }
+
+    private LogSegmentIndex loadOrRebuildIndex() throws IOException {
+        if (currentSize == 0) {
+            return new LogSegmentIndex(LogSegmentIndex.expectedEntries(maxSizeBytes));
+        }
+
+        Path indexPath = LogSegmentIndex.indexPathFor(currentPath);
+        if (Files.exists(indexPath)) {
+            try {
+                LogSegmentIndex index = LogSegmentIndex.read(indexPath);
+                if (index.getSegmentLength() == currentSize) {
+                    return index;
+                }
+            } catch (IOException e) {
+                plugin.debug("Rebuilding unreadable log index " + indexPath.getFileName() + ": " + e.getMessage());
+            }
+        }
+        // Not shut down cleanly last time (or written before indexing existed)
+        return LogSegmentIndex.rebuild(currentPath, LogSegmentIndex.expectedEntries(maxSizeBytes));
+    }
+
+    void append(SpawnerLogEntry entry) throws IOException {
+        line.setLength(0);
+        if (config.isJsonFormat()) {
+            entry.appendJson(line);
+        } else {
+            entry.appendReadable(line);
+        }
+        line.append('\n');
+
+        Location location = entry.getLocation();
+        String locationKey = location != null && location.getWorld() != null
+                ? LogSegmentIndex.locationKey(location.getWorld().getName(),
+                        location.getBlockX(), location.getBlockY(), location.getBlockZ())
+                : null;
+        currentIndex.record(entry.getTimestamp(), currentSize + buffer.position(), entry.getPlayerName(), locationKey);
+
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        line.getChars(0, length, chars, 0);
+        CharBuffer source = CharBuffer.wrap(chars, 0, length);
+
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(source, buffer, true);
+            if (result.isOverflow()) {
+                writeBuffer();
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Writes buffered bytes to the channel and rotates the file if it grew past the size limit.
+     */
+    void flush() throws IOException {
+        writeBuffer();
+        if (currentSize > maxSizeBytes) {
+            rotate();
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            currentSize += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void rotate() throws IOException {
+        channel.close();
+
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+        Path rotated = logDirectory.resolve("spawner-" + timestamp + extension);
+        Files.move(currentPath, rotated);
+        writeIndex(rotated);
+        Files.deleteIfExists(LogSegmentIndex.indexPathFor(currentPath));
+        openCurrentFile();
+
+        plugin.getLogger().info("Rotated spawner log to: " + rotated.getFileName());
+
+        // Compression and retention run off the drain thread so logging never waits on gzip
+        plugin.getIoExecutor().runFile(() -> {
+            compress(rotated);
+            cleanupOldLogs(plugin, logDirectory, config.getMaxLogFiles());
+        });
+    }
+
+    private void compress(Path rotated) {
+        Path compressed = rotated.resolveSibling(rotated.getFileName() + ".gz");
+        try (InputStream in = Files.newInputStream(rotated);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed), BUFFER_SIZE)) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to compress rotated log " + rotated.getFileName(), e);
+            try {
+                Files.deleteIfExists(compressed);
+            } catch (IOException ignored) {
+                // Keep the uncompressed segment
+            }
+            return;
+        }
+
+        try {
+            Files.delete(rotated);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to delete rotated log " + rotated.getFileName(), e);
+        }
+    }
+
+    void close() throws IOException {
+        try {
+            writeBuffer();
+        } finally {
+            channel.close();
+        }
+        writeIndex(currentPath);
+    }
+
+    private void writeIndex(Path segment) {
+        currentIndex.setSegmentLength(currentSize);
+        try {
+            currentIndex.write(LogSegmentIndex.indexPathFor(segment));
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to write log index for " + segment.getFileName(), e);
+        }
+    }
+
+    Path getCurrentPath() {
+        return currentPath;
+    }
+
+    /**
+     * @return a copy of the active segment's index covering everything written to the channel so far
+     */
+    LogSegmentIndex snapshotIndex() throws IOException {
+        writeBuffer();
+        LogSegmentIndex snapshot = currentIndex.copy();
+        snapshot.setSegmentLength(currentSize);
+        return snapshot;
+    }
+
+    /**
+     * Deletes the oldest log segments (plain or compressed) beyond {@code maxLogFiles}.
+     */
+    static void cleanupOldLogs(SmartSpawner plugin, Path logDirectory, int maxLogFiles) {
+        try {
+            File[] logFiles = logDirectory.toFile().listFiles((dir, name) -> name.startsWith("spawner-")
+                    && (name.endsWith(".log") || name.endsWith(".json") || name.endsWith(".gz")));
+
+            if (logFiles != null && logFiles.length > maxLogFiles) {
+                // Sort by last modified date
+                Arrays.sort(logFiles, Comparator.comparingLong(File::lastModified));
+
+                // Delete oldest files
+                int filesToDelete = logFiles.length - maxLogFiles;
+                for (int i = 0; i < filesToDelete; i++) {
+                    if (logFiles[i].delete()) {
+                        Files.deleteIfExists(LogSegmentIndex.indexPathFor(logFiles[i].toPath()));
+                        plugin.getLogger().info("Deleted old log file: " + logFiles[i].getName());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to rotate old logs", e);
+        }
+    }
+}
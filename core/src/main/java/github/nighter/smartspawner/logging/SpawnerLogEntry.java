@@ -39,6 +39,10 @@ public class SpawnerLogEntry {
         this.metadata = new HashMap<>(builder.metadata);
     }
 
+    public long getTimestamp() {
+        return timestamp;
+    }
+
     @Nullable
     public String getPlayerName() {
         return playerName;
@@ -67,7 +71,17 @@ public class SpawnerLogEntry {
      * Converts the log entry to a JSON string for structured logging.
      */
     public String toJson() {
-        StringBuilder json = new StringBuilder("{");
+        StringBuilder json = new StringBuilder();
+        appendJson(json);
+        return json.toString();
+    }
+
+    /**
+     * Appends the JSON form of this entry to a caller-owned builder,
+     * so appenders can reuse one buffer across entries.
+     */
+    public void appendJson(StringBuilder json) {
+        json.append('{');
         json.append("\"timestamp\":\"").append(FORMATTER.format(Instant.ofEpochMilli(timestamp))).append("\",");
         json.append("\"timestamp_ms\":").append(timestamp).append(",");
         json.append("\"event_type\":\"").append(eventType.name()).append("\",");
@@ -109,7 +123,6 @@ public class SpawnerLogEntry {
             json.append("}");
         }
         json.append("}");
-        return json.toString();
     }
     
     /**
@@ -117,6 +130,14 @@ public class SpawnerLogEntry {
      */
     public String toReadableString() {
         StringBuilder sb = new StringBuilder();
+        appendReadable(sb);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the human-readable form of this entry to a caller-owned builder.
+     */
+    public void appendReadable(StringBuilder sb) {
         sb.append("[").append(FORMATTER.format(Instant.ofEpochMilli(timestamp))).append("] ");
         sb.append(eventType.getDescription());
         
@@ -133,10 +154,9 @@ public class SpawnerLogEntry {
             sb.append(" | Entity: ").append(entityType.name());
         }
         if (!metadata.isEmpty()) {
-            sb.append(" | ");
-            metadata.forEach((key, value) -> sb.append(key).append("=").append(value).append(" "));
+            sb.append(" |");
+            metadata.forEach((key, value) -> sb.append(' ').append(key).append("=").append(value));
         }
-        return sb.toString().trim();
     }
     
     private String escapeJson(String str) {
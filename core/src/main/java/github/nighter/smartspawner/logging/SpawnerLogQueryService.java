@@ -0,0 +1,220 @@
+package github.nighter.smartspawner.logging;
+
+import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.api.logging.SpawnerLogQuery;
+import github.nighter.smartspawner.api.logging.SpawnerLogRecord;
+import github.nighter.smartspawner.spawner.properties.SpawnerData;
+import org.bukkit.Location;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+
+/**
+ * Answers audit log queries by reading only the segments whose index says they can match.
+ * <p>
+ * A segment is skipped when its time range does not overlap the query or when its bloom filters
+ * rule out the requested player or spawner location. Matching segments are read from the sparse
+ * index offset nearest the query start and abandoned once entries run past the query end.
+ * Sidecar indexes are cached in memory and rebuilt once for segments that have none.
+ */
+public class SpawnerLogQueryService {
+    private final SmartSpawner plugin;
+    private final SpawnerActionLogger actionLogger;
+    private final Path logDirectory;
+    private final Map<Path, CachedIndex> indexCache = new ConcurrentHashMap<>();
+
+    SpawnerLogQueryService(SmartSpawner plugin, SpawnerActionLogger actionLogger, Path logDirectory) {
+        this.plugin = plugin;
+        this.actionLogger = actionLogger;
+        this.logDirectory = logDirectory;
+    }
+
+    /**
+     * Runs a query off the main thread and streams every match to {@code consumer} in time order
+     * per segment. The consumer is called on the async worker thread.
+     *
+     * @return future completed with the number of matching records
+     */
+    public CompletableFuture<Long> query(SpawnerLogQuery query, Consumer<SpawnerLogRecord> consumer) {
+        // Resolve the spawner while it still exists; broken spawners can be queried by location
+        String locationKey = resolveLocationKey(query);
+        if (query.getSpawnerId() != null && locationKey == null) {
+            return CompletableFuture.completedFuture(0L);
+        }
+
+        // Scanning segments reads and decompresses files, so it runs on the I/O executor
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return execute(query, locationKey, consumer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, plugin.getIoExecutor()::runFile);
+    }
+
+    private String resolveLocationKey(SpawnerLogQuery query) {
+        Location location = query.getLocation();
+        if (query.getSpawnerId() != null) {
+            SpawnerData spawner = plugin.getSpawnerManager().getSpawnerById(query.getSpawnerId());
+            if (spawner == null) return null;
+            location = spawner.getSpawnerLocation();
+        }
+        if (location == null || location.getWorld() == null) return null;
+        return LogSegmentIndex.locationKey(location.getWorld().getName(),
+                location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    private long execute(SpawnerLogQuery query, String locationKey, Consumer<SpawnerLogRecord> consumer) throws IOException {
+        ActiveSegment active = actionLogger.snapshotActiveSegment();
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (Path segment : listSegments()) {
+            LogSegmentIndex index = active != null && segment.equals(active.path())
+                    ? active.index()
+                    : indexFor(segment);
+            if (index == null || !index.overlaps(query.getFromMillis(), query.getToMillis())) continue;
+            if (query.getPlayerName() != null && !index.mightContainPlayer(query.getPlayerName())) continue;
+            if (locationKey != null && !index.mightContainLocation(locationKey)) continue;
+            candidates.add(new Candidate(segment, index));
+        }
+        plugin.debug("Log query reading " + candidates.size() + " segment(s)");
+
+        long matches = 0;
+        for (Candidate candidate : candidates) {
+            matches += scan(candidate, query, locationKey, consumer);
+        }
+        return matches;
+    }
+
+    private long scan(Candidate candidate, SpawnerLogQuery query, String locationKey,
+                      Consumer<SpawnerLogRecord> consumer) throws IOException {
+        long start = candidate.index().floorOffset(query.getFromMillis());
+        long matches = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                openAt(candidate.segment(), start), StandardCharsets.UTF_8), 64 * 1024)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                SpawnerLogRecord record = LogLineParser.parse(line);
+                if (record == null) continue;
+                if (LogSegmentIndex.isPastEnd(record.getTimestamp(), query.getToMillis())) break;
+                if (matches(record, query, locationKey)) {
+                    consumer.accept(record);
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private InputStream openAt(Path segment, long offset) throws IOException {
+        if (LogSegmentIndex.isCompressed(segment)) {
+            InputStream in = LogSegmentIndex.openSegment(segment);
+            in.skipNBytes(offset);
+            return in;
+        }
+        FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ);
+        channel.position(offset);
+        return Channels.newInputStream(channel);
+    }
+
+    private boolean matches(SpawnerLogRecord record, SpawnerLogQuery query, String locationKey) {
+        if (record.getTimestamp() < query.getFromMillis() || record.getTimestamp() > query.getToMillis()) {
+            return false;
+        }
+        if (!query.getEventTypes().isEmpty() && !query.getEventTypes().contains(record.getEventType())) {
+            return false;
+        }
+        if (query.getPlayerName() != null && !query.getPlayerName().equalsIgnoreCase(record.getPlayerName())) {
+            return false;
+        }
+        return locationKey == null || locationKey.equals(LogSegmentIndex.locationKey(record));
+    }
+
+    private List<Path> listSegments() throws IOException {
+        if (!Files.isDirectory(logDirectory)) {
+            return List.of();
+        }
+
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(logDirectory)) {
+            files.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (!name.startsWith("spawner-")) return;
+                if (name.endsWith(".log") || name.endsWith(".json")) {
+                    segments.add(path);
+                } else if (name.endsWith(".gz")) {
+                    // Skip segments whose compression is still in progress
+                    Path plain = path.resolveSibling(name.substring(0, name.length() - 3));
+                    if (!Files.exists(plain)) {
+                        segments.add(path);
+                    }
+                }
+            });
+        }
+        segments.sort(Comparator.comparing(path -> path.getFileName().toString()));
+        indexCache.keySet().retainAll(segments);
+        return segments;
+    }
+
+    private LogSegmentIndex indexFor(Path segment) {
+        try {
+            long size = Files.size(segment);
+            CachedIndex cached = indexCache.get(segment);
+            if (cached != null && cached.fileSize() == size) {
+                return cached.index();
+            }
+
+            Path indexPath = LogSegmentIndex.indexPathFor(segment);
+            LogSegmentIndex index = null;
+            if (Files.exists(indexPath)) {
+                try {
+                    index = LogSegmentIndex.read(indexPath);
+                    // Plain segments can be checked for a stale sidecar; compressed ones are immutable
+                    if (!LogSegmentIndex.isCompressed(segment) && index.getSegmentLength() != size) {
+                        index = null;
+                    }
+                } catch (IOException e) {
+                    plugin.debug("Rebuilding unreadable log index " + indexPath.getFileName() + ": " + e.getMessage());
+                }
+            }
+            if (index == null) {
+                index = LogSegmentIndex.rebuild(segment, 0L);
+                index.write(indexPath);
+            }
+
+            indexCache.put(segment, new CachedIndex(size, index));
+            return index;
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to index log segment " + segment.getFileName(), e);
+            return null;
+        }
+    }
+
+    record ActiveSegment(Path path, LogSegmentIndex index) {
+    }
+
+    private record Candidate(Path segment, LogSegmentIndex index) {
+    }
+
+    private record CachedIndex(long fileSize, LogSegmentIndex index) {
+    }
+}
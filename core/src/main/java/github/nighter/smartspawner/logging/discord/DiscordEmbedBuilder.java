@@ -52,6 +52,68 @@ public class DiscordEmbedBuilder {
         return buildEmbed(entry, embedCfg, globalCfg, plugin).toJson();
     }
 
+    /**
+     * Builds one summary embed for an aggregation bucket.
+     * Buckets holding a single entry are rendered exactly like {@link #buildEmbed}.
+     */
+    static DiscordEmbed buildSummaryEmbed(DiscordEventAggregator.Bucket bucket,
+                                          DiscordEventEmbedConfig embedCfg,
+                                          DiscordWebhookConfig globalCfg,
+                                          SmartSpawner plugin) {
+        if (bucket.getCount() == 1) {
+            return buildEmbed(bucket.getFirstEntry(), embedCfg, globalCfg, plugin);
+        }
+        return buildSummaryEmbed(bucket, embedCfg.getColor(), globalCfg.isShowPlayerHead());
+    }
+
+    /** Renders a bucket that folded more than one entry. */
+    static DiscordEmbed buildSummaryEmbed(DiscordEventAggregator.Bucket bucket, int color, boolean showPlayerHead) {
+        DiscordEventAggregator.Key key = bucket.getKey();
+        DiscordEmbed embed = new DiscordEmbed();
+        embed.setColor(color);
+        embed.setTitle("📊 " + key.eventType().getDescription() + " ×" + bucket.getCount());
+
+        StringBuilder desc = new StringBuilder();
+        desc.append("👤 `").append(key.playerName() != null ? key.playerName() : "N/A").append("`");
+        if (key.world() != null) {
+            desc.append(" • 🌍 `").append(key.world()).append("`");
+        }
+        desc.append("\n🕒 `").append(TIME_FMT.format(Instant.ofEpochMilli(bucket.getFirstTimestamp())))
+                .append(" – ").append(TIME_FMT.format(Instant.ofEpochMilli(bucket.getLastTimestamp())))
+                .append("`");
+        embed.setDescription(desc.toString());
+
+        for (Map.Entry<String, Double> sum : bucket.getSums().entrySet()) {
+            embed.addField(
+                    getFieldIcon(sum.getKey()) + " Total " + formatFieldName(sum.getKey()),
+                    formatCompactValue(sum.getValue()),
+                    true);
+        }
+
+        int spawners = bucket.getLocations().size() + bucket.getExtraLocations();
+        if (spawners > 0) {
+            StringBuilder locations = new StringBuilder();
+            int shown = 0;
+            for (String coords : bucket.getLocations()) {
+                if (shown++ >= 5) break;
+                if (locations.length() > 0) locations.append('\n');
+                locations.append('`').append(coords).append('`');
+            }
+            if (spawners > 5) {
+                locations.append("\n+").append(spawners - 5).append(" more");
+            }
+            embed.addField("📍 Spawners (" + spawners + ")", locations.toString(), false);
+        }
+
+        embed.setFooter("SmartSpawner • summary", null);
+        embed.setTimestamp(Instant.ofEpochMilli(bucket.getLastTimestamp()));
+
+        if (showPlayerHead && key.playerName() != null) {
+            embed.setThumbnail(getPlayerAvatarUrl(key.playerName()));
+        }
+        return embed;
+    }
+
     // ── Programmatic embed path ───────────────────────────────────────────────
 
     private static DiscordEmbed buildYamlEmbed(SpawnerLogEntry entry,
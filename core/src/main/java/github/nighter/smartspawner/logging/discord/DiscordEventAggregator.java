@@ -0,0 +1,110 @@
+package github.nighter.smartspawner.logging.discord;
+
+import github.nighter.smartspawner.logging.SpawnerEventType;
+import github.nighter.smartspawner.logging.SpawnerLogEntry;
+import lombok.Getter;
+import org.bukkit.Location;
+
+import java.util.*;
+
+/**
+ * Folds log entries into one summary per (event type, player, world) over a tumbling window.
+ *
+ * <p>Each bucket keeps a count, the sum of every configured numeric metadata field, the set of
+ * distinct spawner locations touched and the first entry seen. A bucket that only ever received
+ * one entry is rendered as the normal per-event embed, so quiet periods look exactly like the
+ * non-aggregated mode.</p>
+ *
+ * <p>Thread-safe: {@link #add} is called from logging threads, {@link #drain} from the webhook
+ * timer task. Both are short and guarded by the instance lock.</p>
+ */
+class DiscordEventAggregator {
+
+    /** Distinct locations are only tracked up to this many per bucket; the rest are counted. */
+    private static final int MAX_TRACKED_LOCATIONS = 64;
+
+    private final Set<String> summedFields;
+    private Map<Key, Bucket> buckets = new LinkedHashMap<>();
+
+    DiscordEventAggregator(Set<String> summedFields) {
+        this.summedFields = summedFields;
+    }
+
+    synchronized void add(SpawnerLogEntry entry) {
+        Location loc = entry.getLocation();
+        String world = loc != null && loc.getWorld() != null ? loc.getWorld().getName() : null;
+        Key key = new Key(entry.getEventType(), entry.getPlayerName(), world);
+
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new Bucket(key, entry);
+            buckets.put(key, bucket);
+        }
+        bucket.add(entry, summedFields);
+    }
+
+    /**
+     * Closes the current window and returns its buckets in first-seen order.
+     */
+    synchronized List<Bucket> drain() {
+        if (buckets.isEmpty()) return Collections.emptyList();
+        List<Bucket> closed = new ArrayList<>(buckets.values());
+        buckets = new LinkedHashMap<>();
+        return closed;
+    }
+
+    synchronized int size() {
+        return buckets.size();
+    }
+
+    record Key(SpawnerEventType eventType, String playerName, String world) {
+    }
+
+    static class Bucket {
+        @Getter private final Key key;
+        @Getter private final SpawnerLogEntry firstEntry;
+        @Getter private int count;
+        @Getter private long firstTimestamp;
+        @Getter private long lastTimestamp;
+        @Getter private int extraLocations;
+        private final Set<String> locations = new LinkedHashSet<>();
+        private final Map<String, Double> sums = new LinkedHashMap<>();
+
+        Bucket(Key key, SpawnerLogEntry firstEntry) {
+            this.key = key;
+            this.firstEntry = firstEntry;
+            this.firstTimestamp = firstEntry.getTimestamp();
+        }
+
+        private void add(SpawnerLogEntry entry, Set<String> summedFields) {
+            count++;
+            lastTimestamp = Math.max(lastTimestamp, entry.getTimestamp());
+
+            Location loc = entry.getLocation();
+            if (loc != null) {
+                String coords = loc.getBlockX() + ", " + loc.getBlockY() + ", " + loc.getBlockZ();
+                if (!locations.contains(coords)) {
+                    if (locations.size() < MAX_TRACKED_LOCATIONS) {
+                        locations.add(coords);
+                    } else {
+                        extraLocations++;
+                    }
+                }
+            }
+
+            for (Map.Entry<String, Object> meta : entry.getMetadata().entrySet()) {
+                if (meta.getValue() instanceof Number number && summedFields.contains(meta.getKey())) {
+                    sums.merge(meta.getKey(), number.doubleValue(), Double::sum);
+                }
+            }
+        }
+
+        Set<String> getLocations() {
+            return Collections.unmodifiableSet(locations);
+        }
+
+        Map<String, Double> getSums() {
+            return Collections.unmodifiableMap(sums);
+        }
+    }
+}
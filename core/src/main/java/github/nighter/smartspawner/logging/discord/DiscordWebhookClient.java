@@ -0,0 +1,100 @@
+package github.nighter.smartspawner.logging.discord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Blocking HTTP transport for Discord webhook payloads.
+ * <p>
+ * A 429 response starts a backoff of {@code Retry-After} seconds (at least {@value #MIN_BACKOFF_MILLIS} ms,
+ * {@value #DEFAULT_BACKOFF_MILLIS} ms without the header); callers check {@link #isRateLimited(long)} before
+ * sending and re-queue the rejected batch.
+ */
+final class DiscordWebhookClient {
+    static final long DEFAULT_BACKOFF_MILLIS = 10_000L;
+    static final long MIN_BACKOFF_MILLIS = 1_000L;
+    static final String USER_AGENT = "SmartSpawner-Logger/1.0";
+    private static final int TIMEOUT_MILLIS = 5_000;
+
+    private final Logger logger;
+    /** Epoch-ms after which it is safe to send again; 0 = no active rate-limit. */
+    private final AtomicLong rateLimitedUntil = new AtomicLong(0);
+
+    DiscordWebhookClient(Logger logger) {
+        this.logger = logger;
+    }
+
+    boolean isRateLimited(long now) {
+        return now < rateLimitedUntil.get();
+    }
+
+    long getRateLimitedUntil() {
+        return rateLimitedUntil.get();
+    }
+
+    /**
+     * Performs a blocking HTTP POST and returns the response code.
+     * Must only be called from the I/O executor.
+     *
+     * @return HTTP response code, or -1 on I/O failure
+     */
+    @SuppressWarnings("deprecation")
+    int post(String webhookUrl, String jsonPayload) {
+        HttpURLConnection conn = null;
+        try {
+            URL url = new URL(webhookUrl);
+            conn = (HttpURLConnection) url.openConnection();
+            conn.setRequestMethod("POST");
+            conn.setRequestProperty("Content-Type", "application/json");
+            conn.setRequestProperty("User-Agent", USER_AGENT);
+            conn.setDoOutput(true);
+            conn.setConnectTimeout(TIMEOUT_MILLIS);
+            conn.setReadTimeout(TIMEOUT_MILLIS);
+
+            try (OutputStream os = conn.getOutputStream()) {
+                os.write(jsonPayload.getBytes(StandardCharsets.UTF_8));
+            }
+
+            int code = conn.getResponseCode();
+
+            if (code == 429) {
+                long backoffMs = parseRetryAfter(conn.getHeaderField("Retry-After"));
+                rateLimitedUntil.set(System.currentTimeMillis() + backoffMs);
+                logger.warning("Discord webhook rate limited – retrying in "
+                        + (backoffMs / 1_000) + "s (batch will be re-queued).");
+            } else if (code < 200 || code >= 300) {
+                logger.warning("Discord webhook returned HTTP " + code + ".");
+            }
+
+            // Consume the response body to allow connection reuse; error responses only have an error stream
+            try (InputStream ignored = code >= 400 ? conn.getErrorStream() : conn.getInputStream()) { }
+
+            return code;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Discord webhook request failed", e);
+            return -1;
+        } finally {
+            if (conn != null) conn.disconnect();
+        }
+    }
+
+    /**
+     * @param retryAfter the {@code Retry-After} header, in (possibly fractional) seconds, or null
+     * @return the backoff in milliseconds
+     */
+    static long parseRetryAfter(String retryAfter) {
+        if (retryAfter == null) return DEFAULT_BACKOFF_MILLIS;
+        try {
+            return Math.max(MIN_BACKOFF_MILLIS, (long) (Double.parseDouble(retryAfter.trim()) * 1_000));
+        } catch (NumberFormatException e) {
+            return DEFAULT_BACKOFF_MILLIS;
+        }
+    }
+}
@@ -19,6 +19,12 @@ import java.util.*;
  */
 public class DiscordWebhookConfig {
     private static final String FILE_NAME = "discord_logging.yml";
+    private static final List<String> DEFAULT_IMMEDIATE_EVENTS = List.of(
+            "SPAWNER_BREAK", "SPAWNER_EXPLODE",
+            "COMMAND_EXECUTE_PLAYER", "COMMAND_EXECUTE_CONSOLE", "COMMAND_EXECUTE_RCON");
+    private static final List<String> DEFAULT_SUMMED_FIELDS = List.of(
+            "quantity", "amount_added", "exp_amount", "total_price",
+            "items_sold", "items_taken", "items_dropped");
 
     private final SmartSpawner plugin;
 
@@ -28,6 +34,11 @@ public class DiscordWebhookConfig {
     @Getter private boolean logAllEvents;
     @Getter private Set<SpawnerEventType> enabledEvents;
 
+    @Getter private boolean aggregationEnabled;
+    @Getter private long    aggregationWindowMillis;
+    @Getter private Set<SpawnerEventType> immediateEvents;
+    @Getter private Set<String> summedFields;
+
     public DiscordWebhookConfig(SmartSpawner plugin) {
         this.plugin = plugin;
         new DiscordConfigUpdater(plugin).checkAndUpdate();
@@ -48,6 +59,13 @@ public class DiscordWebhookConfig {
         this.showPlayerHead = cfg.getBoolean("show_player_head", true);
         this.logAllEvents   = cfg.getBoolean("log_all_events", false);
         this.enabledEvents  = parseEnabledEvents(cfg);
+
+        this.aggregationEnabled      = cfg.getBoolean("aggregation.enabled", false);
+        this.aggregationWindowMillis = Math.max(10, cfg.getLong("aggregation.window_seconds", 60)) * 1_000L;
+        this.immediateEvents         = parseEventList(cfg.isList("aggregation.immediate_events")
+                ? cfg.getStringList("aggregation.immediate_events") : DEFAULT_IMMEDIATE_EVENTS);
+        this.summedFields            = new HashSet<>(cfg.isList("aggregation.summed_fields")
+                ? cfg.getStringList("aggregation.summed_fields") : DEFAULT_SUMMED_FIELDS);
     }
 
     // ── Helpers ──────────────────────────────────────────────────────────────
@@ -70,6 +88,10 @@ public class DiscordWebhookConfig {
             return defaults;
         }
 
+        return parseEventList(list);
+    }
+
+    private Set<SpawnerEventType> parseEventList(List<String> list) {
         Set<SpawnerEventType> events = EnumSet.noneOf(SpawnerEventType.class);
         for (String name : list) {
             try {
@@ -85,6 +107,11 @@ public class DiscordWebhookConfig {
         return enabled && enabledEvents.contains(eventType);
     }
 
+    /** Whether entries of this type are folded into window summaries instead of sent one by one. */
+    public boolean isAggregated(SpawnerEventType eventType) {
+        return aggregationEnabled && !immediateEvents.contains(eventType);
+    }
+
     // ── Inner type (shared with embed config) ─────────────────────────────────
 
     public static class EmbedField {
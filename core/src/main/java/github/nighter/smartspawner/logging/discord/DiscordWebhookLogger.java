@@ -4,12 +4,6 @@ import github.nighter.smartspawner.Scheduler;
 import github.nighter.smartspawner.SmartSpawner;
 import github.nighter.smartspawner.logging.SpawnerLogEntry;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -28,6 +22,9 @@ import java.util.logging.Level;
  *       re-queued for the next timer tick.</li>
  *   <li>The queue is capped at {@value #MAX_QUEUE_SIZE} to prevent memory leaks under
  *       sustained bursts; oldest entries are silently dropped when the cap is reached.</li>
+ *   <li>With {@code aggregation.enabled}, entries are folded per event type, player and world
+ *       by a {@link DiscordEventAggregator} and sent as one summary embed per bucket when
+ *       the window closes. Summaries go out ahead of individual entries.</li>
  * </ul>
  */
 public class DiscordWebhookLogger {
@@ -49,11 +46,16 @@ public class DiscordWebhookLogger {
     private volatile DiscordEmbedConfigManager  embedConfigManager;
 
     private final ConcurrentLinkedQueue<SpawnerLogEntry> webhookQueue = new ConcurrentLinkedQueue<>();
+    /** Rendered window summaries waiting to be sent. */
+    private final ConcurrentLinkedQueue<DiscordEmbed> summaryQueue = new ConcurrentLinkedQueue<>();
+    private volatile DiscordEventAggregator aggregator;
+    private volatile long windowStartedAt = System.currentTimeMillis();
     private final AtomicBoolean isShuttingDown           = new AtomicBoolean(false);
+    /** Set while a queue drain is running on the I/O executor. */
+    private final AtomicBoolean sending                  = new AtomicBoolean(false);
     private final AtomicLong    lastMinuteReset          = new AtomicLong(System.currentTimeMillis());
     private final AtomicLong    requestsSentThisMinute   = new AtomicLong(0);
-    /** Epoch-ms after which it is safe to send again; 0 = no active rate-limit. */
-    private final AtomicLong    rateLimitedUntil         = new AtomicLong(0);
+    private final DiscordWebhookClient client;
 
     private Scheduler.Task webhookTask;
 
@@ -65,6 +67,8 @@ public class DiscordWebhookLogger {
         this.plugin              = plugin;
         this.config              = config;
         this.embedConfigManager  = embedConfigManager;
+        this.aggregator          = createAggregator(config);
+        this.client              = new DiscordWebhookClient(plugin.getLogger());
 
         if (config.isEnabled()) startWebhookTask();
     }
@@ -78,6 +82,12 @@ public class DiscordWebhookLogger {
     public void queueWebhook(SpawnerLogEntry entry) {
         if (isShuttingDown.get()) return;
         if (!config.isEnabled() || !config.isEventEnabled(entry.getEventType())) return;
+
+        DiscordEventAggregator currentAggregator = aggregator;
+        if (currentAggregator != null && config.isAggregated(entry.getEventType())) {
+            currentAggregator.add(entry);
+            return;
+        }
         // Silently drop oldest entry if queue is at capacity
         if (webhookQueue.size() >= MAX_QUEUE_SIZE) {
             webhookQueue.poll();
@@ -90,8 +100,13 @@ public class DiscordWebhookLogger {
      * Cancels and restarts the background task as needed.
      */
     public void reload(DiscordWebhookConfig newConfig, DiscordEmbedConfigManager newEmbedManager) {
+        // Render the open window with the old settings so nothing collected so far is lost
+        closeWindow();
+
         this.config             = newConfig;
         this.embedConfigManager = newEmbedManager;
+        this.aggregator         = createAggregator(newConfig);
+        this.windowStartedAt    = System.currentTimeMillis();
 
         if (webhookTask != null) {
             webhookTask.cancel();
@@ -109,8 +124,12 @@ public class DiscordWebhookLogger {
             webhookTask.cancel();
             webhookTask = null;
         }
-        int remaining = webhookQueue.size();
+        DiscordEventAggregator currentAggregator = aggregator;
+        int remaining = webhookQueue.size() + summaryQueue.size()
+                + (currentAggregator != null ? currentAggregator.size() : 0);
         webhookQueue.clear();
+        summaryQueue.clear();
+        aggregator = null;
         if (remaining > 0) {
             plugin.getLogger().info("Discord webhook: discarded " + remaining
                     + " pending entries at shutdown.");
@@ -120,19 +139,52 @@ public class DiscordWebhookLogger {
     // ── Internal ──────────────────────────────────────────────────────────────
 
     private void startWebhookTask() {
-        // Timer fires every 2 s (40 ticks). All HTTP work is done here – no nested tasks.
+        // Timer fires every 2 s (40 ticks) and hands the HTTP work to the I/O executor, one send at a time.
         webhookTask = Scheduler.runTaskTimerAsync(() -> {
-            if (!isShuttingDown.get()) processWebhookQueue();
+            if (isShuttingDown.get() || !sending.compareAndSet(false, true)) return;
+            plugin.getIoExecutor().runHttp(() -> {
+                try {
+                    processWebhookQueue();
+                } finally {
+                    sending.set(false);
+                }
+            });
         }, 40L, 40L);
     }
 
-    private void processWebhookQueue() {
-        if (webhookQueue.isEmpty()) return;
+    private static DiscordEventAggregator createAggregator(DiscordWebhookConfig config) {
+        return config.isAggregationEnabled() ? new DiscordEventAggregator(config.getSummedFields()) : null;
+    }
+
+    /** Renders every open aggregation bucket into {@link #summaryQueue} and starts a new window. */
+    private void closeWindow() {
+        DiscordEventAggregator currentAggregator = aggregator;
+        windowStartedAt = System.currentTimeMillis();
+        if (currentAggregator == null) return;
+
+        for (DiscordEventAggregator.Bucket bucket : currentAggregator.drain()) {
+            try {
+                DiscordEventEmbedConfig embedCfg = embedConfigManager.getEmbedConfig(bucket.getKey().eventType());
+                if (summaryQueue.size() >= MAX_QUEUE_SIZE) {
+                    summaryQueue.poll();
+                }
+                summaryQueue.offer(DiscordEmbedBuilder.buildSummaryEmbed(bucket, embedCfg, config, plugin));
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Error building Discord summary embed", e);
+            }
+        }
+    }
 
+    private void processWebhookQueue() {
         long now = System.currentTimeMillis();
+        if (aggregator != null && now - windowStartedAt >= config.getAggregationWindowMillis()) {
+            closeWindow();
+        }
+
+        if (webhookQueue.isEmpty() && summaryQueue.isEmpty()) return;
 
         // Honour rate-limit backoff signalled by a previous 429 response
-        if (now < rateLimitedUntil.get()) return;
+        if (client.isRateLimited(now)) return;
 
         // Reset per-minute counter at the start of each new minute
         if (now - lastMinuteReset.get() >= MINUTE_IN_MILLIS) {
@@ -145,27 +197,38 @@ public class DiscordWebhookLogger {
         String url = config.getWebhookUrl();
         if (url == null || url.isEmpty()) return;
 
-        // Drain up to MAX_EMBEDS_PER_REQUEST entries into one batch
-        List<SpawnerLogEntry> batch = new ArrayList<>(MAX_EMBEDS_PER_REQUEST);
-        while (batch.size() < MAX_EMBEDS_PER_REQUEST) {
+        // Drain up to MAX_EMBEDS_PER_REQUEST summaries, then entries, into one batch
+        List<DiscordEmbed> summaries = new ArrayList<>();
+        while (summaries.size() < MAX_EMBEDS_PER_REQUEST) {
+            DiscordEmbed summary = summaryQueue.poll();
+            if (summary == null) break;
+            summaries.add(summary);
+        }
+        List<SpawnerLogEntry> batch = new ArrayList<>(MAX_EMBEDS_PER_REQUEST - summaries.size());
+        while (summaries.size() + batch.size() < MAX_EMBEDS_PER_REQUEST) {
             SpawnerLogEntry entry = webhookQueue.poll();
             if (entry == null) break;
             batch.add(entry);
         }
-        if (batch.isEmpty()) return;
+        if (summaries.isEmpty() && batch.isEmpty()) return;
 
         // Build embeds and post
         try {
-            List<DiscordEmbed> embeds = new ArrayList<>(batch.size());
+            List<DiscordEmbed> embeds = new ArrayList<>(summaries);
             for (SpawnerLogEntry entry : batch) {
                 DiscordEventEmbedConfig embedCfg = embedConfigManager.getEmbedConfig(entry.getEventType());
                 embeds.add(DiscordEmbedBuilder.buildEmbed(entry, embedCfg, config, plugin));
             }
 
-            int responseCode = sendHttpRequest(url, DiscordEmbed.buildBatchJson(embeds));
+            int responseCode = client.post(url, DiscordEmbed.buildBatchJson(embeds));
 
             if (responseCode == 429) {
                 // Re-queue the batch so it will be retried after the backoff
+                for (DiscordEmbed summary : summaries) {
+                    if (summaryQueue.size() < MAX_QUEUE_SIZE) {
+                        summaryQueue.offer(summary);
+                    }
+                }
                 for (SpawnerLogEntry entry : batch) {
                     if (webhookQueue.size() < MAX_QUEUE_SIZE) {
                         webhookQueue.offer(entry);
@@ -183,58 +246,4 @@ public class DiscordWebhookLogger {
                     + webhookQueue.size() + " pending entries.");
         }
     }
-
-    /**
-     * Performs a blocking HTTP POST and returns the response code.
-     * Must only be called from the async timer task thread.
-     *
-     * @return HTTP response code, or -1 on I/O failure
-     */
-    @SuppressWarnings("deprecation")
-    private int sendHttpRequest(String webhookUrl, String jsonPayload) {
-        HttpURLConnection conn = null;
-        try {
-            URL url = new URL(webhookUrl);
-            conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("POST");
-            conn.setRequestProperty("Content-Type", "application/json");
-            conn.setRequestProperty("User-Agent", "SmartSpawner-Logger/1.0");
-            conn.setDoOutput(true);
-            conn.setConnectTimeout(5_000);
-            conn.setReadTimeout(5_000);
-
-            try (OutputStream os = conn.getOutputStream()) {
-                os.write(jsonPayload.getBytes(StandardCharsets.UTF_8));
-            }
-
-            int code = conn.getResponseCode();
-
-            if (code == 429) {
-                // Parse Retry-After (can be a float number of seconds)
-                long backoffMs = 10_000L;
-                String retryAfter = conn.getHeaderField("Retry-After");
-                if (retryAfter != null) {
-                    try {
-                        backoffMs = Math.max(1_000L, (long) (Double.parseDouble(retryAfter) * 1_000));
-                    } catch (NumberFormatException ignored) { }
-                }
-                rateLimitedUntil.set(System.currentTimeMillis() + backoffMs);
-                plugin.getLogger().warning("Discord webhook rate limited – retrying in "
-                        + (backoffMs / 1_000) + "s (batch will be re-queued).");
-            } else if (code < 200 || code >= 300) {
-                plugin.getLogger().warning("Discord webhook returned HTTP " + code + ".");
-            }
-
-            // Consume the response body to allow connection reuse
-            try (InputStream ignored = conn.getInputStream()) { }
-
-            return code;
-        } catch (IOException e) {
-            plugin.getLogger().log(Level.WARNING, "Discord webhook request failed", e);
-            return -1;
-        } finally {
-            if (conn != null) conn.disconnect();
-        }
-    }
 }
-
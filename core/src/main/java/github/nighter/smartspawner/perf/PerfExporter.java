@@ -0,0 +1,210 @@
+package github.nighter.smartspawner.perf;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import github.nighter.smartspawner.Scheduler;
+import github.nighter.smartspawner.SmartSpawner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+/**
+ * Publishes {@link PerfMonitor} snapshots in Prometheus text format or JSON.
+ * <p>
+ * Two optional outputs, both configured under {@code performance.instrumentation}:
+ * <ul>
+ *   <li>a periodic dump to {@code metrics/perf.prom} or {@code metrics/perf.json}, written
+ *       atomically so scrapers (e.g. node_exporter's textfile collector) never see a partial file</li>
+ *   <li>a small HTTP endpoint serving {@code /metrics} (Prometheus) and {@code /metrics.json},
+ *       bound to localhost by default</li>
+ * </ul>
+ */
+final class PerfExporter {
+    private static final String PREFIX = "smartspawner_";
+
+    private final SmartSpawner plugin;
+    private final PerfMonitor monitor;
+
+    private Scheduler.Task dumpTask;
+    private HttpServer httpServer;
+    private ExecutorService httpExecutor;
+
+    PerfExporter(SmartSpawner plugin, PerfMonitor monitor) {
+        this.plugin = plugin;
+        this.monitor = monitor;
+    }
+
+    synchronized void reload(boolean enabled) {
+        shutdown();
+        if (!enabled) return;
+
+        long intervalTicks = plugin.getTimeFromConfig("performance.instrumentation.export.interval", "0");
+        if (intervalTicks > 0) {
+            boolean json = "json".equalsIgnoreCase(
+                    plugin.getConfig().getString("performance.instrumentation.export.format", "prometheus"));
+            Path target = plugin.getDataFolder().toPath().resolve("metrics").resolve(json ? "perf.json" : "perf.prom");
+            dumpTask = Scheduler.runTaskTimerAsync(() -> dump(target, json), intervalTicks, intervalTicks);
+        }
+
+        if (plugin.getConfig().getBoolean("performance.instrumentation.http.enabled", false)) {
+            startHttpServer(
+                    plugin.getConfig().getString("performance.instrumentation.http.bind", "127.0.0.1"),
+                    plugin.getConfig().getInt("performance.instrumentation.http.port", 9464));
+        }
+    }
+
+    synchronized void shutdown() {
+        if (dumpTask != null) {
+            dumpTask.cancel();
+            dumpTask = null;
+        }
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+        if (httpExecutor != null) {
+            httpExecutor.shutdownNow();
+            httpExecutor = null;
+        }
+    }
+
+    private void dump(Path target, boolean json) {
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            Files.writeString(temp, json ? toJson(monitor) : toPrometheus(monitor), StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to write performance metrics to " + target, e);
+        }
+    }
+
+    private void startHttpServer(String bind, int port) {
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(bind, port), 0);
+            httpServer.createContext("/metrics", exchange -> respond(exchange,
+                    "text/plain; version=0.0.4; charset=utf-8", toPrometheus(monitor)));
+            httpServer.createContext("/metrics.json", exchange -> respond(exchange,
+                    "application/json; charset=utf-8", toJson(monitor)));
+            httpExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "SmartSpawner-Metrics-HTTP");
+                thread.setDaemon(true);
+                return thread;
+            });
+            httpServer.setExecutor(httpExecutor);
+            httpServer.start();
+            plugin.getLogger().info("Performance metrics available at http://" + bind + ":" + port + "/metrics");
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to start performance metrics endpoint on " + bind + ":" + port, e);
+            httpServer = null;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // ── Formats ──────────────────────────────────────────────────────────────
+
+    static String toPrometheus(PerfMonitor monitor) {
+        StringBuilder sb = new StringBuilder(2048);
+        for (PerfMonitor.MetricSnapshot s : monitor.snapshot()) {
+            PerfMetric metric = s.metric();
+            switch (metric.getKind()) {
+                case COUNTER -> {
+                    String name = PREFIX + metric.getKey() + "_total";
+                    header(sb, name, metric.getDescription(), "counter");
+                    sb.append(name).append(' ').append(s.count()).append('\n');
+                }
+                case GAUGE -> {
+                    String name = PREFIX + metric.getKey();
+                    header(sb, name, metric.getDescription(), "gauge");
+                    sb.append(name).append(' ').append(s.count()).append('\n');
+                }
+                case TIMER -> {
+                    String name = PREFIX + metric.getKey() + "_seconds";
+                    header(sb, name, metric.getDescription(), "summary");
+                    quantile(sb, name, "0.5", seconds(s.p50()));
+                    quantile(sb, name, "0.95", seconds(s.p95()));
+                    quantile(sb, name, "0.99", seconds(s.p99()));
+                    sb.append(name).append("_sum ").append(seconds(s.sum())).append('\n');
+                    sb.append(name).append("_count ").append(s.count()).append('\n');
+                }
+                case DISTRIBUTION -> {
+                    String name = PREFIX + metric.getKey();
+                    header(sb, name, metric.getDescription(), "summary");
+                    quantile(sb, name, "0.5", Long.toString(s.p50()));
+                    quantile(sb, name, "0.95", Long.toString(s.p95()));
+                    quantile(sb, name, "0.99", Long.toString(s.p99()));
+                    sb.append(name).append("_sum ").append(s.sum()).append('\n');
+                    sb.append(name).append("_count ").append(s.count()).append('\n');
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    static String toJson(PerfMonitor monitor) {
+        StringBuilder sb = new StringBuilder(2048);
+        sb.append("{\"since\":").append(monitor.getSinceMillis())
+                .append(",\"timestamp\":").append(System.currentTimeMillis())
+                .append(",\"metrics\":{");
+        boolean first = true;
+        for (PerfMonitor.MetricSnapshot s : monitor.snapshot()) {
+            if (!first) sb.append(',');
+            first = false;
+            PerfMetric metric = s.metric();
+            sb.append('"').append(metric.getKey()).append("\":{\"kind\":\"")
+                    .append(metric.getKind().name().toLowerCase(Locale.ROOT))
+                    .append(metric.getKind() == PerfMetric.Kind.GAUGE ? "\",\"value\":" : "\",\"count\":")
+                    .append(s.count());
+            if (metric.getKind() == PerfMetric.Kind.TIMER) {
+                sb.append(",\"mean_ms\":").append(millis(s.mean()))
+                        .append(",\"p50_ms\":").append(millis(s.p50()))
+                        .append(",\"p95_ms\":").append(millis(s.p95()))
+                        .append(",\"p99_ms\":").append(millis(s.p99()))
+                        .append(",\"max_ms\":").append(millis(s.max()));
+            } else if (metric.getKind() == PerfMetric.Kind.DISTRIBUTION) {
+                sb.append(",\"mean\":").append(String.format(Locale.ROOT, "%.2f", s.mean()))
+                        .append(",\"p50\":").append(s.p50())
+                        .append(",\"p95\":").append(s.p95())
+                        .append(",\"p99\":").append(s.p99())
+                        .append(",\"max\":").append(s.max());
+            }
+            sb.append('}');
+        }
+        sb.append("}}");
+        return sb.toString();
+    }
+
+    private static void header(StringBuilder sb, String name, String help, String type) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void quantile(StringBuilder sb, String name, String quantile, String value) {
+        sb.append(name).append("{quantile=\"").append(quantile).append("\"} ").append(value).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1_000_000_000.0);
+    }
+
+    static String millis(double nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,103 @@
+package github.nighter.smartspawner.perf;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram in the style of HdrHistogram.
+ * <p>
+ * Values are bucketed by their highest set bit, and each power-of-two range is split into
+ * {@value #SUB_BUCKETS} linear sub-buckets. That keeps the relative error of any reported
+ * percentile under about 6% across the whole {@code long} range with a fixed footprint of
+ * under 1000 counters. Recording is one {@code incrementAndGet} plus a few adds, with no
+ * allocation and no locking, so it is safe on hot paths and from any thread.
+ */
+final class PerfHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalSum = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    void record(long value) {
+        if (value < 0) value = 0;
+        counts.incrementAndGet(indexFor(value));
+        totalCount.incrementAndGet();
+        totalSum.addAndGet(value);
+
+        long max = maxValue.get();
+        while (value > max && !maxValue.compareAndSet(max, value)) {
+            max = maxValue.get();
+        }
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalSum.set(0);
+        maxValue.set(0);
+    }
+
+    /**
+     * Copies the current state. Concurrent recording may make the copy very slightly
+     * inconsistent (e.g. count vs. sum), which is fine for monitoring.
+     */
+    Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, totalCount.get(), totalSum.get(), maxValue.get());
+    }
+
+    private static int indexFor(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the highest value that maps to bucket {@code index}
+     */
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long lower = (1L << exponent) | (subBucket << (exponent - SUB_BUCKET_BITS));
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    record Snapshot(long[] counts, long count, long sum, long max) {
+
+        double mean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        /**
+         * @param percentile 0–100
+         * @return upper bound of the bucket holding the requested percentile, capped at the max
+         */
+        long percentile(double percentile) {
+            if (count == 0) return 0;
+            long target = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return Math.min(upperBoundOf(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
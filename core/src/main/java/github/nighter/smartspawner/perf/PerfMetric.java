@@ -0,0 +1,54 @@
+package github.nighter.smartspawner.perf;
+
+import lombok.Getter;
+
+/**
+ * Every metric SmartSpawner instruments. Timers are recorded in nanoseconds and reported in
+ * milliseconds, distributions are recorded and reported in their own unit, counters only count
+ * and gauges hold the latest value set.
+ */
+@Getter
+public enum PerfMetric {
+    RANGE_CHECK_PASS(Kind.TIMER, "range_check_pass", "Range check pass over all spawners"),
+    LOOT_GENERATION(Kind.TIMER, "loot_generation", "Loot roll for one spawner cycle"),
+    LOOT_APPLY(Kind.TIMER, "loot_apply", "Applying generated loot to spawner storage"),
+    LOOT_BATCH_SIZE(Kind.DISTRIBUTION, "loot_batch_size", "Spawners rolled per loot engine batch"),
+    LOOT_POOL_SATURATION(Kind.GAUGE, "loot_pool_saturation", "Busy loot engine workers in percent when a batch starts"),
+    LOOT_ACCRUED_CYCLES(Kind.DISTRIBUTION, "loot_accrued_cycles", "Spawn cycles credited per accrual settle"),
+    STORAGE_FLUSH(Kind.TIMER, "storage_flush", "Storage flush of dirty spawners"),
+    STORAGE_FLUSH_BATCH(Kind.DISTRIBUTION, "storage_flush_batch", "Spawners written per storage flush"),
+    STORAGE_PENDING_SPAWNERS(Kind.GAUGE, "storage_pending_spawners", "Spawner changes waiting for the next storage flush"),
+    STORAGE_PENDING_BYTES(Kind.GAUGE, "storage_pending_bytes", "Estimated size of the changes waiting for the next storage flush"),
+    STORAGE_FLUSH_DEFERRED(Kind.COUNTER, "storage_flush_deferred", "Storage flushes postponed because of high MSPT"),
+    JOURNAL_COMMIT(Kind.TIMER, "journal_commit", "Journal group commit including fsync"),
+    JOURNAL_COMMIT_BATCH(Kind.DISTRIBUTION, "journal_commit_batch", "Spawner records written per journal commit"),
+    PRICE_REFRESH(Kind.TIMER, "price_refresh", "Rebuild of the item price snapshot"),
+    PRICE_SNAPSHOT_AGE(Kind.DISTRIBUTION, "price_snapshot_age", "Age in milliseconds of the price snapshot a rebuild replaced"),
+    IO_PERMIT_WAIT(Kind.TIMER, "io_permit_wait", "Time blocking I/O tasks waited for a database or HTTP permit"),
+    LOOT_CYCLES_DEFERRED(Kind.COUNTER, "loot_cycles_deferred", "Due loot cycles postponed to a later second by the admission cap"),
+    SPAWNERS_PARKED(Kind.GAUGE, "spawners_parked", "Full spawners left out of loot scheduling"),
+    LOCK_SKIPS(Kind.COUNTER, "lock_skips", "Cycles skipped because a spawner lock was busy"),
+    GUI_UPDATES(Kind.COUNTER, "gui_updates", "GUI updates dispatched to viewers"),
+    HOLOGRAM_RENDERS(Kind.COUNTER, "hologram_renders", "Hologram text renders"),
+    HOPPER_TRANSFERS(Kind.COUNTER, "hopper_transfers", "Hopper transfers that moved items"),
+    GHOST_SWEEP(Kind.TIMER, "ghost_sweep", "Ghost sweeper slice of one tick"),
+    GHOST_SPAWNERS_REMOVED(Kind.COUNTER, "ghost_spawners_removed", "Ghost spawners removed from storage");
+
+    public enum Kind {
+        TIMER,
+        DISTRIBUTION,
+        COUNTER,
+        GAUGE
+    }
+
+    private final Kind kind;
+    /** Stable snake_case name used in exports. */
+    private final String key;
+    private final String description;
+
+    PerfMetric(Kind kind, String key, String description) {
+        this.kind = kind;
+        this.key = key;
+        this.description = description;
+    }
+}
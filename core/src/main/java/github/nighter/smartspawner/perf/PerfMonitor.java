@@ -0,0 +1,152 @@
+package github.nighter.smartspawner.perf;
+
+import github.nighter.smartspawner.SmartSpawner;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low-overhead timers, distributions and counters for SmartSpawner's hot paths.
+ * <p>
+ * Timing follows a start/stop pattern that costs nothing when instrumentation is disabled:
+ * <pre>{@code
+ * long start = perf.start();
+ * ...
+ * perf.stop(PerfMetric.STORAGE_FLUSH, start);
+ * }</pre>
+ * {@link #start()} returns 0 while disabled and {@link #stop} ignores a 0 start, so no clock is
+ * read. All recording methods are lock-free and safe from any thread.
+ * <p>
+ * Results are shown by {@code /ss perf} and exported by {@link PerfExporter}.
+ */
+public class PerfMonitor {
+    private static final PerfMetric[] METRICS = PerfMetric.values();
+
+    private final SmartSpawner plugin;
+    private final PerfHistogram[] histograms = new PerfHistogram[METRICS.length];
+    private final LongAdder[] counters = new LongAdder[METRICS.length];
+    private final AtomicLong[] gauges = new AtomicLong[METRICS.length];
+    private final PerfExporter exporter;
+
+    private volatile boolean enabled;
+    @Getter
+    private volatile long sinceMillis = System.currentTimeMillis();
+
+    public PerfMonitor(SmartSpawner plugin) {
+        this.plugin = plugin;
+        for (PerfMetric metric : METRICS) {
+            if (metric.getKind() == PerfMetric.Kind.COUNTER) {
+                counters[metric.ordinal()] = new LongAdder();
+            } else if (metric.getKind() == PerfMetric.Kind.GAUGE) {
+                gauges[metric.ordinal()] = new AtomicLong();
+            } else {
+                histograms[metric.ordinal()] = new PerfHistogram();
+            }
+        }
+        this.exporter = new PerfExporter(plugin, this);
+        loadConfig();
+    }
+
+    public void loadConfig() {
+        this.enabled = plugin.getConfig().getBoolean("performance.instrumentation.enabled", true);
+        exporter.reload(enabled);
+    }
+
+    public void shutdown() {
+        exporter.shutdown();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the current {@link System#nanoTime()}, or 0 when instrumentation is disabled
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the time elapsed since {@code start} for a timer metric.
+     */
+    public void stop(PerfMetric metric, long start) {
+        if (start != 0L) {
+            histograms[metric.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records one sample of a distribution metric.
+     */
+    public void record(PerfMetric metric, long value) {
+        if (enabled) {
+            histograms[metric.ordinal()].record(value);
+        }
+    }
+
+    public void increment(PerfMetric metric) {
+        if (enabled) {
+            counters[metric.ordinal()].increment();
+        }
+    }
+
+    public void add(PerfMetric metric, long amount) {
+        if (enabled) {
+            counters[metric.ordinal()].add(amount);
+        }
+    }
+
+    /**
+     * Sets the current value of a gauge metric.
+     */
+    public void set(PerfMetric metric, long value) {
+        if (enabled) {
+            gauges[metric.ordinal()].set(value);
+        }
+    }
+
+    public void reset() {
+        for (PerfMetric metric : METRICS) {
+            if (metric.getKind() == PerfMetric.Kind.COUNTER) {
+                counters[metric.ordinal()].reset();
+            } else if (metric.getKind() != PerfMetric.Kind.GAUGE) {
+                // Gauges describe current state, which a reset does not change
+                histograms[metric.ordinal()].reset();
+            }
+        }
+        sinceMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Takes a point-in-time view of every metric, in declaration order.
+     * Timer values are in nanoseconds.
+     */
+    public List<MetricSnapshot> snapshot() {
+        List<MetricSnapshot> result = new ArrayList<>(METRICS.length);
+        for (PerfMetric metric : METRICS) {
+            if (metric.getKind() == PerfMetric.Kind.COUNTER) {
+                long value = counters[metric.ordinal()].sum();
+                result.add(new MetricSnapshot(metric, value, 0, 0.0, 0, 0, 0, 0));
+            } else if (metric.getKind() == PerfMetric.Kind.GAUGE) {
+                long value = gauges[metric.ordinal()].get();
+                result.add(new MetricSnapshot(metric, value, 0, 0.0, 0, 0, 0, 0));
+            } else {
+                PerfHistogram.Snapshot s = histograms[metric.ordinal()].snapshot();
+                result.add(new MetricSnapshot(metric, s.count(), s.sum(), s.mean(),
+                        s.percentile(50), s.percentile(95), s.percentile(99), s.max()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * One metric's state. For counters and gauges only {@code count} is meaningful.
+     */
+    public record MetricSnapshot(PerfMetric metric, long count, long sum, double mean,
+                                 long p50, long p95, long p99, long max) {
+    }
+}
@@ -0,0 +1,155 @@
+package github.nighter.smartspawner.spawner.data;
+
+import github.nighter.smartspawner.Scheduler;
+import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.perf.PerfMetric;
+import github.nighter.smartspawner.perf.PerfMonitor;
+import github.nighter.smartspawner.spawner.properties.SpawnerData;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.CreatureSpawner;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Removes ghost spawners (stored spawners whose block is no longer a spawner) in the background,
+ * so they no longer wait for {@code /ss clear ghost_spawners}.
+ * <p>
+ * Two sources feed {@link SpawnerManager#removeGhostSpawner}, which batches the removals into a
+ * single storage flush:
+ * <ul>
+ *   <li>chunk loads: the spawners indexed in the chunk are compared with its spawner tile entities,
+ *       on the thread that owns the chunk</li>
+ *   <li>a walk over every spawner in loaded chunks, resumed each tick and stopped once the
+ *       configured time budget is spent</li>
+ * </ul>
+ */
+public class GhostSpawnerSweeper implements Listener {
+    private final SmartSpawner plugin;
+    private final SpawnerManager spawnerManager;
+
+    private volatile boolean enabled;
+    private long budgetNanos;
+    private long passIntervalTicks;
+
+    private Scheduler.Task sweepTask;
+    private Iterator<SpawnerData> cursor;
+    private long ticksUntilNextPass;
+    private int passChecked;
+
+    public GhostSpawnerSweeper(SmartSpawner plugin) {
+        this.plugin = plugin;
+        this.spawnerManager = plugin.getSpawnerManager();
+        loadConfig();
+    }
+
+    public void loadConfig() {
+        shutdown();
+        this.enabled = plugin.getConfig().getBoolean("performance.ghost_sweeper.enabled", true);
+        double budgetMillis = plugin.getConfig().getDouble("performance.ghost_sweeper.tick_budget_ms", 0.5);
+        this.budgetNanos = (long) (Math.max(0.05, budgetMillis) * 1_000_000L);
+        this.passIntervalTicks = Math.max(20L, plugin.getTimeFromConfig("performance.ghost_sweeper.pass_interval", "10m"));
+        if (!enabled) return;
+
+        // Leave startup loading a full pass interval before the first walk
+        this.ticksUntilNextPass = passIntervalTicks;
+        this.sweepTask = Scheduler.runTaskTimer(this::tick, 1L, 1L);
+    }
+
+    public void shutdown() {
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+        cursor = null;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        if (!enabled) return;
+
+        Chunk chunk = event.getChunk();
+        Set<SpawnerData> candidates = spawnerManager.getSpawnersInChunk(
+                chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+        if (candidates.isEmpty()) return;
+
+        Set<Long> spawnerBlocks = new HashSet<>();
+        for (BlockState state : chunk.getTileEntities(false)) {
+            if (state instanceof CreatureSpawner) {
+                spawnerBlocks.add(packBlock(state.getX(), state.getY(), state.getZ()));
+            }
+        }
+
+        for (SpawnerData spawner : List.copyOf(candidates)) {
+            Location loc = spawner.getSpawnerLocation();
+            if (spawnerBlocks.contains(packBlock(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ()))) continue;
+
+            // No spawner tile entity there; confirm against the block before dropping the record
+            if (chunk.getBlock(loc.getBlockX() & 15, loc.getBlockY(), loc.getBlockZ() & 15).getType() != Material.SPAWNER) {
+                spawnerManager.removeGhostSpawner(spawner.getSpawnerId());
+            }
+        }
+    }
+
+    private void tick() {
+        if (cursor == null) {
+            if (--ticksUntilNextPass > 0) return;
+            cursor = spawnerManager.getAllSpawners().iterator();
+            passChecked = 0;
+        }
+
+        PerfMonitor perf = plugin.getPerfMonitor();
+        long sliceStart = perf.start();
+        long deadline = System.nanoTime() + budgetNanos;
+        while (cursor.hasNext()) {
+            check(cursor.next());
+            passChecked++;
+            if (System.nanoTime() >= deadline) break;
+        }
+        perf.stop(PerfMetric.GHOST_SWEEP, sliceStart);
+
+        if (!cursor.hasNext()) {
+            plugin.debug("Ghost sweeper pass finished, checked " + passChecked + " spawners");
+            cursor = null;
+            ticksUntilNextPass = passIntervalTicks;
+        }
+    }
+
+    private void check(SpawnerData spawner) {
+        // Skip spawners removed since the pass started
+        if (spawnerManager.getSpawnerById(spawner.getSpawnerId()) != spawner) return;
+
+        Location loc = spawner.getSpawnerLocation();
+        World world = loc.getWorld();
+        // Spawners in unloaded chunks are validated when the chunk loads
+        if (world == null || !world.isChunkLoaded(loc.getBlockX() >> 4, loc.getBlockZ() >> 4)) return;
+
+        if (Bukkit.isOwnedByCurrentRegion(loc)) {
+            if (spawnerManager.isGhostSpawner(spawner)) {
+                spawnerManager.removeGhostSpawner(spawner.getSpawnerId());
+            }
+        } else {
+            // Folia: blocks may only be read on the owning region thread
+            Scheduler.runLocationTask(loc, () -> {
+                if (spawnerManager.isGhostSpawner(spawner)) {
+                    spawnerManager.removeGhostSpawner(spawner.getSpawnerId());
+                }
+            });
+        }
+    }
+
+    private static long packBlock(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFF) << 38 | ((long) z & 0x3FFFFFF) << 12 | ((long) y & 0xFFF);
+    }
+}
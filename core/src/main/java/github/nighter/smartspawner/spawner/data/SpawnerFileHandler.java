@@ -1,8 +1,12 @@
 package github.nighter.smartspawner.spawner.data;
 
 import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.perf.PerfMetric;
+import github.nighter.smartspawner.perf.PerfMonitor;
+import github.nighter.smartspawner.spawner.data.storage.SpawnerJournal;
+import github.nighter.smartspawner.spawner.data.storage.SpawnerSnapshot;
 import github.nighter.smartspawner.spawner.data.storage.SpawnerStorage;
-import github.nighter.smartspawner.spawner.properties.ItemSignature;
+import github.nighter.smartspawner.spawner.data.storage.StorageFlushScheduler;
 import github.nighter.smartspawner.spawner.properties.SpawnerData;
 import github.nighter.smartspawner.spawner.properties.VirtualInventory;
 import github.nighter.smartspawner.Scheduler;
@@ -21,7 +25,6 @@ import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 public class SpawnerFileHandler implements SpawnerStorage {
     private final SmartSpawner plugin;
@@ -30,20 +33,26 @@ public class SpawnerFileHandler implements SpawnerStorage {
     private FileConfiguration spawnerData;
 
     private static final String DATA_VERSION_KEY = "data_version";
+    private static final String JOURNAL_CHECKPOINT_KEY = "journal_checkpoint";
     private final int CURRENT_VERSION;
 
     private final Set<String> dirtySpawners = ConcurrentHashMap.newKeySet();
     private final Set<String> deletedSpawners = ConcurrentHashMap.newKeySet();
 
     private volatile boolean isSaving = false;
-    private Scheduler.Task saveTask = null;
+
+    private final SpawnerJournal journal;
+    private final StorageFlushScheduler flushScheduler;
 
     public SpawnerFileHandler(SmartSpawner plugin) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
         this.CURRENT_VERSION = plugin.getDATA_VERSION();
+        this.journal = new SpawnerJournal(plugin);
+        this.flushScheduler = new StorageFlushScheduler(plugin, this::startFlush,
+                () -> dirtySpawners.size() + deletedSpawners.size());
         setupSpawnerDataFile();
-        startSaveTask();
+        flushScheduler.start();
     }
 
     @Override
@@ -68,26 +77,12 @@ public class SpawnerFileHandler implements SpawnerStorage {
         }
     }
 
-    private void startSaveTask() {
-        // Hardcoded 5-minute interval (5 * 60 * 20 = 6000 ticks)
-        long intervalTicks = 6000L;
-
-        if (saveTask != null) {
-            saveTask.cancel();
-            saveTask = null;
-        }
-
-        saveTask = Scheduler.runTaskTimerAsync(() -> {
-            plugin.debug("Running scheduled save task");
-            flushChanges();
-        }, intervalTicks, intervalTicks);
-    }
-
     @Override
     public void markSpawnerModified(String spawnerId) {
         if (spawnerId != null) {
             dirtySpawners.add(spawnerId);
             deletedSpawners.remove(spawnerId);
+            journal.recordModified(spawnerId);
         }
     }
 
@@ -96,55 +91,62 @@ public class SpawnerFileHandler implements SpawnerStorage {
         if (spawnerId != null) {
             deletedSpawners.add(spawnerId);
             dirtySpawners.remove(spawnerId);
+            journal.recordDeleted(spawnerId);
         }
     }
 
     @Override
     public void flushChanges() {
+        startFlush();
+    }
+
+    /**
+     * Starts writing the pending changes in the background.
+     * @return false if a flush is still in progress and nothing was started
+     */
+    private boolean startFlush() {
         if (dirtySpawners.isEmpty() && deletedSpawners.isEmpty()) {
             plugin.debug("No changes to flush");
-            return;
+            return true;
         }
 
         if (isSaving) {
             plugin.debug("Flush operation already in progress");
-            return;
+            return false;
         }
 
         isSaving = true;
         plugin.debug("Flushing " + dirtySpawners.size() + " modified and " + deletedSpawners.size() + " deleted spawners");
 
-        Scheduler.runTaskAsync(() -> {
+        plugin.getIoExecutor().runFile(() -> {
+            PerfMonitor perf = plugin.getPerfMonitor();
+            long flushStart = perf.start();
+            int flushed = 0;
+            // Changes marked from here on are journaled past the checkpoint and survive its release
+            long checkpoint = journal.checkpoint();
+            Set<String> toUpdate = new HashSet<>(dirtySpawners);
+            dirtySpawners.removeAll(toUpdate);
+            Set<String> toDelete = new HashSet<>(deletedSpawners);
+            deletedSpawners.removeAll(toDelete);
             try {
-                if (!dirtySpawners.isEmpty()) {
-                    Set<String> toUpdate = new HashSet<>(dirtySpawners);
-                    dirtySpawners.removeAll(toUpdate);
-
-                    Map<String, SpawnerData> batch = new HashMap<>();
-                    for (String id : toUpdate) {
-                        SpawnerData spawner = plugin.getSpawnerManager().getSpawnerById(id);
-                        if (spawner != null) {
-                            batch.put(id, spawner);
-                        }
-                    }
-
-                    if (!batch.isEmpty()) {
-                        saveSpawnerBatch(batch);
-                    }
-                }
-
-                if (!deletedSpawners.isEmpty()) {
-                    Set<String> toDelete = new HashSet<>(deletedSpawners);
-                    deletedSpawners.removeAll(toDelete);
-
-                    for (String id : toDelete) {
-                        String path = "spawners." + id;
-                        spawnerData.set(path, null);
-                    }
-
-                    if (!toDelete.isEmpty()) {
-                        spawnerData.save(spawnerDataFile);
+                flushed = toUpdate.size() + toDelete.size();
+
+                Set<String> busy = new HashSet<>();
+                List<SpawnerSnapshot> snapshots = SpawnerSnapshot.captureChanged(
+                        plugin.getSpawnerManager(), toUpdate, busy);
+                // Locked spawners wait for the next flush; their journal records have to outlive the checkpoint
+                boolean released = journal.carryOver(checkpoint, busy);
+                if (writeChanges(snapshots, toDelete, released ? checkpoint : 0L)) {
+                    SpawnerSnapshot.markPersisted(plugin.getSpawnerManager(), snapshots);
+                    flushScheduler.recordFlushed(snapshots.size(),
+                            snapshots.stream().mapToLong(SpawnerSnapshot::estimatedSize).sum());
+                    if (released) {
+                        journal.release(checkpoint);
                     }
+                    dirtySpawners.addAll(busy);
+                } else {
+                    dirtySpawners.addAll(toUpdate);
+                    deletedSpawners.addAll(toDelete);
                 }
 
                 // Automatic ghost spawner check removed - use /ss clear ghost_spawners command instead
@@ -152,88 +154,42 @@ public class SpawnerFileHandler implements SpawnerStorage {
                 plugin.getLogger().severe("Error during flush: " + e.getMessage());
                 e.printStackTrace();
 
-                for (String id : dirtySpawners) {
-                    dirtySpawners.add(id);
-                }
-                for (String id : deletedSpawners) {
-                    deletedSpawners.add(id);
-                }
+                dirtySpawners.addAll(toUpdate);
+                deletedSpawners.addAll(toDelete);
             } finally {
                 isSaving = false;
+                perf.stop(PerfMetric.STORAGE_FLUSH, flushStart);
+                perf.record(PerfMetric.STORAGE_FLUSH_BATCH, flushed);
             }
         });
+        return true;
     }
 
-    private boolean saveSpawnerBatch(Map<String, SpawnerData> spawners) {
-        if (spawners.isEmpty()) return true;
+    /**
+     * Applies saved and deleted spawners to the data file and writes it once.
+     * @param checkpoint the journal checkpoint these changes complete, saved in the same write; 0 to keep the stored one
+     * @return true if the file was written
+     */
+    private boolean writeChanges(Collection<SpawnerSnapshot> spawners, Collection<String> deletedIds, long checkpoint) {
+        if (spawners.isEmpty() && deletedIds.isEmpty()) return true;
 
         try {
-            ConfigurationSection spawnersSection = spawnerData.getConfigurationSection("spawners");
-            if (spawnersSection == null) {
-                spawnersSection = spawnerData.createSection("spawners");
-            }
-
-            spawnerData.set(DATA_VERSION_KEY, CURRENT_VERSION);
-
-            for (Map.Entry<String, SpawnerData> entry : spawners.entrySet()) {
-                String spawnerId = entry.getKey();
-                SpawnerData spawner = entry.getValue();
-                String path = "spawners." + spawnerId;
-                Location loc = spawner.getSpawnerLocation();
-
-                spawnerData.set(path + ".location", String.format("%s,%d,%d,%d",
-                        loc.getWorld().getName(), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ()));
-
-                spawnerData.set(path + ".entityType", spawner.getEntityType() != null ?
-                        spawner.getEntityType().name() : null);
-
-                // Save item spawner material if this is an item spawner
-                if (spawner.isItemSpawner()) {
-                    spawnerData.set(path + ".itemSpawnerMaterial", spawner.getSpawnedItemMaterial().name());
-                } else {
-                    spawnerData.set(path + ".itemSpawnerMaterial", null);
+            if (!spawners.isEmpty()) {
+                if (spawnerData.getConfigurationSection("spawners") == null) {
+                    spawnerData.createSection("spawners");
                 }
+                spawnerData.set(DATA_VERSION_KEY, CURRENT_VERSION);
 
-                String settings = String.format("%d,%b,%d,%b,%d,%d,%d,%d,%d,%d,%d,%d,%b",
-                        Math.max(0, spawner.getSpawnerExp()),
-                        spawner.getSpawnerActive(),
-                        spawner.getSpawnerRange(),
-                        spawner.getSpawnerStop().get(),
-                        spawner.getSpawnDelay(),
-                        spawner.getMaxSpawnerLootSlots(),
-                        spawner.getMaxStoredExp(),
-                        spawner.getMinMobs(),
-                        spawner.getMaxMobs(),
-                        spawner.getStackSize(),
-                        spawner.getMaxStackSize(),
-                        spawner.getLastSpawnTime(),
-                        spawner.getIsAtCapacity());
-
-                spawnerData.set(path + ".settings", settings);
-                
-                // Save last interacted player separately
-                spawnerData.set(path + ".lastInteractedPlayer", spawner.getLastInteractedPlayer());
-
-                // Save preferred sort item
-                spawnerData.set(path + ".preferredSortItem", spawner.getPreferredSortItem() != null ?
-                        spawner.getPreferredSortItem().name() : null);
-
-                Set<Material> filteredItems = spawner.getFilteredItems();
-                if (filteredItems != null && !filteredItems.isEmpty()) {
-                    List<String> materials = filteredItems.stream()
-                            .map(Material::name)
-                            .collect(Collectors.toList());
-                    spawnerData.set(path + ".filteredItems", String.join(",", materials));
-                } else {
-                    spawnerData.set(path + ".filteredItems", null);
+                for (SpawnerSnapshot spawner : spawners) {
+                    writeSnapshot(spawner);
                 }
+            }
 
-                VirtualInventory virtualInv = spawner.getVirtualInventory();
-                if (virtualInv != null) {
-                    Map<ItemSignature, Long> items = virtualInv.getConsolidatedItems();
-                    List<String> serializedItems = ItemStackSerializer.serializeInventory(items);
-                    spawnerData.set(path + ".inventory", serializedItems);
-                }
+            for (String id : deletedIds) {
+                spawnerData.set("spawners." + id, null);
+            }
+            if (checkpoint > 0) {
+                spawnerData.set(JOURNAL_CHECKPOINT_KEY, checkpoint);
             }
 
             spawnerData.save(spawnerDataFile);
@@ -245,6 +201,63 @@ public class SpawnerFileHandler implements SpawnerStorage {
         }
     }
 
+    private void writeSnapshot(SpawnerSnapshot spawner) {
+        String path = "spawners." + spawner.spawnerId();
+
+        spawnerData.set(path + ".location", spawner.locationString());
+        spawnerData.set(path + ".entityType", spawner.entityType());
+
+        // Item spawner material is null for entity spawners
+        spawnerData.set(path + ".itemSpawnerMaterial", spawner.itemSpawnerMaterial());
+
+        String settings = String.format("%d,%b,%d,%b,%d,%d,%d,%d,%d,%d,%d,%d,%b",
+                spawner.spawnerExp(),
+                spawner.spawnerActive(),
+                spawner.spawnerRange(),
+                spawner.spawnerStop(),
+                spawner.spawnDelay(),
+                spawner.maxSpawnerLootSlots(),
+                spawner.maxStoredExp(),
+                spawner.minMobs(),
+                spawner.maxMobs(),
+                spawner.stackSize(),
+                spawner.maxStackSize(),
+                spawner.lastSpawnTime(),
+                spawner.atCapacity());
+
+        spawnerData.set(path + ".settings", settings);
+
+        // Save last interacted player separately
+        spawnerData.set(path + ".lastInteractedPlayer", spawner.lastInteractedPlayer());
+
+        // Save preferred sort item
+        spawnerData.set(path + ".preferredSortItem", spawner.preferredSortItem());
+
+        spawnerData.set(path + ".filteredItems", spawner.filteredItems());
+        spawnerData.set(path + ".inventory", spawner.inventory());
+    }
+
+    @Override
+    public void requestFlush() {
+        flushScheduler.requestFlush();
+    }
+
+    @Override
+    public void recoverJournal() {
+        journal.recover(spawnerData.getLong(JOURNAL_CHECKPOINT_KEY, 0L), recovered -> {
+            List<SpawnerSnapshot> spawners = new ArrayList<>();
+            List<String> deleted = new ArrayList<>();
+            for (Map.Entry<String, SpawnerSnapshot> entry : recovered.entrySet()) {
+                if (entry.getValue() != null) {
+                    spawners.add(entry.getValue());
+                } else {
+                    deleted.add(entry.getKey());
+                }
+            }
+            return writeChanges(spawners, deleted, 0L);
+        });
+    }
+
     @Override
     public Map<String, SpawnerData> loadAllSpawnersRaw() {
         Map<String, SpawnerData> loadedSpawners = new HashMap<>();
@@ -405,6 +418,7 @@ public class SpawnerFileHandler implements SpawnerStorage {
                     spawner.setLastSpawnTime(Long.parseLong(settings[10]));
                     spawner.setIsAtCapacity(false);
                 }
+                spawner.resumeAccrual(System.currentTimeMillis());
             } catch (NumberFormatException e) {
                 logger.severe("Invalid settings format for spawner " + spawnerId);
                 logger.severe("Settings: " + settingsString);
@@ -498,47 +512,31 @@ public class SpawnerFileHandler implements SpawnerStorage {
 
     @Override
     public void shutdown() {
-        if (saveTask != null) {
-            saveTask.cancel();
-            saveTask = null;
-        }
+        flushScheduler.stop();
 
+        boolean flushed = true;
         if (!dirtySpawners.isEmpty() || !deletedSpawners.isEmpty()) {
             try {
                 isSaving = true;
 
-                if (!dirtySpawners.isEmpty()) {
-                    Map<String, SpawnerData> batch = new HashMap<>();
-                    for (String id : dirtySpawners) {
-                        SpawnerData spawner = plugin.getSpawnerManager().getSpawnerById(id);
-                        if (spawner != null) {
-                            batch.put(id, spawner);
-                        }
-                    }
-
-                    if (!batch.isEmpty()) {
-                        saveSpawnerBatch(batch);
-                    }
-                }
-
-                if (!deletedSpawners.isEmpty()) {
-                    for (String id : deletedSpawners) {
-                        String path = "spawners." + id;
-                        spawnerData.set(path, null);
-                    }
-
-                    spawnerData.save(spawnerDataFile);
-                }
+                Set<String> busy = new HashSet<>();
+                List<SpawnerSnapshot> snapshots = SpawnerSnapshot.captureChanged(
+                        plugin.getSpawnerManager(), dirtySpawners, busy);
+                flushed = writeChanges(snapshots, deletedSpawners) && busy.isEmpty();
 
                 dirtySpawners.clear();
                 deletedSpawners.clear();
             } catch (Exception e) {
+                flushed = false;
                 logger.severe("Error during shutdown flush: " + e.getMessage());
                 e.printStackTrace();
             } finally {
                 isSaving = false;
             }
         }
+
+        // Keep the journal for the next startup unless everything reached the file
+        journal.shutdown(flushed);
     }
 
     private int parseClampedInt(String raw, int min, int max) {
@@ -2,20 +2,27 @@ package github.nighter.smartspawner.spawner.data;
 
 import github.nighter.smartspawner.SmartSpawner;
 import github.nighter.smartspawner.Scheduler;
+import github.nighter.smartspawner.perf.PerfMetric;
 import github.nighter.smartspawner.spawner.data.storage.SpawnerStorage;
 import github.nighter.smartspawner.spawner.properties.SpawnerData;
 import org.bukkit.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class SpawnerManager {
     private final SmartSpawner plugin;
     private final Map<String, SpawnerData> spawners = new ConcurrentHashMap<>();
     private final Map<LocationKey, SpawnerData> locationIndex = new HashMap<>();
     private final Map<String, Set<SpawnerData>> worldIndex = new HashMap<>();
+    // Read from region threads on chunk load, so unlike the other indexes it must be concurrent
+    private final Map<ChunkKey, Set<SpawnerData>> chunkIndex = new ConcurrentHashMap<>();
     private final SpawnerStorage spawnerStorage;
     // Set to keep track of confirmed ghost spawners to avoid repeated checks
     private final Set<String> confirmedGhostSpawners = ConcurrentHashMap.newKeySet();
+    // Ghost spawners waiting for the next batched removal
+    private final Set<String> pendingGhostRemovals = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean ghostRemovalScheduled = new AtomicBoolean(false);
 
     public SpawnerManager(SmartSpawner plugin) {
         this.plugin = plugin;
@@ -51,6 +58,12 @@ public class SpawnerManager {
             return Objects.hash(world, x, y, z);
         }
     }
+
+    private record ChunkKey(String world, int x, int z) {
+        static ChunkKey of(Location location) {
+            return new ChunkKey(location.getWorld().getName(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        }
+    }
     
     public void reloadSpawnerDrops() {
         List<SpawnerData> allSpawners = getAllSpawners();
@@ -84,8 +97,10 @@ public class SpawnerManager {
         // Add to world index
         String worldName = spawner.getSpawnerLocation().getWorld().getName();
         worldIndex.computeIfAbsent(worldName, k -> new HashSet<>()).add(spawner);
+        chunkIndex.computeIfAbsent(ChunkKey.of(spawner.getSpawnerLocation()), k -> ConcurrentHashMap.newKeySet()).add(spawner);
 
         // Queue for saving
+        spawner.markChanged();
         spawnerStorage.queueSpawnerForSaving(id);
     }
 
@@ -107,6 +122,10 @@ public class SpawnerManager {
                     worldIndex.remove(worldName);
                 }
             }
+            chunkIndex.computeIfPresent(ChunkKey.of(loc), (key, chunkSpawners) -> {
+                chunkSpawners.remove(spawner);
+                return chunkSpawners.isEmpty() ? null : chunkSpawners;
+            });
 
             spawners.remove(id);
         }
@@ -145,12 +164,23 @@ public class SpawnerManager {
         // Add to world index
         String worldName = spawner.getSpawnerLocation().getWorld().getName();
         worldIndex.computeIfAbsent(worldName, k -> new HashSet<>()).add(spawner);
+        chunkIndex.computeIfAbsent(ChunkKey.of(spawner.getSpawnerLocation()), k -> ConcurrentHashMap.newKeySet()).add(spawner);
     }
 
     public Set<SpawnerData> getSpawnersInWorld(String worldName) {
         return worldIndex.get(worldName);
     }
 
+    /**
+     * Gets the spawners inside one chunk. Safe to call from any thread.
+     *
+     * @return a live view, or an empty set if the chunk has no spawners
+     */
+    public Set<SpawnerData> getSpawnersInChunk(String worldName, int chunkX, int chunkZ) {
+        Set<SpawnerData> chunkSpawners = chunkIndex.get(new ChunkKey(worldName, chunkX, chunkZ));
+        return chunkSpawners != null ? chunkSpawners : Collections.emptySet();
+    }
+
     /**
      * Removes all spawners belonging to a world from in-memory indexes.
      * Used when a world unloads so runtime memory only contains active worlds.
@@ -175,6 +205,7 @@ public class SpawnerManager {
         }
 
         worldIndex.remove(worldName);
+        chunkIndex.keySet().removeIf(key -> key.world().equals(worldName));
         return removedSpawnerIds;
     }
 
@@ -183,6 +214,7 @@ public class SpawnerManager {
         spawners.clear();
         locationIndex.clear();
         worldIndex.clear();
+        chunkIndex.clear();
         confirmedGhostSpawners.clear();
 
         // Don't load spawners - let WorldEventHandler handle it
@@ -210,24 +242,39 @@ public class SpawnerManager {
         return loc.getBlock().getType() != Material.SPAWNER;
     }
 
+    /**
+     * Queues a ghost spawner for removal. Removals requested within the same second are
+     * applied together on the global thread; the deletes are written by the next scheduled flush.
+     */
     public void removeGhostSpawner(String spawnerId) {
-        SpawnerData spawner = spawners.get(spawnerId);
-        if (spawner != null) {
-            Location loc = spawner.getSpawnerLocation();
+        if (!spawners.containsKey(spawnerId)) return;
 
-            // Add to confirmed list
-            confirmedGhostSpawners.add(spawnerId);
+        // Add to confirmed list
+        confirmedGhostSpawners.add(spawnerId);
+        pendingGhostRemovals.add(spawnerId);
+        if (ghostRemovalScheduled.compareAndSet(false, true)) {
+            Scheduler.runTaskLater(this::removePendingGhostSpawners, 20L);
+        }
+    }
 
-            // Remove hologram and spawner data
-            Scheduler.runLocationTask(loc, () -> {
-                spawner.removeHologram();
+    private void removePendingGhostSpawners() {
+        ghostRemovalScheduled.set(false);
+        List<String> batch = new ArrayList<>(pendingGhostRemovals);
+        pendingGhostRemovals.removeAll(batch);
+
+        int removed = 0;
+        for (String spawnerId : batch) {
+            if (!spawners.containsKey(spawnerId)) continue;
+            // removeSpawner also takes the hologram down on the location thread
+            removeSpawner(spawnerId);
+            spawnerStorage.markSpawnerDeleted(spawnerId);
+            removed++;
+        }
 
-                Scheduler.runTask(() -> {
-                    removeSpawner(spawnerId);
-                    spawnerStorage.markSpawnerDeleted(spawnerId);
-                    plugin.debug("Removed ghost spawner " + spawnerId);
-                });
-            });
+        if (removed > 0) {
+            spawnerStorage.requestFlush();
+            plugin.getPerfMonitor().add(PerfMetric.GHOST_SPAWNERS_REMOVED, removed);
+            plugin.debug("Removed " + removed + " ghost spawners");
         }
     }
 
@@ -237,6 +284,7 @@ public class SpawnerManager {
      * @param spawnerId The ID of the modified spawner
      */
     public void markSpawnerModified(String spawnerId) {
+        markChanged(spawnerId);
         spawnerStorage.markSpawnerModified(spawnerId);
     }
 
@@ -250,9 +298,17 @@ public class SpawnerManager {
      * @param spawnerId The ID of the spawner to save
      */
     public void queueSpawnerForSaving(String spawnerId) {
+        markChanged(spawnerId);
         spawnerStorage.queueSpawnerForSaving(spawnerId);
     }
 
+    private void markChanged(String spawnerId) {
+        SpawnerData spawner = spawnerId != null ? spawners.get(spawnerId) : null;
+        if (spawner != null) {
+            spawner.markChanged();
+        }
+    }
+
     // ===============================================================
     //                    Spawner Hologram
     // ===============================================================
@@ -277,6 +333,7 @@ public class SpawnerManager {
         spawners.clear();
         locationIndex.clear();
         worldIndex.clear();
+        chunkIndex.clear();
         confirmedGhostSpawners.clear();
     }
 
@@ -80,8 +80,8 @@ public class WorldEventHandler implements Listener {
         World world = event.getWorld();
         plugin.debug("World saving: " + world.getName());
 
-        // Flush any pending spawner changes for this world
-        plugin.getSpawnerStorage().flushChanges();
+        // Autosave fires once per world; the requests coalesce into a single flush
+        plugin.getSpawnerStorage().requestFlush();
     }
 
     /**
@@ -13,18 +13,29 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Manages database connections using HikariCP connection pool.
  * Supports MySQL/MariaDB and SQLite for spawner data storage.
+ * <p>
+ * SQLite in WAL mode allows one writer next to any number of readers, so it gets two pools:
+ * a single write connection, used by one dedicated writer thread (see {@link #runWrite}), and a
+ * small read-only pool for queries. MySQL uses one pool for both.
  */
 public class DatabaseManager {
     private final SmartSpawner plugin;
     private final Logger logger;
     private final StorageMode storageMode;
     private HikariDataSource dataSource;
+    // SQLite only: read-only pool and the thread that owns the write connection
+    private HikariDataSource readDataSource;
+    private ExecutorService writeExecutor;
 
     // Configuration values
     private final String host;
@@ -34,6 +45,9 @@ public class DatabaseManager {
     private final String password;
     private final String serverName;
     private final String sqliteFile;
+    private final int sqliteReadPoolSize;
+    private final int sqliteCacheSizeMb;
+    private final int sqliteMmapSizeMb;
 
     // Pool settings
     private final int maxPoolSize;
@@ -152,6 +166,37 @@ public class DatabaseManager {
     private static final String CREATE_INDEX_WORLD_SQLITE =
             "CREATE INDEX IF NOT EXISTS idx_world ON smart_spawners (server_name, world_name)";
 
+    // Cross-server change feed (append-only, tailed by seq)
+    private static final String CREATE_CHANGES_TABLE_MYSQL = """
+            CREATE TABLE IF NOT EXISTS smart_spawner_changes (
+                seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+                server_name VARCHAR(64) NOT NULL,
+                world_name VARCHAR(128) DEFAULT NULL,
+                spawner_id VARCHAR(64) DEFAULT NULL,
+                change_type VARCHAR(16) NOT NULL,
+                stack_size INT DEFAULT NULL,
+                origin_server VARCHAR(64) NOT NULL,
+                created_at BIGINT NOT NULL,
+                INDEX idx_changes_created (created_at)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+            """;
+
+    private static final String CREATE_CHANGES_TABLE_SQLITE = """
+            CREATE TABLE IF NOT EXISTS smart_spawner_changes (
+                seq INTEGER PRIMARY KEY AUTOINCREMENT,
+                server_name VARCHAR(64) NOT NULL,
+                world_name VARCHAR(128) DEFAULT NULL,
+                spawner_id VARCHAR(64) DEFAULT NULL,
+                change_type VARCHAR(16) NOT NULL,
+                stack_size INT DEFAULT NULL,
+                origin_server VARCHAR(64) NOT NULL,
+                created_at BIGINT NOT NULL
+            )
+            """;
+
+    private static final String CREATE_INDEX_CHANGES_CREATED_SQLITE =
+            "CREATE INDEX IF NOT EXISTS idx_changes_created ON smart_spawner_changes (created_at)";
+
     private static final String SCHEMA_META_TABLE = "smartspawner_meta";
     private static final String SCHEMA_VERSION_KEY = "schema_version";
     private static final int LEGACY_SCHEMA_VERSION = 1;
@@ -186,6 +231,9 @@ public class DatabaseManager {
         this.password = plugin.getConfig().getString("database.sql.password", "");
         this.serverName = plugin.getConfig().getString("database.server_name", "server1");
         this.sqliteFile = plugin.getConfig().getString("database.sqlite.file", "spawners.db");
+        this.sqliteReadPoolSize = Math.max(1, plugin.getConfig().getInt("database.sqlite.read_pool_size", 3));
+        this.sqliteCacheSizeMb = Math.max(1, plugin.getConfig().getInt("database.sqlite.cache_size_mb", 16));
+        this.sqliteMmapSizeMb = Math.max(0, plugin.getConfig().getInt("database.sqlite.mmap_size_mb", 256));
 
         // Pool settings
         this.maxPoolSize = plugin.getConfig().getInt("database.sql.pool.maximum-size", 10);
@@ -225,6 +273,19 @@ public class DatabaseManager {
         }
 
         dataSource = new HikariDataSource(config);
+
+        if (storageMode == StorageMode.SQLITE) {
+            // The writer creates the file and switches it to WAL before any reader opens it
+            HikariConfig readConfig = new HikariConfig();
+            setupSQLiteReadDataSource(readConfig);
+            readDataSource = new HikariDataSource(readConfig);
+
+            writeExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "SmartSpawner-SQLite-Writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
     }
 
     private void setupMySQLDataSource(HikariConfig config) {
@@ -261,6 +322,29 @@ public class DatabaseManager {
     }
 
     private void setupSQLiteDataSource(HikariConfig config) {
+        applySQLiteSettings(config);
+
+        // The only write connection; WAL allows one writer at a time anyway
+        config.setMaximumPoolSize(1);
+        config.setMinimumIdle(1);
+        config.setPoolName("SmartSpawner-SQLite-Writer");
+    }
+
+    private void setupSQLiteReadDataSource(HikariConfig config) {
+        applySQLiteSettings(config);
+
+        // WAL readers see the last committed state and never block the writer
+        config.setMaximumPoolSize(sqliteReadPoolSize);
+        config.setMinimumIdle(1);
+        // Enforced per connection; the driver cannot switch an open connection to read-only
+        config.setConnectionInitSql("PRAGMA query_only = ON");
+        config.setPoolName("SmartSpawner-SQLite-Reader");
+    }
+
+    /**
+     * Connection settings and pragmas shared by the SQLite writer and reader pools.
+     */
+    private void applySQLiteSettings(HikariConfig config) {
         // Create data folder if it doesn't exist
         File dataFolder = plugin.getDataFolder();
         if (!dataFolder.exists()) {
@@ -273,19 +357,19 @@ public class DatabaseManager {
 
         config.setJdbcUrl(jdbcUrl);
         config.setDriverClassName("org.sqlite.JDBC");
-
-        // SQLite-specific pool settings (SQLite doesn't handle multiple connections well)
-        config.setMaximumPoolSize(1);  // SQLite works best with single connection
-        config.setMinimumIdle(1);
         config.setConnectionTimeout(connectionTimeout);
         config.setMaxLifetime(0);  // Disable max lifetime for SQLite
         config.setIdleTimeout(0);  // Disable idle timeout for SQLite
 
-        // SQLite performance settings
-        config.setPoolName("SmartSpawner-SQLite-HikariCP");
+        // SQLite performance settings (applied as pragmas on every new connection)
         config.addDataSourceProperty("journal_mode", "WAL");
+        // NORMAL is durable in WAL mode except for the last commits on power loss
         config.addDataSourceProperty("synchronous", "NORMAL");
-        config.addDataSourceProperty("cache_size", "10000");
+        // Negative cache_size is in KiB
+        config.addDataSourceProperty("cache_size", String.valueOf(-sqliteCacheSizeMb * 1024));
+        config.addDataSourceProperty("mmap_size", String.valueOf((long) sqliteMmapSizeMb * 1024 * 1024));
+        config.addDataSourceProperty("temp_store", "MEMORY");
+        config.addDataSourceProperty("busy_timeout", String.valueOf(connectionTimeout));
         config.addDataSourceProperty("foreign_keys", "ON");
     }
 
@@ -297,8 +381,11 @@ public class DatabaseManager {
                 stmt.execute(CREATE_TABLE_SQLITE);
                 stmt.execute(CREATE_INDEX_SERVER_SQLITE);
                 stmt.execute(CREATE_INDEX_WORLD_SQLITE);
+                stmt.execute(CREATE_CHANGES_TABLE_SQLITE);
+                stmt.execute(CREATE_INDEX_CHANGES_CREATED_SQLITE);
             } else {
                 stmt.execute(CREATE_TABLE_MYSQL);
+                stmt.execute(CREATE_CHANGES_TABLE_MYSQL);
             }
 
             plugin.debug("Database tables created/verified successfully.");
@@ -337,22 +424,17 @@ public class DatabaseManager {
     }
 
     private Integer getSchemaVersionFromMeta() throws SQLException {
-        String sql = "SELECT meta_value FROM " + SCHEMA_META_TABLE + " WHERE meta_key = ?";
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, SCHEMA_VERSION_KEY);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (!rs.next()) {
-                    return null;
-                }
-
-                String rawVersion = rs.getString("meta_value");
-                try {
-                    return Integer.parseInt(rawVersion);
-                } catch (NumberFormatException ex) {
-                    throw new SQLException("Invalid database schema version value: " + rawVersion, ex);
-                }
-            }
+        String rawVersion;
+        try (Connection conn = getConnection()) {
+            rawVersion = getMeta(conn, SCHEMA_VERSION_KEY);
+        }
+        if (rawVersion == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(rawVersion);
+        } catch (NumberFormatException ex) {
+            throw new SQLException("Invalid database schema version value: " + rawVersion, ex);
         }
     }
 
@@ -361,14 +443,36 @@ public class DatabaseManager {
     }
 
     private void setSchemaVersion(int version) throws SQLException {
+        try (Connection conn = getConnection()) {
+            setMeta(conn, SCHEMA_VERSION_KEY, String.valueOf(version));
+        }
+    }
+
+    /**
+     * Reads a value from the meta table on the given connection.
+     * @return the value, or null if the key is not set
+     */
+    public String getMeta(Connection conn, String key) throws SQLException {
+        String sql = "SELECT meta_value FROM " + SCHEMA_META_TABLE + " WHERE meta_key = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, key);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString("meta_value") : null;
+            }
+        }
+    }
+
+    /**
+     * Writes a value to the meta table on the given connection, so it can be part of the caller's transaction.
+     */
+    public void setMeta(Connection conn, String key, String value) throws SQLException {
         String sql = storageMode == StorageMode.SQLITE
                 ? "INSERT INTO " + SCHEMA_META_TABLE + " (meta_key, meta_value) VALUES (?, ?) ON CONFLICT(meta_key) DO UPDATE SET meta_value = excluded.meta_value"
                 : "INSERT INTO " + SCHEMA_META_TABLE + " (meta_key, meta_value) VALUES (?, ?) ON DUPLICATE KEY UPDATE meta_value = VALUES(meta_value)";
 
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, SCHEMA_VERSION_KEY);
-            stmt.setString(2, String.valueOf(version));
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, key);
+            stmt.setString(2, value);
             stmt.executeUpdate();
         }
     }
@@ -584,6 +688,40 @@ public class DatabaseManager {
         return dataSource.getConnection();
     }
 
+    /**
+     * Get a connection for queries that do not modify data.
+     * With SQLite this comes from the read-only pool and does not wait for the writer.
+     * @return A read-only connection for SQLite, a regular pooled connection otherwise
+     * @throws SQLException if connection cannot be obtained
+     */
+    public Connection getReadConnection() throws SQLException {
+        if (readDataSource == null) {
+            return getConnection();
+        }
+        if (readDataSource.isClosed()) {
+            throw new SQLException("Database read pool has been closed");
+        }
+        return readDataSource.getConnection();
+    }
+
+    /**
+     * Run a write task off the main thread. With SQLite every write runs on the dedicated writer
+     * thread, so writes queue there instead of competing for the single write connection.
+     * @param task The task, which obtains its connection from {@link #getConnection()}
+     */
+    public void runWrite(Runnable task) {
+        if (writeExecutor == null) {
+            plugin.getIoExecutor().runDatabase(task);
+            return;
+        }
+        try {
+            writeExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Writer already stopped during shutdown; run on the caller instead of dropping the write
+            task.run();
+        }
+    }
+
     /**
      * Get the configured server name for this server.
      * @return The server name used to identify spawners
@@ -612,6 +750,20 @@ public class DatabaseManager {
      * Shutdown the database connection pool.
      */
     public void shutdown() {
+        if (writeExecutor != null) {
+            writeExecutor.shutdown();
+            try {
+                if (!writeExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    logger.warning("SQLite writer did not finish pending writes within 10 seconds");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writeExecutor = null;
+        }
+        if (readDataSource != null && !readDataSource.isClosed()) {
+            readDataSource.close();
+        }
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
             logger.info("Database connection pool closed.");
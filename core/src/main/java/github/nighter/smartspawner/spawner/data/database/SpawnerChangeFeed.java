@@ -0,0 +1,368 @@
+package github.nighter.smartspawner.spawner.data.database;
+
+import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.Scheduler;
+import github.nighter.smartspawner.spawner.data.SpawnerManager;
+import github.nighter.smartspawner.spawner.properties.SpawnerData;
+import org.bukkit.Location;
+import org.bukkit.Material;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cross-server change feed backed by the smart_spawner_changes table.
+ * <p>
+ * Every remote edit, flush and delete appends a row with a monotonically increasing
+ * sequence number in the same transaction as the change itself. Each server tails the
+ * table with an indexed {@code WHERE seq > ?} poll, applies rows that target its own
+ * spawners to the live SpawnerData, and invalidates cached cross-server list pages for
+ * every server/world it sees. No external broker is required, so this works on both
+ * MariaDB/MySQL and SQLite.
+ * <p>
+ * Sequence numbers are assigned at insert but become visible at commit, so a row can
+ * appear after a higher one was already read. Skipped sequence numbers are re-checked on
+ * every poll until they show up or {@link #GAP_GRACE_MILLIS} has passed (rolled back
+ * transactions leave permanent gaps).
+ */
+public class SpawnerChangeFeed {
+    public static final String TYPE_STACK_SIZE = "STACK_SIZE";
+    public static final String TYPE_DELETE = "DELETE";
+    public static final String TYPE_SAVE = "SAVE";
+
+    private static final int POLL_BATCH_LIMIT = 500;
+
+    // How long a skipped sequence number is waited for; far longer than any change transaction
+    private static final long GAP_GRACE_MILLIS = 60_000L;
+    // Gaps re-checked per poll, and tracked at most; the oldest are given up first
+    private static final int GAP_BATCH_LIMIT = 100;
+    private static final int MAX_TRACKED_GAPS = 10_000;
+
+    private static final String RECORD_FROM_SPAWNER_SQL = """
+            INSERT INTO smart_spawner_changes (server_name, world_name, spawner_id, change_type, stack_size, origin_server, created_at)
+            SELECT server_name, world_name, spawner_id, ?, ?, ?, ?
+            FROM smart_spawners WHERE server_name = ? AND spawner_id = ?
+            """;
+
+    private static final String RECORD_DELETE_SQL = """
+            INSERT INTO smart_spawner_changes (server_name, world_name, spawner_id, change_type, stack_size, origin_server, created_at)
+            SELECT server_name, world_name, spawner_id, ?, NULL, ?, ?
+            FROM smart_spawners WHERE server_name = ? AND spawner_id = ?
+            """;
+
+    private static final String RECORD_WORLD_SQL = """
+            INSERT INTO smart_spawner_changes (server_name, world_name, spawner_id, change_type, stack_size, origin_server, created_at)
+            VALUES (?, ?, NULL, ?, NULL, ?, ?)
+            """;
+
+    private static final String POLL_SQL = """
+            SELECT seq, server_name, world_name, spawner_id, change_type, stack_size, origin_server
+            FROM smart_spawner_changes WHERE seq > ? ORDER BY seq LIMIT
+            """ + POLL_BATCH_LIMIT;
+
+    private static final String GAP_SQL_PREFIX = """
+            SELECT seq, server_name, world_name, spawner_id, change_type, stack_size, origin_server
+            FROM smart_spawner_changes WHERE seq IN (""";
+
+    private static final String MAX_SEQ_SQL = "SELECT MAX(seq) AS max_seq FROM smart_spawner_changes";
+
+    private static final String PRUNE_SQL = "DELETE FROM smart_spawner_changes WHERE created_at < ?";
+
+    private final SmartSpawner plugin;
+    private final Logger logger;
+    private final DatabaseManager databaseManager;
+    private final SpawnerDatabaseHandler databaseHandler;
+    private final String serverName;
+
+    private final long pollIntervalTicks;
+    private final long retentionMillis;
+
+    private volatile long lastSeq = 0L;
+    // Skipped sequence numbers below lastSeq to the time they were first noticed, only touched by poll()
+    private final NavigableMap<Long, Long> pendingGaps = new TreeMap<>();
+    private volatile long lastPruneTime = 0L;
+    private volatile boolean polling = false;
+    private Scheduler.Task pollTask = null;
+
+    public SpawnerChangeFeed(SmartSpawner plugin, DatabaseManager databaseManager, SpawnerDatabaseHandler databaseHandler) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.databaseManager = databaseManager;
+        this.databaseHandler = databaseHandler;
+        this.serverName = databaseManager.getServerName();
+
+        this.pollIntervalTicks = Math.max(1L, plugin.getConfig().getLong("database.change_feed.poll_interval", 40L));
+        this.retentionMillis = Math.max(1L, plugin.getConfig().getLong("database.change_feed.retention_minutes", 60L)) * 60_000L;
+    }
+
+    /**
+     * Start tailing the change table from its current head.
+     * Changes written before startup are already reflected in the spawner rows loaded at boot.
+     */
+    public void start() {
+        stop();
+
+        try (Connection conn = databaseManager.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(MAX_SEQ_SQL)) {
+            if (rs.next()) {
+                lastSeq = rs.getLong("max_seq");
+            }
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Failed to read change feed head, starting from sequence 0", e);
+        }
+
+        pollTask = Scheduler.runTaskTimerAsync(this::schedulePoll, pollIntervalTicks, pollIntervalTicks);
+        plugin.debug("Cross-server change feed started at seq " + lastSeq + " (poll every " + pollIntervalTicks + " ticks)");
+    }
+
+    public void stop() {
+        if (pollTask != null) {
+            pollTask.cancel();
+            pollTask = null;
+        }
+    }
+
+    /**
+     * Append a change row for an existing spawner. Must run inside the caller's transaction
+     * and before a delete, since the row's world is copied from smart_spawners.
+     */
+    void recordSpawnerChange(Connection conn, String targetServer, String spawnerId,
+                             String changeType, Integer stackSize) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(RECORD_FROM_SPAWNER_SQL)) {
+            stmt.setString(1, changeType);
+            if (stackSize != null) {
+                stmt.setInt(2, stackSize);
+            } else {
+                stmt.setNull(2, java.sql.Types.INTEGER);
+            }
+            stmt.setString(3, serverName);
+            stmt.setLong(4, System.currentTimeMillis());
+            stmt.setString(5, targetServer);
+            stmt.setString(6, spawnerId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Append a DELETE row for each of this server's spawners so other servers drop their cached list
+     * pages. Must run inside the caller's transaction and before the delete.
+     */
+    void recordSpawnersDeleted(Connection conn, Iterable<String> spawnerIds) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(RECORD_DELETE_SQL)) {
+            long now = System.currentTimeMillis();
+            for (String spawnerId : spawnerIds) {
+                stmt.setString(1, TYPE_DELETE);
+                stmt.setString(2, serverName);
+                stmt.setLong(3, now);
+                stmt.setString(4, serverName);
+                stmt.setString(5, spawnerId);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Append one world-level SAVE row per world so other servers drop their cached list pages
+     * for this server after a flush.
+     */
+    void recordWorldsSaved(Connection conn, Iterable<String> worldNames) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(RECORD_WORLD_SQL)) {
+            long now = System.currentTimeMillis();
+            for (String worldName : worldNames) {
+                stmt.setString(1, serverName);
+                stmt.setString(2, worldName);
+                stmt.setString(3, TYPE_SAVE);
+                stmt.setString(4, serverName);
+                stmt.setLong(5, now);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    // The timer only hands the query to the I/O executor, so a slow database never holds a scheduler thread
+    private void schedulePoll() {
+        if (polling || !databaseManager.isActive()) {
+            return;
+        }
+        polling = true;
+        plugin.getIoExecutor().runDatabase(this::poll);
+    }
+
+    private void poll() {
+        try {
+            List<ChangeRow> rows;
+            List<ChangeRow> lateRows;
+            try (Connection conn = databaseManager.getReadConnection()) {
+                try (PreparedStatement stmt = conn.prepareStatement(POLL_SQL)) {
+                    stmt.setLong(1, lastSeq);
+                    rows = readRows(stmt);
+                }
+                lateRows = readGaps(conn);
+            }
+
+            long now = System.currentTimeMillis();
+            for (ChangeRow row : lateRows) {
+                pendingGaps.remove(row.seq());
+                apply(row);
+            }
+            for (ChangeRow row : rows) {
+                trackGaps(lastSeq, row.seq(), now);
+                lastSeq = row.seq();
+                apply(row);
+            }
+            expireGaps(now);
+
+            pruneIfDue();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Error polling cross-server change feed", e);
+        } finally {
+            polling = false;
+        }
+    }
+
+    private void apply(ChangeRow row) {
+        databaseHandler.invalidateCrossServerCache(row.serverName(), row.worldName());
+
+        // Deletes this server flushed itself find no live spawner left to remove
+        if (serverName.equals(row.serverName()) && !TYPE_SAVE.equals(row.changeType())) {
+            applyLocalChange(row);
+        }
+    }
+
+    private List<ChangeRow> readRows(PreparedStatement stmt) throws SQLException {
+        List<ChangeRow> rows = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                int rawStackSize = rs.getInt("stack_size");
+                Integer stackSize = rs.wasNull() ? null : rawStackSize;
+                rows.add(new ChangeRow(
+                        rs.getLong("seq"),
+                        rs.getString("server_name"),
+                        rs.getString("world_name"),
+                        rs.getString("spawner_id"),
+                        rs.getString("change_type"),
+                        stackSize,
+                        rs.getString("origin_server")
+                ));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Looks up skipped sequence numbers again; rows of transactions that committed late show up here.
+     */
+    private List<ChangeRow> readGaps(Connection conn) throws SQLException {
+        if (pendingGaps.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> gaps = new ArrayList<>(Math.min(pendingGaps.size(), GAP_BATCH_LIMIT));
+        for (Long seq : pendingGaps.keySet()) {
+            if (gaps.size() == GAP_BATCH_LIMIT) break;
+            gaps.add(seq);
+        }
+
+        String sql = GAP_SQL_PREFIX + String.join(",", Collections.nCopies(gaps.size(), "?")) + ")";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < gaps.size(); i++) {
+                stmt.setLong(i + 1, gaps.get(i));
+            }
+            return readRows(stmt);
+        }
+    }
+
+    private void trackGaps(long previousSeq, long seq, long now) {
+        // The head read at startup is not a gap source; nothing before it is replayed
+        if (previousSeq <= 0L) {
+            return;
+        }
+        for (long missing = Math.max(previousSeq + 1, seq - MAX_TRACKED_GAPS); missing < seq; missing++) {
+            pendingGaps.putIfAbsent(missing, now);
+        }
+        while (pendingGaps.size() > MAX_TRACKED_GAPS) {
+            pendingGaps.pollFirstEntry();
+        }
+    }
+
+    private void expireGaps(long now) {
+        pendingGaps.values().removeIf(firstSeen -> now - firstSeen > GAP_GRACE_MILLIS);
+    }
+
+    private void applyLocalChange(ChangeRow row) {
+        SpawnerManager spawnerManager = plugin.getSpawnerManager();
+        SpawnerData spawner = spawnerManager.getSpawnerById(row.spawnerId());
+        if (spawner == null) {
+            return;
+        }
+
+        Location loc = spawner.getSpawnerLocation();
+        switch (row.changeType()) {
+            case TYPE_STACK_SIZE -> {
+                if (row.stackSize() == null) return;
+                Scheduler.runLocationTask(loc, () -> {
+                    spawner.setStackSize(row.stackSize());
+                    // A newer version keeps the next flush from writing an older snapshot over the remote edit
+                    spawnerManager.markSpawnerModified(row.spawnerId());
+                    plugin.getSpawnerGuiViewManager().updateSpawnerMenuViewers(spawner);
+                    plugin.debug("Applied remote stack size " + row.stackSize() + " from " + row.originServer()
+                            + " to spawner " + row.spawnerId());
+                });
+            }
+            case TYPE_DELETE -> Scheduler.runLocationTask(loc, () -> {
+                plugin.getSpawnerGuiViewManager().closeAllViewersInventory(spawner);
+                spawner.getSpawnerStop().set(true);
+                if (loc.getBlock().getType() == Material.SPAWNER) {
+                    loc.getBlock().setType(Material.AIR);
+                }
+
+                // The database row is already gone; marking deleted drops any pending upsert for it
+                Scheduler.runTask(() -> {
+                    spawnerManager.removeSpawner(row.spawnerId());
+                    spawnerManager.markSpawnerDeleted(row.spawnerId());
+                    plugin.debug("Applied remote delete from " + row.originServer() + " to spawner " + row.spawnerId());
+                });
+            });
+            default -> plugin.debug("Unknown change feed entry type: " + row.changeType());
+        }
+    }
+
+    private void pruneIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastPruneTime < retentionMillis / 4) {
+            return;
+        }
+        lastPruneTime = now;
+
+        // A delete like any other write: on SQLite it must go through the single writer
+        databaseManager.runWrite(() -> {
+            try (Connection conn = databaseManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(PRUNE_SQL)) {
+                stmt.setLong(1, now - retentionMillis);
+                int removed = stmt.executeUpdate();
+                if (removed > 0) {
+                    plugin.debug("Pruned " + removed + " expired change feed entries");
+                }
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Error pruning cross-server change feed", e);
+            }
+        });
+    }
+
+    private record ChangeRow(long seq, String serverName, String worldName, String spawnerId,
+                             String changeType, Integer stackSize, String originServer) {
+    }
+}
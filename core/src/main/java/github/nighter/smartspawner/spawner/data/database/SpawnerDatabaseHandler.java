@@ -3,9 +3,13 @@ package github.nighter.smartspawner.spawner.data.database;
 import github.nighter.smartspawner.SmartSpawner;
 import github.nighter.smartspawner.Scheduler;
 import github.nighter.smartspawner.commands.list.gui.CrossServerSpawnerData;
+import github.nighter.smartspawner.perf.PerfMetric;
+import github.nighter.smartspawner.perf.PerfMonitor;
+import github.nighter.smartspawner.spawner.data.storage.SpawnerJournal;
+import github.nighter.smartspawner.spawner.data.storage.SpawnerSnapshot;
 import github.nighter.smartspawner.spawner.data.storage.SpawnerStorage;
+import github.nighter.smartspawner.spawner.data.storage.StorageFlushScheduler;
 import github.nighter.smartspawner.spawner.data.storage.StorageMode;
-import github.nighter.smartspawner.spawner.properties.ItemSignature;
 import github.nighter.smartspawner.spawner.properties.SpawnerData;
 import github.nighter.smartspawner.spawner.properties.VirtualInventory;
 import github.nighter.smartspawner.spawner.utils.ItemStackSerializer;
@@ -18,10 +22,10 @@ import org.bukkit.inventory.ItemStack;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 /**
  * Database-backed storage handler for spawner data.
@@ -32,17 +36,30 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
     private final Logger logger;
     private final DatabaseManager databaseManager;
     private final String serverName;
+    // Meta table key of the journal checkpoint this server's last flush completed
+    private final String journalCheckpointKey;
 
     // Dirty tracking for batch saves
     private final Set<String> dirtySpawners = ConcurrentHashMap.newKeySet();
     private final Set<String> deletedSpawners = ConcurrentHashMap.newKeySet();
 
     private volatile boolean isSaving = false;
-    private Scheduler.Task saveTask = null;
 
     // Cache for raw location strings (used by WorldEventHandler)
     private final Map<String, String> locationCache = new ConcurrentHashMap<>();
 
+    // Cross-server change feed (null when sync_across_servers is disabled)
+    private final SpawnerChangeFeed changeFeed;
+
+    private final SpawnerJournal journal;
+    private final StorageFlushScheduler flushScheduler;
+
+    // Cross-server list caches, invalidated per server/world by the change feed
+    private final Map<String, Map<String, List<CrossServerSpawnerData>>> crossServerSpawnerCache = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Integer>> crossServerWorldCache = new ConcurrentHashMap<>();
+    // Bumped per server on every invalidation, so a query that overlapped one does not cache its stale result
+    private final Map<String, AtomicLong> crossServerCacheGenerations = new ConcurrentHashMap<>();
+
     // SQL Statements
     private static final String SELECT_ALL_SQL = """
             SELECT spawner_id, world_name, loc_x, loc_y, loc_z, entity_type, item_spawner_material,
@@ -148,6 +165,15 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
         this.logger = plugin.getLogger();
         this.databaseManager = databaseManager;
         this.serverName = databaseManager.getServerName();
+        String checkpointKey = "journal_checkpoint:" + serverName;
+        // meta_key is VARCHAR(64)
+        this.journalCheckpointKey = checkpointKey.length() > 64 ? checkpointKey.substring(0, 64) : checkpointKey;
+        this.journal = new SpawnerJournal(plugin);
+        this.flushScheduler = new StorageFlushScheduler(plugin, this::startFlush,
+                () -> dirtySpawners.size() + deletedSpawners.size());
+        this.changeFeed = plugin.getConfig().getBoolean("database.sync_across_servers", false)
+                ? new SpawnerChangeFeed(plugin, databaseManager, this)
+                : null;
     }
 
     @Override
@@ -157,24 +183,13 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
             return false;
         }
 
-        // Start the periodic save task
-        startSaveTask();
-        return true;
-    }
+        // Start the adaptive save scheduler
+        flushScheduler.start();
 
-    private void startSaveTask() {
-        // Hardcoded 5-minute interval (5 * 60 * 20 = 6000 ticks)
-        long intervalTicks = 6000L;
-
-        if (saveTask != null) {
-            saveTask.cancel();
-            saveTask = null;
+        if (changeFeed != null) {
+            changeFeed.start();
         }
-
-        saveTask = Scheduler.runTaskTimerAsync(() -> {
-            plugin.debug("Running scheduled database save task");
-            flushChanges();
-        }, intervalTicks, intervalTicks);
+        return true;
     }
 
     @Override
@@ -182,6 +197,7 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
         if (spawnerId != null) {
             dirtySpawners.add(spawnerId);
             deletedSpawners.remove(spawnerId);
+            journal.recordModified(spawnerId);
         }
     }
 
@@ -191,6 +207,7 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
             deletedSpawners.add(spawnerId);
             dirtySpawners.remove(spawnerId);
             locationCache.remove(spawnerId);
+            journal.recordDeleted(spawnerId);
         }
     }
 
@@ -201,138 +218,224 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
 
     @Override
     public void flushChanges() {
+        startFlush();
+    }
+
+    /**
+     * Starts writing the pending changes in the background.
+     * @return false if a flush is still in progress and nothing was started
+     */
+    private boolean startFlush() {
         if (dirtySpawners.isEmpty() && deletedSpawners.isEmpty()) {
             plugin.debug("No database changes to flush");
-            return;
+            return true;
         }
 
         if (isSaving) {
             plugin.debug("Database flush operation already in progress");
-            return;
+            return false;
         }
 
         isSaving = true;
         plugin.debug("Flushing " + dirtySpawners.size() + " modified and " + deletedSpawners.size() + " deleted spawners to database");
 
-        Scheduler.runTaskAsync(() -> {
+        databaseManager.runWrite(() -> {
+            PerfMonitor perf = plugin.getPerfMonitor();
+            long flushStart = perf.start();
+            int flushed = 0;
+            // Changes marked from here on are journaled past the checkpoint and survive its release
+            long checkpoint = journal.checkpoint();
             try {
-                // Handle updates
-                if (!dirtySpawners.isEmpty()) {
-                    Set<String> toUpdate = new HashSet<>(dirtySpawners);
-                    dirtySpawners.removeAll(toUpdate);
-
-                    saveSpawnerBatch(toUpdate);
-                }
-
-                // Handle deletes
-                if (!deletedSpawners.isEmpty()) {
-                    Set<String> toDelete = new HashSet<>(deletedSpawners);
-                    deletedSpawners.removeAll(toDelete);
-
-                    deleteSpawnerBatch(toDelete);
-                }
+                Set<String> busy = new HashSet<>();
+                Set<String> toUpdate = new HashSet<>(dirtySpawners);
+                dirtySpawners.removeAll(toUpdate);
+                Set<String> toDelete = new HashSet<>(deletedSpawners);
+                deletedSpawners.removeAll(toDelete);
+                flushed = toUpdate.size() + toDelete.size();
+
+                writeChanges(toUpdate, toDelete, busy, checkpoint);
             } catch (Exception e) {
                 logger.log(Level.SEVERE, "Error during database flush", e);
                 // Re-add failed items back to dirty lists
                 // Note: In production, might want more sophisticated retry logic
             } finally {
                 isSaving = false;
+                perf.stop(PerfMetric.STORAGE_FLUSH, flushStart);
+                perf.record(PerfMetric.STORAGE_FLUSH_BATCH, flushed);
             }
         });
+        return true;
     }
 
-    private void saveSpawnerBatch(Set<String> spawnerIds) {
-        if (spawnerIds.isEmpty()) return;
-
-        // Select appropriate SQL based on storage mode
-        String upsertSql = databaseManager.getStorageMode() == StorageMode.SQLITE
-                ? UPSERT_SQL_SQLITE
-                : UPSERT_SQL_MYSQL;
-
+    /**
+     * Saves and deletes spawners together with the journal checkpoint in one transaction, so the stored
+     * checkpoint never runs ahead of the changes it covers, then releases the journal up to it.
+     * On failure the spawners are re-queued and the journal is kept.
+     * @param busy receives the spawners that stayed locked; they are re-queued for the next flush
+     */
+    private void writeChanges(Set<String> toUpdate, Set<String> toDelete, Set<String> busy, long checkpoint) {
         try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(upsertSql)) {
+             PreparedStatement upsert = conn.prepareStatement(upsertSql());
+             PreparedStatement delete = conn.prepareStatement(DELETE_SQL)) {
 
             conn.setAutoCommit(false);
-
-            for (String spawnerId : spawnerIds) {
-                SpawnerData spawner = plugin.getSpawnerManager().getSpawnerById(spawnerId);
-                if (spawner == null) continue;
-
-                setSpawnerParameters(stmt, spawner);
-                stmt.addBatch();
+            Set<String> savedWorlds = new HashSet<>();
+            List<SpawnerSnapshot> snapshots = SpawnerSnapshot.captureChanged(
+                    plugin.getSpawnerManager(), toUpdate, busy);
+            long savedBytes = 0L;
+
+            for (SpawnerSnapshot snapshot : snapshots) {
+                setSpawnerParameters(upsert, snapshot);
+                upsert.addBatch();
+                savedWorlds.add(snapshot.worldName());
+                savedBytes += snapshot.estimatedSize();
+            }
+            for (String spawnerId : toDelete) {
+                delete.setString(1, serverName);
+                delete.setString(2, spawnerId);
+                delete.addBatch();
             }
 
-            stmt.executeBatch();
+            // Record before deleting, the change rows copy the world from the spawner rows
+            if (changeFeed != null && !toDelete.isEmpty()) {
+                changeFeed.recordSpawnersDeleted(conn, toDelete);
+            }
+            upsert.executeBatch();
+            delete.executeBatch();
+            if (changeFeed != null && !savedWorlds.isEmpty()) {
+                changeFeed.recordWorldsSaved(conn, savedWorlds);
+            }
+            // Locked spawners wait for the next flush; their journal records have to outlive the checkpoint
+            boolean released = journal.carryOver(checkpoint, busy);
+            if (released && checkpoint > 0) {
+                databaseManager.setMeta(conn, journalCheckpointKey, String.valueOf(checkpoint));
+            }
             conn.commit();
-            plugin.debug("Saved " + spawnerIds.size() + " spawners to database");
+            plugin.debug("Saved " + snapshots.size() + " and deleted " + toDelete.size() + " spawners in database");
+            SpawnerSnapshot.markPersisted(plugin.getSpawnerManager(), snapshots);
+            flushScheduler.recordFlushed(snapshots.size(), savedBytes);
+            if (released) {
+                journal.release(checkpoint);
+            }
+
+            dirtySpawners.addAll(busy);
 
         } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error saving spawner batch to database", e);
-            // Re-add to dirty list for retry
-            dirtySpawners.addAll(spawnerIds);
+            logger.log(Level.SEVERE, "Error writing spawner changes to database", e);
+            // Re-add to the pending lists for retry
+            dirtySpawners.addAll(toUpdate);
+            deletedSpawners.addAll(toDelete);
         }
     }
 
-    private void deleteSpawnerBatch(Set<String> spawnerIds) {
-        if (spawnerIds.isEmpty()) return;
+    @Override
+    public void requestFlush() {
+        flushScheduler.requestFlush();
+    }
+
+    @Override
+    public void recoverJournal() {
+        journal.recover(readJournalCheckpoint(), this::applyRecovered);
+    }
+
+    /**
+     * @return the journal checkpoint stored by the last flush of this server, 0 if none
+     */
+    private long readJournalCheckpoint() {
+        try (Connection conn = databaseManager.getConnection()) {
+            String value = databaseManager.getMeta(conn, journalCheckpointKey);
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (SQLException | NumberFormatException e) {
+            logger.log(Level.WARNING, "Could not read the stored journal checkpoint; replaying the whole journal", e);
+            return 0L;
+        }
+    }
 
+    /**
+     * Writes journaled spawner states and deletions in one transaction.
+     * @param recovered spawner ID to its last journaled state, null when it was deleted
+     * @return true if the transaction committed
+     */
+    private boolean applyRecovered(Map<String, SpawnerSnapshot> recovered) {
         try (Connection conn = databaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) {
+             PreparedStatement upsert = conn.prepareStatement(upsertSql());
+             PreparedStatement delete = conn.prepareStatement(DELETE_SQL)) {
 
             conn.setAutoCommit(false);
-
-            for (String spawnerId : spawnerIds) {
-                stmt.setString(1, serverName);
-                stmt.setString(2, spawnerId);
-                stmt.addBatch();
+            Set<String> savedWorlds = new HashSet<>();
+            Set<String> deleted = new HashSet<>();
+
+            for (Map.Entry<String, SpawnerSnapshot> entry : recovered.entrySet()) {
+                SpawnerSnapshot snapshot = entry.getValue();
+                if (snapshot != null) {
+                    setSpawnerParameters(upsert, snapshot);
+                    upsert.addBatch();
+                    savedWorlds.add(snapshot.worldName());
+                } else {
+                    delete.setString(1, serverName);
+                    delete.setString(2, entry.getKey());
+                    delete.addBatch();
+                    deleted.add(entry.getKey());
+                }
             }
 
-            stmt.executeBatch();
+            if (changeFeed != null && !deleted.isEmpty()) {
+                changeFeed.recordSpawnersDeleted(conn, deleted);
+            }
+            upsert.executeBatch();
+            delete.executeBatch();
+            if (changeFeed != null && !savedWorlds.isEmpty()) {
+                changeFeed.recordWorldsSaved(conn, savedWorlds);
+            }
             conn.commit();
-            plugin.debug("Deleted " + spawnerIds.size() + " spawners from database");
+            return true;
 
         } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error deleting spawner batch from database", e);
-            // Re-add to deleted list for retry
-            deletedSpawners.addAll(spawnerIds);
+            logger.log(Level.SEVERE, "Error replaying the storage journal to the database", e);
+            return false;
         }
     }
 
-    private void setSpawnerParameters(PreparedStatement stmt, SpawnerData spawner) throws SQLException {
-        Location loc = spawner.getSpawnerLocation();
+    private String upsertSql() {
+        // Select appropriate SQL based on storage mode
+        return databaseManager.getStorageMode() == StorageMode.SQLITE
+                ? UPSERT_SQL_SQLITE
+                : UPSERT_SQL_MYSQL;
+    }
 
-        stmt.setString(1, spawner.getSpawnerId());
+    private void setSpawnerParameters(PreparedStatement stmt, SpawnerSnapshot spawner) throws SQLException {
+        stmt.setString(1, spawner.spawnerId());
         stmt.setString(2, serverName);
-        stmt.setString(3, loc.getWorld().getName());
-        stmt.setInt(4, loc.getBlockX());
-        stmt.setInt(5, loc.getBlockY());
-        stmt.setInt(6, loc.getBlockZ());
-        stmt.setString(7, spawner.getEntityType().name());
-        stmt.setString(8, spawner.isItemSpawner() ? spawner.getSpawnedItemMaterial().name() : null);
-        stmt.setLong(9, Math.max(0L, spawner.getSpawnerExp()));
-        stmt.setBoolean(10, spawner.getSpawnerActive());
-        stmt.setInt(11, spawner.getSpawnerRange());
-        stmt.setBoolean(12, spawner.getSpawnerStop().get());
-        stmt.setLong(13, spawner.getSpawnDelay());
-        stmt.setInt(14, spawner.getMaxSpawnerLootSlots());
-        stmt.setLong(15, spawner.getMaxStoredExp());
-        stmt.setInt(16, spawner.getMinMobs());
-        stmt.setInt(17, spawner.getMaxMobs());
-        stmt.setInt(18, spawner.getStackSize());
-        stmt.setInt(19, spawner.getMaxStackSize());
-        stmt.setLong(20, spawner.getLastSpawnTime());
-        stmt.setBoolean(21, spawner.getIsAtCapacity());
-        stmt.setString(22, spawner.getLastInteractedPlayer());
-        stmt.setString(23, spawner.getPreferredSortItem() != null ? spawner.getPreferredSortItem().name() : null);
-        stmt.setString(24, serializeFilteredItems(spawner.getFilteredItems()));
-        stmt.setString(25, serializeInventory(spawner.getVirtualInventory()));
+        stmt.setString(3, spawner.worldName());
+        stmt.setInt(4, spawner.x());
+        stmt.setInt(5, spawner.y());
+        stmt.setInt(6, spawner.z());
+        stmt.setString(7, spawner.entityType());
+        stmt.setString(8, spawner.itemSpawnerMaterial());
+        stmt.setLong(9, spawner.spawnerExp());
+        stmt.setBoolean(10, spawner.spawnerActive());
+        stmt.setInt(11, spawner.spawnerRange());
+        stmt.setBoolean(12, spawner.spawnerStop());
+        stmt.setLong(13, spawner.spawnDelay());
+        stmt.setInt(14, spawner.maxSpawnerLootSlots());
+        stmt.setLong(15, spawner.maxStoredExp());
+        stmt.setInt(16, spawner.minMobs());
+        stmt.setInt(17, spawner.maxMobs());
+        stmt.setInt(18, spawner.stackSize());
+        stmt.setInt(19, spawner.maxStackSize());
+        stmt.setLong(20, spawner.lastSpawnTime());
+        stmt.setBoolean(21, spawner.atCapacity());
+        stmt.setString(22, spawner.lastInteractedPlayer());
+        stmt.setString(23, spawner.preferredSortItem());
+        stmt.setString(24, spawner.filteredItems());
+        stmt.setString(25, SpawnerInventoryCodec.encodeEntries(spawner.inventory()));
     }
 
     @Override
     public Map<String, SpawnerData> loadAllSpawnersRaw() {
         Map<String, SpawnerData> loadedSpawners = new HashMap<>();
 
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL_SQL)) {
 
             stmt.setString(1, serverName);
@@ -368,7 +471,7 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
 
     @Override
     public SpawnerData loadSpecificSpawner(String spawnerId) {
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_ONE_SQL)) {
 
             stmt.setString(1, serverName);
@@ -396,7 +499,7 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
         }
 
         // Query database
-        try (Connection conn = databaseManager.getConnection();
+        try (Connection conn = databaseManager.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_LOCATION_SQL)) {
 
             stmt.setString(1, serverName);
@@ -472,6 +575,7 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
         spawner.setMaxStackSize(rs.getInt("max_stack_size"));
         spawner.setStackSize(rs.getInt("stack_size"), false); // Don't restart hopper during batch load
         spawner.setLastSpawnTime(rs.getLong("last_spawn_time"));
+        spawner.resumeAccrual(System.currentTimeMillis());
         spawner.setIsAtCapacity(rs.getBoolean("is_at_capacity"));
 
         // Load player interaction data
@@ -533,23 +637,28 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
 
     @Override
     public void shutdown() {
-        if (saveTask != null) {
-            saveTask.cancel();
-            saveTask = null;
+        flushScheduler.stop();
+
+        if (changeFeed != null) {
+            changeFeed.stop();
         }
 
         // Perform synchronous flush on shutdown
+        boolean flushed = true;
         if (!dirtySpawners.isEmpty() || !deletedSpawners.isEmpty()) {
             try {
                 isSaving = true;
                 logger.info("Saving " + dirtySpawners.size() + " spawners to database on shutdown...");
 
                 if (!dirtySpawners.isEmpty()) {
-                    saveSpawnerBatch(new HashSet<>(dirtySpawners));
+                    Set<String> busy = new HashSet<>();
+                    flushed &= saveSpawnerBatch(new HashSet<>(dirtySpawners), busy);
+                    // Spawners still locked now are only in the journal
+                    flushed &= busy.isEmpty();
                 }
 
                 if (!deletedSpawners.isEmpty()) {
-                    deleteSpawnerBatch(new HashSet<>(deletedSpawners));
+                    flushed &= deleteSpawnerBatch(new HashSet<>(deletedSpawners));
                 }
 
                 dirtySpawners.clear();
@@ -557,26 +666,23 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
                 logger.info("Database shutdown save completed.");
 
             } catch (Exception e) {
+                flushed = false;
                 logger.log(Level.SEVERE, "Error during database shutdown flush", e);
             } finally {
                 isSaving = false;
             }
         }
 
+        // Keep the journal for the next startup unless everything reached the database
+        journal.shutdown(flushed);
+
         locationCache.clear();
+        crossServerSpawnerCache.clear();
+        crossServerWorldCache.clear();
     }
 
     // ============== Serialization Helpers ==============
 
-    private String serializeFilteredItems(Set<Material> filteredItems) {
-        if (filteredItems == null || filteredItems.isEmpty()) {
-            return null;
-        }
-        return filteredItems.stream()
-                .map(Material::name)
-                .collect(Collectors.joining(","));
-    }
-
     private void deserializeFilteredItems(String data, Set<Material> filteredItems) {
         if (data == null || data.isEmpty()) return;
 
@@ -591,85 +697,14 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
         }
     }
 
-    private String serializeInventory(VirtualInventory virtualInv) {
-        if (virtualInv == null) {
-            return null;
-        }
-
-        Map<ItemSignature, Long> items = virtualInv.getConsolidatedItems();
-        if (items.isEmpty()) {
-            return null;
-        }
-
-        // Use existing ItemStackSerializer format, then join with a delimiter
-        List<String> serializedItems = ItemStackSerializer.serializeInventory(items);
-        if (serializedItems.isEmpty()) {
-            return null;
-        }
-
-        // Use a JSON-like array format that's easy to parse
-        // Format: ["item1:count","item2;damage:count:count",...]
-        StringBuilder sb = new StringBuilder();
-        sb.append("[");
-        for (int i = 0; i < serializedItems.size(); i++) {
-            if (i > 0) sb.append(",");
-            // Escape any quotes in the string and wrap in quotes
-            sb.append("\"").append(serializedItems.get(i).replace("\"", "\\\"")).append("\"");
-        }
-        sb.append("]");
-        return sb.toString();
-    }
-
     private void loadInventoryFromJson(String jsonData, VirtualInventory virtualInv) {
         if (jsonData == null || jsonData.isEmpty()) return;
 
-        // Parse our simple JSON array format
-        // Format: ["item1:count","item2;damage:count:count",...]
-        if (!jsonData.startsWith("[") || !jsonData.endsWith("]")) {
+        List<String> items = SpawnerInventoryCodec.decodeEntries(jsonData);
+        if (items == null) {
             logger.warning("Invalid inventory JSON format: " + jsonData);
             return;
         }
-
-        String content = jsonData.substring(1, jsonData.length() - 1);
-        if (content.isEmpty()) return;
-
-        List<String> items = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-        boolean escaped = false;
-
-        for (char c : content.toCharArray()) {
-            if (escaped) {
-                current.append(c);
-                escaped = false;
-                continue;
-            }
-
-            if (c == '\\') {
-                escaped = true;
-                continue;
-            }
-
-            if (c == '"') {
-                inQuotes = !inQuotes;
-                continue;
-            }
-
-            if (c == ',' && !inQuotes) {
-                if (current.length() > 0) {
-                    items.add(current.toString());
-                    current = new StringBuilder();
-                }
-                continue;
-            }
-
-            current.append(c);
-        }
-
-        if (current.length() > 0) {
-            items.add(current.toString());
-        }
-
         if (items.isEmpty()) return;
 
         // Use existing ItemStackSerializer to deserialize
@@ -709,11 +744,11 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
      * @param callback Consumer to receive the list of server names on the main thread
      */
     public void getDistinctServerNamesAsync(Consumer<List<String>> callback) {
-        Scheduler.runTaskAsync(() -> {
+        plugin.getIoExecutor().runDatabase(() -> {
             List<String> servers = new ArrayList<>();
             String sql = "SELECT DISTINCT server_name FROM smart_spawners ORDER BY server_name";
 
-            try (Connection conn = databaseManager.getConnection();
+            try (Connection conn = databaseManager.getReadConnection();
                  PreparedStatement stmt = conn.prepareStatement(sql);
                  ResultSet rs = stmt.executeQuery()) {
 
@@ -736,11 +771,18 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
      * @param callback Consumer to receive map of world name -> spawner count
      */
     public void getWorldsForServerAsync(String targetServer, Consumer<Map<String, Integer>> callback) {
-        Scheduler.runTaskAsync(() -> {
+        Map<String, Integer> cached = crossServerWorldCache.get(targetServer);
+        if (cached != null) {
+            callback.accept(new LinkedHashMap<>(cached));
+            return;
+        }
+
+        long generation = cacheGeneration(targetServer);
+        plugin.getIoExecutor().runDatabase(() -> {
             Map<String, Integer> worlds = new LinkedHashMap<>();
             String sql = "SELECT world_name, COUNT(*) as count FROM smart_spawners WHERE server_name = ? GROUP BY world_name ORDER BY world_name";
 
-            try (Connection conn = databaseManager.getConnection();
+            try (Connection conn = databaseManager.getReadConnection();
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                 stmt.setString(1, targetServer);
@@ -755,6 +797,13 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
                 logger.log(Level.SEVERE, "Error fetching worlds for server " + targetServer, e);
             }
 
+            if (changeFeed != null) {
+                Map<String, Integer> entry = new LinkedHashMap<>(worlds);
+                crossServerWorldCache.put(targetServer, entry);
+                if (cacheGeneration(targetServer) != generation) {
+                    crossServerWorldCache.remove(targetServer, entry);
+                }
+            }
             Scheduler.runTask(() -> callback.accept(worlds));
         });
     }
@@ -766,11 +815,11 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
      * @param callback Consumer to receive total stack count
      */
     public void getTotalStacksForWorldAsync(String targetServer, String worldName, Consumer<Integer> callback) {
-        Scheduler.runTaskAsync(() -> {
+        plugin.getIoExecutor().runDatabase(() -> {
             int total = 0;
             String sql = "SELECT SUM(stack_size) as total FROM smart_spawners WHERE server_name = ? AND world_name = ?";
 
-            try (Connection conn = databaseManager.getConnection();
+            try (Connection conn = databaseManager.getReadConnection();
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                 stmt.setString(1, targetServer);
@@ -799,7 +848,7 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
      * @param callback Consumer to receive list of spawner data
      */
     public void getCrossServerSpawnersAsync(String targetServer, String worldName, Consumer<List<CrossServerSpawnerData>> callback) {
-        Scheduler.runTaskAsync(() -> {
+        plugin.getIoExecutor().runDatabase(() -> {
             List<CrossServerSpawnerData> spawners = new ArrayList<>();
             String sql = """
                 SELECT spawner_id, server_name, world_name, loc_x, loc_y, loc_z,
@@ -810,7 +859,7 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
                 ORDER BY stack_size DESC
                 """;
 
-            try (Connection conn = databaseManager.getConnection();
+            try (Connection conn = databaseManager.getReadConnection();
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                 stmt.setString(1, targetServer);
@@ -862,11 +911,11 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
      * @param callback Consumer to receive the count
      */
     public void getSpawnerCountForServerAsync(String targetServer, Consumer<Integer> callback) {
-        Scheduler.runTaskAsync(() -> {
+        plugin.getIoExecutor().runDatabase(() -> {
             int count = 0;
             String sql = "SELECT COUNT(*) as count FROM smart_spawners WHERE server_name = ?";
 
-            try (Connection conn = databaseManager.getConnection();
+            try (Connection conn = databaseManager.getReadConnection();
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                 stmt.setString(1, targetServer);
@@ -897,7 +946,16 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
     public void getCrossServerSpawnersAsync(String targetServer, String worldName,
                                             String filter, String sort,
                                             Consumer<List<CrossServerSpawnerData>> callback) {
-        Scheduler.runTaskAsync(() -> {
+        String cacheKey = worldName + "|" + filter + "|" + sort;
+        Map<String, List<CrossServerSpawnerData>> serverCache = crossServerSpawnerCache.get(targetServer);
+        List<CrossServerSpawnerData> cached = serverCache != null ? serverCache.get(cacheKey) : null;
+        if (cached != null) {
+            callback.accept(new ArrayList<>(cached));
+            return;
+        }
+
+        long generation = cacheGeneration(targetServer);
+        plugin.getIoExecutor().runDatabase(() -> {
             List<CrossServerSpawnerData> spawners = new ArrayList<>();
 
             // Build dynamic SQL based on filter and sort
@@ -925,7 +983,7 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
                 sql.append(" ORDER BY spawner_id ASC"); // DEFAULT sort
             }
 
-            try (Connection conn = databaseManager.getConnection();
+            try (Connection conn = databaseManager.getReadConnection();
                  PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
                 stmt.setString(1, targetServer);
@@ -965,10 +1023,50 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
                 logger.log(Level.SEVERE, "Error fetching spawners for " + targetServer + "/" + worldName, e);
             }
 
+            if (changeFeed != null) {
+                List<CrossServerSpawnerData> entry = List.copyOf(spawners);
+                Map<String, List<CrossServerSpawnerData>> pages =
+                        crossServerSpawnerCache.computeIfAbsent(targetServer, k -> new ConcurrentHashMap<>());
+                pages.put(cacheKey, entry);
+                if (cacheGeneration(targetServer) != generation) {
+                    pages.remove(cacheKey, entry);
+                }
+            }
             Scheduler.runTask(() -> callback.accept(spawners));
         });
     }
 
+    /**
+     * @return the invalidation generation of a server's cached pages. Queries read it before running and
+     *         drop their result again if it moved by the time they cached it.
+     */
+    private long cacheGeneration(String targetServer) {
+        AtomicLong generation = crossServerCacheGenerations.get(targetServer);
+        return generation != null ? generation.get() : 0L;
+    }
+
+    /**
+     * Drop cached cross-server list pages affected by a change.
+     * Only the pages for the given world are dropped; the per-server world counts are always dropped.
+     * @param targetServer The server whose spawners changed
+     * @param worldName The world that changed, or null to drop every page of that server
+     */
+    void invalidateCrossServerCache(String targetServer, String worldName) {
+        crossServerCacheGenerations.computeIfAbsent(targetServer, k -> new AtomicLong()).incrementAndGet();
+        crossServerWorldCache.remove(targetServer);
+
+        Map<String, List<CrossServerSpawnerData>> serverCache = crossServerSpawnerCache.get(targetServer);
+        if (serverCache == null) {
+            return;
+        }
+        if (worldName == null) {
+            serverCache.clear();
+        } else {
+            String prefix = worldName + "|";
+            serverCache.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
     /**
      * Asynchronously get a single spawner's data from a remote server.
      * @param targetServer The server name
@@ -977,7 +1075,7 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
      */
     public void getRemoteSpawnerByIdAsync(String targetServer, String spawnerId,
                                           Consumer<CrossServerSpawnerData> callback) {
-        Scheduler.runTaskAsync(() -> {
+        plugin.getIoExecutor().runDatabase(() -> {
             CrossServerSpawnerData spawnerData = null;
             String sql = """
                 SELECT spawner_id, server_name, world_name, loc_x, loc_y, loc_z,
@@ -987,7 +1085,7 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
                 WHERE server_name = ? AND spawner_id = ?
                 """;
 
-            try (Connection conn = databaseManager.getConnection();
+            try (Connection conn = databaseManager.getReadConnection();
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                 stmt.setString(1, targetServer);
@@ -1039,13 +1137,14 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
      */
     public void updateRemoteSpawnerStackSizeAsync(String targetServer, String spawnerId,
                                                    int newStackSize, Consumer<Boolean> callback) {
-        Scheduler.runTaskAsync(() -> {
+        databaseManager.runWrite(() -> {
             boolean success = false;
             String sql = "UPDATE smart_spawners SET stack_size = ?, updated_at = CURRENT_TIMESTAMP WHERE server_name = ? AND spawner_id = ?";
 
             try (Connection conn = databaseManager.getConnection();
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
 
+                conn.setAutoCommit(false);
                 stmt.setInt(1, newStackSize);
                 stmt.setString(2, targetServer);
                 stmt.setString(3, spawnerId);
@@ -1053,6 +1152,13 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
                 int affected = stmt.executeUpdate();
                 success = affected > 0;
 
+                // Publish the edit so the owning server applies it to its live data
+                if (success && changeFeed != null) {
+                    changeFeed.recordSpawnerChange(conn, targetServer, spawnerId,
+                            SpawnerChangeFeed.TYPE_STACK_SIZE, newStackSize);
+                }
+                conn.commit();
+
                 if (success) {
                     plugin.debug("Updated remote spawner " + spawnerId + " on " + targetServer + " to stack size " + newStackSize);
                 }
@@ -1068,27 +1174,41 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
 
     /**
      * Asynchronously delete a remote spawner from the database.
-     * Note: This only removes the database record. The physical block on the target server
-     * will remain until that server refreshes its cache.
+     * When the change feed is enabled, the owning server picks up the delete on its next poll
+     * and removes the block and live data; otherwise only the database record is removed.
      * @param targetServer The server name
      * @param spawnerId The spawner ID
      * @param callback Consumer to receive success status
      */
     public void deleteRemoteSpawnerAsync(String targetServer, String spawnerId,
                                           Consumer<Boolean> callback) {
-        Scheduler.runTaskAsync(() -> {
+        databaseManager.runWrite(() -> {
             boolean success = false;
             String sql = "DELETE FROM smart_spawners WHERE server_name = ? AND spawner_id = ?";
 
             try (Connection conn = databaseManager.getConnection();
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
 
+                conn.setAutoCommit(false);
+
+                // Record before deleting, the change row copies the world from the spawner row
+                if (changeFeed != null) {
+                    changeFeed.recordSpawnerChange(conn, targetServer, spawnerId,
+                            SpawnerChangeFeed.TYPE_DELETE, null);
+                }
+
                 stmt.setString(1, targetServer);
                 stmt.setString(2, spawnerId);
 
                 int affected = stmt.executeUpdate();
                 success = affected > 0;
 
+                if (success) {
+                    conn.commit();
+                } else {
+                    conn.rollback();
+                }
+
                 if (success) {
                     logger.info("Deleted remote spawner " + spawnerId + " from " + targetServer + " database record");
                 }
@@ -1102,6 +1222,14 @@ public class SpawnerDatabaseHandler implements SpawnerStorage {
         });
     }
 
+    /**
+     * Check whether remote edits are published to the owning server through the change feed.
+     * @return true if the cross-server change feed is running
+     */
+    public boolean isChangeFeedEnabled() {
+        return changeFeed != null;
+    }
+
     /**
      * Estimate total item count from inventory JSON data.
      */
@@ -0,0 +1,113 @@
+package github.nighter.smartspawner.spawner.data.database;
+
+import github.nighter.smartspawner.spawner.properties.ItemSignature;
+import github.nighter.smartspawner.spawner.properties.VirtualInventory;
+import github.nighter.smartspawner.spawner.utils.ItemStackSerializer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * String codec for the {@code inventory_data} column.
+ * <p>
+ * Wraps the {@link ItemStackSerializer} entries in a JSON-like array:
+ * {@code ["item1:count","item2;damage:count:count",...]}
+ */
+public final class SpawnerInventoryCodec {
+
+    private SpawnerInventoryCodec() {}
+
+    /**
+     * @return the encoded inventory, or null when it is empty
+     */
+    public static String encode(VirtualInventory virtualInv) {
+        if (virtualInv == null) {
+            return null;
+        }
+
+        Map<ItemSignature, Long> items = virtualInv.getConsolidatedItems();
+        if (items.isEmpty()) {
+            return null;
+        }
+
+        // Use existing ItemStackSerializer format, then join with a delimiter
+        return encodeEntries(ItemStackSerializer.serializeInventory(items));
+    }
+
+    /**
+     * Joins already serialized {@link ItemStackSerializer} entries.
+     *
+     * @return the encoded inventory, or null when there are no entries
+     */
+    public static String encodeEntries(List<String> serializedItems) {
+        if (serializedItems == null || serializedItems.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (int i = 0; i < serializedItems.size(); i++) {
+            if (i > 0) sb.append(",");
+            // Escape any quotes in the string and wrap in quotes
+            sb.append("\"").append(serializedItems.get(i).replace("\"", "\\\"")).append("\"");
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * Splits an encoded inventory back into {@link ItemStackSerializer} entries.
+     *
+     * @return the entries, or null if {@code jsonData} is not in the expected format
+     */
+    public static List<String> decodeEntries(String jsonData) {
+        if (jsonData == null || jsonData.isEmpty()) return Collections.emptyList();
+
+        if (!jsonData.startsWith("[") || !jsonData.endsWith("]")) {
+            return null;
+        }
+
+        String content = jsonData.substring(1, jsonData.length() - 1);
+        if (content.isEmpty()) return Collections.emptyList();
+
+        List<String> items = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+        boolean escaped = false;
+
+        for (char c : content.toCharArray()) {
+            if (escaped) {
+                current.append(c);
+                escaped = false;
+                continue;
+            }
+
+            if (c == '\\') {
+                escaped = true;
+                continue;
+            }
+
+            if (c == '"') {
+                inQuotes = !inQuotes;
+                continue;
+            }
+
+            if (c == ',' && !inQuotes) {
+                if (current.length() > 0) {
+                    items.add(current.toString());
+                    current = new StringBuilder();
+                }
+                continue;
+            }
+
+            current.append(c);
+        }
+
+        if (current.length() > 0) {
+            items.add(current.toString());
+        }
+        return items;
+    }
+}
@@ -327,7 +327,7 @@ public class YamlToDatabaseMigration {
 
         // Parse inventory and convert to JSON format
         List<String> inventoryData = yamlData.getStringList(path + ".inventory");
-        String inventoryJson = serializeInventoryToJson(inventoryData);
+        String inventoryJson = SpawnerInventoryCodec.encodeEntries(inventoryData);
 
         // Set statement parameters
         stmt.setString(1, spawnerId);
@@ -358,20 +358,4 @@ public class YamlToDatabaseMigration {
 
         return true;
     }
-
-    private String serializeInventoryToJson(List<String> inventoryData) {
-        if (inventoryData == null || inventoryData.isEmpty()) {
-            return null;
-        }
-
-        // Convert YAML list format to JSON array format
-        StringBuilder sb = new StringBuilder();
-        sb.append("[");
-        for (int i = 0; i < inventoryData.size(); i++) {
-            if (i > 0) sb.append(",");
-            sb.append("\"").append(inventoryData.get(i).replace("\"", "\\\"")).append("\"");
-        }
-        sb.append("]");
-        return sb.toString();
-    }
 }
@@ -0,0 +1,417 @@
+package github.nighter.smartspawner.spawner.data.storage;
+
+import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.perf.PerfMetric;
+import github.nighter.smartspawner.perf.PerfMonitor;
+import github.nighter.smartspawner.spawner.data.SpawnerManager;
+import github.nighter.smartspawner.spawner.properties.SpawnerData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+
+import static github.nighter.smartspawner.spawner.data.storage.SpawnerJournalFormat.appendRecord;
+import static github.nighter.smartspawner.spawner.data.storage.SpawnerJournalFormat.encodeDelete;
+import static github.nighter.smartspawner.spawner.data.storage.SpawnerJournalFormat.encodePatch;
+import static github.nighter.smartspawner.spawner.data.storage.SpawnerJournalFormat.encodeUpsert;
+import static github.nighter.smartspawner.spawner.data.storage.SpawnerJournalFormat.replayable;
+import static github.nighter.smartspawner.spawner.data.storage.SpawnerJournalFormat.segmentNumber;
+import static github.nighter.smartspawner.spawner.data.storage.SpawnerJournalFormat.segmentPath;
+
+/**
+ * Append-only journal of spawner mutations made since the last successful storage flush.
+ * <p>
+ * Storage backends report every {@code markSpawnerModified}/{@code markSpawnerDeleted} here. A
+ * dedicated thread group-commits them: every commit interval it takes all spawners marked since the
+ * previous commit, snapshots each once, appends the records and forces the file to disk with a single
+ * {@code fsync}. A crash therefore loses at most one commit interval instead of a whole flush interval.
+ * <p>
+ * The first record of a spawner in a segment holds its full state. Later records in the same segment
+ * only hold the fields that changed and the inventory entries added or removed since the previous
+ * record, so a busy spawner with a large storage does not rewrite its whole inventory every commit.
+ * Spawners whose version did not change since their last record are skipped, and the inventory is only
+ * copied and serialized again when the storage changed.
+ * <p>
+ * The journal is split into numbered segment files under {@code journal/}. Before a flush drains its
+ * dirty set the backend calls {@link #checkpoint()}, which starts a new segment, and after the flush
+ * succeeds it calls {@link #release(long)}, which deletes the older segments. Records that land in the
+ * newer segment are kept until the next flush, so nothing written after the checkpoint is ever dropped.
+ * Spawners the flush skipped because they were locked are {@linkplain #carryOver carried over} first.
+ * The backend stores the checkpoint together with the flushed changes, so after a crash between that
+ * write and the release, recovery knows the older segments are already in storage.
+ * <p>
+ * On startup {@link #recover} folds the segments past the stored checkpoint into the latest record per
+ * spawner and hands them to the backend, which writes them before any spawner is loaded. The record
+ * format is described in {@link SpawnerJournalFormat}.
+ */
+public class SpawnerJournal {
+    private final SmartSpawner plugin;
+    private final Path directory;
+    private final boolean enabled;
+    private final long commitIntervalNanos;
+
+    // spawner ID -> true when deleted; replaced wholesale on every commit
+    private final Object pendingLock = new Object();
+    private Map<String, Boolean> pending = new LinkedHashMap<>();
+
+    // Guards the channel and segment number; held for a whole commit so commits never interleave
+    private final Object fileLock = new Object();
+    private FileChannel channel;
+    private long segment;
+    // Last state journaled per spawner in the current segment, the base of its next patch record;
+    // null for a spawner deleted in this segment
+    private final Map<String, SpawnerSnapshot> journaled = new HashMap<>();
+
+    private volatile Thread writer;
+    private volatile boolean running;
+
+    public SpawnerJournal(SmartSpawner plugin) {
+        this.plugin = plugin;
+        this.directory = plugin.getDataFolder().toPath().resolve("journal");
+        this.enabled = plugin.getConfig().getBoolean("database.journal.enabled", true);
+        long intervalMillis = Math.max(10L, plugin.getConfig().getLong("database.journal.commit_interval_ms", 1000L));
+        this.commitIntervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    public void recordModified(String spawnerId) {
+        record(spawnerId, false);
+    }
+
+    public void recordDeleted(String spawnerId) {
+        record(spawnerId, true);
+    }
+
+    private void record(String spawnerId, boolean deleted) {
+        if (!running || spawnerId == null) return;
+        synchronized (pendingLock) {
+            pending.put(spawnerId, deleted);
+        }
+    }
+
+    // Retries a locked spawner with the next commit, unless it was deleted in the meantime
+    private void retry(String spawnerId) {
+        synchronized (pendingLock) {
+            pending.putIfAbsent(spawnerId, false);
+        }
+    }
+
+    // ── Recovery ─────────────────────────────────────────────────────────────
+
+    /**
+     * Replays journaled records left by a previous run, then starts journaling.
+     *
+     * @param flushedCheckpoint the last checkpoint the storage recorded with a successful flush, 0 if none;
+     *                          segments older than it are already in storage and are not replayed
+     * @param apply writes the recovered state (spawner ID to snapshot, null for a deletion) to storage
+     *              and returns whether it succeeded. On failure the segments are kept as {@code .failed}
+     *              files for manual recovery instead of being replayed again over newer data.
+     */
+    public void recover(long flushedCheckpoint, Predicate<Map<String, SpawnerSnapshot>> apply) {
+        List<Path> segments = listSegments();
+        if (!segments.isEmpty()) {
+            Map<String, SpawnerSnapshot> recovered = new LinkedHashMap<>();
+            for (Path path : replayable(segments, flushedCheckpoint)) {
+                readSegment(path, recovered);
+            }
+
+            boolean applied = recovered.isEmpty() || apply.test(recovered);
+            if (!recovered.isEmpty()) {
+                if (applied) {
+                    plugin.getLogger().info("Recovered " + recovered.size() + " spawner changes from the storage journal.");
+                } else {
+                    plugin.getLogger().severe("Failed to replay the storage journal; keeping it as .failed files in "
+                            + directory + ".");
+                }
+            }
+            for (Path path : segments) {
+                try {
+                    if (applied) {
+                        Files.deleteIfExists(path);
+                    } else {
+                        Files.move(path, path.resolveSibling(path.getFileName() + ".failed"),
+                                StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } catch (IOException e) {
+                    plugin.getLogger().log(Level.WARNING, "Could not clean up journal segment " + path, e);
+                }
+            }
+            segment = segmentNumber(segments.getLast());
+        }
+        // New segments are numbered past the stored checkpoint, so it never covers one of them
+        segment = Math.max(segment, flushedCheckpoint);
+
+        if (enabled) {
+            start();
+        }
+    }
+
+    private void readSegment(Path path, Map<String, SpawnerSnapshot> recovered) {
+        SpawnerJournalFormat.SegmentEnd end;
+        try (InputStream in = Files.newInputStream(path)) {
+            end = SpawnerJournalFormat.readSegment(in, recovered);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not read journal segment " + path, e);
+            return;
+        }
+        switch (end) {
+            case COMPLETE -> { }
+            case UNKNOWN_FORMAT ->
+                    plugin.getLogger().warning("Skipping journal segment with unknown format: " + path.getFileName());
+            case CORRUPT_RECORD ->
+                    plugin.getLogger().warning("Corrupt record in journal segment " + path.getFileName() + ", ignoring the rest");
+            case CHECKSUM_MISMATCH ->
+                    plugin.getLogger().warning("Checksum mismatch in journal segment " + path.getFileName() + ", ignoring the rest");
+            case PARTIAL_RECORD ->
+                    plugin.debug("Journal segment " + path.getFileName() + " ends in a partial record");
+        }
+    }
+
+    // ── Segments ─────────────────────────────────────────────────────────────
+
+    private void start() {
+        synchronized (fileLock) {
+            try {
+                Files.createDirectories(directory);
+                openSegment(segment + 1);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Could not open the storage journal; crash protection is disabled", e);
+                return;
+            }
+        }
+        running = true;
+        Thread thread = new Thread(this::runWriter, "SmartSpawner-Journal");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    private void openSegment(long number) throws IOException {
+        FileChannel next = FileChannel.open(segmentPath(directory, number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        next.write(ByteBuffer.allocate(4).putInt(0, MAGIC));
+        next.force(false);
+        FileChannel previous = channel;
+        channel = next;
+        segment = number;
+        // Every segment starts with full records, so it can be replayed without the ones before it
+        journaled.clear();
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Starts a new segment. Call right before a flush takes its dirty set.
+     *
+     * @return the token to pass to {@link #release(long)} once that flush succeeded. Backends store it
+     *         in the same write as the flushed changes and pass it to {@link #recover} on startup.
+     */
+    public long checkpoint() {
+        synchronized (fileLock) {
+            if (channel == null) return segment;
+            try {
+                openSegment(segment + 1);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not rotate the storage journal", e);
+            }
+            return segment;
+        }
+    }
+
+    /**
+     * Copies the journaled state of spawners a flush could not write because they were locked from the
+     * segments older than the checkpoint into the current one, so one busy spawner does not hold back
+     * the release of everything else. Call before the flush stores its changes and the checkpoint.
+     *
+     * @return true if the older segments hold nothing that still has to be kept; otherwise the flush
+     *         must neither store nor release the checkpoint, and the next successful flush releases them
+     */
+    public boolean carryOver(long checkpoint, Collection<String> unwritten) {
+        if (unwritten.isEmpty()) return true;
+        List<Path> older = olderSegments(checkpoint);
+        if (older.isEmpty()) return true;
+
+        Map<String, SpawnerSnapshot> folded = new LinkedHashMap<>();
+        for (Path path : older) {
+            readSegment(path, folded);
+        }
+        return appendCarried(folded, unwritten);
+    }
+
+    /**
+     * Deletes every segment older than the checkpoint, whose changes are now in storage.
+     */
+    public void release(long checkpoint) {
+        for (Path path : olderSegments(checkpoint)) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not delete journal segment " + path, e);
+            }
+        }
+    }
+
+    private List<Path> olderSegments(long checkpoint) {
+        return listSegments().stream()
+                .filter(path -> segmentNumber(path) < checkpoint)
+                .toList();
+    }
+
+    /**
+     * Appends the older state of the given spawners to the current segment, skipping spawners the
+     * current segment already has a newer record for.
+     * @return true if everything needed was written and synced
+     */
+    private boolean appendCarried(Map<String, SpawnerSnapshot> folded, Collection<String> spawnerIds) {
+        synchronized (fileLock) {
+            if (channel == null) return false;
+
+            try {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                for (String spawnerId : spawnerIds) {
+                    if (!folded.containsKey(spawnerId) || journaled.containsKey(spawnerId)) continue;
+                    SpawnerSnapshot snapshot = folded.get(spawnerId);
+                    appendRecord(buffer, snapshot != null ? encodeUpsert(snapshot) : encodeDelete(spawnerId));
+                    journaled.put(spawnerId, snapshot);
+                }
+                if (buffer.size() == 0) return true;
+
+                ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(false);
+                return true;
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not carry locked spawners over to the new journal segment", e);
+                journaled.clear();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Stops the writer after a final commit. When {@code flushed} is true the storage has just been
+     * fully written, so the journal is deleted; otherwise it stays for the next startup.
+     */
+    public void shutdown(boolean flushed) {
+        if (!running) return;
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (fileLock) {
+            try {
+                if (channel != null) {
+                    channel.close();
+                    channel = null;
+                }
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not close the storage journal", e);
+            }
+        }
+        if (flushed) {
+            release(Long.MAX_VALUE);
+        }
+    }
+
+    private List<Path> listSegments() {
+        try {
+            return SpawnerJournalFormat.listSegments(directory);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not list journal segments in " + directory, e);
+            return List.of();
+        }
+    }
+
+    // ── Group commit ─────────────────────────────────────────────────────────
+
+    private void runWriter() {
+        while (running) {
+            LockSupport.parkNanos(this, commitIntervalNanos);
+            commit();
+        }
+        commit();
+    }
+
+    private void commit() {
+        synchronized (fileLock) {
+            Map<String, Boolean> batch;
+            synchronized (pendingLock) {
+                if (pending.isEmpty()) return;
+                batch = pending;
+                pending = new LinkedHashMap<>();
+            }
+            if (channel == null) return;
+
+            PerfMonitor perf = plugin.getPerfMonitor();
+            long start = perf.start();
+            SpawnerManager spawnerManager = plugin.getSpawnerManager();
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(batch.size() * 256);
+            int written = 0;
+            for (Map.Entry<String, Boolean> entry : batch.entrySet()) {
+                try {
+                    if (entry.getValue()) {
+                        appendRecord(buffer, encodeDelete(entry.getKey()));
+                        journaled.put(entry.getKey(), null);
+                    } else {
+                        SpawnerData spawner = spawnerManager != null ? spawnerManager.getSpawnerById(entry.getKey()) : null;
+                        if (spawner == null) continue;
+                        SpawnerSnapshot previous = journaled.get(entry.getKey());
+                        // Already journaled at this version, e.g. marked again by a change that an earlier commit captured
+                        if (previous != null && previous.version() == spawner.getDataVersion()) continue;
+                        SpawnerSnapshot snapshot = SpawnerSnapshot.capture(spawner, previous);
+                        if (snapshot == null) {
+                            // Locked for now; journal it with the next commit
+                            retry(entry.getKey());
+                            continue;
+                        }
+                        journaled.put(entry.getKey(), snapshot);
+                        byte[] payload = previous != null ? encodePatch(previous, snapshot) : encodeUpsert(snapshot);
+                        if (payload == null) continue;
+                        appendRecord(buffer, payload);
+                    }
+                    written++;
+                } catch (Exception e) {
+                    plugin.debug("Could not journal spawner " + entry.getKey() + ": " + e.getMessage());
+                }
+            }
+
+            try {
+                ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not write " + written + " records to the storage journal", e);
+                // The bases of later patches may not have reached the file; write full records again
+                journaled.clear();
+            } finally {
+                perf.stop(PerfMetric.JOURNAL_COMMIT, start);
+                perf.record(PerfMetric.JOURNAL_COMMIT_BATCH, written);
+            }
+        }
+    }
+}
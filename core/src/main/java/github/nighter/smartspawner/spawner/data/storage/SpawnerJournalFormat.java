@@ -0,0 +1,329 @@
+package github.nighter.smartspawner.spawner.data.storage;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk format of {@link SpawnerJournal} segments: file naming, record framing and the
+ * encoding of spawner states.
+ * <p>
+ * A segment starts with {@link #MAGIC} followed by records of {@code int length, int crc32, payload}.
+ * A payload is an upsert (the full state of a spawner), a patch (the fields that changed since the
+ * spawner's previous record in the same segment, and the inventory entries removed and added) or a
+ * delete. Folding a segment's records in order yields the last journaled state of every spawner in it.
+ */
+final class SpawnerJournalFormat {
+    static final int MAGIC = 0x53534A31; // "SSJ1"
+    static final byte OP_UPSERT = 1;
+    static final byte OP_DELETE = 2;
+    static final byte OP_PATCH = 3;
+
+    // Types of the scalar fields after the spawner ID, in record order (S string, I int, L long, B boolean)
+    private static final String FIELD_TYPES = "SIIISSLBIBLILIIIILBSSS";
+    private static final int MAX_RECORD_LENGTH = 64 * 1024 * 1024;
+    private static final String SEGMENT_PREFIX = "spawners-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    /**
+     * How reading a segment ended. Anything but {@link #COMPLETE} means the rest of the segment was
+     * ignored, since everything after a bad record was written later and cannot be trusted either.
+     */
+    enum SegmentEnd {
+        COMPLETE,
+        UNKNOWN_FORMAT,
+        CORRUPT_RECORD,
+        CHECKSUM_MISMATCH,
+        // Torn tail from a crash mid-write; everything before it was read
+        PARTIAL_RECORD
+    }
+
+    private SpawnerJournalFormat() {
+    }
+
+    // ── Segments ─────────────────────────────────────────────────────────────
+
+    static Path segmentPath(Path directory, long number) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%012d", number) + SEGMENT_SUFFIX);
+    }
+
+    static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * @return the segment files in the directory, oldest first
+     */
+    static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) return List.of();
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted((a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)))
+                    .toList();
+        }
+    }
+
+    /**
+     * @param flushedCheckpoint the checkpoint storage recorded with its last successful flush, 0 if none
+     * @return the segments whose changes may be missing from storage. Older ones were left by a crash
+     *         between a flush and its release, and replaying them would put older states over the ones
+     *         that flush saved.
+     */
+    static List<Path> replayable(List<Path> segments, long flushedCheckpoint) {
+        return segments.stream()
+                .filter(path -> segmentNumber(path) >= flushedCheckpoint)
+                .toList();
+    }
+
+    /**
+     * Folds the records of one segment into {@code recovered}: spawner ID to its latest state, null
+     * when it was deleted, ordered by the spawner's latest record.
+     */
+    static SegmentEnd readSegment(InputStream in, Map<String, SpawnerSnapshot> recovered) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        try {
+            if (data.readInt() != MAGIC) {
+                return SegmentEnd.UNKNOWN_FORMAT;
+            }
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                try {
+                    length = data.readInt();
+                } catch (EOFException e) {
+                    return SegmentEnd.COMPLETE;
+                }
+                int checksum = data.readInt();
+                if (length <= 0 || length > MAX_RECORD_LENGTH) {
+                    return SegmentEnd.CORRUPT_RECORD;
+                }
+                byte[] payload = new byte[length];
+                data.readFully(payload);
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    return SegmentEnd.CHECKSUM_MISMATCH;
+                }
+                decode(payload, recovered);
+            }
+        } catch (EOFException e) {
+            return SegmentEnd.PARTIAL_RECORD;
+        }
+    }
+
+    static void appendRecord(ByteArrayOutputStream buffer, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeInt(payload.length);
+        out.writeInt((int) crc.getValue());
+        out.write(payload);
+    }
+
+    // ── Encoding ─────────────────────────────────────────────────────────────
+
+    static byte[] encodeDelete(String spawnerId) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(OP_DELETE);
+        writeString(out, spawnerId);
+        return bytes.toByteArray();
+    }
+
+    static byte[] encodeUpsert(SpawnerSnapshot s) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(OP_UPSERT);
+        writeString(out, s.spawnerId());
+        Object[] fields = fields(s);
+        for (int i = 0; i < fields.length; i++) {
+            writeField(out, FIELD_TYPES.charAt(i), fields[i]);
+        }
+        writeStrings(out, s.inventory());
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return a record holding only what changed between two states of a spawner, or null if nothing did
+     */
+    static byte[] encodePatch(SpawnerSnapshot before, SpawnerSnapshot after) throws IOException {
+        Object[] oldFields = fields(before);
+        Object[] newFields = fields(after);
+        int mask = 0;
+        for (int i = 0; i < newFields.length; i++) {
+            if (!Objects.equals(oldFields[i], newFields[i])) {
+                mask |= 1 << i;
+            }
+        }
+        List<String> removed = List.of();
+        List<String> added = List.of();
+        // A snapshot that kept its predecessor's inventory shares the same list
+        if (before.inventory() != after.inventory()) {
+            // Inventory entries are one per material, so a changed amount shows up as one removed and one added entry
+            removed = new ArrayList<>(before.inventory());
+            removed.removeAll(after.inventory());
+            added = new ArrayList<>(after.inventory());
+            added.removeAll(before.inventory());
+        }
+        if (mask == 0 && removed.isEmpty() && added.isEmpty()) {
+            return null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(OP_PATCH);
+        writeString(out, after.spawnerId());
+        out.writeInt(mask);
+        for (int i = 0; i < newFields.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                writeField(out, FIELD_TYPES.charAt(i), newFields[i]);
+            }
+        }
+        writeStrings(out, removed);
+        writeStrings(out, added);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Applies one record to {@code recovered}, re-inserting the spawner so iteration order follows
+     * the latest record.
+     */
+    static void decode(byte[] payload, Map<String, SpawnerSnapshot> recovered) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = in.readByte();
+        String spawnerId = readString(in);
+        switch (op) {
+            case OP_DELETE -> {
+                recovered.remove(spawnerId);
+                recovered.put(spawnerId, null);
+            }
+            case OP_UPSERT -> {
+                Object[] fields = new Object[FIELD_TYPES.length()];
+                for (int i = 0; i < fields.length; i++) {
+                    fields[i] = readField(in, FIELD_TYPES.charAt(i));
+                }
+                recovered.remove(spawnerId);
+                recovered.put(spawnerId, snapshot(spawnerId, fields, readStrings(in)));
+            }
+            case OP_PATCH -> {
+                SpawnerSnapshot base = recovered.get(spawnerId);
+                if (base == null) {
+                    // A patch always follows its spawner's full record in the same segment
+                    return;
+                }
+                Object[] fields = fields(base);
+                int mask = in.readInt();
+                for (int i = 0; i < fields.length; i++) {
+                    if ((mask & (1 << i)) != 0) {
+                        fields[i] = readField(in, FIELD_TYPES.charAt(i));
+                    }
+                }
+                List<String> inventory = new ArrayList<>(base.inventory());
+                inventory.removeAll(readStrings(in));
+                inventory.addAll(readStrings(in));
+
+                recovered.remove(spawnerId);
+                recovered.put(spawnerId, snapshot(spawnerId, fields, inventory));
+            }
+            default -> throw new IOException("Unknown journal operation " + op);
+        }
+    }
+
+    // Scalar fields in record order, matching FIELD_TYPES
+    private static Object[] fields(SpawnerSnapshot s) {
+        return new Object[]{
+                s.worldName(), s.x(), s.y(), s.z(), s.entityType(), s.itemSpawnerMaterial(),
+                s.spawnerExp(), s.spawnerActive(), s.spawnerRange(), s.spawnerStop(), s.spawnDelay(),
+                s.maxSpawnerLootSlots(), s.maxStoredExp(), s.minMobs(), s.maxMobs(), s.stackSize(),
+                s.maxStackSize(), s.lastSpawnTime(), s.atCapacity(),
+                s.lastInteractedPlayer(), s.preferredSortItem(), s.filteredItems()
+        };
+    }
+
+    private static SpawnerSnapshot snapshot(String spawnerId, Object[] fields, List<String> inventory) {
+        return new SpawnerSnapshot(spawnerId,
+                (String) fields[0], (int) fields[1], (int) fields[2], (int) fields[3],
+                (String) fields[4], (String) fields[5], (long) fields[6], (boolean) fields[7],
+                (int) fields[8], (boolean) fields[9], (long) fields[10], (int) fields[11],
+                (long) fields[12], (int) fields[13], (int) fields[14], (int) fields[15],
+                (int) fields[16], (long) fields[17], (boolean) fields[18],
+                (String) fields[19], (String) fields[20], (String) fields[21],
+                List.copyOf(inventory), 0L, 0L);
+    }
+
+    private static void writeField(DataOutputStream out, char type, Object value) throws IOException {
+        switch (type) {
+            case 'S' -> writeString(out, (String) value);
+            case 'I' -> out.writeInt((int) value);
+            case 'L' -> out.writeLong((long) value);
+            case 'B' -> out.writeBoolean((boolean) value);
+            default -> throw new IllegalStateException("Unknown field type " + type);
+        }
+    }
+
+    private static Object readField(DataInputStream in, char type) throws IOException {
+        return switch (type) {
+            case 'S' -> readString(in);
+            case 'I' -> in.readInt();
+            case 'L' -> in.readLong();
+            case 'B' -> in.readBoolean();
+            default -> throw new IOException("Unknown field type " + type);
+        };
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,193 @@
+package github.nighter.smartspawner.spawner.data.storage;
+
+import github.nighter.smartspawner.spawner.data.SpawnerManager;
+import github.nighter.smartspawner.spawner.properties.ItemSignature;
+import github.nighter.smartspawner.spawner.properties.SpawnerData;
+import github.nighter.smartspawner.spawner.properties.VirtualInventory;
+import github.nighter.smartspawner.spawner.utils.ItemStackSerializer;
+import org.bukkit.Location;
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * The persisted fields of one spawner, detached from the live {@link SpawnerData}.
+ * <p>
+ * Storage backends write spawners from snapshots, and {@link SpawnerJournal} records and
+ * replays them, so both always agree on what a saved spawner consists of.
+ * <p>
+ * {@link #capture(SpawnerData)} copies the fields and the inventory contents while holding the
+ * spawner's data and inventory locks, so a snapshot never mixes values from before and after a
+ * change such as a stack size update. Serializing the inventory happens after the locks are released.
+ *
+ * @param filteredItems  comma-separated material names, or null when nothing is filtered
+ * @param inventory      {@link ItemStackSerializer} entries, empty when the storage is empty
+ * @param version        the spawner's storage version when the snapshot was taken, 0 for replayed snapshots
+ * @param inventoryStamp the storage's {@link VirtualInventory#getContentStamp() content stamp} the inventory
+ *                       was copied at, 0 for replayed snapshots
+ */
+public record SpawnerSnapshot(
+        String spawnerId,
+        String worldName, int x, int y, int z,
+        String entityType, String itemSpawnerMaterial,
+        long spawnerExp, boolean spawnerActive, int spawnerRange, boolean spawnerStop,
+        long spawnDelay, int maxSpawnerLootSlots, long maxStoredExp,
+        int minMobs, int maxMobs, int stackSize, int maxStackSize,
+        long lastSpawnTime, boolean atCapacity,
+        String lastInteractedPlayer, String preferredSortItem, String filteredItems,
+        List<String> inventory, long version, long inventoryStamp) {
+
+    private static final long LOCK_TIMEOUT_MILLIS = 50L;
+
+    /**
+     * Takes a consistent snapshot of a live spawner.
+     * @return the snapshot, or null if the spawner stayed locked for too long; the caller should retry later
+     */
+    public static SpawnerSnapshot capture(SpawnerData spawner) {
+        return capture(spawner, null);
+    }
+
+    /**
+     * Like {@link #capture(SpawnerData)}, but keeps the inventory of {@code previous} when the storage
+     * has not changed since it was taken, so the items are neither copied nor serialized again.
+     * @param previous an earlier snapshot of the same spawner, or null
+     */
+    public static SpawnerSnapshot capture(SpawnerData spawner, SpawnerSnapshot previous) {
+        ReentrantLock dataLock = spawner.getDataLock();
+        ReentrantLock inventoryLock = spawner.getInventoryLock();
+        SpawnerSnapshot fields;
+        Map<ItemSignature, Long> items;
+        try {
+            // Same order as SpawnerData#setStackSize to avoid deadlocks
+            if (!dataLock.tryLock(LOCK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+            try {
+                if (!inventoryLock.tryLock(LOCK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return null;
+                }
+                try {
+                    VirtualInventory virtualInv = spawner.getVirtualInventory();
+                    long stamp = virtualInv != null ? virtualInv.getContentStamp() : 0L;
+                    if (stamp != 0L && previous != null && previous.inventoryStamp() == stamp) {
+                        items = null;
+                    } else {
+                        items = virtualInv != null ? virtualInv.getConsolidatedItems() : Collections.emptyMap();
+                    }
+                    fields = fieldsOf(spawner, stamp);
+                } finally {
+                    inventoryLock.unlock();
+                }
+            } finally {
+                dataLock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+
+        if (items == null) {
+            return fields.withInventory(previous.inventory());
+        }
+        return items.isEmpty() ? fields : fields.withInventory(ItemStackSerializer.serializeInventory(items));
+    }
+
+    /**
+     * Captures the given spawners that changed since their last write. Spawners that no longer exist
+     * or whose current version is already in storage are left out.
+     * @param busy receives the IDs of spawners that stayed locked and have to be retried
+     */
+    public static List<SpawnerSnapshot> captureChanged(SpawnerManager spawnerManager,
+                                                       Collection<String> spawnerIds, Collection<String> busy) {
+        List<SpawnerSnapshot> snapshots = new ArrayList<>(spawnerIds.size());
+        for (String id : spawnerIds) {
+            SpawnerData spawner = spawnerManager.getSpawnerById(id);
+            if (spawner == null || spawner.getDataVersion() == spawner.getPersistedVersion()) continue;
+
+            SpawnerSnapshot snapshot = capture(spawner);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            } else {
+                busy.add(id);
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Records that these snapshots reached storage, so spawners unchanged since are skipped next time.
+     */
+    public static void markPersisted(SpawnerManager spawnerManager, Collection<SpawnerSnapshot> snapshots) {
+        for (SpawnerSnapshot snapshot : snapshots) {
+            SpawnerData spawner = spawnerManager.getSpawnerById(snapshot.spawnerId());
+            if (spawner != null && snapshot.version() > spawner.getPersistedVersion()) {
+                spawner.setPersistedVersion(snapshot.version());
+            }
+        }
+    }
+
+    private static SpawnerSnapshot fieldsOf(SpawnerData spawner, long inventoryStamp) {
+        Location loc = spawner.getSpawnerLocation();
+        Set<Material> filtered = spawner.getFilteredItems();
+
+        return new SpawnerSnapshot(
+                spawner.getSpawnerId(),
+                loc.getWorld().getName(), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ(),
+                spawner.getEntityType() != null ? spawner.getEntityType().name() : null,
+                spawner.isItemSpawner() ? spawner.getSpawnedItemMaterial().name() : null,
+                Math.max(0L, spawner.getSpawnerExp()),
+                spawner.getSpawnerActive(),
+                spawner.getSpawnerRange(),
+                spawner.getSpawnerStop().get(),
+                spawner.getSpawnDelay(),
+                spawner.getMaxSpawnerLootSlots(),
+                spawner.getMaxStoredExp(),
+                spawner.getMinMobs(),
+                spawner.getMaxMobs(),
+                spawner.getStackSize(),
+                spawner.getMaxStackSize(),
+                spawner.getLastSpawnTime(),
+                spawner.getIsAtCapacity(),
+                spawner.getLastInteractedPlayer(),
+                spawner.getPreferredSortItem() != null ? spawner.getPreferredSortItem().name() : null,
+                filtered.isEmpty() ? null
+                        : filtered.stream().map(Material::name).collect(Collectors.joining(",")),
+                Collections.emptyList(),
+                spawner.getDataVersion(),
+                inventoryStamp);
+    }
+
+    private SpawnerSnapshot withInventory(List<String> items) {
+        return new SpawnerSnapshot(spawnerId, worldName, x, y, z, entityType, itemSpawnerMaterial,
+                spawnerExp, spawnerActive, spawnerRange, spawnerStop, spawnDelay, maxSpawnerLootSlots, maxStoredExp,
+                minMobs, maxMobs, stackSize, maxStackSize, lastSpawnTime, atCapacity,
+                lastInteractedPlayer, preferredSortItem, filteredItems, List.copyOf(items), version, inventoryStamp);
+    }
+
+    /**
+     * @return a rough size of this spawner's stored form in bytes, used to pace storage flushes
+     */
+    public long estimatedSize() {
+        long size = 160 + spawnerId.length() + worldName.length();
+        if (filteredItems != null) size += filteredItems.length();
+        for (String item : inventory) {
+            size += item.length() + 4;
+        }
+        return size;
+    }
+
+    /**
+     * @return the location in the {@code world,x,y,z} form used by YAML storage and WorldEventHandler
+     */
+    public String locationString() {
+        return String.format("%s,%d,%d,%d", worldName, x, y, z);
+    }
+}
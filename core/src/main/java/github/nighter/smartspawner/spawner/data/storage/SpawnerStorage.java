@@ -61,6 +61,20 @@ public interface SpawnerStorage {
      */
     void flushChanges();
 
+    /**
+     * Ask for pending changes to be flushed soon.
+     * Unlike {@link #flushChanges()} this may wait for a quieter tick, and repeated
+     * requests are served by a single flush.
+     */
+    void requestFlush();
+
+    /**
+     * Replay spawner changes journaled by a previous run that did not shut down cleanly,
+     * then start journaling new changes.
+     * Called once after initialization and migrations, before any spawner is loaded.
+     */
+    void recoverJournal();
+
     /**
      * Get the raw location string for a spawner.
      * Used by WorldEventHandler for pending spawner loading.
@@ -0,0 +1,153 @@
+package github.nighter.smartspawner.spawner.data.storage;
+
+import github.nighter.smartspawner.Scheduler;
+import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.perf.PerfMetric;
+import github.nighter.smartspawner.perf.PerfMonitor;
+import org.bukkit.Bukkit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+
+/**
+ * Decides when a storage backend flushes, replacing a fixed save interval.
+ * <p>
+ * Checked once per second, a flush starts when any of these holds:
+ * <ul>
+ *   <li>the number of pending spawner changes reaches {@code database.flush.max_pending_spawners}</li>
+ *   <li>their estimated size reaches {@code database.flush.max_pending_kb}</li>
+ *   <li>the oldest pending change is older than {@code database.flush.max_age}</li>
+ *   <li>a flush was {@linkplain #requestFlush() requested}, e.g. by a world save</li>
+ * </ul>
+ * Flushes are at least {@code min_interval} apart, so repeated requests (one per saved world) coalesce
+ * into one flush. While the server's MSPT is above {@code defer_above_mspt} a due flush waits, for at
+ * most {@code max_deferral}.
+ * <p>
+ * The size estimate is the pending count times the average record size of recent flushes, which the
+ * backend reports through {@link #recordFlushed(int, long)}. The flush callback returns false when the
+ * backend could not start a flush (one is still running); the due state is then kept and retried.
+ */
+public class StorageFlushScheduler {
+    private static final long CHECK_INTERVAL_TICKS = 20L;
+    private static final long DEFAULT_RECORD_BYTES = 512L;
+
+    private final SmartSpawner plugin;
+    private final BooleanSupplier flush;
+    private final IntSupplier pendingChanges;
+
+    private final int maxPendingSpawners;
+    private final long maxPendingBytes;
+    private final long maxAgeNanos;
+    private final long minIntervalNanos;
+    private final double deferAboveMspt;
+    private final long maxDeferralNanos;
+
+    private Scheduler.Task checkTask;
+    private volatile boolean flushRequested;
+    private volatile long averageRecordBytes = DEFAULT_RECORD_BYTES;
+    private long oldestPendingNanos;
+    private long lastFlushNanos = System.nanoTime();
+    private long deferredSinceNanos;
+
+    public StorageFlushScheduler(SmartSpawner plugin, BooleanSupplier flush, IntSupplier pendingChanges) {
+        this.plugin = plugin;
+        this.flush = flush;
+        this.pendingChanges = pendingChanges;
+
+        this.maxPendingSpawners = Math.max(1, plugin.getConfig().getInt("database.flush.max_pending_spawners", 5000));
+        this.maxPendingBytes = Math.max(1L, plugin.getConfig().getLong("database.flush.max_pending_kb", 4096L)) * 1024L;
+        this.maxAgeNanos = ticksToNanos(Math.max(20L, plugin.getTimeFromConfig("database.flush.max_age", "5m")));
+        this.minIntervalNanos = ticksToNanos(Math.max(0L, plugin.getTimeFromConfig("database.flush.min_interval", "1m")));
+        this.deferAboveMspt = plugin.getConfig().getDouble("database.flush.defer_above_mspt", 45.0);
+        this.maxDeferralNanos = ticksToNanos(Math.max(0L, plugin.getTimeFromConfig("database.flush.max_deferral", "2m")));
+    }
+
+    public void start() {
+        stop();
+        checkTask = Scheduler.runTaskTimer(this::check, CHECK_INTERVAL_TICKS, CHECK_INTERVAL_TICKS);
+    }
+
+    public void stop() {
+        if (checkTask != null) {
+            checkTask.cancel();
+            checkTask = null;
+        }
+    }
+
+    /**
+     * Asks for a flush at the next check. Requests made before that check are served by one flush.
+     */
+    public void requestFlush() {
+        flushRequested = true;
+    }
+
+    /**
+     * Reports what a flush wrote, to keep the pending size estimate close to the real record size.
+     */
+    public void recordFlushed(int records, long bytes) {
+        if (records <= 0) return;
+        long sample = bytes / records;
+        // Moving average weighted towards recent flushes
+        averageRecordBytes = Math.max(1L, (averageRecordBytes * 3 + sample) / 4);
+    }
+
+    private void check() {
+        long now = System.nanoTime();
+        int pending = pendingChanges.getAsInt();
+        long pendingBytes = pending * averageRecordBytes;
+
+        PerfMonitor perf = plugin.getPerfMonitor();
+        perf.set(PerfMetric.STORAGE_PENDING_SPAWNERS, pending);
+        perf.set(PerfMetric.STORAGE_PENDING_BYTES, pendingBytes);
+
+        if (pending == 0) {
+            oldestPendingNanos = 0L;
+            deferredSinceNanos = 0L;
+            flushRequested = false;
+            return;
+        }
+        if (oldestPendingNanos == 0L) {
+            oldestPendingNanos = now;
+        }
+
+        boolean due = flushRequested
+                || pending >= maxPendingSpawners
+                || pendingBytes >= maxPendingBytes
+                || now - oldestPendingNanos >= maxAgeNanos;
+        if (!due || now - lastFlushNanos < minIntervalNanos) return;
+
+        if (averageTickMillis() > deferAboveMspt) {
+            if (deferredSinceNanos == 0L) {
+                deferredSinceNanos = now;
+                perf.increment(PerfMetric.STORAGE_FLUSH_DEFERRED);
+                plugin.debug("Deferring storage flush of " + pending + " spawners while MSPT is high");
+            }
+            if (now - deferredSinceNanos < maxDeferralNanos) return;
+        }
+
+        boolean requested = flushRequested;
+        flushRequested = false;
+        if (!flush.getAsBoolean()) {
+            // The backend is still busy with the previous flush; try again at the next check
+            flushRequested |= requested;
+            return;
+        }
+        deferredSinceNanos = 0L;
+        oldestPendingNanos = 0L;
+        lastFlushNanos = now;
+    }
+
+    private static double averageTickMillis() {
+        try {
+            return Bukkit.getAverageTickTime();
+        } catch (UnsupportedOperationException e) {
+            // Folia has no single server tick; never defer there
+            return 0.0;
+        }
+    }
+
+    private static long ticksToNanos(long ticks) {
+        return TimeUnit.MILLISECONDS.toNanos(ticks * 50L);
+    }
+}
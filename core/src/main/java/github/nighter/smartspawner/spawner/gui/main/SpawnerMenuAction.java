@@ -286,6 +286,8 @@ public class SpawnerMenuAction implements Listener {
      * Returns {@code true} if XP was successfully collected.
      */
     public boolean collectExpForPlayer(Player player, SpawnerData spawner) {
+        // Accrual mode: the exp of the idle period is part of what the player claims
+        plugin.getSpawnerLootGenerator().settleAccruedLoot(spawner, true);
         long exp = spawner.getSpawnerExp();
         if (exp <= 0) {
             messageService.sendMessage(player, "no_exp");
@@ -334,6 +336,8 @@ public class SpawnerMenuAction implements Listener {
             return;
         }
 
+        // Accrual mode: the exp of the idle period is part of what the player claims
+        plugin.getSpawnerLootGenerator().settleAccruedLoot(spawner, true);
         long exp = spawner.getSpawnerExp();
 
         if (exp <= 0 && !isSell) {
@@ -100,6 +100,8 @@ public class SpawnerMenuUI {
     }
 
     public void openSpawnerMenu(Player player, SpawnerData spawner, boolean refresh) {
+        plugin.getSpawnerLootGenerator().settleAccruedLoot(spawner);
+
         if(SpawnerOpenGUIEvent.getHandlerList().getRegisteredListeners().length != 0) {
             SpawnerOpenGUIEvent openEvent = new SpawnerOpenGUIEvent(
                     player,
@@ -10,12 +10,11 @@ import github.nighter.smartspawner.language.LanguageManager;
 import github.nighter.smartspawner.language.MessageService;
 import github.nighter.smartspawner.Scheduler;
 import github.nighter.smartspawner.spawner.utils.SpawnerLocationLockManager;
-import github.nighter.smartspawner.spawner.utils.SpawnerTypeChecker;
+import github.nighter.smartspawner.spawner.utils.SpawnerItemFingerprint;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Sound;
-import org.bukkit.block.CreatureSpawner;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -28,7 +27,6 @@ import org.bukkit.event.inventory.InventoryOpenEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.BlockStateMeta;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.*;
@@ -64,9 +62,6 @@ public class SpawnerStackerHandler implements Listener {
     private final Map<String, Set<UUID>> activeViewers = new ConcurrentHashMap<>(16, 0.75f, 2);
     private final Map<UUID, AtomicBoolean> updateLocks = new ConcurrentHashMap<>(16, 0.75f, 2);
 
-    // Cache for entity type extraction - avoids repeated metadata checks
-    private final Map<ItemStack, Optional<EntityType>> entityTypeCache = new WeakHashMap<>();
-
     // Click cooldown in milliseconds
     private static final long CLICK_COOLDOWN = 200L;
 
@@ -91,11 +86,6 @@ public class SpawnerStackerHandler implements Listener {
             long now = System.currentTimeMillis();
             lastClickTime.entrySet().removeIf(entry -> now - entry.getValue() > 5000);
             updateLocks.entrySet().removeIf(entry -> !lastClickTime.containsKey(entry.getKey()));
-
-            // Clear entity type cache occasionally to prevent memory leaks
-            if (entityTypeCache.size() > 100) {
-                entityTypeCache.clear();
-            }
         }, 200L, 200L); // Increased from 100L to 200L
     }
 
@@ -262,7 +252,6 @@ public class SpawnerStackerHandler implements Listener {
         lastClickTime.clear();
         updateLocks.clear();
         activeViewers.clear();
-        entityTypeCache.clear();
     }
 
     private void removeViewer(String spawnerId, UUID playerId) {
@@ -587,6 +576,10 @@ public class SpawnerStackerHandler implements Listener {
     private int countAvailableSpawnerCapacity(Player player, SpawnerData spawner) {
         final int MAX_STACK_SIZE = 64;
         int capacity = 0;
+        // Item spawners use a separate give method; empty slots cover them
+        int required = spawner.isItemSpawner()
+                ? SpawnerItemFingerprint.NONE
+                : SpawnerItemFingerprint.smart(spawner.getEntityType());
         ItemStack[] contents = player.getInventory().getContents();
 
         for (int i = 0; i < 36; i++) { // Main inventory slots 0-35
@@ -596,19 +589,9 @@ public class SpawnerStackerHandler implements Listener {
                 continue;
             }
 
-            if (item.getType() == Material.SPAWNER && !SpawnerTypeChecker.isVanillaSpawner(item)) {
-                Optional<EntityType> itemEntityType = getSpawnerEntityTypeCached(item);
-                boolean matches;
-                if (spawner.isItemSpawner()) {
-                    // For item spawners, match by spawned item material
-                    matches = false; // Item spawners use separate give method; empty slots cover them
-                } else {
-                    matches = itemEntityType.isPresent() && itemEntityType.get() == spawner.getEntityType();
-                }
-
-                if (matches && item.getAmount() < MAX_STACK_SIZE) {
-                    capacity += MAX_STACK_SIZE - item.getAmount();
-                }
+            if (required != SpawnerItemFingerprint.NONE && item.getAmount() < MAX_STACK_SIZE
+                    && SpawnerItemFingerprint.of(item) == required) {
+                capacity += MAX_STACK_SIZE - item.getAmount();
             }
         }
 
@@ -747,6 +730,7 @@ public class SpawnerStackerHandler implements Listener {
         int count = 0;
         boolean hasDifferentType = false;
         List<SpawnerSlot> spawnerSlots = new ArrayList<>();
+        int required = SpawnerItemFingerprint.smart(requiredType);
 
         ItemStack[] contents = player.getInventory().getContents();
 
@@ -754,17 +738,16 @@ public class SpawnerStackerHandler implements Listener {
             ItemStack item = contents[i];
             if (item == null || item.getType() != Material.SPAWNER) continue;
 
-            // Skip vanilla spawners
-            if (SpawnerTypeChecker.isVanillaSpawner(item)) continue;
+            // Skip vanilla spawners and spawners without a type
+            int fingerprint = SpawnerItemFingerprint.of(item);
+            if (fingerprint == SpawnerItemFingerprint.NONE
+                    || SpawnerItemFingerprint.kind(fingerprint) == SpawnerItemFingerprint.KIND_VANILLA) continue;
 
-            Optional<EntityType> itemType = getSpawnerEntityTypeCached(item);
-            if (itemType.isPresent()) {
-                if (itemType.get() == requiredType) {
-                    count += item.getAmount();
-                    spawnerSlots.add(new SpawnerSlot(i, item.getAmount()));
-                } else {
-                    hasDifferentType = true;
-                }
+            if (fingerprint == required) {
+                count += item.getAmount();
+                spawnerSlots.add(new SpawnerSlot(i, item.getAmount()));
+            } else {
+                hasDifferentType = true;
             }
         }
 
@@ -776,6 +759,7 @@ public class SpawnerStackerHandler implements Listener {
         int count = 0;
         boolean hasDifferentType = false;
         List<SpawnerSlot> spawnerSlots = new ArrayList<>();
+        int required = SpawnerItemFingerprint.item(requiredItemMaterial);
 
         ItemStack[] contents = player.getInventory().getContents();
 
@@ -784,19 +768,14 @@ public class SpawnerStackerHandler implements Listener {
             if (item == null || item.getType() != Material.SPAWNER) continue;
 
             // Skip vanilla spawners
-            if (SpawnerTypeChecker.isVanillaSpawner(item)) continue;
-
-            // Check if it's an item spawner
-            if (SpawnerTypeChecker.isItemSpawner(item)) {
-                Material itemMaterial = SpawnerTypeChecker.getItemSpawnerMaterial(item);
-                if (itemMaterial == requiredItemMaterial) {
-                    count += item.getAmount();
-                    spawnerSlots.add(new SpawnerSlot(i, item.getAmount()));
-                } else {
-                    hasDifferentType = true;
-                }
+            int fingerprint = SpawnerItemFingerprint.of(item);
+            if (SpawnerItemFingerprint.kind(fingerprint) == SpawnerItemFingerprint.KIND_VANILLA) continue;
+
+            if (fingerprint == required) {
+                count += item.getAmount();
+                spawnerSlots.add(new SpawnerSlot(i, item.getAmount()));
             } else {
-                // Regular spawner when we need item spawner
+                // Regular spawner, or an item spawner for another material
                 hasDifferentType = true;
             }
         }
@@ -804,46 +783,18 @@ public class SpawnerStackerHandler implements Listener {
         return new InventoryScanResult(count, hasDifferentType, spawnerSlots);
     }
 
-    private Optional<EntityType> getSpawnerEntityTypeCached(ItemStack item) {
-        if (item == null || item.getType() != Material.SPAWNER) {
-            return Optional.empty();
-        }
-
-        // Check cache first
-        Optional<EntityType> cachedType = entityTypeCache.get(item);
-        if (cachedType != null) {
-            return cachedType;
-        }
-
-        // Extract type from metadata
-        Optional<EntityType> result = getEntityTypeFromItem(item);
-
-        // Cache the result
-        entityTypeCache.put(item, result);
-        return result;
-    }
-
     public Optional<EntityType> getEntityTypeFromItem(ItemStack item) {
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return Optional.empty();
+        int fingerprint = SpawnerItemFingerprint.of(item);
+        if (SpawnerItemFingerprint.kind(fingerprint) == SpawnerItemFingerprint.KIND_ITEM) {
+            // Item spawners carry EntityType.ITEM in their block state
+            return Optional.of(EntityType.ITEM);
         }
-
-        // Get entity type from block state (most reliable method)
-        if (meta instanceof BlockStateMeta blockMeta) {
-            if (blockMeta.hasBlockState() && blockMeta.getBlockState() instanceof CreatureSpawner handSpawner) {
-                EntityType entityType = handSpawner.getSpawnedType();
-                if (entityType != null) {
-                    return Optional.of(entityType);
-                }
-            }
-        }
-
-        return Optional.empty();
+        return Optional.ofNullable(SpawnerItemFingerprint.entityType(fingerprint));
     }
 
     private void removeValidSpawnersFromInventory(Player player, EntityType requiredType, int amountToRemove, List<SpawnerSlot> spawnerSlots) {
         int remainingToRemove = amountToRemove;
+        int required = SpawnerItemFingerprint.smart(requiredType);
 
         // Use the pre-scanned slots for faster removal
         for (SpawnerSlot slot : spawnerSlots) {
@@ -851,10 +802,7 @@ public class SpawnerStackerHandler implements Listener {
 
             ItemStack item = player.getInventory().getItem(slot.slotIndex);
             // Verify item is still valid
-            if (item == null || item.getType() != Material.SPAWNER) continue;
-
-            Optional<EntityType> spawnerType = getSpawnerEntityTypeCached(item);
-            if (spawnerType.isPresent() && spawnerType.get() == requiredType) {
+            if (SpawnerItemFingerprint.of(item) == required) {
                 int itemAmount = item.getAmount();
                 if (itemAmount <= remainingToRemove) {
                     player.getInventory().setItem(slot.slotIndex, null);
@@ -871,6 +819,7 @@ public class SpawnerStackerHandler implements Listener {
 
     private void removeValidItemSpawnersFromInventory(Player player, Material requiredItemMaterial, int amountToRemove, List<SpawnerSlot> spawnerSlots) {
         int remainingToRemove = amountToRemove;
+        int required = SpawnerItemFingerprint.item(requiredItemMaterial);
 
         // Use the pre-scanned slots for faster removal
         for (SpawnerSlot slot : spawnerSlots) {
@@ -878,19 +827,14 @@ public class SpawnerStackerHandler implements Listener {
 
             ItemStack item = player.getInventory().getItem(slot.slotIndex);
             // Verify item is still valid
-            if (item == null || item.getType() != Material.SPAWNER) continue;
-
-            if (SpawnerTypeChecker.isItemSpawner(item)) {
-                Material itemMaterial = SpawnerTypeChecker.getItemSpawnerMaterial(item);
-                if (itemMaterial == requiredItemMaterial) {
-                    int itemAmount = item.getAmount();
-                    if (itemAmount <= remainingToRemove) {
-                        player.getInventory().setItem(slot.slotIndex, null);
-                        remainingToRemove -= itemAmount;
-                    } else {
-                        item.setAmount(itemAmount - remainingToRemove);
-                        remainingToRemove = 0;
-                    }
+            if (SpawnerItemFingerprint.of(item) == required) {
+                int itemAmount = item.getAmount();
+                if (itemAmount <= remainingToRemove) {
+                    player.getInventory().setItem(slot.slotIndex, null);
+                    remainingToRemove -= itemAmount;
+                } else {
+                    item.setAmount(itemAmount - remainingToRemove);
+                    remainingToRemove = 0;
                 }
             }
         }
@@ -901,18 +845,14 @@ public class SpawnerStackerHandler implements Listener {
     public void giveSpawnersToPlayer(Player player, int amount, EntityType entityType) {
         final int MAX_STACK_SIZE = 64;
         int remainingAmount = amount;
+        int required = SpawnerItemFingerprint.smart(entityType);
 
         // First pass: Try to merge with existing non-vanilla stacks
         ItemStack[] contents = player.getInventory().getContents();
         for (int i = 0; i < contents.length && remainingAmount > 0; i++) {
             ItemStack item = contents[i];
-            // Skip null items, non-spawners, or vanilla spawners
-            if (item == null || item.getType() != Material.SPAWNER || SpawnerTypeChecker.isVanillaSpawner(item)) {
-                continue;
-            }
-
-            Optional<EntityType> itemEntityType = getSpawnerEntityTypeCached(item);
-            if (itemEntityType.isEmpty() || itemEntityType.get() != entityType) continue;
+            // Skip everything but smart spawners of this type
+            if (SpawnerItemFingerprint.of(item) != required) continue;
 
             int currentAmount = item.getAmount();
             if (currentAmount < MAX_STACK_SIZE) {
@@ -957,20 +897,14 @@ public class SpawnerStackerHandler implements Listener {
     public void giveItemSpawnersToPlayer(Player player, int amount, Material itemMaterial) {
         final int MAX_STACK_SIZE = 64;
         int remainingAmount = amount;
+        int required = SpawnerItemFingerprint.item(itemMaterial);
 
         // First pass: Try to merge with existing item spawner stacks
         ItemStack[] contents = player.getInventory().getContents();
         for (int i = 0; i < contents.length && remainingAmount > 0; i++) {
             ItemStack item = contents[i];
-            // Skip null items, non-spawners, vanilla spawners, or regular spawners
-            if (item == null || item.getType() != Material.SPAWNER ||
-                SpawnerTypeChecker.isVanillaSpawner(item) ||
-                !SpawnerTypeChecker.isItemSpawner(item)) {
-                continue;
-            }
-
-            Material itemSpawnerMaterial = SpawnerTypeChecker.getItemSpawnerMaterial(item);
-            if (itemSpawnerMaterial != itemMaterial) continue;
+            // Skip everything but item spawners of this material
+            if (SpawnerItemFingerprint.of(item) != required) continue;
 
             int currentAmount = item.getAmount();
             if (currentAmount < MAX_STACK_SIZE) {
@@ -11,6 +11,7 @@ import github.nighter.smartspawner.spawner.gui.synchronization.SpawnerGuiViewMan
 import github.nighter.smartspawner.spawner.gui.layout.GuiLayout;
 import github.nighter.smartspawner.spawner.lootgen.loot.LootItem;
 import github.nighter.smartspawner.spawner.data.SpawnerManager;
+import github.nighter.smartspawner.spawner.properties.ItemSignature;
 import github.nighter.smartspawner.spawner.properties.VirtualInventory;
 import github.nighter.smartspawner.language.LanguageManager;
 import github.nighter.smartspawner.spawner.properties.SpawnerData;
@@ -834,7 +835,7 @@ public class SpawnerStorageAction implements Listener {
         boolean inventoryFull = false;
         PlayerInventory playerInv = player.getInventory();
         int totalAmountMoved = 0;
-        List<ItemStack> itemsToRemove = new ArrayList<>();
+        Map<ItemSignature, Long> itemsToRemove = new HashMap<>();
 
         for (Map.Entry<Integer, ItemStack> entry : sourceItems.entrySet()) {
             int sourceSlot = entry.getKey();
@@ -869,9 +870,7 @@ public class SpawnerStorageAction implements Listener {
             if (amountMoved > 0) {
                 totalAmountMoved += amountMoved;
 
-                ItemStack movedItem = itemToMove.clone();
-                movedItem.setAmount(amountMoved);
-                itemsToRemove.add(movedItem);
+                itemsToRemove.merge(VirtualInventory.getSignature(itemToMove), (long) amountMoved, Long::sum);
 
                 if (amountMoved == itemToMove.getAmount()) {
                     sourceInventory.setItem(sourceSlot, null);
@@ -893,7 +892,7 @@ public class SpawnerStorageAction implements Listener {
             StoragePageHolder holder = (StoragePageHolder) sourceInventory.getHolder(false);
             SpawnerData spawnerData = holder.getSpawnerData();
 
-            spawnerData.removeItemsAndUpdateSellValue(itemsToRemove);
+            spawnerData.drainItemsAndUpdateSellValue(itemsToRemove);
             spawnerData.updateHologramData();
 
             holder.updateOldUsedSlots();
@@ -3,6 +3,7 @@ package github.nighter.smartspawner.spawner.gui.synchronization.services;
 import github.nighter.smartspawner.SmartSpawner;
 import github.nighter.smartspawner.Scheduler;
 import github.nighter.smartspawner.language.LanguageManager;
+import github.nighter.smartspawner.perf.PerfMetric;
 import github.nighter.smartspawner.spawner.gui.main.SpawnerMenuHolder;
 import github.nighter.smartspawner.spawner.gui.main.SpawnerMenuUI;
 import github.nighter.smartspawner.spawner.gui.synchronization.managers.SlotCacheManager;
@@ -52,6 +53,7 @@ public class GuiUpdateService {
      * @param flags Update flags indicating which items to update
      */
     public void scheduleUpdate(UUID playerId, int flags) {
+        plugin.getPerfMonitor().increment(PerfMetric.GUI_UPDATES);
         pendingUpdates.add(playerId);
         updateFlags.put(playerId, flags);
     }
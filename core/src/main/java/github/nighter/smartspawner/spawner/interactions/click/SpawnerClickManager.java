@@ -209,6 +209,7 @@ public class SpawnerClickManager implements Listener {
     }
 
     private void openStorageGui(Player player, SpawnerData spawner) {
+        plugin.getSpawnerLootGenerator().settleAccruedLoot(spawner);
         org.bukkit.inventory.Inventory storageInventory = plugin.getSpawnerStorageUI()
                 .createStorageInventory(spawner, 1, -1);
         player.playSound(player.getLocation(), org.bukkit.Sound.BLOCK_CHEST_OPEN, 1.0f, 1.0f);
@@ -320,6 +320,9 @@ public class SpawnerBreakListener implements Listener {
 
         if (!shouldDeleteSpawner) {
             spawner.setStackSize(newStackSize);
+        } else {
+            // Accrual mode: credit the idle period before the storage is sold, claimed or removed
+            plugin.getSpawnerLootGenerator().settleAccruedLoot(spawner, true);
         }
 
         return new SpawnerBreakResult(true, dropAmount, durabilityLoss, shouldDeleteSpawner, template);
@@ -562,6 +565,7 @@ public class SpawnerBreakListener implements Listener {
         SpawnerMenuAction getSpawnerMenuAction();
         github.nighter.smartspawner.spawner.sell.SpawnerSellManager getSpawnerSellManager();
         github.nighter.smartspawner.spawner.lootgen.SpawnerRangeChecker getRangeChecker();
+        github.nighter.smartspawner.spawner.lootgen.SpawnerLootGenerator getSpawnerLootGenerator();
         github.nighter.smartspawner.extras.HopperConfig getHopperConfig();
         Logger getLogger();
     }
@@ -584,6 +588,7 @@ public class SpawnerBreakListener implements Listener {
         @Override public SpawnerMenuAction getSpawnerMenuAction() { return plugin.getSpawnerMenuAction(); }
         @Override public github.nighter.smartspawner.spawner.sell.SpawnerSellManager getSpawnerSellManager() { return plugin.getSpawnerSellManager(); }
         @Override public github.nighter.smartspawner.spawner.lootgen.SpawnerRangeChecker getRangeChecker() { return plugin.getRangeChecker(); }
+        @Override public github.nighter.smartspawner.spawner.lootgen.SpawnerLootGenerator getSpawnerLootGenerator() { return plugin.getSpawnerLootGenerator(); }
         @Override public github.nighter.smartspawner.extras.HopperConfig getHopperConfig() { return plugin.getHopperConfig(); }
         @Override public Logger getLogger() { return plugin.getLogger(); }
     }
@@ -18,51 +18,51 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
 
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SpawnerItemFactory {
 
-    private static final long CACHE_EXPIRY_TIME_MS = TimeUnit.MINUTES.toMillis(30);
-    private static final int MAX_CACHE_SIZE = 100;
-
     private final SmartSpawner plugin;
     private final LanguageManager languageManager;
     private static NamespacedKey VANILLA_SPAWNER_KEY;
-    private final Map<EntityType, ItemStack> spawnerItemCache = new HashMap<>();
-    private final Map<EntityType, Long> cacheTimestamps = new HashMap<>();
-    private long lastCacheCleanup = System.currentTimeMillis();
+
+    // Amount-1 templates, rebuilt on reload. They are never handed out or mutated;
+    // callers always receive a copy from asQuantity().
+    private final Map<EntityType, ItemStack> smartSpawnerTemplates = new ConcurrentHashMap<>();
+    private final Map<EntityType, ItemStack> vanillaSpawnerTemplates = new ConcurrentHashMap<>();
+    private final Map<Material, ItemStack> itemSpawnerTemplates = new ConcurrentHashMap<>();
 
     public SpawnerItemFactory(SmartSpawner plugin) {
         this.plugin = plugin;
         this.languageManager = plugin.getLanguageManager();
         VANILLA_SPAWNER_KEY = new NamespacedKey(plugin, "vanilla_spawner");
+        prebuildTemplates();
     }
 
     public void reload() {
         clearAllCaches();
+        prebuildTemplates();
     }
 
     public void clearAllCaches() {
-        spawnerItemCache.clear();
-        cacheTimestamps.clear();
-        lastCacheCleanup = System.currentTimeMillis();
+        smartSpawnerTemplates.clear();
+        vanillaSpawnerTemplates.clear();
+        itemSpawnerTemplates.clear();
     }
 
-    private void cleanupCacheIfNeeded() {
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastCacheCleanup < TimeUnit.MINUTES.toMillis(1)) {
-            return;
-        }
-        lastCacheCleanup = currentTime;
-        Iterator<Map.Entry<EntityType, Long>> iterator = cacheTimestamps.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<EntityType, Long> entry = iterator.next();
-            if (currentTime - entry.getValue() > CACHE_EXPIRY_TIME_MS) {
-                EntityType type = entry.getKey();
-                spawnerItemCache.remove(type);
-                iterator.remove();
+    /**
+     * Builds templates for every spawnable mob and every configured item spawner up front,
+     * so stacking and give paths never build item meta on demand.
+     */
+    private void prebuildTemplates() {
+        for (EntityType entityType : EntityType.values()) {
+            if (entityType.isSpawnable() && entityType.isAlive()) {
+                smartSpawnerTemplates.computeIfAbsent(entityType, this::buildSmartSpawnerItem);
             }
         }
+        for (Material material : plugin.getItemSpawnerSettingsConfig().getValidItemSpawnerMaterials()) {
+            itemSpawnerTemplates.computeIfAbsent(material, this::buildItemSpawnerItem);
+        }
     }
 
     public ItemStack createSmartSpawnerItem(EntityType entityType) {
@@ -70,15 +70,14 @@ public class SpawnerItemFactory {
     }
 
     public ItemStack createSmartSpawnerItem(EntityType entityType, int amount) {
-        cleanupCacheIfNeeded();
-        if (amount == 1) {
-            ItemStack cachedItem = spawnerItemCache.get(entityType);
-            if (cachedItem != null) {
-                return cachedItem.clone();
-            }
+        if (entityType == null || entityType == EntityType.UNKNOWN) {
+            return buildSmartSpawnerItem(entityType).asQuantity(amount);
         }
+        return smartSpawnerTemplates.computeIfAbsent(entityType, this::buildSmartSpawnerItem).asQuantity(amount);
+    }
 
-        ItemStack spawner = new ItemStack(Material.SPAWNER, amount);
+    private ItemStack buildSmartSpawnerItem(EntityType entityType) {
+        ItemStack spawner = new ItemStack(Material.SPAWNER);
         ItemMeta meta = spawner.getItemMeta();
         if (meta != null && entityType != null && entityType != EntityType.UNKNOWN) {
             if (meta instanceof BlockStateMeta blockMeta) {
@@ -120,24 +119,6 @@ public class SpawnerItemFactory {
             spawner.setItemMeta(meta);
         }
         VersionInitializer.hideTooltip(spawner);
-        if (amount == 1) {
-            spawnerItemCache.put(entityType, spawner.clone());
-            cacheTimestamps.put(entityType, System.currentTimeMillis());
-            if (spawnerItemCache.size() > MAX_CACHE_SIZE) {
-                EntityType oldestEntity = null;
-                long oldestTime = Long.MAX_VALUE;
-                for (Map.Entry<EntityType, Long> entry : cacheTimestamps.entrySet()) {
-                    if (entry.getValue() < oldestTime) {
-                        oldestTime = entry.getValue();
-                        oldestEntity = entry.getKey();
-                    }
-                }
-                if (oldestEntity != null) {
-                    spawnerItemCache.remove(oldestEntity);
-                    cacheTimestamps.remove(oldestEntity);
-                }
-            }
-        }
         return spawner;
     }
 
@@ -146,7 +127,14 @@ public class SpawnerItemFactory {
     }
 
     public ItemStack createVanillaSpawnerItem(EntityType entityType, int amount) {
-        ItemStack spawner = new ItemStack(Material.SPAWNER, amount);
+        if (entityType == null || entityType == EntityType.UNKNOWN) {
+            return buildVanillaSpawnerItem(entityType).asQuantity(amount);
+        }
+        return vanillaSpawnerTemplates.computeIfAbsent(entityType, this::buildVanillaSpawnerItem).asQuantity(amount);
+    }
+
+    private ItemStack buildVanillaSpawnerItem(EntityType entityType) {
+        ItemStack spawner = new ItemStack(Material.SPAWNER);
         ItemMeta meta = spawner.getItemMeta();
         if (meta != null && entityType != null && entityType != EntityType.UNKNOWN) {
             if (meta instanceof BlockStateMeta blockMeta) {
@@ -185,7 +173,14 @@ public class SpawnerItemFactory {
     }
 
     public ItemStack createItemSpawnerItem(Material itemMaterial, int amount) {
-        ItemStack spawner = new ItemStack(Material.SPAWNER, amount);
+        if (itemMaterial == null) {
+            return buildItemSpawnerItem(null).asQuantity(amount);
+        }
+        return itemSpawnerTemplates.computeIfAbsent(itemMaterial, this::buildItemSpawnerItem).asQuantity(amount);
+    }
+
+    private ItemStack buildItemSpawnerItem(Material itemMaterial) {
+        ItemStack spawner = new ItemStack(Material.SPAWNER);
         ItemMeta meta = spawner.getItemMeta();
         if (meta != null && itemMaterial != null) {
             if (meta instanceof BlockStateMeta blockMeta) {
@@ -245,7 +240,7 @@ public class SpawnerItemFactory {
                     PersistentDataType.STRING,
                     itemMaterial.name()
             );
-            
+
             spawner.setItemMeta(meta);
         }
         VersionInitializer.hideTooltip(spawner);
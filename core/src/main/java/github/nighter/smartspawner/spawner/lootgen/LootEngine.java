@@ -0,0 +1,212 @@
+package github.nighter.smartspawner.spawner.lootgen;
+
+import github.nighter.smartspawner.Scheduler;
+import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.perf.PerfMetric;
+import github.nighter.smartspawner.perf.PerfMonitor;
+import github.nighter.smartspawner.spawner.properties.SpawnerData;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Generates loot for due spawners on a dedicated work-stealing pool instead of Bukkit's shared async pool.
+ * <p>
+ * Loot cycles submitted during a tick are collected and dispatched together on the next tick. The batch
+ * is split recursively across the workers, each rolling with its own {@link SplittableRandom}, so no
+ * random state is shared between threads. Once the batch is done the results are grouped by chunk and
+ * handed back to the thread owning each chunk, one task per chunk instead of one per spawner.
+ */
+class LootEngine {
+    // Spawners rolled by one leaf task before splitting stops
+    private static final int SPLIT_THRESHOLD = 8;
+
+    private final SmartSpawner plugin;
+    private final SpawnerLootGenerator generator;
+    private final PerfMonitor perf;
+    private final ForkJoinPool pool;
+    private final int parallelism;
+
+    private final Queue<Job> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean(false);
+
+    record Job(SpawnerData spawner, int minMobs, int maxMobs, long spawnTime) {
+    }
+
+    private record Result(Job job, LootResult loot) {
+    }
+
+    LootEngine(SmartSpawner plugin, SpawnerLootGenerator generator) {
+        this.plugin = plugin;
+        this.generator = generator;
+        this.perf = plugin.getPerfMonitor();
+
+        int configured = plugin.getConfig().getInt("performance.loot_generation.worker_threads", 0);
+        this.parallelism = configured > 0
+                ? configured
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.pool = new ForkJoinPool(parallelism, new WorkerFactory(),
+                (thread, e) -> plugin.getLogger().log(Level.SEVERE, "Loot worker failed", e), true);
+    }
+
+    /**
+     * Queues a loot cycle; it is generated with the rest of this tick's batch.
+     */
+    void submit(Job job) {
+        pending.add(job);
+        if (dispatchScheduled.compareAndSet(false, true)) {
+            Scheduler.runTask(this::dispatch);
+        }
+    }
+
+    /**
+     * Runs a single task on the loot pool, used for loot pre-generation.
+     */
+    void execute(Runnable task) {
+        try {
+            pool.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Pool shut down with the plugin
+        }
+    }
+
+    private void dispatch() {
+        dispatchScheduled.set(false);
+
+        List<Job> batch = new ArrayList<>();
+        Job job;
+        while ((job = pending.poll()) != null) {
+            batch.add(job);
+        }
+        if (batch.isEmpty()) return;
+
+        perf.record(PerfMetric.LOOT_BATCH_SIZE, batch.size());
+        perf.set(PerfMetric.LOOT_POOL_SATURATION, pool.getActiveThreadCount() * 100L / parallelism);
+
+        Queue<Result> results = new ConcurrentLinkedQueue<>();
+        try {
+            pool.execute(() -> {
+                // Runs in a worker, so the split tasks are forked onto the pool and stolen by idle workers
+                new RollTask(batch, 0, batch.size(), results).invoke();
+                returnToOwners(results);
+            });
+        } catch (RejectedExecutionException e) {
+            // Pool shut down with the plugin; the cycles were never applied and stay due
+        }
+    }
+
+    private void returnToOwners(Queue<Result> results) {
+        if (!plugin.isEnabled()) return;
+
+        Map<ChunkKey, List<Result>> byChunk = new HashMap<>();
+        for (Result result : results) {
+            Location loc = result.job().spawner().getSpawnerLocation();
+            if (loc == null || loc.getWorld() == null) continue;
+            byChunk.computeIfAbsent(new ChunkKey(loc.getWorld(), loc.getBlockX() >> 4, loc.getBlockZ() >> 4),
+                    k -> new ArrayList<>()).add(result);
+        }
+
+        for (Map.Entry<ChunkKey, List<Result>> entry : byChunk.entrySet()) {
+            ChunkKey key = entry.getKey();
+            List<Result> group = entry.getValue();
+            Scheduler.runChunkTask(key.world(), key.chunkX(), key.chunkZ(), () -> {
+                for (Result result : group) {
+                    Job done = result.job();
+                    generator.applyGeneratedLoot(done.spawner(), result.loot(), done.spawnTime());
+                }
+            });
+        }
+    }
+
+    void shutdown() {
+        pending.clear();
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(5, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record ChunkKey(World world, int chunkX, int chunkZ) {
+    }
+
+    private class RollTask extends RecursiveAction {
+        private final List<Job> jobs;
+        private final int from;
+        private final int to;
+        private final Queue<Result> results;
+
+        RollTask(List<Job> jobs, int from, int to, Queue<Result> results) {
+            this.jobs = jobs;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RollTask(jobs, from, mid, results), new RollTask(jobs, mid, to, results));
+                return;
+            }
+
+            SplittableRandom random = Thread.currentThread() instanceof LootWorker worker
+                    ? worker.random
+                    : new SplittableRandom();
+            for (int i = from; i < to; i++) {
+                Job job = jobs.get(i);
+                try {
+                    LootResult loot = generator.generateLoot(job.minMobs(), job.maxMobs(), job.spawner(), random);
+                    if (!loot.items().isEmpty() || loot.experience() > 0) {
+                        results.add(new Result(job, loot));
+                    }
+                } catch (RuntimeException e) {
+                    plugin.getLogger().log(Level.WARNING,
+                            "Error generating loot for spawner " + job.spawner().getSpawnerId(), e);
+                }
+            }
+        }
+    }
+
+    private static final class LootWorker extends ForkJoinWorkerThread {
+        // Only ever used by this worker
+        private final SplittableRandom random;
+
+        private LootWorker(ForkJoinPool pool, SplittableRandom random) {
+            super(pool);
+            this.random = random;
+        }
+    }
+
+    private static final class WorkerFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        private final SplittableRandom root = new SplittableRandom();
+        private int created;
+
+        @Override
+        public synchronized ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            LootWorker worker = new LootWorker(pool, root.split());
+            worker.setName("SmartSpawner-Loot-" + (++created));
+            worker.setDaemon(true);
+            return worker;
+        }
+    }
+}
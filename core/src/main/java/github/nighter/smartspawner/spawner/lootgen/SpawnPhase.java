@@ -0,0 +1,78 @@
+package github.nighter.smartspawner.spawner.lootgen;
+
+import github.nighter.smartspawner.config.Config;
+import github.nighter.smartspawner.spawner.properties.SpawnerData;
+
+/**
+ * Deterministic spawn cycle phase per spawner.
+ * <p>
+ * Every spawner gets a fixed offset within its spawn delay, hashed from its ID, and its cycles start
+ * at {@code offset + k * delay} on the wall clock. Spawners activated together (a player logging in
+ * next to a farm) therefore come due spread over the whole delay window instead of all in the same
+ * second, and stay spread on every later cycle. Leaving and re-entering range does not move the
+ * phase, so it cannot be used to skip ahead.
+ */
+public final class SpawnPhase {
+
+    private SpawnPhase() {
+    }
+
+    /**
+     * @return the start of the spawner's cycle that contains {@code now}, or {@code now} itself when
+     *         phase spreading is disabled
+     */
+    public static long cycleStart(SpawnerData spawner, long now) {
+        if (!Config.get().isPhaseSpread()) {
+            return now;
+        }
+        return cycleStart(spawner.getSpawnerId(), spawnDelayMillis(spawner), now);
+    }
+
+    /**
+     * @return the start of the cycle containing {@code now} for a spawner with this ID and delay in milliseconds
+     */
+    public static long cycleStart(String spawnerId, long delay, long now) {
+        long offset = Math.floorMod(mix(spawnerId.hashCode()), delay);
+        return now - Math.floorMod(now - offset, delay);
+    }
+
+    /**
+     * @return the number of whole cycles of {@code delay} milliseconds completed since {@code lastSpawnTime}
+     */
+    public static long accruedCycles(long lastSpawnTime, long delay, long now) {
+        long elapsed = now - lastSpawnTime;
+        return elapsed < delay ? 0L : elapsed / delay;
+    }
+
+    /**
+     * Accrual mode: the last spawn time to continue from after loading a spawner whose stored last spawn
+     * time is {@code lastSpawnTime}. Time before {@code resumeCycleStart}, the cycle containing the load
+     * time, passed while the spawner was not loaded (server down, or lost since the last save after a
+     * crash) and is not credited.
+     */
+    public static long resumeTime(long lastSpawnTime, long resumeCycleStart) {
+        return Math.max(lastSpawnTime, resumeCycleStart);
+    }
+
+    /**
+     * @return the spawner's spawn delay in milliseconds
+     */
+    public static long spawnDelayMillis(SpawnerData spawner) {
+        long cachedDelay = spawner.getCachedSpawnDelay();
+        if (cachedDelay == 0) {
+            cachedDelay = (spawner.getSpawnDelay() + 20L) * 50L; // Convert ticks to milliseconds
+            spawner.setCachedSpawnDelay(cachedDelay);
+        }
+        return Math.max(1L, cachedDelay);
+    }
+
+    // Spreads similar IDs over the full range (MurmurHash3 finalizer)
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -2,6 +2,9 @@ package github.nighter.smartspawner.spawner.lootgen;
 
 import github.nighter.smartspawner.SmartSpawner;
 import github.nighter.smartspawner.config.Config;
+import github.nighter.smartspawner.extras.HopperService;
+import github.nighter.smartspawner.perf.PerfMetric;
+import github.nighter.smartspawner.perf.PerfMonitor;
 import github.nighter.smartspawner.spawner.gui.synchronization.SpawnerGuiViewManager;
 import github.nighter.smartspawner.spawner.properties.ItemSignature;
 import github.nighter.smartspawner.spawner.properties.SpawnerData;
@@ -15,17 +18,24 @@ import org.bukkit.inventory.ItemStack;
 
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
 
 public class SpawnerLootGenerator {
+    // Up to this many draws are summed one by one; larger aggregates use their limiting distribution
+    private static final int EXACT_DRAW_LIMIT = 64;
+
     private final SmartSpawner plugin;
     private final SpawnerGuiViewManager spawnerGuiViewManager;
     private final SpawnerManager spawnerManager;
+    private final PerfMonitor perf;
+    private final LootEngine lootEngine;
 
     public SpawnerLootGenerator(SmartSpawner plugin) {
         this.plugin = plugin;
         this.spawnerGuiViewManager = plugin.getSpawnerGuiViewManager();
         this.spawnerManager = plugin.getSpawnerManager();
+        this.perf = plugin.getPerfMonitor();
+        this.lootEngine = new LootEngine(plugin, this);
     }
 
     public void spawnLootToSpawner(SpawnerData spawner) {
@@ -40,6 +50,7 @@ public class SpawnerLootGenerator {
         if (!lockAcquired) {
             // Lock is already held, which means another loot generation is happening
             // Skip this loot generation cycle
+            perf.increment(PerfMetric.LOCK_SKIPS);
             return;
         }
 
@@ -49,6 +60,7 @@ public class SpawnerLootGenerator {
             try {
                 if (!spawner.getDataLock().tryLock(50, java.util.concurrent.TimeUnit.MILLISECONDS)) {
                     // dataLock is held (likely stack size change), skip this cycle
+                    perf.increment(PerfMetric.LOCK_SKIPS);
                     return;
                 }
             } catch (InterruptedException e) {
@@ -61,131 +73,397 @@ public class SpawnerLootGenerator {
             final long spawnTime;
             final int minMobs;
             final int maxMobs;
-            final AtomicInteger usedSlots;
-            final AtomicInteger maxSlots;
 
             try {
                 // Timing is now managed by SpawnerRangeChecker (timer) and SpawnerGuiViewManager (spawn trigger)
                 // No need for time check here since spawn is only called when timer expires
 
                 // Get exact inventory slot usage
-                usedSlots = new AtomicInteger(spawner.getVirtualInventory().getUsedSlots());
-                maxSlots = new AtomicInteger(spawner.getMaxSpawnerLootSlots());
+                int usedSlots = spawner.getVirtualInventory().getUsedSlots();
+                int maxSlots = spawner.getMaxSpawnerLootSlots();
 
                 // Check if both inventory and exp are full, only then skip loot generation
-                if (usedSlots.get() >= maxSlots.get() && spawner.getSpawnerExp() >= spawner.getMaxStoredExp()) {
-                    if (!spawner.getIsAtCapacity()) {
-                        spawner.setIsAtCapacity(true);
-                    }
+                if (usedSlots >= maxSlots && spawner.getSpawnerExp() >= spawner.getMaxStoredExp()) {
+                    // Marks the spawner full and parks it until capacity is freed
+                    spawner.updateCapacityStatus();
                     return; // Skip generation if both exp and inventory are full
                 }
 
                 // Important: Store the current values we need for async processing
                 minMobs = spawner.getMinMobs();
                 maxMobs = spawner.getMaxMobs();
-                // Store currentTime to update lastSpawnTime after successful loot addition
-                spawnTime = currentTime;
+                // Start of the current cycle in the spawner's phase, set as lastSpawnTime after successful loot addition
+                spawnTime = SpawnPhase.cycleStart(spawner, currentTime);
             } finally {
                 spawner.getDataLock().unlock();
             }
 
-            // Run heavy calculations async and batch updates using the Scheduler
-            Scheduler.runTaskAsync(() -> {
-                // Generate loot with full mob count
-                LootResult loot = generateLoot(minMobs, maxMobs, spawner);
+            // Roll on the loot engine with the rest of this tick's due spawners
+            lootEngine.submit(new LootEngine.Job(spawner, minMobs, maxMobs, spawnTime));
+        } finally {
+            spawner.getLootGenerationLock().unlock();
+        }
+    }
 
-                // Only proceed if we generated something
-                if (loot.items().isEmpty() && loot.experience() == 0) {
-                    return;
+    /**
+     * Applies a loot cycle rolled by the loot engine. Runs on the thread owning the spawner's chunk.
+     */
+    void applyGeneratedLoot(SpawnerData spawner, LootResult loot, long spawnTime) {
+        // Re-acquire the lock for the update phase
+        // This ensures the spawner hasn't been modified (like stack size changes)
+        // between our async calculations and now
+        boolean updateLockAcquired = spawner.getLootGenerationLock().tryLock();
+        if (!updateLockAcquired) {
+            // Lock is held, stack size is changing, skip this update
+            perf.increment(PerfMetric.LOCK_SKIPS);
+            return;
+        }
+
+        long applyStart = perf.start();
+        try {
+            if (!applyLoot(spawner, loot)) {
+                return;
+            }
+
+            // Update spawn time only after successful loot addition
+            // This prevents skipped spawns when the lock fails
+            // Must acquire dataLock to safely update lastSpawnTime
+            boolean updateDataLockAcquired = spawner.getDataLock().tryLock();
+            if (updateDataLockAcquired) {
+                try {
+                    spawner.setLastSpawnTime(spawnTime);
+                } finally {
+                    spawner.getDataLock().unlock();
                 }
+            }
 
-                // Switch back to main thread for Bukkit API calls using location-aware scheduling
-                Scheduler.runLocationTask(spawner.getSpawnerLocation(), () -> {
-                    // Re-acquire the lock for the update phase
-                    // This ensures the spawner hasn't been modified (like stack size changes)
-                    // between our async calculations and now
-                    boolean updateLockAcquired = spawner.getLootGenerationLock().tryLock();
-                    if (!updateLockAcquired) {
-                        // Lock is held, stack size is changing, skip this update
-                        return;
-                    }
+            // Check if spawner is now at capacity and update status if needed
+            spawner.updateCapacityStatus();
 
-                    try {
-                        // Modified approach: Handle items and exp separately
-                        boolean changed = false;
+            // Handle GUI updates in batches
+            handleGuiUpdates(spawner);
 
-                        // Process experience if there's any to add and not at max
-                        if (loot.experience() > 0 && spawner.getSpawnerExp() < spawner.getMaxStoredExp()) {
-                            long currentExp = spawner.getSpawnerExp();
-                            long maxExp = spawner.getMaxStoredExp();
-                            long newExpLong = (long) currentExp + loot.experience();
-                            long newExp = Math.min(newExpLong, maxExp);
+            // Mark for saving only once
+            spawnerManager.markSpawnerModified(spawner.getSpawnerId());
+        } finally {
+            spawner.getLootGenerationLock().unlock();
+            perf.stop(PerfMetric.LOOT_APPLY, applyStart);
+        }
+    }
 
-                            if (newExp != currentExp) {
-                                spawner.setSpawnerExp(newExp);
-                                changed = true;
-                            }
-                        }
+    /**
+     * Stops the loot engine. Cycles still being rolled are dropped and stay due.
+     */
+    public void shutdown() {
+        lootEngine.shutdown();
+    }
+
+    /**
+     * Adds generated loot to the spawner, capped by its exp limit and free storage slots.
+     * @return true if any experience or items were added
+     */
+    private boolean applyLoot(SpawnerData spawner, LootResult loot) {
+        // Modified approach: Handle items and exp separately
+        boolean changed = false;
+
+        // Process experience if there's any to add and not at max
+        if (loot.experience() > 0 && spawner.getSpawnerExp() < spawner.getMaxStoredExp()) {
+            long currentExp = spawner.getSpawnerExp();
+            long maxExp = spawner.getMaxStoredExp();
+            long newExpLong = (long) currentExp + loot.experience();
+            long newExp = Math.min(newExpLong, maxExp);
+
+            if (newExp != currentExp) {
+                spawner.setSpawnerExp(newExp);
+                changed = true;
+            }
+        }
 
-                        // Re-check max slots as it could have changed
-                        maxSlots.set(spawner.getMaxSpawnerLootSlots());
-                        usedSlots.set(spawner.getVirtualInventory().getUsedSlots());
+        // Re-check max slots as it could have changed
+        int maxSlots = spawner.getMaxSpawnerLootSlots();
+        int usedSlots = spawner.getVirtualInventory().getUsedSlots();
 
-                        // Process items if there are any to add and inventory isn't completely full
-                        if (!loot.items().isEmpty() && usedSlots.get() < maxSlots.get()) {
-                            List<ItemStack> itemsToAdd = new ArrayList<>(loot.items());
+        // Process items if there are any to add and inventory isn't completely full
+        if (!loot.items().isEmpty() && usedSlots < maxSlots) {
+            List<ItemStack> itemsToAdd = new ArrayList<>(loot.items());
 
-                            // Get exact calculation of slots with the new items
-                            int totalRequiredSlots = calculateRequiredSlots(itemsToAdd, spawner.getVirtualInventory());
+            // Get exact calculation of slots with the new items
+            int totalRequiredSlots = calculateRequiredSlots(itemsToAdd, spawner.getVirtualInventory());
 
-                            // If we'll exceed the limit, limit the items we're adding
-                            if (totalRequiredSlots > maxSlots.get()) {
-                                itemsToAdd = limitItemsToAvailableSlots(itemsToAdd, spawner);
-                            }
+            // If we'll exceed the limit, limit the items we're adding
+            if (totalRequiredSlots > maxSlots) {
+                itemsToAdd = limitItemsToAvailableSlots(itemsToAdd, spawner);
+            }
 
-                            if (!itemsToAdd.isEmpty()) {
-                                spawner.addItemsAndUpdateSellValue(itemsToAdd);
-                                changed = true;
-                            }
-                        }
+            if (!itemsToAdd.isEmpty()) {
+                spawner.addItemsAndUpdateSellValue(itemsToAdd);
+                notifyHopper(spawner);
+                changed = true;
+            }
+        }
 
-                        if (!changed) {
-                            return;
-                        }
+        return changed;
+    }
 
-                        // Update spawn time only after successful loot addition
-                        // This prevents skipped spawns when the lock fails
-                        // Must acquire dataLock to safely update lastSpawnTime
-                        boolean updateDataLockAcquired = spawner.getDataLock().tryLock();
-                        if (updateDataLockAcquired) {
-                            try {
-                                spawner.setLastSpawnTime(spawnTime);
-                            } finally {
-                                spawner.getDataLock().unlock();
-                            }
-                        }
+    /**
+     * Accrual mode: credits the loot of every spawn cycle completed since the spawner's last spawn,
+     * generated as one aggregated draw instead of one roll per cycle.
+     * <p>
+     * Called when the spawner is read (GUI open, sell, hopper pull, API read, save). Nothing drains
+     * storage between two reads, so capping the combined loot by the free slots and the exp limit gives
+     * the same result a cycle-by-cycle spawner would have reached. The last spawn time moves forward by
+     * whole cycles, which keeps the countdown shown in the GUI in phase.
+     * <p>
+     * Safe to call from any thread; viewer, particle and hologram updates are scheduled on the
+     * spawner's region.
+     *
+     * @return true if loot was added
+     */
+    public boolean settleAccruedLoot(SpawnerData spawner) {
+        return settleAccruedLoot(spawner, false);
+    }
 
-                        // Check if spawner is now at capacity and update status if needed
-                        spawner.updateCapacityStatus();
+    /**
+     * Accrual mode: settles the spawner, then applies {@code change} while still holding its loot lock,
+     * so no cycle is credited in between. Changes to the stack size, entity type or stored exp, and
+     * breaking the spawner, go through here; otherwise the whole idle period would be rolled with the
+     * new values, or lost with the spawner.
+     * <p>
+     * Waits for the spawner's locks; must not be called while holding its data or inventory lock.
+     */
+    public void settleBeforeChange(SpawnerData spawner, Runnable change) {
+        if (!Config.get().isAccrualMode()) {
+            change.run();
+            return;
+        }
 
-                        // Handle GUI updates in batches
-                        handleGuiUpdates(spawner);
+        spawner.getLootGenerationLock().lock();
+        try {
+            settleAccruedLoot(spawner, true);
+            change.run();
+        } finally {
+            spawner.getLootGenerationLock().unlock();
+        }
+    }
+
+    /**
+     * @param wait wait for the spawner's locks instead of skipping when they are busy, used where
+     *             skipping would lose the accrued cycles (stack, type and exp changes, range stop)
+     */
+    public boolean settleAccruedLoot(SpawnerData spawner, boolean wait) {
+        if (!Config.get().isAccrualMode() || spawner.isSelling()) {
+            return false;
+        }
+        // Stopped spawners accrue nothing; they are settled before the stop takes effect.
+        // Parked (full) spawners accrue nothing either, they restart a fresh cycle when unparked.
+        if (!spawner.getSpawnerActive() || spawner.getSpawnerStop().get() || spawner.isParked()) {
+            return false;
+        }
 
-                        // Mark for saving only once
-                        spawnerManager.markSpawnerModified(spawner.getSpawnerId());
-                    } finally {
-                        spawner.getLootGenerationLock().unlock();
+        if (wait) {
+            spawner.getLootGenerationLock().lock();
+        } else if (!spawner.getLootGenerationLock().tryLock()) {
+            perf.increment(PerfMetric.LOCK_SKIPS);
+            return false;
+        }
+
+        try {
+            if (wait) {
+                spawner.getDataLock().lock();
+            } else {
+                try {
+                    if (!spawner.getDataLock().tryLock(50, java.util.concurrent.TimeUnit.MILLISECONDS)) {
+                        perf.increment(PerfMetric.LOCK_SKIPS);
+                        return false;
                     }
-                });
-            });
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+
+            final long cycles;
+            final int minMobs;
+            final int maxMobs;
+            final int freeSlots;
+
+            try {
+                long delay = SpawnPhase.spawnDelayMillis(spawner);
+
+                cycles = SpawnPhase.accruedCycles(spawner.getLastSpawnTime(), delay, System.currentTimeMillis());
+                if (cycles == 0) {
+                    return false;
+                }
+
+                spawner.setLastSpawnTime(spawner.getLastSpawnTime() + cycles * delay);
+
+                freeSlots = Math.max(0, spawner.getMaxSpawnerLootSlots() - spawner.getVirtualInventory().getUsedSlots());
+                if (freeSlots == 0 && spawner.getSpawnerExp() >= spawner.getMaxStoredExp()) {
+                    // Full the whole time: the cycles are spent without loot
+                    spawner.updateCapacityStatus();
+                    spawnerManager.markSpawnerModified(spawner.getSpawnerId());
+                    return false;
+                }
+
+                minMobs = spawner.getMinMobs();
+                maxMobs = spawner.getMaxMobs();
+            } finally {
+                spawner.getDataLock().unlock();
+            }
+
+            // Anything pre-generated for a viewer belongs to a cycle credited here
+            spawner.clearPreGeneratedLoot();
+
+            long genStart = perf.start();
+            LootResult loot = rollAccruedLoot(spawner, cycles, minMobs, maxMobs, freeSlots);
+            perf.stop(PerfMetric.LOOT_GENERATION, genStart);
+            perf.record(PerfMetric.LOOT_ACCRUED_CYCLES, cycles);
+
+            long applyStart = perf.start();
+            boolean changed = applyLoot(spawner, loot);
+            if (changed) {
+                spawner.updateCapacityStatus();
+            }
+            spawnerManager.markSpawnerModified(spawner.getSpawnerId());
+            perf.stop(PerfMetric.LOOT_APPLY, applyStart);
+
+            // Nothing can be scheduled once the plugin is disabling (settle before the final save)
+            Location loc = spawner.getSpawnerLocation();
+            if (changed && loc != null && plugin.isEnabled()) {
+                Scheduler.runLocationTask(loc, () -> handleGuiUpdates(spawner));
+            }
+            return changed;
         } finally {
             spawner.getLootGenerationLock().unlock();
         }
     }
 
+    /**
+     * Generates the combined loot of {@code cycles} spawn cycles. The mob count, drop counts and
+     * amounts are each drawn from their aggregate distribution, so the cost does not grow with the
+     * number of cycles or mobs.
+     */
+    private LootResult rollAccruedLoot(SpawnerData spawner, long cycles, int minMobs, int maxMobs, int freeSlots) {
+        RandomGenerator random = ThreadLocalRandom.current();
+        long mobCount = sumUniform(cycles, minMobs, maxMobs, random);
+        long experiencePerMob = spawner.getEntityExperienceValue();
+        long totalExperience = experiencePerMob > 0 && mobCount > Long.MAX_VALUE / experiencePerMob
+                ? Long.MAX_VALUE
+                : experiencePerMob * mobCount;
+
+        List<LootItem> validItems = spawner.getValidLootItems();
+        if (freeSlots == 0 || validItems.isEmpty()) {
+            return new LootResult(Collections.emptyList(), totalExperience);
+        }
+
+        Map<ItemStack, Long> consolidatedLoot = new HashMap<>();
+        for (LootItem lootItem : validItems) {
+            long drops = sampleBinomial(mobCount, lootItem.chance() / 100.0, random);
+            long totalAmount = sumUniform(drops, lootItem.minAmount(), lootItem.maxAmount(), random);
+            if (totalAmount > 0) {
+                ItemStack prototype = lootItem.createItemStack();
+                if (prototype != null) {
+                    consolidatedLoot.merge(prototype, totalAmount, Long::sum);
+                }
+            }
+        }
+
+        // Scale everything down evenly when the loot needs more slots than are free, rather than
+        // letting the first items in slot order take all the room
+        long requiredSlots = 0;
+        for (Map.Entry<ItemStack, Long> entry : consolidatedLoot.entrySet()) {
+            int maxStackSize = entry.getKey().getMaxStackSize();
+            requiredSlots += (entry.getValue() + maxStackSize - 1) / maxStackSize;
+        }
+        double scale = requiredSlots > freeSlots ? (double) freeSlots / requiredSlots : 1.0;
+
+        List<ItemStack> finalLoot = new ArrayList<>();
+        for (Map.Entry<ItemStack, Long> entry : consolidatedLoot.entrySet()) {
+            long remaining = (long) (entry.getValue() * scale);
+            int maxStackSize = entry.getKey().getMaxStackSize();
+            while (remaining > 0) {
+                ItemStack stack = entry.getKey().clone();
+                stack.setAmount((int) Math.min(remaining, maxStackSize));
+                finalLoot.add(stack);
+                remaining -= stack.getAmount();
+            }
+        }
+
+        return new LootResult(finalLoot, totalExperience);
+    }
+
+    // Sum of n independent uniform draws in [min, max]: exact for small n, normal approximation above
+    private static long sumUniform(long n, int min, int max, RandomGenerator random) {
+        if (n <= 0) return 0;
+        if (max <= min) return n * min;
+        if (n <= EXACT_DRAW_LIMIT) {
+            long sum = 0;
+            for (long i = 0; i < n; i++) {
+                sum += random.nextInt(max - min + 1) + min;
+            }
+            return sum;
+        }
+        double span = max - min + 1.0;
+        double mean = n * (min + max) / 2.0;
+        double variance = n * (span * span - 1.0) / 12.0;
+        long draw = Math.round(mean + random.nextGaussian() * Math.sqrt(variance));
+        return Math.clamp(draw, n * min, n * max);
+    }
+
+    // Successes out of n trials with probability p, drawn without iterating over the trials
+    private static long sampleBinomial(long n, double p, RandomGenerator random) {
+        if (n <= 0 || p <= 0.0) return 0;
+        if (p >= 1.0) return n;
+        if (n <= EXACT_DRAW_LIMIT) {
+            long successes = 0;
+            for (long i = 0; i < n; i++) {
+                if (random.nextDouble() < p) successes++;
+            }
+            return successes;
+        }
+
+        double mean = n * p;
+        double variance = mean * (1.0 - p);
+        if (variance >= 25.0) {
+            long draw = Math.round(mean + random.nextGaussian() * Math.sqrt(variance));
+            return Math.clamp(draw, 0L, n);
+        }
+        // Few successes (or few failures): the Poisson limit is accurate and its mean stays below 50
+        if (p <= 0.5) {
+            return Math.min(n, samplePoisson(mean, random));
+        }
+        return n - Math.min(n, samplePoisson(n * (1.0 - p), random));
+    }
+
+    private static long samplePoisson(double lambda, RandomGenerator random) {
+        double limit = Math.exp(-lambda);
+        double product = random.nextDouble();
+        long count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
     public LootResult generateLoot(int minMobs, int maxMobs, SpawnerData spawner) {
+        return generateLoot(minMobs, maxMobs, spawner, ThreadLocalRandom.current());
+    }
 
-        int mobCount = ThreadLocalRandom.current().nextInt(maxMobs - minMobs + 1) + minMobs;
+    /**
+     * Rolls one loot cycle with the given random source, which must not be shared with other threads.
+     */
+    public LootResult generateLoot(int minMobs, int maxMobs, SpawnerData spawner, RandomGenerator random) {
+        long start = perf.start();
+        try {
+            return rollLoot(minMobs, maxMobs, spawner, random);
+        } finally {
+            perf.stop(PerfMetric.LOOT_GENERATION, start);
+        }
+    }
+
+    private LootResult rollLoot(int minMobs, int maxMobs, SpawnerData spawner, RandomGenerator random) {
+        int mobCount = random.nextInt(maxMobs - minMobs + 1) + minMobs;
         long totalExperience = (long) spawner.getEntityExperienceValue() * mobCount;
 
         // Get valid items from the spawner's EntityLootConfig
@@ -205,10 +483,10 @@ public class SpawnerLootGenerator {
 
             if (Config.get().isApproximateLoot() && shouldApproximate(lootItem.chance(), mobCount)) {
                 // O(1) binomial approximation
-                totalAmount = generateApproximatedLoot(lootItem, mobCount);
+                totalAmount = generateApproximatedLoot(lootItem, mobCount, random);
             } else {
                 // O(n) binomial distribution
-                totalAmount = generateExactLoot(lootItem, mobCount);
+                totalAmount = generateExactLoot(lootItem, mobCount, random);
             }
 
             if (totalAmount > 0) {
@@ -248,9 +526,8 @@ public class SpawnerLootGenerator {
     }
 
     // O(n) simulation: exact per-mob drop calculation
-    private int generateExactLoot(LootItem lootItem, int mobCount) {
+    private int generateExactLoot(LootItem lootItem, int mobCount, RandomGenerator random) {
         int successfulDrops = 0;
-        ThreadLocalRandom random = ThreadLocalRandom.current();
         double p = lootItem.chance() / 100.0;
         for (int i = 0; i < mobCount; i++) {
             if (random.nextDouble() < p) {
@@ -265,12 +542,12 @@ public class SpawnerLootGenerator {
     }
 
     // O(1) expected-value calculation with small jitter
-    private int generateApproximatedLoot(LootItem lootItem, int mobCount) {
+    private int generateApproximatedLoot(LootItem lootItem, int mobCount, RandomGenerator random) {
         double p = lootItem.chance() / 100.0;
         double expectedDrops = mobCount * p;
         double avgAmount = lootItem.getAverageAmount();
         double jitter = p != 1.0
-                ? 0.95 + ThreadLocalRandom.current().nextDouble() * 0.10
+                ? 0.95 + random.nextDouble() * 0.10
                 : 1.0;
         return (int) Math.round(expectedDrops * avgAmount * jitter);
     }
@@ -401,6 +678,16 @@ public class SpawnerLootGenerator {
         }
     }
 
+    /**
+     * Lets an event-driven hopper below the spawner know there is new loot to pull.
+     */
+    private void notifyHopper(SpawnerData spawner) {
+        HopperService hopperService = plugin.getHopperService();
+        if (hopperService != null && plugin.isEnabled()) {
+            hopperService.onSpawnerLootAdded(spawner);
+        }
+    }
+
     /**
      * Pre-generates loot asynchronously for improved UX.
      * Loot is calculated in background before timer expires, then added instantly when ready.
@@ -418,6 +705,7 @@ public class SpawnerLootGenerator {
      */
     public void preGenerateLoot(SpawnerData spawner, LootGenerationCallback callback) {
         if (!spawner.getLootGenerationLock().tryLock()) {
+            perf.increment(PerfMetric.LOCK_SKIPS);
             callback.onLootGenerated(Collections.emptyList(), 0);
             return;
         }
@@ -455,7 +743,7 @@ public class SpawnerLootGenerator {
                 spawner.getDataLock().unlock();
             }
 
-            Scheduler.runTaskAsync(() -> {
+            lootEngine.execute(() -> {
                 LootResult loot;
                 if (itemStorageFull) {
                     loot = generateExperienceOnlyLoot(minMobs, maxMobs, spawner);
@@ -499,7 +787,7 @@ public class SpawnerLootGenerator {
      * @param experience Pre-generated experience amount
      */
     public void addPreGeneratedLoot(SpawnerData spawner, List<ItemStack> items, long experience) {
-        addPreGeneratedLoot(spawner, items, experience, System.currentTimeMillis());
+        addPreGeneratedLoot(spawner, items, experience, SpawnPhase.cycleStart(spawner, System.currentTimeMillis()));
     }
 
     /**
@@ -523,6 +811,7 @@ public class SpawnerLootGenerator {
 
         Scheduler.runLocationTask(spawnerLocation, () -> {
             if (!spawner.getLootGenerationLock().tryLock()) {
+                perf.increment(PerfMetric.LOCK_SKIPS);
                 return;
             }
 
@@ -549,6 +838,7 @@ public class SpawnerLootGenerator {
                 }
 
                 Scheduler.runTaskAsync(() -> {
+                    long applyStart = perf.start();
                     boolean changed = false;
 
                     if (experience > 0 && spawner.getSpawnerExp() < spawner.getMaxStoredExp()) {
@@ -585,6 +875,7 @@ public class SpawnerLootGenerator {
 
                                 if (!itemsToAdd.isEmpty()) {
                                     spawner.addItemsAndUpdateSellValue(itemsToAdd);
+                                    notifyHopper(spawner);
                                     changed = true;
                                 }
                             }
@@ -606,6 +897,7 @@ public class SpawnerLootGenerator {
                     spawner.updateCapacityStatus();
                     handleGuiUpdates(spawner);
                     spawnerManager.markSpawnerModified(spawner.getSpawnerId());
+                    perf.stop(PerfMetric.LOOT_APPLY, applyStart);
                 });
             } finally {
                 spawner.getLootGenerationLock().unlock();
@@ -1,6 +1,10 @@
 package github.nighter.smartspawner.spawner.lootgen;
 
 import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.config.Config;
+import github.nighter.smartspawner.extras.HopperService;
+import github.nighter.smartspawner.perf.PerfMetric;
+import github.nighter.smartspawner.perf.PerfMonitor;
 import github.nighter.smartspawner.spawner.data.SpawnerManager;
 import github.nighter.smartspawner.spawner.properties.SpawnerData;
 import github.nighter.smartspawner.Scheduler;
@@ -18,11 +22,19 @@ public class SpawnerRangeChecker {
     private static final long CHECK_INTERVAL = 20L; // 1 second in ticks
     private final SmartSpawner plugin;
     private final SpawnerManager spawnerManager;
+    private final PerfMonitor perf;
     private final ExecutorService executor;
 
+    // Automatic admission cap: headroom over the expected cycle rate, and a floor for small servers
+    private static final double AUTO_ADMISSION_HEADROOM = 1.25;
+    private static final int MIN_AUTO_ADMISSION = 20;
+    // Cycles per second expected from the spawners on timers, measured by the last pass (range check thread only)
+    private double expectedCycleRate;
+
     public SpawnerRangeChecker(SmartSpawner plugin) {
         this.plugin = plugin;
         this.spawnerManager = plugin.getSpawnerManager();
+        this.perf = plugin.getPerfMonitor();
         this.executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "SmartSpawner-RangeCheck"));
         initializeRangeCheckTask();
     }
@@ -36,7 +48,15 @@ public class SpawnerRangeChecker {
         PlayerRangeWrapper[] rangePlayers = getRangePlayers();
 
         this.executor.execute(() -> {
+            final long passStart = perf.start();
             final List<SpawnerData> allSpawners = spawnerManager.getAllSpawners();
+            final boolean accrualMode = Config.get().isAccrualMode();
+            final int admissionCap = admissionCap();
+            final long now = System.currentTimeMillis();
+            int parkedSpawners = 0;
+            int admittedCycles = 0;
+            int deferredCycles = 0;
+            double cycleRate = 0.0;
 
             final RangeMath rangeCheck = new RangeMath(rangePlayers, allSpawners);
             final boolean[] spawnersPlayerFound = rangeCheck.getActiveSpawners();
@@ -46,6 +66,12 @@ public class SpawnerRangeChecker {
                 final SpawnerData sd = allSpawners.get(i);
                 final String spawnerId = sd.getSpawnerId();
 
+                // Accrual mode: credit the running interval before the spawner stops accruing. Waits for a
+                // busy spawner, since activation restarts the countdown and skipped cycles would be lost
+                if (accrualMode && expectedStop && !sd.getSpawnerStop().get()) {
+                    plugin.getSpawnerLootGenerator().settleAccruedLoot(sd, true);
+                }
+
                 // Atomically update spawner stop flag only if it has changed
                 if (sd.getSpawnerStop().compareAndSet(!expectedStop, expectedStop)) {
                     // Schedule main-thread task for actual state change
@@ -60,17 +86,55 @@ public class SpawnerRangeChecker {
                             handleSpawnerStateChange(sd, expectedStop);
                         }
                     });
+                } else if (sd.isParked()) {
+                    // Full spawners stay out of loot scheduling until a sell, take, hopper pull,
+                    // exp claim or stack change frees capacity
+                    parkedSpawners++;
                 } else {
                     // Spawner state hasn't changed, but check if it's time to spawn loot
                     // Only process active spawners that are not stopped
-                    if (sd.getSpawnerActive() && !sd.getSpawnerStop().get()) {
-                        checkAndSpawnLoot(sd);
+                    if (sd.getSpawnerActive() && !sd.getSpawnerStop().get()
+                            && (!accrualMode || needsCycleTimer(sd))) {
+                        long delay = SpawnPhase.spawnDelayMillis(sd);
+                        cycleRate += 1000.0 / delay;
+
+                        if (now - sd.getLastSpawnTime() >= delay) {
+                            // Over the cap, the cycle stays due and is admitted on a later pass
+                            if (admittedCycles >= admissionCap) {
+                                deferredCycles++;
+                            } else if (checkAndSpawnLoot(sd)) {
+                                admittedCycles++;
+                            }
+                        }
                     }
                 }
             }
+            perf.set(PerfMetric.SPAWNERS_PARKED, parkedSpawners);
+            if (deferredCycles > 0) {
+                perf.add(PerfMetric.LOOT_CYCLES_DEFERRED, deferredCycles);
+            }
+            expectedCycleRate = cycleRate;
+            perf.stop(PerfMetric.RANGE_CHECK_PASS, passStart);
         });
     }
 
+    /**
+     * Loot cycles one range check pass may start. An explicit {@code max_cycles_per_second} is used as
+     * is; otherwise the cap follows the steady-state rate of the spawners currently on timers (measured
+     * in the previous pass) with some headroom, so bursts are flattened while throughput is kept.
+     */
+    private int admissionCap() {
+        int configured = Config.get().getMaxCyclesPerSecond();
+        if (configured > 0) {
+            return configured;
+        }
+        if (expectedCycleRate <= 0.0) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) Math.min(Integer.MAX_VALUE,
+                Math.max(MIN_AUTO_ADMISSION, Math.ceil(expectedCycleRate * AUTO_ADMISSION_HEADROOM)));
+    }
+
     private PlayerRangeWrapper[] getRangePlayers() {
         final Player[] onlinePlayers = Bukkit.getOnlinePlayers().toArray(new Player[0]);
         final PlayerRangeWrapper[] rangePlayers = new PlayerRangeWrapper[onlinePlayers.length];
@@ -137,9 +201,10 @@ public class SpawnerRangeChecker {
             return;
         }
 
-        // Set lastSpawnTime to current time to start countdown immediately
+        // Start the countdown in the spawner's own phase, so spawners activated together
+        // (e.g. a player logging in at a farm) come due spread over the delay window
         long currentTime = System.currentTimeMillis();
-        spawner.setLastSpawnTime(currentTime);
+        spawner.setLastSpawnTime(SpawnPhase.cycleStart(spawner, currentTime));
 
         // Immediately update any open GUIs to show the countdown
         if (plugin.getSpawnerGuiViewManager().hasViewers(spawner)) {
@@ -152,19 +217,28 @@ public class SpawnerRangeChecker {
         spawner.clearPreGeneratedLoot();
     }
 
+    /**
+     * In accrual mode, loot is credited when the spawner is read instead of every cycle. Spawners that
+     * are watched (open GUI) or drained (hopper below) still need per-cycle loot to look and behave live.
+     */
+    private boolean needsCycleTimer(SpawnerData spawner) {
+        if (plugin.getSpawnerGuiViewManager().hasViewers(spawner)) {
+            return true;
+        }
+        HopperService hopperService = plugin.getHopperService();
+        return hopperService != null && hopperService.hasHopperBelow(spawner);
+    }
+
     /**
      * Checks if a spawner should spawn loot based on its timer and spawns if needed.
      * This runs independently of GUI updates to ensure loot spawns even when no one is viewing.
      *
      * @param spawner The spawner to check
+     * @return true if a loot cycle was scheduled
      */
-    private void checkAndSpawnLoot(SpawnerData spawner) {
+    private boolean checkAndSpawnLoot(SpawnerData spawner) {
         // Calculate spawn delay
-        long cachedDelay = spawner.getCachedSpawnDelay();
-        if (cachedDelay == 0) {
-            cachedDelay = (spawner.getSpawnDelay() + 20L) * 50L; // Convert ticks to milliseconds
-            spawner.setCachedSpawnDelay(cachedDelay);
-        }
+        long cachedDelay = SpawnPhase.spawnDelayMillis(spawner);
 
         final long finalCachedDelay = cachedDelay; // Make effectively final for lambda
 
@@ -221,16 +295,20 @@ public class SpawnerRangeChecker {
                                         plugin.getSpawnerGuiViewManager().updateSpawnerMenuViewers(spawner);
                                     }
                                 });
+                                return true;
                             }
                         }
                     } finally {
                         spawner.getDataLock().unlock();
                     }
+                } else {
+                    perf.increment(PerfMetric.LOCK_SKIPS);
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
         }
+        return false;
     }
 
     public void cleanup() {
@@ -7,8 +7,8 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.PotionMeta;
 import org.bukkit.potion.PotionType;
 
-import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public record LootItem(Material material, int minAmount, int maxAmount, double chance, Integer minDurability,
                        Integer maxDurability, PotionType potionType, double sellPrice) {
@@ -42,7 +42,7 @@ public record LootItem(Material material, int minAmount, int maxAmount, double c
         return item;
     }
 
-    public int generateAmount(Random random) {
+    public int generateAmount(RandomGenerator random) {
         return random.nextInt(maxAmount - minAmount + 1) + minAmount;
     }
 
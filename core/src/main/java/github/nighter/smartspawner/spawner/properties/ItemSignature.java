@@ -7,6 +7,12 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
 
+/**
+ * Storage key for a kind of item: material, damage and the meta that decides stacking.
+ * <p>
+ * Obtain instances through {@link #of(ItemStack)}, which returns one canonical, interned instance
+ * per distinct item so lookups in signature-keyed maps usually succeed on the identity check.
+ */
 public class ItemSignature {
     private final ItemStack template;
     private final int hashCode;
@@ -16,6 +22,17 @@ public class ItemSignature {
     @Getter private final int damage;
     @Getter @Accessors(fluent = true) private final boolean hasItemMeta;
 
+    /**
+     * Returns the canonical signature for {@code item}. Items without meta are resolved without
+     * any allocation once their material has been seen.
+     */
+    public static ItemSignature of(ItemStack item) {
+        return ItemSignaturePool.intern(item);
+    }
+
+    /**
+     * Creates a fresh, non-interned signature. Prefer {@link #of(ItemStack)}.
+     */
     public ItemSignature(ItemStack item) {
         this.template = item.asQuantity(1); // Clone with new amount
         this.material = template.getType();
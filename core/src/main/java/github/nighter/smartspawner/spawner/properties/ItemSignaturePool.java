@@ -0,0 +1,60 @@
+package github.nighter.smartspawner.spawner.properties;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Interns {@link ItemSignature}s so equal items share one canonical instance.
+ * <p>
+ * Items without meta (the bulk of mob drops) are resolved through a table indexed by
+ * {@link Material#ordinal()}: after the first sighting of a material, lookups are one array read
+ * and allocate nothing. Items with meta still build a candidate signature, but it is swapped for the
+ * canonical one from a weak pool, so every map holding signatures ends up comparing by identity.
+ * Pool entries disappear once no inventory references the signature any more.
+ */
+final class ItemSignaturePool {
+    // Striped so concurrent loot threads rarely contend on the same lock
+    private static final int STRIPES = 16;
+
+    private static final AtomicReferenceArray<ItemSignature> PLAIN =
+            new AtomicReferenceArray<>(Material.values().length);
+    @SuppressWarnings("unchecked")
+    private static final Map<ItemSignature, WeakReference<ItemSignature>>[] WITH_META = new Map[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            WITH_META[i] = new WeakHashMap<>();
+        }
+    }
+
+    private ItemSignaturePool() {}
+
+    static ItemSignature intern(ItemStack item) {
+        if (!item.hasItemMeta()) {
+            int ordinal = item.getType().ordinal();
+            ItemSignature plain = PLAIN.get(ordinal);
+            if (plain != null) {
+                return plain;
+            }
+            ItemSignature created = new ItemSignature(item);
+            return PLAIN.compareAndSet(ordinal, null, created) ? created : PLAIN.get(ordinal);
+        }
+
+        ItemSignature candidate = new ItemSignature(item);
+        Map<ItemSignature, WeakReference<ItemSignature>> stripe = WITH_META[(candidate.hashCode() & 0x7fffffff) % STRIPES];
+        synchronized (stripe) {
+            WeakReference<ItemSignature> ref = stripe.get(candidate);
+            ItemSignature canonical = ref != null ? ref.get() : null;
+            if (canonical != null) {
+                return canonical;
+            }
+            stripe.put(candidate, new WeakReference<>(candidate));
+            return candidate;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package github.nighter.smartspawner.spawner.properties;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Read-only {@link ItemStack} list view over consolidated (signature, count) pairs.
+ * Stacks are split at max stack size and only built when a caller actually reads them,
+ * so handing this to an event costs nothing for listeners that never touch the items.
+ */
+public final class SignatureStackView extends AbstractList<ItemStack> implements RandomAccess {
+    private final ItemSignature[] signatures;
+    private final long[] amounts;
+    // Index of the first stack of each entry, ascending
+    private final int[] firstStack;
+    private final int size;
+
+    public SignatureStackView(Map<ItemSignature, Long> items) {
+        int entries = items.size();
+        this.signatures = new ItemSignature[entries];
+        this.amounts = new long[entries];
+        this.firstStack = new int[entries];
+
+        int i = 0;
+        int stacks = 0;
+        for (Map.Entry<ItemSignature, Long> entry : items.entrySet()) {
+            long amount = entry.getValue();
+            if (amount <= 0) continue;
+
+            ItemSignature sig = entry.getKey();
+            signatures[i] = sig;
+            amounts[i] = amount;
+            firstStack[i] = stacks;
+            stacks = Math.addExact(stacks, Math.toIntExact((amount + sig.getMaxStackSize() - 1) / sig.getMaxStackSize()));
+            i++;
+        }
+
+        // Pad the tail left by skipped non-positive counts so the binary search stays valid
+        for (int j = i; j < entries; j++) {
+            firstStack[j] = Integer.MAX_VALUE;
+        }
+        this.size = stacks;
+    }
+
+    @Override
+    public ItemStack get(int index) {
+        Objects.checkIndex(index, size);
+
+        int entry = Arrays.binarySearch(firstStack, index);
+        if (entry < 0) {
+            entry = -entry - 2;
+        }
+
+        ItemSignature sig = signatures[entry];
+        int maxStackSize = sig.getMaxStackSize();
+        long remaining = amounts[entry] - (long) (index - firstStack[entry]) * maxStackSize;
+
+        ItemStack stack = sig.getTemplate();
+        stack.setAmount((int) Math.min(remaining, maxStackSize));
+        return stack;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -2,7 +2,10 @@ package github.nighter.smartspawner.spawner.properties;
 
 import github.nighter.smartspawner.SmartSpawner;
 import github.nighter.smartspawner.commands.hologram.SpawnerHologram;
+import github.nighter.smartspawner.config.Config;
 import github.nighter.smartspawner.nms.VersionInitializer;
+import github.nighter.smartspawner.spawner.lootgen.SpawnPhase;
+import github.nighter.smartspawner.spawner.lootgen.SpawnerLootGenerator;
 import github.nighter.smartspawner.spawner.lootgen.loot.EntityLootConfig;
 import github.nighter.smartspawner.spawner.lootgen.loot.LootItem;
 import github.nighter.smartspawner.spawner.sell.SellResult;
@@ -16,6 +19,7 @@ import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
@@ -40,6 +44,15 @@ public class SpawnerData {
     // All operations that touch virtual inventory must check isSelling() before proceeding.
     private final AtomicBoolean selling = new AtomicBoolean(false);
 
+    // Storage version: bumped whenever the spawner is queued for saving, and remembered once a
+    // snapshot of that version has been written, so unchanged spawners are not written twice
+    private final AtomicLong dataVersion = new AtomicLong();
+    @Getter @Setter
+    private volatile long persistedVersion;
+
+    // Parked: completely full and skipped by loot scheduling until something frees capacity
+    private final AtomicBoolean parked = new AtomicBoolean(false);
+
     // Dirty flag for storage GUI – set when items are moved/dropped inside the storage GUI,
     // cleared (and spawner queued for save) when the GUI is closed or main menu is returned to.
     private final AtomicBoolean storageDirty = new AtomicBoolean(false);
@@ -197,6 +210,7 @@ public class SpawnerData {
         }
         // Mark sell value as dirty after config reload since prices may have changed
         this.sellValueDirty = true;
+        unpark();
         updateHologramData();
 
         // Invalidate GUI cache after config reload
@@ -217,6 +231,7 @@ public class SpawnerData {
         if (virtualInventory != null && virtualInventory.getMaxSlots() != maxSpawnerLootSlots) {
             recreateVirtualInventory();
         }
+        unpark();
         updateHologramData();
 
         // Invalidate GUI cache after API modifications
@@ -283,15 +298,32 @@ public class SpawnerData {
         updateHologramData();
     }
 
+    /**
+     * Records a change that storage has to persist.
+     * @return the new storage version
+     */
+    public long markChanged() {
+        return dataVersion.incrementAndGet();
+    }
+
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
     public void setStackSize(int stackSize) {
         setStackSize(stackSize, true);
     }
 
     public void setStackSize(int stackSize, boolean restartHopper) {
+        // Accrual mode: cycles accrued so far are credited at the old stack size first
+        settleBeforeChange(() -> applyStackSize(stackSize, restartHopper));
+    }
+
+    private void applyStackSize(int stackSize, boolean restartHopper) {
         // Acquire locks in consistent order to prevent deadlocks:
         // 1. dataLock - for metadata changes
         // 2. inventoryLock - to prevent inventory operations during virtual inventory replacement
-        // Note: We don't acquire lootGenerationLock here to avoid blocking loot generation cycles
+        // Note: lootGenerationLock is only held here in accrual mode, see SpawnerLootGenerator#settleBeforeChange
         dataLock.lock();
         try {
             inventoryLock.lock();
@@ -326,8 +358,13 @@ public class SpawnerData {
         // Resize the existing virtual inventory instead of creating a new one
         virtualInventory.resize(this.maxSpawnerLootSlots);
 
-        // Reset lastSpawnTime to prevent exploit where players break spawners to trigger immediate loot
-        this.lastSpawnTime = System.currentTimeMillis();
+        // Reset lastSpawnTime to prevent exploit where players break spawners to trigger immediate loot.
+        // In accrual mode, cycles that could not be settled beforehand keep their start instead of being dropped
+        long now = System.currentTimeMillis();
+        if (!Config.get().isAccrualMode() || now - this.lastSpawnTime < SpawnPhase.spawnDelayMillis(this)) {
+            this.lastSpawnTime = SpawnPhase.cycleStart(this, now);
+        }
+        unpark();
         updateHologramData();
 
         // Invalidate GUI cache when stack size changes
@@ -346,6 +383,7 @@ public class SpawnerData {
 
     public void setSpawnerExp(long exp) {
         this.spawnerExp = Math.clamp(exp, 0L, maxStoredExp);
+        unpark();
         updateHologramData();
 
         // Invalidate GUI cache when experience changes
@@ -386,7 +424,8 @@ public class SpawnerData {
     }
 
     public void updateHologramData() {
-        if (hologram != null) {
+        // Hologram updates are scheduled, which is not possible while the plugin is disabling
+        if (hologram != null && plugin.isEnabled()) {
             hologram.updateData(stackSize, entityType, spawnerExp, maxStoredExp,
                     virtualInventory.getUsedSlots(), maxSpawnerLootSlots);
         }
@@ -422,6 +461,9 @@ public class SpawnerData {
 
     public boolean updateCapacityStatus() {
         boolean newStatus = isCompletelyFull();
+        if (newStatus) {
+            park();
+        }
         if (newStatus != isAtCapacity) {
             isAtCapacity = newStatus;
             return true;
@@ -429,14 +471,62 @@ public class SpawnerData {
         return false;
     }
 
+    /**
+     * @return true while the spawner is completely full and left out of loot scheduling
+     */
+    public boolean isParked() {
+        return parked.get();
+    }
+
+    private void park() {
+        parked.set(true);
+        // Capacity may have been freed between the caller's check and the flag; unpark() runs after such a change
+        unpark();
+    }
+
+    /**
+     * Accrual mode: called after the stored last spawn time is loaded. Moves it up to the spawner's cycle
+     * containing {@code loadTime}, so the time the spawner was not loaded is not credited as loot.
+     */
+    public void resumeAccrual(long loadTime) {
+        if (Config.get().isAccrualMode()) {
+            lastSpawnTime = SpawnPhase.resumeTime(lastSpawnTime, SpawnPhase.cycleStart(this, loadTime));
+        }
+    }
+
+    /**
+     * Returns a parked spawner to loot scheduling once it has free storage or exp capacity again.
+     * Called by every change that can free capacity: sells, taking items, hopper pulls, exp claims,
+     * stack changes and reloads.
+     */
+    public void unpark() {
+        if (parked.get() && !isCompletelyFull() && parked.compareAndSet(true, false)) {
+            isAtCapacity = false;
+            // Start a fresh cycle instead of catching up on the time spent full, keeping the spawner's phase
+            lastSpawnTime = SpawnPhase.cycleStart(this, System.currentTimeMillis());
+        }
+    }
+
     public void setEntityType(EntityType newType) {
-        this.entityType = newType;
-        this.lootConfig = plugin.getSpawnerSettingsConfig().getLootConfig(newType);
-        // Mark sell value as dirty since entity type and prices changed
-        this.sellValueDirty = true;
+        // Accrual mode: cycles accrued so far are credited with the old entity's loot first
+        settleBeforeChange(() -> {
+            this.entityType = newType;
+            this.lootConfig = plugin.getSpawnerSettingsConfig().getLootConfig(newType);
+            // Mark sell value as dirty since entity type and prices changed
+            this.sellValueDirty = true;
+        });
         updateHologramData();
     }
 
+    private void settleBeforeChange(Runnable change) {
+        SpawnerLootGenerator lootGenerator = plugin.getSpawnerLootGenerator();
+        if (lootGenerator != null) {
+            lootGenerator.settleBeforeChange(this, change);
+        } else {
+            change.run();
+        }
+    }
+
     public boolean toggleItemFilter(Material material) {
         boolean wasFiltered = filteredItems.contains(material);
         if (wasFiltered) {
@@ -594,6 +684,19 @@ public class SpawnerData {
             consolidated.merge(sig, (long) item.getAmount(), (a, b) -> a + b);
         }
 
+        decrementSellValue(consolidated, priceCache);
+    }
+
+    /**
+     * Decrements the accumulated sell value for already consolidated removals
+     * @param consolidated Map of item signatures to quantities removed
+     * @param priceCache Price cache from loot config
+     */
+    public void decrementSellValue(Map<ItemSignature, Long> consolidated, Map<String, Double> priceCache) {
+        if (consolidated == null || consolidated.isEmpty()) {
+            return;
+        }
+
         double removedValue = 0.0;
         for (Map.Entry<ItemSignature, Long> entry : consolidated.entrySet()) {
             double itemPrice = findItemPrice(entry.getKey(), priceCache);
@@ -684,7 +787,7 @@ public class SpawnerData {
     private String createItemKey(ItemStack itemStack) {
         if (itemStack == null) return "null";
 
-        return createItemKey(new ItemSignature(itemStack));
+        return createItemKey(ItemSignature.of(itemStack));
     }
 
     /**
@@ -766,24 +869,76 @@ public class SpawnerData {
             return true;
         }
 
+        // Consolidate once; the drain and the sell value update share the result
+        Map<ItemSignature, Long> toRemove = new java.util.HashMap<>();
+        for (ItemStack item : items) {
+            if (item == null || item.getAmount() <= 0) continue;
+            toRemove.merge(VirtualInventory.getSignature(item), (long) item.getAmount(), Long::sum);
+        }
+
+        return drainItemsAndUpdateSellValue(toRemove);
+    }
+
+    /**
+     * Removes consolidated counts from virtual inventory and updates accumulated sell value.
+     * All-or-nothing: if any signature has fewer items than requested, nothing is removed.
+     * THREAD-SAFE: Uses inventoryLock to ensure atomicity
+     * @param toRemove Amount to remove per signature
+     * @return true if items were removed successfully
+     */
+    public boolean drainItemsAndUpdateSellValue(Map<ItemSignature, Long> toRemove) {
+        if (toRemove == null || toRemove.isEmpty()) {
+            return true;
+        }
+
         // CRITICAL: Acquire inventoryLock to ensure VirtualInventory remains source of truth
         inventoryLock.lock();
         try {
             // Remove from VirtualInventory (source of truth) - atomic operation within lock
-            boolean removed = virtualInventory.removeItems(items);
+            boolean removed = virtualInventory.drain(toRemove);
 
             // Update sell value atomically if removal was successful
             if (removed && !sellValueDirty) {
                 Map<String, Double> priceCache = createPriceCache();
-                decrementSellValue(items, priceCache);
+                decrementSellValue(toRemove, priceCache);
             }
 
+            if (removed) {
+                unpark();
+            }
             return removed;
         } finally {
             inventoryLock.unlock();
         }
     }
 
+    /**
+     * Moves stored items into a target inventory (hopper, chest, ...) up to its free capacity
+     * and updates the accumulated sell value.
+     * THREAD-SAFE: Uses inventoryLock to ensure atomicity
+     * @param target Inventory to fill
+     * @param maxStacks Upper bound on full stacks moved
+     * @return The amount moved per signature, empty if nothing was moved
+     */
+    public Map<ItemSignature, Long> transferToInventory(org.bukkit.inventory.Inventory target, int maxStacks) {
+        inventoryLock.lock();
+        try {
+            Map<ItemSignature, Long> moved = virtualInventory.transferTo(target, maxStacks);
+
+            if (!moved.isEmpty() && !sellValueDirty) {
+                Map<String, Double> priceCache = createPriceCache();
+                decrementSellValue(moved, priceCache);
+            }
+
+            if (!moved.isEmpty()) {
+                unpark();
+            }
+            return moved;
+        } finally {
+            inventoryLock.unlock();
+        }
+    }
+
     public synchronized void storePreGeneratedLoot(List<ItemStack> items, long experience) {
         this.preGeneratedItems = items;
         this.preGeneratedExperience = experience;
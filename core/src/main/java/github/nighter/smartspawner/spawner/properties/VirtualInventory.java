@@ -1,13 +1,20 @@
 package github.nighter.smartspawner.spawner.properties;
 
 import lombok.Getter;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class VirtualInventory {
+    // Source of content stamps; shared so two inventories never have the same stamp
+    private static final AtomicLong CONTENT_STAMPS = new AtomicLong();
+
     private final Map<ItemSignature, Long> consolidatedItems;
+    private volatile long contentStamp = CONTENT_STAMPS.incrementAndGet();
     @Getter
     private int maxSlots;
     private final Map<Integer, ItemStack> displayInventoryCache;
@@ -32,7 +39,7 @@ public class VirtualInventory {
     }
 
     public static ItemSignature getSignature(ItemStack item) {
-        return new ItemSignature(item);
+        return ItemSignature.of(item);
     }
 
     // Add items in bulk with minimal operations
@@ -45,7 +52,7 @@ public class VirtualInventory {
         // Consolidate all items first
         for (ItemStack item : items) {
             if (item == null || item.getAmount() <= 0) continue;
-            ItemSignature sig = getSignature(item); // Use cached signature
+            ItemSignature sig = getSignature(item); // Canonical, interned signature
             itemBatch.merge(sig, (long) item.getAmount(), (a, b) -> a + b);
         }
 
@@ -57,6 +64,7 @@ public class VirtualInventory {
             displayCacheDirty = true;
             metricsCacheDirty = true;
             sortedEntriesCache = null;
+            contentStamp = CONTENT_STAMPS.incrementAndGet();
         }
     }
     // Remove items in bulk with minimal operations
@@ -73,7 +81,18 @@ public class VirtualInventory {
             toRemove.merge(sig, (long) item.getAmount(), (a, b) -> a + b);
         }
 
-        if (toRemove.isEmpty()) return true;
+        return drain(toRemove);
+    }
+
+    /**
+     * Removes the given counts per signature as one all-or-nothing transaction.
+     * Works on consolidated counts directly, so no ItemStacks are built or re-hashed.
+     *
+     * @param toRemove Amount to remove per signature
+     * @return false (and nothing removed) if any signature holds fewer items than requested
+     */
+    public boolean drain(Map<ItemSignature, Long> toRemove) {
+        if (toRemove == null || toRemove.isEmpty()) return true;
 
         // Verify we have enough of each item
         for (Map.Entry<ItemSignature, Long> entry : toRemove.entrySet()) {
@@ -101,11 +120,162 @@ public class VirtualInventory {
             displayCacheDirty = true;
             metricsCacheDirty = true;
             sortedEntriesCache = null; // Invalidate sorted entries cache
+            contentStamp = CONTENT_STAMPS.incrementAndGet();
         }
 
         return true;
     }
 
+    /**
+     * Moves items straight from consolidated storage into a target inventory.
+     * Free capacity per signature is computed in a single pass over the target, then
+     * counts are moved without building the display map or cloning source stacks.
+     * Callers must hold the owning spawner's inventory lock.
+     *
+     * @param target    The inventory to fill (hopper, chest, ...)
+     * @param maxStacks Upper bound on full stacks moved in this call
+     * @return The amount moved per signature, empty if nothing was moved
+     */
+    public Map<ItemSignature, Long> transferTo(Inventory target, int maxStacks) {
+        if (consolidatedItems.isEmpty() || maxStacks <= 0) {
+            return Collections.emptyMap();
+        }
+
+        Map<Material, List<ItemSignature>> byMaterial = groupByMaterial();
+
+        // Single pass over the target: empty slots and partial stacks we can top up
+        ItemStack[] contents = target.getStorageContents();
+        int emptySlots = 0;
+        Map<ItemSignature, List<Integer>> partialSlots = new HashMap<>();
+        for (int slot = 0; slot < contents.length; slot++) {
+            ItemStack existing = contents[slot];
+            if (existing == null || existing.getType().isAir()) {
+                emptySlots++;
+                continue;
+            }
+            ItemSignature sig = partialStackOf(byMaterial, existing);
+            if (sig != null) {
+                partialSlots.computeIfAbsent(sig, k -> new ArrayList<>(1)).add(slot);
+            }
+        }
+
+        if (emptySlots == 0 && partialSlots.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<ItemSignature, Long> moved = new HashMap<>();
+        int stackBudget = maxStacks;
+        int nextEmptySlot = 0;
+
+        for (Map.Entry<ItemSignature, Long> entry : consolidatedItems.entrySet()) {
+            if (stackBudget <= 0) break;
+
+            ItemSignature sig = entry.getKey();
+            long available = entry.getValue();
+            int maxStackSize = sig.getMaxStackSize();
+            long movedForSig = 0;
+
+            // Top up matching partial stacks first, they don't consume an empty slot
+            List<Integer> partials = partialSlots.get(sig);
+            if (partials != null) {
+                for (int slot : partials) {
+                    if (available <= 0) break;
+                    ItemStack existing = contents[slot];
+                    int add = (int) Math.min(available, maxStackSize - existing.getAmount());
+                    existing.setAmount(existing.getAmount() + add);
+                    target.setItem(slot, existing);
+                    available -= add;
+                    movedForSig += add;
+                }
+            }
+
+            // Then fill empty slots, one new stack per slot
+            while (available > 0 && emptySlots > 0 && stackBudget > 0) {
+                while (contents[nextEmptySlot] != null && !contents[nextEmptySlot].getType().isAir()) {
+                    nextEmptySlot++;
+                }
+                int add = (int) Math.min(available, maxStackSize);
+                ItemStack stack = sig.getUnsafeTemplateRef().asQuantity(add);
+                contents[nextEmptySlot] = stack;
+                target.setItem(nextEmptySlot, stack);
+                available -= add;
+                movedForSig += add;
+                emptySlots--;
+                stackBudget--;
+            }
+
+            if (movedForSig > 0) {
+                moved.put(sig, movedForSig);
+            }
+        }
+
+        if (moved.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        for (Map.Entry<ItemSignature, Long> entry : moved.entrySet()) {
+            long amount = entry.getValue();
+            consolidatedItems.computeIfPresent(entry.getKey(), (key, current) -> {
+                long newAmount = current - amount;
+                return newAmount <= 0 ? null : newAmount;
+            });
+        }
+
+        displayCacheDirty = true;
+        metricsCacheDirty = true;
+        sortedEntriesCache = null;
+        contentStamp = CONTENT_STAMPS.incrementAndGet();
+        return moved;
+    }
+
+    /**
+     * Whether {@link #transferTo} would move anything into the target right now, i.e. there is
+     * stored loot and the target has an empty slot or a partial stack of a stored item.
+     * Callers must hold the owning spawner's inventory lock.
+     */
+    public boolean canTransferTo(Inventory target) {
+        if (consolidatedItems.isEmpty()) {
+            return false;
+        }
+
+        Map<Material, List<ItemSignature>> byMaterial = null;
+        for (ItemStack existing : target.getStorageContents()) {
+            if (existing == null || existing.getType().isAir()) {
+                return true;
+            }
+            if (byMaterial == null) {
+                byMaterial = groupByMaterial();
+            }
+            if (partialStackOf(byMaterial, existing) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Group stored signatures by material so each target slot only checks likely matches
+    private Map<Material, List<ItemSignature>> groupByMaterial() {
+        Map<Material, List<ItemSignature>> byMaterial = new EnumMap<>(Material.class);
+        for (ItemSignature sig : consolidatedItems.keySet()) {
+            byMaterial.computeIfAbsent(sig.getMaterial(), m -> new ArrayList<>(1)).add(sig);
+        }
+        return byMaterial;
+    }
+
+    // The stored signature a non-full target stack can be topped up with, or null
+    private static ItemSignature partialStackOf(Map<Material, List<ItemSignature>> byMaterial, ItemStack existing) {
+        if (existing.getAmount() >= existing.getMaxStackSize()) return null;
+
+        List<ItemSignature> candidates = byMaterial.get(existing.getType());
+        if (candidates == null) return null;
+        for (ItemSignature sig : candidates) {
+            if (sig.getUnsafeTemplateRef().isSimilar(existing)) {
+                return sig;
+            }
+        }
+        return null;
+    }
+
     // Optimized getDisplayInventory method
     public Map<Integer, ItemStack> getDisplayInventory() {
         // Return cached result if available
@@ -186,6 +356,14 @@ public class VirtualInventory {
         return totalItemsCache;
     }
 
+    /**
+     * @return a value that changes whenever items are added or removed and is never shared with another
+     *         inventory, so a copy of the contents taken at the same stamp is still current
+     */
+    public long getContentStamp() {
+        return contentStamp;
+    }
+
     public Map<ItemSignature, Long> getConsolidatedItems() {
         return new HashMap<>(consolidatedItems);
     }
@@ -1,37 +1,37 @@
 package github.nighter.smartspawner.spawner.sell;
 
+import github.nighter.smartspawner.spawner.properties.ItemSignature;
 import lombok.Getter;
-import org.bukkit.inventory.ItemStack;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.List;
+import java.util.Map;
 
 public class SellResult {
     @Getter
     private final double totalValue;
     @Getter
     private final long itemsSold;
+    // Consolidated counts per signature, drained from the spawner in one transaction
     @Getter
-    private final List<ItemStack> itemsToRemove;
+    private final Map<ItemSignature, Long> itemsToRemove;
     @Getter
     private final long timestamp;
     @Getter
     private final boolean successful;
 
-    public SellResult(double totalValue, long itemsSold, List<ItemStack> itemsToRemove) {
+    public SellResult(double totalValue, long itemsSold, Map<ItemSignature, Long> itemsToRemove) {
         this.totalValue = totalValue;
         this.itemsSold = itemsSold;
-        this.itemsToRemove = new ArrayList<>(itemsToRemove);
+        this.itemsToRemove = Collections.unmodifiableMap(itemsToRemove);
         this.timestamp = System.currentTimeMillis();
         this.successful = totalValue > 0.0 && !itemsToRemove.isEmpty();
     }
 
     public static SellResult empty() {
-        return new SellResult(0.0, 0, Collections.emptyList());
+        return new SellResult(0.0, 0, Collections.emptyMap());
     }
 
     public boolean hasItems() {
         return !itemsToRemove.isEmpty();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,309 @@
+package github.nighter.smartspawner.spawner.sell;
+
+import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.Scheduler;
+import github.nighter.smartspawner.api.events.SpawnerBulkSellEvent;
+import github.nighter.smartspawner.api.events.SpawnerSellEvent;
+import github.nighter.smartspawner.hooks.protections.CheckOpenMenu;
+import github.nighter.smartspawner.language.MessageService;
+import github.nighter.smartspawner.spawner.gui.synchronization.SpawnerGuiViewManager;
+import github.nighter.smartspawner.spawner.properties.ItemSignature;
+import github.nighter.smartspawner.spawner.properties.SignatureStackView;
+import github.nighter.smartspawner.spawner.properties.SpawnerData;
+import github.nighter.smartspawner.spawner.properties.VirtualInventory;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sells the storage of many spawners in one go with a single economy transaction.
+ * <p>
+ * Spawners are grouped by chunk so every reserve/drain step runs as one task on the
+ * owning region thread (Folia) or the main thread (Paper). Totals are computed off-thread
+ * in one parallel pass over the precomputed accumulated sell values, and the player is
+ * paid once for everything instead of once per spawner.
+ */
+public class SpawnerBulkSellManager {
+    private final SmartSpawner plugin;
+    private final MessageService messageService;
+    private final SpawnerGuiViewManager spawnerGuiViewManager;
+
+    public SpawnerBulkSellManager(SmartSpawner plugin) {
+        this.plugin = plugin;
+        this.messageService = plugin.getMessageService();
+        this.spawnerGuiViewManager = plugin.getSpawnerGuiViewManager();
+    }
+
+    /**
+     * Collects the spawners within {@code radius} blocks of the player in their current world.
+     */
+    public List<SpawnerData> findNearbySpawners(Player player, int radius) {
+        Location center = player.getLocation();
+        World world = center.getWorld();
+        if (world == null) return Collections.emptyList();
+
+        double radiusSquared = (double) radius * radius;
+        List<SpawnerData> result = new ArrayList<>();
+        for (SpawnerData spawner : plugin.getSpawnerManager().getSpawnersInWorld(world.getName())) {
+            Location loc = spawner.getSpawnerLocation();
+            if (loc != null && loc.distanceSquared(center) <= radiusSquared) {
+                result.add(spawner);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Collects the spawners whose last interacting player is {@code player}.
+     */
+    public List<SpawnerData> findOwnedSpawners(Player player) {
+        String name = player.getName();
+        List<SpawnerData> result = new ArrayList<>();
+        for (SpawnerData spawner : plugin.getSpawnerManager().getAllSpawners()) {
+            if (name.equalsIgnoreCase(spawner.getLastInteractedPlayer())) {
+                result.add(spawner);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sells every sellable item from the given spawners and deposits the total once.
+     * <p>
+     * Spawners the player cannot access, that are already selling, or that are empty are skipped.
+     * Each sold spawner holds its {@code isSelling} guard from the reserve step until its items
+     * have been drained, exactly like a single-spawner sell.
+     *
+     * @param player       the player to pay
+     * @param spawners     candidate spawners
+     * @param notifyPlayer whether to send result messages to the player
+     * @return future completed with the amount deposited, or 0 if nothing was sold
+     */
+    public CompletableFuture<Double> sellSpawners(Player player, Collection<SpawnerData> spawners, boolean notifyPlayer) {
+        CompletableFuture<Double> future = new CompletableFuture<>();
+
+        Map<ChunkKey, List<SpawnerData>> groups = groupByChunk(spawners);
+        if (groups.isEmpty()) {
+            finishEmpty(player, notifyPlayer, future);
+            return future;
+        }
+
+        Queue<SellSnapshot> reserved = new ConcurrentLinkedQueue<>();
+        AtomicInteger pendingGroups = new AtomicInteger(groups.size());
+
+        for (Map.Entry<ChunkKey, List<SpawnerData>> entry : groups.entrySet()) {
+            ChunkKey key = entry.getKey();
+            List<SpawnerData> group = entry.getValue();
+            Scheduler.runChunkTask(key.world(), key.chunkX(), key.chunkZ(), () -> {
+                try {
+                    for (SpawnerData spawner : group) {
+                        SellSnapshot snapshot = reserve(player, spawner, key);
+                        if (snapshot != null) reserved.add(snapshot);
+                    }
+                } finally {
+                    if (pendingGroups.decrementAndGet() == 0) {
+                        Scheduler.runTaskAsync(() -> settle(player, new ArrayList<>(reserved), notifyPlayer, future));
+                    }
+                }
+            });
+        }
+        return future;
+    }
+
+    /**
+     * Reserves one spawner for selling and snapshots its storage.
+     * Runs on the spawner's region/main thread.
+     */
+    private SellSnapshot reserve(Player player, SpawnerData spawner, ChunkKey key) {
+        if (plugin.getSpawnerManager().getSpawnerById(spawner.getSpawnerId()) == null) {
+            return null;
+        }
+        if (!CheckOpenMenu.CanPlayerOpenMenu(player, spawner.getSpawnerLocation())) {
+            return null;
+        }
+        plugin.getSpawnerLootGenerator().settleAccruedLoot(spawner);
+        if (spawner.getVirtualInventory().getUsedSlots() == 0 || !spawner.startSelling()) {
+            return null;
+        }
+
+        try {
+            if (spawner.isSellValueDirty()) {
+                spawner.recalculateSellValue();
+            }
+
+            double value = spawner.getAccumulatedSellValue();
+            Map<ItemSignature, Long> items = spawner.getVirtualInventory().getConsolidatedItems();
+            if (value <= 0.0 || items.isEmpty()) {
+                spawner.stopSelling();
+                return null;
+            }
+
+            // Same hooks as a single sell (multipliers, anti-dupe); the money is paid once in settle()
+            if (SpawnerSellEvent.getHandlerList().getRegisteredListeners().length != 0) {
+                SpawnerSellEvent event = new SpawnerSellEvent(player, spawner.getSpawnerLocation(),
+                        new SignatureStackView(items), value, spawner.getEntityType(), true);
+                Bukkit.getPluginManager().callEvent(event);
+                if (event.isCancelled()) {
+                    spawner.stopSelling();
+                    return null;
+                }
+                if (event.getMoneyAmount() >= 0) value = event.getMoneyAmount();
+            }
+
+            spawnerGuiViewManager.closeAllViewersInventory(spawner);
+            return new SellSnapshot(spawner, key, items, value);
+        } catch (RuntimeException e) {
+            spawner.stopSelling();
+            throw e;
+        }
+    }
+
+    /**
+     * Async step: totals in one parallel pass, then a single deposit and per-chunk drains.
+     */
+    private void settle(Player player, List<SellSnapshot> snapshots, boolean notifyPlayer,
+                        CompletableFuture<Double> future) {
+        if (snapshots.isEmpty()) {
+            finishEmpty(player, notifyPlayer, future);
+            return;
+        }
+
+        Totals totals = snapshots.parallelStream()
+                .map(Totals::of)
+                .reduce(Totals.ZERO, Totals::combine);
+
+        // Economy plugins expect the global/main thread
+        Scheduler.runTask(() -> {
+            double amount = totals.value();
+            try {
+                if (SpawnerBulkSellEvent.getHandlerList().getRegisteredListeners().length != 0) {
+                    List<Location> locations = new ArrayList<>(snapshots.size());
+                    for (SellSnapshot snapshot : snapshots) {
+                        locations.add(snapshot.spawner().getSpawnerLocation());
+                    }
+                    SpawnerBulkSellEvent event = new SpawnerBulkSellEvent(player,
+                            Collections.unmodifiableList(locations), totals.items(), amount);
+                    Bukkit.getPluginManager().callEvent(event);
+                    if (event.isCancelled()) {
+                        release(snapshots);
+                        future.complete(0.0);
+                        return;
+                    }
+                    if (event.getMoneyAmount() >= 0) amount = event.getMoneyAmount();
+                }
+
+                if (!plugin.getItemPriceManager().getCurrencyManager().deposit(amount, player)) {
+                    release(snapshots);
+                    if (notifyPlayer) messageService.sendMessage(player, "sell_failed");
+                    future.complete(0.0);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                release(snapshots);
+                plugin.getLogger().warning("Bulk sell error for " + player.getName() + ": " + e.getMessage());
+                if (notifyPlayer) messageService.sendMessage(player, "sell_failed");
+                future.complete(0.0);
+                return;
+            }
+
+            drainAll(snapshots);
+
+            if (notifyPlayer) {
+                Map<String, String> placeholders = new HashMap<>(4);
+                placeholders.put("count", String.valueOf(snapshots.size()));
+                placeholders.put("amount", plugin.getLanguageManager().formatNumber(totals.items()));
+                placeholders.put("price", plugin.getLanguageManager().formatNumber(amount));
+                messageService.sendMessage(player, "sellall.success", placeholders);
+            }
+            future.complete(amount);
+        });
+    }
+
+    /**
+     * Drains the sold items one chunk group at a time and releases the selling guards.
+     * Money has already been paid; as with single sells there is no rollback.
+     */
+    private void drainAll(List<SellSnapshot> snapshots) {
+        Map<ChunkKey, List<SellSnapshot>> byChunk = new HashMap<>();
+        for (SellSnapshot snapshot : snapshots) {
+            byChunk.computeIfAbsent(snapshot.chunk(), k -> new ArrayList<>()).add(snapshot);
+        }
+
+        for (Map.Entry<ChunkKey, List<SellSnapshot>> entry : byChunk.entrySet()) {
+            ChunkKey key = entry.getKey();
+            Scheduler.runChunkTask(key.world(), key.chunkX(), key.chunkZ(), () -> {
+                for (SellSnapshot snapshot : entry.getValue()) {
+                    SpawnerData spawner = snapshot.spawner();
+                    try {
+                        spawner.drainItemsAndUpdateSellValue(snapshot.items());
+                        spawner.updateHologramData();
+
+                        VirtualInventory virtualInv = spawner.getVirtualInventory();
+                        if (spawner.getIsAtCapacity() && virtualInv.getUsedSlots() < spawner.getMaxSpawnerLootSlots()) {
+                            spawner.setIsAtCapacity(false);
+                        }
+
+                        spawnerGuiViewManager.updateSpawnerMenuViewers(spawner);
+                        plugin.getSpawnerManager().markSpawnerModified(spawner.getSpawnerId());
+                        spawner.markLastSellAsProcessed();
+                    } finally {
+                        spawner.stopSelling();
+                    }
+                }
+            });
+        }
+    }
+
+    private void release(List<SellSnapshot> snapshots) {
+        for (SellSnapshot snapshot : snapshots) {
+            snapshot.spawner().stopSelling();
+        }
+    }
+
+    private void finishEmpty(Player player, boolean notifyPlayer, CompletableFuture<Double> future) {
+        if (notifyPlayer) {
+            messageService.sendMessage(player, "sellall.none");
+        }
+        future.complete(0.0);
+    }
+
+    private Map<ChunkKey, List<SpawnerData>> groupByChunk(Collection<SpawnerData> spawners) {
+        Map<ChunkKey, List<SpawnerData>> groups = new HashMap<>();
+        for (SpawnerData spawner : spawners) {
+            Location loc = spawner.getSpawnerLocation();
+            if (loc == null || loc.getWorld() == null) continue;
+            ChunkKey key = new ChunkKey(loc.getWorld(), loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(spawner);
+        }
+        return groups;
+    }
+
+    private record ChunkKey(World world, int chunkX, int chunkZ) {
+    }
+
+    private record SellSnapshot(SpawnerData spawner, ChunkKey chunk, Map<ItemSignature, Long> items, double value) {
+    }
+
+    private record Totals(double value, long items) {
+        static final Totals ZERO = new Totals(0.0, 0L);
+
+        static Totals of(SellSnapshot snapshot) {
+            long count = 0;
+            for (long amount : snapshot.items().values()) {
+                count += amount;
+            }
+            return new Totals(snapshot.value(), count);
+        }
+
+        Totals combine(Totals other) {
+            return new Totals(value + other.value, items + other.items);
+        }
+    }
+}
@@ -6,13 +6,13 @@ import github.nighter.smartspawner.api.events.SpawnerSellEvent;
 import github.nighter.smartspawner.language.MessageService;
 import github.nighter.smartspawner.spawner.gui.synchronization.SpawnerGuiViewManager;
 import github.nighter.smartspawner.spawner.properties.ItemSignature;
+import github.nighter.smartspawner.spawner.properties.SignatureStackView;
 import github.nighter.smartspawner.spawner.properties.SpawnerData;
 import github.nighter.smartspawner.spawner.properties.VirtualInventory;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 
 import java.util.*;
 
@@ -57,6 +57,8 @@ public class SpawnerSellManager {
      *                   the sell was outright rejected (CAS failed / empty).
      */
     public void sellAllItems(Player player, SpawnerData spawner, Runnable onComplete) {
+        plugin.getSpawnerLootGenerator().settleAccruedLoot(spawner);
+
         // Single atomic guard – prevents race conditions and double-sell exploits
         if (!spawner.startSelling()) {
             messageService.sendMessage(player, "spawner_selling");
@@ -139,8 +141,9 @@ public class SpawnerSellManager {
 
         // Fire the cancellable API event
         if (SpawnerSellEvent.getHandlerList().getRegisteredListeners().length != 0) {
-            SpawnerSellEvent event = new SpawnerSellEvent(
-                    player, spawner.getSpawnerLocation(), sellResult.getItemsToRemove(), amount, spawner.getEntityType());
+            // Lazy view: ItemStacks are only built if a listener reads them
+            SpawnerSellEvent event = new SpawnerSellEvent(player, spawner.getSpawnerLocation(),
+                    new SignatureStackView(sellResult.getItemsToRemove()), amount, spawner.getEntityType());
             Bukkit.getPluginManager().callEvent(event);
             if (event.isCancelled()) return;
             if (event.getMoneyAmount() >= 0) amount = event.getMoneyAmount();
@@ -155,7 +158,7 @@ public class SpawnerSellManager {
 
         // Remove items – if removal somehow fails (should never happen under isSelling guard),
         // items are simply lost; no rollback. Attempting to dupe results in item loss.
-        spawner.removeItemsAndUpdateSellValue(sellResult.getItemsToRemove());
+        spawner.drainItemsAndUpdateSellValue(sellResult.getItemsToRemove());
 
         // Update spawner state
         spawner.updateHologramData();
@@ -179,33 +182,16 @@ public class SpawnerSellManager {
     }
 
     /**
-     * Calculates the total sell value and constructs the list of {@link ItemStack}s to remove.
+     * Calculates the total sell value and the consolidated counts to drain.
      * Pure computation – no Bukkit API calls, safe to run on an async thread.
      */
     private SellResult calculateSellValue(Map<ItemSignature, Long> consolidatedItems,
                                           double totalValue) {
         long totalItemsSold = 0;
-        ArrayList<ItemStack> itemsToRemove = new ArrayList<>();
-
-        for (Map.Entry<ItemSignature, Long> entry : consolidatedItems.entrySet()) {
-            ItemSignature signature = entry.getKey();
-            long amount = entry.getValue();
-            int maxStackSize = signature.getMaxStackSize();
-
+        for (long amount : consolidatedItems.values()) {
             totalItemsSold += amount;
-
-            int stacksNeeded = (int) Math.ceil((double) amount / maxStackSize);
-            itemsToRemove.ensureCapacity(itemsToRemove.size() + stacksNeeded);
-
-            long remaining = amount;
-            while (remaining > 0) {
-                ItemStack stack = signature.getTemplate();
-                stack.setAmount((int) Math.min(remaining, maxStackSize));
-                itemsToRemove.add(stack);
-                remaining -= stack.getAmount();
-            }
         }
 
-        return new SellResult(totalValue, totalItemsSold, itemsToRemove);
+        return new SellResult(totalValue, totalItemsSold, consolidatedItems);
     }
 }
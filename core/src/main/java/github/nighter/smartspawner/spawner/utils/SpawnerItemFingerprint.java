@@ -0,0 +1,159 @@
+package github.nighter.smartspawner.spawner.utils;
+
+import github.nighter.smartspawner.SmartSpawner;
+import github.nighter.smartspawner.language.FrequencyCache;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.block.CreatureSpawner;
+import org.bukkit.entity.EntityType;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.BlockStateMeta;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact in-memory identity of a spawner item, used to compare stacker and inventory slots with one int comparison.
+ * <p>
+ * Layout: {@code kind << 28 | ordinal}, where the ordinal is the {@link EntityType} for smart and vanilla spawners
+ * and the spawned {@link Material} for item spawners. Ordinals are only stable within one server run, so
+ * fingerprints are never written to items; they are derived from the item's existing {@code vanilla_spawner} and
+ * {@code item_spawner_material} PDC keys and its BlockStateMeta spawned type, leaving item NBT (and stacking with
+ * older items) unchanged.
+ * <p>
+ * The PDC keys are read through {@link ItemStack#getPersistentDataContainer()}, a read-only view that does not copy
+ * the item meta, and material names are resolved through a cache. Smart and vanilla spawners need their block state
+ * deserialized to read the spawned type, so their fingerprints are cached per distinct stack; a player's spawner
+ * stacks are classified once and later scans only hash and compare them.
+ */
+public final class SpawnerItemFingerprint {
+    /** Not a spawner item, or a spawner without a spawned type. */
+    public static final int NONE = 0;
+
+    public static final int KIND_SMART = 1;
+    public static final int KIND_VANILLA = 2;
+    public static final int KIND_ITEM = 3;
+
+    private static final int KIND_SHIFT = 28;
+    private static final int ORDINAL_BITS = 16;
+    private static final int ORDINAL_MASK = (1 << ORDINAL_BITS) - 1;
+    private static final int UNKNOWN_ORDINAL = ORDINAL_MASK;
+
+    private static final EntityType[] ENTITY_TYPES = EntityType.values();
+    private static final Material[] MATERIALS = Material.values();
+    private static final Map<String, Integer> ITEM_FINGERPRINTS = new ConcurrentHashMap<>();
+    private static final FrequencyCache<StackKey, Integer> STACK_FINGERPRINTS = new FrequencyCache<>(512);
+
+    private static NamespacedKey VANILLA_SPAWNER_KEY;
+    private static NamespacedKey ITEM_SPAWNER_KEY;
+
+    private SpawnerItemFingerprint() {
+    }
+
+    public static void init(SmartSpawner plugin) {
+        VANILLA_SPAWNER_KEY = new NamespacedKey(plugin, "vanilla_spawner");
+        ITEM_SPAWNER_KEY = new NamespacedKey(plugin, "item_spawner_material");
+        ITEM_FINGERPRINTS.clear();
+        STACK_FINGERPRINTS.clear();
+    }
+
+    public static int smart(EntityType entityType) {
+        return encode(KIND_SMART, entityType == null ? UNKNOWN_ORDINAL : entityType.ordinal());
+    }
+
+    public static int vanilla(EntityType entityType) {
+        return encode(KIND_VANILLA, entityType == null ? UNKNOWN_ORDINAL : entityType.ordinal());
+    }
+
+    public static int item(Material material) {
+        return encode(KIND_ITEM, material == null ? UNKNOWN_ORDINAL : material.ordinal());
+    }
+
+    private static int encode(int kind, int ordinal) {
+        return kind << KIND_SHIFT | (ordinal & ORDINAL_MASK);
+    }
+
+    /**
+     * Classifies an item.
+     * @param item The ItemStack to check
+     * @return its fingerprint, or {@link #NONE} if it is not a spawner with a known type
+     */
+    public static int of(ItemStack item) {
+        if (item == null || item.getType() != Material.SPAWNER) {
+            return NONE;
+        }
+
+        PersistentDataContainer view = item.getPersistentDataContainer();
+        String materialName = view.get(ITEM_SPAWNER_KEY, PersistentDataType.STRING);
+        if (materialName != null) {
+            return ITEM_FINGERPRINTS.computeIfAbsent(materialName, name -> item(Material.getMaterial(name)));
+        }
+        if (!item.hasItemMeta()) {
+            return NONE;
+        }
+
+        StackKey key = new StackKey(item, item.hashCode());
+        Integer cached = STACK_FINGERPRINTS.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        EntityType entityType = spawnedType(item.getItemMeta());
+        int fingerprint = view.has(VANILLA_SPAWNER_KEY, PersistentDataType.BOOLEAN)
+                ? vanilla(entityType)
+                : entityType != null ? smart(entityType) : NONE;
+        // Inventory stacks are live views, so the cache keeps its own copy
+        STACK_FINGERPRINTS.put(new StackKey(item.clone(), key.hash()), fingerprint);
+        return fingerprint;
+    }
+
+    // Hashes the stack once per lookup; ItemStack#hashCode covers the whole item meta
+    private record StackKey(ItemStack stack, int hash) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof StackKey key && hash == key.hash && stack.equals(key.stack);
+        }
+    }
+
+    private static EntityType spawnedType(ItemMeta meta) {
+        if (meta instanceof BlockStateMeta blockMeta && blockMeta.hasBlockState()
+                && blockMeta.getBlockState() instanceof CreatureSpawner spawner) {
+            return spawner.getSpawnedType();
+        }
+        return null;
+    }
+
+    public static int kind(int fingerprint) {
+        return fingerprint >>> KIND_SHIFT;
+    }
+
+    /**
+     * @return the spawned entity type of a smart or vanilla spawner fingerprint, or null
+     */
+    public static EntityType entityType(int fingerprint) {
+        int kind = kind(fingerprint);
+        if (kind != KIND_SMART && kind != KIND_VANILLA) {
+            return null;
+        }
+        int ordinal = fingerprint & ORDINAL_MASK;
+        return ordinal < ENTITY_TYPES.length ? ENTITY_TYPES[ordinal] : null;
+    }
+
+    /**
+     * @return the spawned item material of an item spawner fingerprint, or null
+     */
+    public static Material itemMaterial(int fingerprint) {
+        if (kind(fingerprint) != KIND_ITEM) {
+            return null;
+        }
+        int ordinal = fingerprint & ORDINAL_MASK;
+        return ordinal < MATERIALS.length ? MATERIALS[ordinal] : null;
+    }
+}
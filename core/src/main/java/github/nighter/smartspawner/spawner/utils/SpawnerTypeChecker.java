@@ -2,25 +2,19 @@ package github.nighter.smartspawner.spawner.utils;
 
 import github.nighter.smartspawner.SmartSpawner;
 import org.bukkit.Material;
-import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataType;
 
 /**
  * Utility class for distinguishing between vanilla and custom spawners
  */
 public class SpawnerTypeChecker {
-    private static NamespacedKey VANILLA_SPAWNER_KEY;
-    private static NamespacedKey ITEM_SPAWNER_KEY;
 
     /**
      * Initializes the spawner type checker with plugin instance
      * @param plugin The SmartSpawner plugin instance
      */
     public static void init(SmartSpawner plugin) {
-        VANILLA_SPAWNER_KEY = new NamespacedKey(plugin, "vanilla_spawner");
-        ITEM_SPAWNER_KEY = new NamespacedKey(plugin, "item_spawner_material");
+        SpawnerItemFingerprint.init(plugin);
     }
 
     /**
@@ -29,13 +23,7 @@ public class SpawnerTypeChecker {
      * @return true if it's a vanilla spawner, false otherwise
      */
     public static boolean isVanillaSpawner(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) {
-            return false;
-        }
-
-        ItemMeta meta = item.getItemMeta();
-        return meta != null && meta.getPersistentDataContainer().has(
-                VANILLA_SPAWNER_KEY, PersistentDataType.BOOLEAN);
+        return SpawnerItemFingerprint.kind(SpawnerItemFingerprint.of(item)) == SpawnerItemFingerprint.KIND_VANILLA;
     }
 
     /**
@@ -44,13 +32,7 @@ public class SpawnerTypeChecker {
      * @return true if it's an item spawner, false otherwise
      */
     public static boolean isItemSpawner(ItemStack item) {
-        if (item == null || item.getType() != Material.SPAWNER || !item.hasItemMeta()) {
-            return false;
-        }
-
-        ItemMeta meta = item.getItemMeta();
-        return meta != null && meta.getPersistentDataContainer().has(
-                ITEM_SPAWNER_KEY, PersistentDataType.STRING);
+        return SpawnerItemFingerprint.kind(SpawnerItemFingerprint.of(item)) == SpawnerItemFingerprint.KIND_ITEM;
     }
 
     /**
@@ -59,26 +41,6 @@ public class SpawnerTypeChecker {
      * @return The Material being spawned, or null if not an item spawner
      */
     public static Material getItemSpawnerMaterial(ItemStack item) {
-        if (!isItemSpawner(item)) {
-            return null;
-        }
-
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null) {
-            return null;
-        }
-
-        String materialName = meta.getPersistentDataContainer().get(
-                ITEM_SPAWNER_KEY, PersistentDataType.STRING);
-
-        if (materialName == null) {
-            return null;
-        }
-
-        try {
-            return Material.valueOf(materialName);
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
+        return SpawnerItemFingerprint.itemMaterial(SpawnerItemFingerprint.of(item));
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import github.nighter.smartspawner.Scheduler;
+import github.nighter.smartspawner.SmartSpawner;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.event.HoverEvent;
@@ -15,7 +16,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
@@ -30,7 +30,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class UpdateChecker implements Listener {
-    private final JavaPlugin plugin;
+    private final SmartSpawner plugin;
     private final String projectId = "9tQwxSFr";
     // Only keep supported major.minor branches here. Patch versions are accepted automatically.
     private static final Set<String> SUPPORTED_MAJOR_VERSIONS = Set.of("1.21", "26.1");
@@ -51,7 +51,7 @@ public class UpdateChecker implements Listener {
 
     private final Map<UUID, LocalDate> notifiedPlayers = new HashMap<>();
 
-    public UpdateChecker(JavaPlugin plugin) {
+    public UpdateChecker(SmartSpawner plugin) {
         this.plugin = plugin;
         this.currentVersion = plugin.getPluginMeta().getVersion();
         this.serverVersionSupported = isServerVersionSupported();
@@ -201,7 +201,7 @@ public class UpdateChecker implements Listener {
                 plugin.getLogger().warning("Error checking for updates: " + e.getMessage());
                 return false;
             }
-        });
+        }, plugin.getIoExecutor()::runHttp);
     }
 
     private void sendUpdateNotification(Player player) {
@@ -0,0 +1,200 @@
+package github.nighter.smartspawner.logging.discord;
+
+import com.sun.net.httpserver.HttpServer;
+import github.nighter.smartspawner.logging.SpawnerEventType;
+import github.nighter.smartspawner.logging.SpawnerLogEntry;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Folding of log entries into summary buckets and the summary embed rendered from them.
+ */
+class DiscordEventAggregatorTest {
+    private static final World OVERWORLD = world("world");
+    private static final World NETHER = world("world_nether");
+    private static final Set<String> SUMMED = Set.of("total_price", "items_sold");
+
+    @Test
+    void foldsByEventPlayerAndWorld() {
+        DiscordEventAggregator aggregator = new DiscordEventAggregator(SUMMED);
+        aggregator.add(sale("Steve", OVERWORLD, 0, 1_000L));
+        aggregator.add(sale("Steve", OVERWORLD, 1, 2_000L));
+        aggregator.add(sale("Steve", NETHER, 0, 3_000L));
+        aggregator.add(sale("Alex", OVERWORLD, 0, 4_000L));
+        aggregator.add(entry(SpawnerEventType.SPAWNER_EXP_CLAIM, "Steve", OVERWORLD, 0, 5_000L).build());
+        aggregator.add(sale("Steve", OVERWORLD, 2, 6_000L));
+
+        assertEquals(4, aggregator.size());
+        List<DiscordEventAggregator.Bucket> buckets = aggregator.drain();
+        assertEquals(List.of(
+                new DiscordEventAggregator.Key(SpawnerEventType.SPAWNER_SELL_ALL, "Steve", "world"),
+                new DiscordEventAggregator.Key(SpawnerEventType.SPAWNER_SELL_ALL, "Steve", "world_nether"),
+                new DiscordEventAggregator.Key(SpawnerEventType.SPAWNER_SELL_ALL, "Alex", "world"),
+                new DiscordEventAggregator.Key(SpawnerEventType.SPAWNER_EXP_CLAIM, "Steve", "world")),
+                buckets.stream().map(DiscordEventAggregator.Bucket::getKey).toList());
+
+        DiscordEventAggregator.Bucket steve = buckets.get(0);
+        assertEquals(3, steve.getCount());
+        assertEquals(1_000L, steve.getFirstTimestamp());
+        assertEquals(6_000L, steve.getLastTimestamp());
+        assertEquals(1_000L, steve.getFirstEntry().getTimestamp());
+        assertEquals(Set.of("0, 64, 0", "16, 64, 0", "32, 64, 0"), steve.getLocations());
+    }
+
+    @Test
+    void sumsOnlyConfiguredNumericFields() {
+        DiscordEventAggregator aggregator = new DiscordEventAggregator(SUMMED);
+        aggregator.add(sale("Steve", OVERWORLD, 0, 1_000L));
+        aggregator.add(entry(SpawnerEventType.SPAWNER_SELL_ALL, "Steve", OVERWORLD, 0, 2_000L)
+                .metadata("total_price", 7.5)
+                .metadata("items_sold", "unknown")
+                .metadata("spawners", 3)
+                .build());
+
+        DiscordEventAggregator.Bucket bucket = aggregator.drain().get(0);
+        assertEquals(Map.of("total_price", 20.0, "items_sold", 32.0), bucket.getSums());
+    }
+
+    @Test
+    void tracksLocationsUpToTheCapAndCountsTheRest() {
+        DiscordEventAggregator aggregator = new DiscordEventAggregator(SUMMED);
+        for (int i = 0; i < 70; i++) {
+            aggregator.add(sale("Steve", OVERWORLD, i, 1_000L + i));
+        }
+        aggregator.add(sale("Steve", OVERWORLD, 0, 2_000L));
+
+        DiscordEventAggregator.Bucket bucket = aggregator.drain().get(0);
+        assertEquals(71, bucket.getCount());
+        assertEquals(64, bucket.getLocations().size());
+        assertEquals(6, bucket.getExtraLocations());
+    }
+
+    @Test
+    void drainClosesTheWindow() {
+        DiscordEventAggregator aggregator = new DiscordEventAggregator(SUMMED);
+        aggregator.add(sale("Steve", OVERWORLD, 0, 1_000L));
+        aggregator.add(sale("Steve", OVERWORLD, 1, 2_000L));
+
+        assertEquals(2, aggregator.drain().get(0).getCount());
+        assertEquals(0, aggregator.size());
+        assertTrue(aggregator.drain().isEmpty());
+
+        aggregator.add(sale("Steve", OVERWORLD, 2, 3_000L));
+        DiscordEventAggregator.Bucket next = aggregator.drain().get(0);
+        assertEquals(1, next.getCount());
+        assertEquals(3_000L, next.getFirstTimestamp());
+        assertEquals(Map.of("total_price", 12.5, "items_sold", 32.0), next.getSums());
+    }
+
+    @Test
+    void reloadKeepsTheOpenWindowAndAppliesNewFields() {
+        // The logger drains the old aggregator before swapping in one built from the new config
+        DiscordEventAggregator before = new DiscordEventAggregator(Set.of("total_price"));
+        before.add(sale("Steve", OVERWORLD, 0, 1_000L));
+        before.add(sale("Steve", OVERWORLD, 1, 2_000L));
+
+        List<DiscordEventAggregator.Bucket> closed = before.drain();
+        DiscordEventAggregator after = new DiscordEventAggregator(Set.of("items_sold"));
+        after.add(sale("Steve", OVERWORLD, 2, 3_000L));
+
+        assertEquals(Map.of("total_price", 25.0), closed.get(0).getSums());
+        assertEquals(Map.of("items_sold", 32.0), after.drain().get(0).getSums());
+    }
+
+    @Test
+    void summaryEmbedListsTotalsAndSpawners() {
+        String json = summary(true).toEmbedJson();
+
+        assertTrue(json.contains("\"title\":\"📊 Items sold ×7\""), json);
+        assertTrue(json.contains("\"description\":\"👤 `Steve` • 🌍 `world`"), json);
+        assertTrue(json.contains("\"color\":3066993"), json);
+        assertTrue(json.contains("{\"name\":\"• Total Items Sold\",\"value\":\"`"
+                + String.format("%.2f", 224.0) + "`\",\"inline\":true}"), json);
+        assertTrue(json.contains("{\"name\":\"📍 Spawners (7)\",\"value\":\"`0, 64, 0`\\n`16, 64, 0`\\n"
+                + "`32, 64, 0`\\n`48, 64, 0`\\n`64, 64, 0`\\n+2 more\",\"inline\":false}"), json);
+        assertTrue(json.contains("\"footer\":{\"text\":\"SmartSpawner • summary\"}"), json);
+        assertTrue(json.contains("\"thumbnail\":{\"url\":\"https://mc-heads.net/avatar/Steve/64.png\"}"), json);
+
+        assertFalse(summary(false).toEmbedJson().contains("\"thumbnail\""));
+    }
+
+    @Test
+    void summaryPayloadReachesTheWebhook() throws IOException {
+        ConcurrentLinkedQueue<String> bodies = new ConcurrentLinkedQueue<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/webhook", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                bodies.add(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/webhook";
+            String payload = DiscordEmbed.buildBatchJson(List.of(summary(false)));
+
+            DiscordWebhookClient client = new DiscordWebhookClient(Logger.getAnonymousLogger());
+            assertEquals(204, client.post(url, payload));
+
+            assertEquals(List.of(payload), List.copyOf(bodies));
+            assertTrue(payload.startsWith("{\"embeds\":[{\"title\":\"📊 Items sold ×7\""), payload);
+            assertTrue(payload.endsWith("]}"), payload);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static DiscordEmbed summary(boolean showPlayerHead) {
+        DiscordEventAggregator aggregator = new DiscordEventAggregator(Set.of("items_sold"));
+        for (int i = 0; i < 7; i++) {
+            aggregator.add(sale("Steve", OVERWORLD, i, 1_000L + i));
+        }
+        return DiscordEmbedBuilder.buildSummaryEmbed(aggregator.drain().get(0), 0x2ECC71, showPlayerHead);
+    }
+
+    private static SpawnerLogEntry sale(String player, World world, int spawner, long timestamp) {
+        return entry(SpawnerEventType.SPAWNER_SELL_ALL, player, world, spawner, timestamp)
+                .metadata("total_price", 12.5)
+                .metadata("items_sold", 32)
+                .metadata("spawners", 1)
+                .build();
+    }
+
+    private static SpawnerLogEntry.Builder entry(SpawnerEventType type, String player, World world,
+                                                 int spawner, long timestamp) {
+        return new SpawnerLogEntry.Builder(type)
+                .timestamp(timestamp)
+                .player(player, UUID.nameUUIDFromBytes(player.getBytes(StandardCharsets.UTF_8)))
+                .location(new Location(world, spawner * 16 + 0.5, 64, 0.5));
+    }
+
+    private static World world(String name) {
+        return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[]{World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getName" -> name;
+                    case "hashCode" -> name.hashCode();
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "World{" + name + "}";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
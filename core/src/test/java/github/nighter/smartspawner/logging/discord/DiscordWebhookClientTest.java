@@ -0,0 +1,151 @@
+package github.nighter.smartspawner.logging.discord;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link DiscordWebhookClient} against a local {@link HttpServer} standing in for Discord.
+ */
+class DiscordWebhookClientTest {
+    private HttpServer server;
+    private String url;
+    private final ConcurrentLinkedQueue<RecordedRequest> requests = new ConcurrentLinkedQueue<>();
+    private volatile int status = 204;
+    private volatile String retryAfter;
+
+    private final DiscordWebhookClient client = new DiscordWebhookClient(Logger.getAnonymousLogger());
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/webhook", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                requests.add(new RecordedRequest(
+                        exchange.getRequestMethod(),
+                        exchange.getRequestHeaders().getFirst("Content-Type"),
+                        exchange.getRequestHeaders().getFirst("User-Agent"),
+                        new String(body.readAllBytes(), StandardCharsets.UTF_8)));
+            }
+            if (retryAfter != null) {
+                exchange.getResponseHeaders().set("Retry-After", retryAfter);
+            }
+            byte[] response = status == 429
+                    ? "{\"message\":\"You are being rate limited.\",\"retry_after\":2.5}".getBytes(StandardCharsets.UTF_8)
+                    : new byte[0];
+            exchange.sendResponseHeaders(status, response.length == 0 ? -1 : response.length);
+            if (response.length > 0) {
+                exchange.getResponseBody().write(response);
+            }
+            exchange.close();
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/webhook";
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void postsBatchAsJson() {
+        DiscordEmbed first = new DiscordEmbed();
+        first.setTitle("Spawner placed");
+        DiscordEmbed second = new DiscordEmbed();
+        second.setTitle("Items sold \"x14\"");
+        String payload = DiscordEmbed.buildBatchJson(List.of(first, second));
+
+        assertEquals(204, client.post(url, payload));
+
+        assertEquals(1, requests.size());
+        RecordedRequest request = requests.poll();
+        assertEquals("POST", request.method());
+        assertEquals("application/json", request.contentType());
+        assertEquals(DiscordWebhookClient.USER_AGENT, request.userAgent());
+        assertEquals(payload, request.body());
+        assertTrue(request.body().startsWith("{\"embeds\":[{\"title\":\"Spawner placed\""));
+        assertTrue(request.body().contains("\"title\":\"Items sold \\\"x14\\\"\""));
+        assertFalse(client.isRateLimited(System.currentTimeMillis()));
+    }
+
+    @Test
+    void rateLimitHonoursRetryAfter() {
+        status = 429;
+        retryAfter = "2.5";
+
+        long before = System.currentTimeMillis();
+        assertEquals(429, client.post(url, "{\"embeds\":[]}"));
+        long after = System.currentTimeMillis();
+
+        long until = client.getRateLimitedUntil();
+        assertTrue(until >= before + 2_500 && until <= after + 2_500, "backoff follows Retry-After");
+        assertTrue(client.isRateLimited(after));
+        assertFalse(client.isRateLimited(until));
+    }
+
+    @Test
+    void rateLimitWithoutRetryAfterUsesDefaultBackoff() {
+        status = 429;
+
+        long before = System.currentTimeMillis();
+        assertEquals(429, client.post(url, "{\"embeds\":[]}"));
+
+        assertTrue(client.getRateLimitedUntil() >= before + DiscordWebhookClient.DEFAULT_BACKOFF_MILLIS);
+    }
+
+    @Test
+    void rateLimitBackoffHasAFloor() {
+        status = 429;
+        retryAfter = "0.05";
+
+        long before = System.currentTimeMillis();
+        assertEquals(429, client.post(url, "{\"embeds\":[]}"));
+
+        assertTrue(client.getRateLimitedUntil() >= before + DiscordWebhookClient.MIN_BACKOFF_MILLIS);
+    }
+
+    @Test
+    void serverErrorDoesNotBackOff() {
+        status = 500;
+
+        assertEquals(500, client.post(url, "{\"embeds\":[]}"));
+
+        assertEquals(1, requests.size());
+        assertFalse(client.isRateLimited(System.currentTimeMillis()));
+    }
+
+    @Test
+    void unreachableEndpointReportsFailure() {
+        server.stop(0);
+
+        assertEquals(-1, client.post(url, "{\"embeds\":[]}"));
+        assertFalse(client.isRateLimited(System.currentTimeMillis()));
+    }
+
+    @Test
+    void parsesRetryAfter() {
+        assertEquals(2_500L, DiscordWebhookClient.parseRetryAfter("2.5"));
+        assertEquals(30_000L, DiscordWebhookClient.parseRetryAfter(" 30 "));
+        assertEquals(DiscordWebhookClient.MIN_BACKOFF_MILLIS, DiscordWebhookClient.parseRetryAfter("0"));
+        assertEquals(DiscordWebhookClient.DEFAULT_BACKOFF_MILLIS, DiscordWebhookClient.parseRetryAfter(null));
+        assertEquals(DiscordWebhookClient.DEFAULT_BACKOFF_MILLIS, DiscordWebhookClient.parseRetryAfter("soon"));
+    }
+
+    private record RecordedRequest(String method, String contentType, String userAgent, String body) {
+    }
+}
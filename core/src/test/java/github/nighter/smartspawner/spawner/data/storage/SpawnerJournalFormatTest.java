@@ -0,0 +1,194 @@
+package github.nighter.smartspawner.spawner.data.storage;
+
+import github.nighter.smartspawner.spawner.data.storage.SpawnerJournalFormat.SegmentEnd;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Record codec, segment folding and the choice of segments replayed on recovery.
+ */
+class SpawnerJournalFormatTest {
+    private static final String FIRST = "a1b2c3d4";
+    private static final String SECOND = "e5f6a7b8";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void upsertRoundTrips() throws IOException {
+        SpawnerSnapshot spawner = spawner(FIRST, 1_200L, List.of("BONE;0:64", "ARROW;0:12"));
+
+        Map<String, SpawnerSnapshot> recovered = new LinkedHashMap<>();
+        SpawnerJournalFormat.decode(SpawnerJournalFormat.encodeUpsert(spawner), recovered);
+
+        assertEquals(Map.of(FIRST, spawner), recovered);
+    }
+
+    @Test
+    void patchHoldsOnlyWhatChanged() throws IOException {
+        SpawnerSnapshot before = spawner(FIRST, 1_200L, List.of("BONE;0:64", "ARROW;0:12", "STRING;0:3"));
+        SpawnerSnapshot after = spawner(FIRST, 1_450L, List.of("BONE;0:64", "ARROW;0:20", "STRING;0:3"));
+
+        byte[] upsert = SpawnerJournalFormat.encodeUpsert(before);
+        byte[] patch = SpawnerJournalFormat.encodePatch(before, after);
+        assertTrue(patch.length < upsert.length / 2, "patch is smaller than a full record");
+
+        Map<String, SpawnerSnapshot> recovered = new LinkedHashMap<>();
+        SpawnerJournalFormat.decode(upsert, recovered);
+        SpawnerJournalFormat.decode(patch, recovered);
+
+        SpawnerSnapshot folded = recovered.get(FIRST);
+        assertEquals(1_450L, folded.spawnerExp());
+        assertEquals(after.stackSize(), folded.stackSize());
+        assertEquals(new HashSet<>(after.inventory()), new HashSet<>(folded.inventory()));
+    }
+
+    @Test
+    void unchangedSpawnerNeedsNoPatch() throws IOException {
+        List<String> inventory = List.of("BONE;0:64");
+        SpawnerSnapshot before = spawner(FIRST, 1_200L, inventory);
+
+        assertNull(SpawnerJournalFormat.encodePatch(before, spawner(FIRST, 1_200L, inventory)));
+        assertNull(SpawnerJournalFormat.encodePatch(before, spawner(FIRST, 1_200L, List.of("BONE;0:64"))));
+    }
+
+    @Test
+    void patchWithoutBaseIsIgnored() throws IOException {
+        SpawnerSnapshot before = spawner(FIRST, 1_200L, List.of());
+        Map<String, SpawnerSnapshot> recovered = new LinkedHashMap<>();
+
+        SpawnerJournalFormat.decode(SpawnerJournalFormat.encodePatch(before, spawner(FIRST, 9L, List.of())), recovered);
+
+        assertTrue(recovered.isEmpty());
+    }
+
+    @Test
+    void foldKeepsTheLatestRecordInOrder() throws IOException {
+        Map<String, SpawnerSnapshot> recovered = new LinkedHashMap<>();
+        SpawnerJournalFormat.decode(SpawnerJournalFormat.encodeUpsert(spawner(FIRST, 1L, List.of())), recovered);
+        SpawnerJournalFormat.decode(SpawnerJournalFormat.encodeUpsert(spawner(SECOND, 2L, List.of())), recovered);
+        SpawnerJournalFormat.decode(SpawnerJournalFormat.encodeDelete(FIRST), recovered);
+
+        assertEquals(List.of(SECOND, FIRST), List.copyOf(recovered.keySet()));
+        assertNull(recovered.get(FIRST));
+        assertTrue(recovered.containsKey(FIRST));
+        assertEquals(2L, recovered.get(SECOND).spawnerExp());
+    }
+
+    @Test
+    void readsCompleteSegment() throws IOException {
+        byte[] segment = segment(
+                SpawnerJournalFormat.encodeUpsert(spawner(FIRST, 1L, List.of("BONE;0:1"))),
+                SpawnerJournalFormat.encodeUpsert(spawner(SECOND, 2L, List.of())));
+
+        Map<String, SpawnerSnapshot> recovered = new LinkedHashMap<>();
+        assertEquals(SegmentEnd.COMPLETE, SpawnerJournalFormat.readSegment(new ByteArrayInputStream(segment), recovered));
+        assertEquals(2, recovered.size());
+    }
+
+    @Test
+    void tornTailKeepsEarlierRecords() throws IOException {
+        byte[] segment = segment(
+                SpawnerJournalFormat.encodeUpsert(spawner(FIRST, 1L, List.of())),
+                SpawnerJournalFormat.encodeUpsert(spawner(SECOND, 2L, List.of())));
+        byte[] torn = Arrays.copyOf(segment, segment.length - 5);
+
+        Map<String, SpawnerSnapshot> recovered = new LinkedHashMap<>();
+        assertEquals(SegmentEnd.PARTIAL_RECORD, SpawnerJournalFormat.readSegment(new ByteArrayInputStream(torn), recovered));
+        assertEquals(List.of(FIRST), List.copyOf(recovered.keySet()));
+    }
+
+    @Test
+    void checksumMismatchStopsReading() throws IOException {
+        byte[] first = SpawnerJournalFormat.encodeUpsert(spawner(FIRST, 1L, List.of()));
+        byte[] segment = segment(first,
+                SpawnerJournalFormat.encodeUpsert(spawner(SECOND, 2L, List.of())),
+                SpawnerJournalFormat.encodeDelete(FIRST));
+        // Flip a byte in the second record's payload: magic, first record, then its length and crc
+        segment[4 + 8 + first.length + 8 + 3] ^= 0x7F;
+
+        Map<String, SpawnerSnapshot> recovered = new LinkedHashMap<>();
+        assertEquals(SegmentEnd.CHECKSUM_MISMATCH, SpawnerJournalFormat.readSegment(new ByteArrayInputStream(segment), recovered));
+        assertEquals(List.of(FIRST), List.copyOf(recovered.keySet()));
+        assertNotNull(recovered.get(FIRST), "the later delete is not applied");
+    }
+
+    @Test
+    void unknownFormatIsSkipped() throws IOException {
+        byte[] segment = segment(SpawnerJournalFormat.encodeDelete(FIRST));
+        segment[0] = 0;
+
+        Map<String, SpawnerSnapshot> recovered = new LinkedHashMap<>();
+        assertEquals(SegmentEnd.UNKNOWN_FORMAT, SpawnerJournalFormat.readSegment(new ByteArrayInputStream(segment), recovered));
+        assertTrue(recovered.isEmpty());
+    }
+
+    @Test
+    void recoverySkipsSegmentsBeforeTheStoredCheckpoint() throws IOException {
+        for (long number : new long[]{12, 9, 10, 11}) {
+            Files.write(SpawnerJournalFormat.segmentPath(directory, number), segment());
+        }
+        Files.writeString(directory.resolve("notes.txt"), "not a segment");
+
+        List<Path> segments = SpawnerJournalFormat.listSegments(directory);
+        assertEquals(List.of(9L, 10L, 11L, 12L), segments.stream().map(SpawnerJournalFormat::segmentNumber).toList());
+
+        // A crash between a flush that stored checkpoint 11 and its release leaves 9 and 10 behind
+        assertEquals(List.of(11L, 12L), SpawnerJournalFormat.replayable(segments, 11L).stream()
+                .map(SpawnerJournalFormat::segmentNumber).toList());
+        assertEquals(segments, SpawnerJournalFormat.replayable(segments, 0L));
+    }
+
+    @Test
+    void recoveryDoesNotReplayOlderStateOverAFlush() throws IOException {
+        // Segment 1 was flushed (checkpoint 2 stored) but not released; segment 2 holds a later change
+        Files.write(SpawnerJournalFormat.segmentPath(directory, 1), segment(
+                SpawnerJournalFormat.encodeUpsert(spawner(FIRST, 100L, List.of())),
+                SpawnerJournalFormat.encodeUpsert(spawner(SECOND, 5L, List.of()))));
+        Files.write(SpawnerJournalFormat.segmentPath(directory, 2), segment(
+                SpawnerJournalFormat.encodeUpsert(spawner(SECOND, 7L, List.of()))));
+
+        Map<String, SpawnerSnapshot> recovered = new LinkedHashMap<>();
+        for (Path path : SpawnerJournalFormat.replayable(SpawnerJournalFormat.listSegments(directory), 2L)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                SpawnerJournalFormat.readSegment(in, recovered);
+            }
+        }
+
+        assertEquals(List.of(SECOND), List.copyOf(recovered.keySet()));
+        assertEquals(7L, recovered.get(SECOND).spawnerExp());
+    }
+
+    private static byte[] segment(byte[]... payloads) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        new DataOutputStream(buffer).writeInt(SpawnerJournalFormat.MAGIC);
+        for (byte[] payload : payloads) {
+            SpawnerJournalFormat.appendRecord(buffer, payload);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static SpawnerSnapshot spawner(String id, long exp, List<String> inventory) {
+        return new SpawnerSnapshot(id, "world", 120, 64, -35, "ZOMBIE", null,
+                exp, true, 16, false, 500L, 45, 2_500L, 1, 4, 3, 1_000, 1_760_000_000_000L, false,
+                "Steve", null, "ROTTEN_FLESH,IRON_INGOT", inventory, 0L, 0L);
+    }
+}
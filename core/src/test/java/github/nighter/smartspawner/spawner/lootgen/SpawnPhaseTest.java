@@ -0,0 +1,69 @@
+package github.nighter.smartspawner.spawner.lootgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cycle math behind accrual mode, in particular what a spawner is credited after a reload.
+ */
+class SpawnPhaseTest {
+    private static final String SPAWNER_ID = "a1b2c3d4";
+    // 500 ticks plus the 1 second buffer, in milliseconds
+    private static final long DELAY = (500L + 20L) * 50L;
+    private static final long SAVED_AT = 1_760_000_000_000L;
+
+    @Test
+    void cycleStartIsPhaseAlignedAndStable() {
+        long now = SAVED_AT + 123_456L;
+        long start = SpawnPhase.cycleStart(SPAWNER_ID, DELAY, now);
+
+        assertTrue(start <= now && now - start < DELAY);
+        assertEquals(start, SpawnPhase.cycleStart(SPAWNER_ID, DELAY, start));
+        assertEquals(start + DELAY, SpawnPhase.cycleStart(SPAWNER_ID, DELAY, now + DELAY));
+    }
+
+    @Test
+    void accruedCyclesCountsWholeDelays() {
+        assertEquals(0, SpawnPhase.accruedCycles(SAVED_AT, DELAY, SAVED_AT + DELAY - 1));
+        assertEquals(1, SpawnPhase.accruedCycles(SAVED_AT, DELAY, SAVED_AT + DELAY));
+        assertEquals(3, SpawnPhase.accruedCycles(SAVED_AT, DELAY, SAVED_AT + 3 * DELAY + DELAY / 2));
+        assertEquals(0, SpawnPhase.accruedCycles(SAVED_AT, DELAY, SAVED_AT - DELAY));
+    }
+
+    @Test
+    void downtimeIsNotCreditedAfterReload() {
+        long loadedAt = SAVED_AT + TimeUnit.HOURS.toMillis(8);
+        long resumed = SpawnPhase.resumeTime(SAVED_AT, SpawnPhase.cycleStart(SPAWNER_ID, DELAY, loadedAt));
+
+        // Without the clamp the first settle would credit the whole downtime
+        assertTrue(SpawnPhase.accruedCycles(SAVED_AT, DELAY, loadedAt) > 1000);
+
+        assertEquals(0, SpawnPhase.accruedCycles(resumed, DELAY, loadedAt));
+        long settledAt = loadedAt + 5 * DELAY;
+        assertEquals(5, SpawnPhase.accruedCycles(resumed, DELAY, settledAt));
+    }
+
+    @Test
+    void resumeKeepsThePhase() {
+        long loadedAt = SAVED_AT + TimeUnit.MINUTES.toMillis(97);
+        long resumed = SpawnPhase.resumeTime(SAVED_AT, SpawnPhase.cycleStart(SPAWNER_ID, DELAY, loadedAt));
+
+        long phase = SpawnPhase.cycleStart(SPAWNER_ID, DELAY, SAVED_AT);
+        assertEquals(0, Math.floorMod(resumed - phase, DELAY));
+    }
+
+    @Test
+    void recentLastSpawnTimeIsKept() {
+        // Saved and reloaded within the same cycle: the partial cycle already served is kept
+        long lastSpawn = SpawnPhase.cycleStart(SPAWNER_ID, DELAY, SAVED_AT);
+        long loadedAt = lastSpawn + DELAY / 3;
+
+        assertEquals(lastSpawn, SpawnPhase.resumeTime(lastSpawn, SpawnPhase.cycleStart(SPAWNER_ID, DELAY, loadedAt)));
+        // A spawn time ahead of the cycle start (e.g. stamped during load) is never moved back
+        assertEquals(loadedAt, SpawnPhase.resumeTime(loadedAt, SpawnPhase.cycleStart(SPAWNER_ID, DELAY, loadedAt)));
+    }
+}
@@ -1,4 +1,4 @@
 rootProject.name = "SmartSpawner"
 include("core")
 include("api")
-
+include("benchmarks")